@@ -1,18 +1,73 @@
 
 import vista.VistaSudoku;
 import controlador.ControladorSudoku;
+import consola.ModoComparacion;
+import consola.ModoConversion;
+import consola.ModoCoordinador;
+import consola.ModoCorpus;
+import consola.ModoLote;
+import consola.ModoPeorCaso;
+import consola.ModoRegresion;
+import consola.ModoSelector;
+import consola.ModoServidor;
+import consola.ModoTrabajador;
 import javax.swing.SwingUtilities;
+import java.util.Arrays;
 
 /**
- * Clase principal de la aplicación Sudoku Solver
+ * Clase principal de la aplicación Sudoku Solver.
+ * Sin argumentos abre la interfaz gráfica; con un modo como primer argumento
+ * se ejecuta sin interfaz:
+ * <pre>
+ * rendimiento ...   Mide un corpus fijo y lo compara contra una línea base
+ * lote ...          Resuelve, cuenta o valida los Sudokus de un archivo o de la entrada estándar
+ * convertir ...     Convierte archivos de Sudokus entre el formato de texto y el binario
+ * servidor ...      Levanta un servicio HTTP local para resolver, contar, validar y generar
+ * corpus ...        Construye un corpus de Sudokus de solución única con una tubería concurrente
+ * coordinador ...   Cuenta soluciones repartiendo el árbol de búsqueda entre procesos trabajadores
+ * trabajador ...    Cuenta partes de un conteo distribuido para un coordinador
+ * selector ...      Entrena el modelo con el que el motor adaptativo elige motor para cada Sudoku
+ * comparar ...      Compara los motores sobre un corpus de Sudokus difíciles
+ * peorcaso ...      Busca los Sudokus que más le cuestan a un motor y los guarda como corpus
+ * </pre>
  */
 public class SudokuApp {
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(ejecutarModoConsola(args[0], Arrays.copyOfRange(args, 1, args.length)));
+        }
         SwingUtilities.invokeLater(() -> {
             VistaSudoku vista = new VistaSudoku();
             new ControladorSudoku(vista);
             vista.setVisible(true);
         });
     }
+    
+    private static int ejecutarModoConsola(String modo, String[] argumentos) {
+        switch (modo) {
+            case "rendimiento":
+                return new ModoRegresion(System.out).ejecutar(argumentos);
+            case "lote":
+                return new ModoLote(System.in, System.out, System.err).ejecutar(argumentos);
+            case "convertir":
+                return new ModoConversion(System.out).ejecutar(argumentos);
+            case "servidor":
+                return new ModoServidor(System.out).ejecutar(argumentos);
+            case "corpus":
+                return new ModoCorpus(System.out).ejecutar(argumentos);
+            case "coordinador":
+                return new ModoCoordinador(System.out).ejecutar(argumentos);
+            case "trabajador":
+                return new ModoTrabajador(System.out).ejecutar(argumentos);
+            case "selector":
+                return new ModoSelector(System.out).ejecutar(argumentos);
+            case "comparar":
+                return new ModoComparacion(System.out).ejecutar(argumentos);
+            case "peorcaso":
+                return new ModoPeorCaso(System.out).ejecutar(argumentos);
+            default:
+                System.err.println("Modo desconocido: " + modo + ". Modos disponibles: rendimiento, lote, convertir, servidor, corpus, coordinador, trabajador, selector, comparar, peorcaso");
+                return 2;
+        }
+    }
 }
-
@@ -0,0 +1,130 @@
+package consola;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Argumentos de línea de comandos de la forma "--opcion valor" y "--bandera"
+ */
+public class ArgumentosConsola {
+    private final Map<String, String> opciones;
+    private final Set<String> banderas;
+    private final List<String> posicionales;
+    
+    /**
+     * @param argumentos Argumentos a interpretar
+     * @param banderasConocidas Nombres (sin "--") de las opciones que no llevan valor
+     */
+    public ArgumentosConsola(String[] argumentos, Set<String> banderasConocidas) {
+        this.opciones = new HashMap<>();
+        this.banderas = new HashSet<>();
+        this.posicionales = new ArrayList<>();
+        for (int i = 0; i < argumentos.length; i++) {
+            String argumento = argumentos[i];
+            if (!argumento.startsWith("--")) {
+                posicionales.add(argumento);
+                continue;
+            }
+            String nombre = argumento.substring(2);
+            if (banderasConocidas.contains(nombre)) {
+                banderas.add(nombre);
+            } else if (i + 1 < argumentos.length) {
+                opciones.put(nombre, argumentos[++i]);
+            } else {
+                throw new IllegalArgumentException("Falta el valor de la opción " + argumento);
+            }
+        }
+    }
+    
+    public boolean tieneBandera(String nombre) {
+        return banderas.contains(nombre);
+    }
+    
+    public boolean tieneOpcion(String nombre) {
+        return opciones.containsKey(nombre);
+    }
+    
+    public List<String> obtenerPosicionales() {
+        return posicionales;
+    }
+    
+    public String obtenerTexto(String nombre, String porDefecto) {
+        return opciones.getOrDefault(nombre, porDefecto);
+    }
+    
+    public String obtenerTextoObligatorio(String nombre) {
+        String valor = opciones.get(nombre);
+        if (valor == null) {
+            throw new IllegalArgumentException("Falta la opción obligatoria --" + nombre);
+        }
+        return valor;
+    }
+    
+    public int obtenerEntero(String nombre, int porDefecto) {
+        String valor = opciones.get(nombre);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("La opción --" + nombre + " debe ser un número entero: " + valor);
+        }
+    }
+    
+    public long obtenerLargo(String nombre, long porDefecto) {
+        String valor = opciones.get(nombre);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("La opción --" + nombre + " debe ser un número entero: " + valor);
+        }
+    }
+    
+    public double obtenerDecimal(String nombre, double porDefecto) {
+        String valor = opciones.get(nombre);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            return Double.parseDouble(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("La opción --" + nombre + " debe ser un número: " + valor);
+        }
+    }
+    
+    /**
+     * Interpreta una lista de enteros separados por comas, por ejemplo "17,20,25"
+     */
+    public List<Integer> obtenerListaEnteros(String nombre, List<Integer> porDefecto) {
+        String valor = opciones.get(nombre);
+        if (valor == null) {
+            return porDefecto;
+        }
+        return interpretarListaEnteros(valor);
+    }
+    
+    /**
+     * Interpreta una lista de enteros separados por comas
+     * @param valor Texto a interpretar, por ejemplo "17,20,25"
+     * @return Los enteros en el orden en que aparecen
+     */
+    public static List<Integer> interpretarListaEnteros(String valor) {
+        List<Integer> lista = new ArrayList<>();
+        for (String parte : valor.split(",")) {
+            try {
+                lista.add(Integer.parseInt(parte.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Se esperaba una lista de enteros separados por comas: " + valor);
+            }
+        }
+        return lista;
+    }
+}
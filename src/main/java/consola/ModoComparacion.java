@@ -0,0 +1,112 @@
+package consola;
+
+import interfaces.ISudokuSolver;
+import modelo.AnalizadorPerformance;
+import modelo.CatalogoMotores;
+import modelo.ComparacionMotores;
+import modelo.CorpusDificil;
+import modelo.EstadisticasLatencia;
+import modelo.GrillaSudoku;
+import modelo.MuestraRendimiento;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Modo sin interfaz gráfica que compara motores sobre un corpus de Sudokus difíciles
+ * e informa, para cada motor, el tiempo total, la mediana, el percentil 99 y el
+ * máximo. En los Sudokus difíciles lo que separa a los motores es la cola: un motor
+ * puede resolver casi todos rápido y tardar segundos en uno solo.
+ *
+ * Uso:
+ * <pre>
+ * comparar [--archivo corpus.txt] [--motores a,b,...] [--repeticiones n] [--calentamiento n] [--plazo ms]
+ * </pre>
+ * Sin --archivo usa el corpus incluido ({@link CorpusDificil}); sin --motores, todos
+ * los motores disponibles.
+ */
+public class ModoComparacion {
+    public static final int EXITO = 0;
+    public static final int ERROR = 2;
+    
+    private final PrintStream salida;
+    
+    public ModoComparacion(PrintStream salida) {
+        this.salida = salida;
+    }
+    
+    /**
+     * Ejecuta el modo con los argumentos dados
+     * @return Código de salida del proceso
+     */
+    public int ejecutar(String[] argumentos) {
+        try {
+            ArgumentosConsola args = new ArgumentosConsola(argumentos, Set.of());
+            List<GrillaSudoku> sudokus = args.tieneOpcion("archivo")
+                    ? CorpusDificil.leer(Paths.get(args.obtenerTextoObligatorio("archivo")))
+                    : CorpusDificil.cargar();
+            Map<String, Supplier<ISudokuSolver>> motores = args.tieneOpcion("motores")
+                    ? motoresPorNombre(args.obtenerTextoObligatorio("motores"))
+                    : CatalogoMotores.motoresDisponibles();
+            int repeticiones = args.obtenerEntero("repeticiones", 3);
+            int calentamiento = args.obtenerEntero("calentamiento", 1);
+            long plazoMs = args.obtenerLargo("plazo", 10_000);
+            if (sudokus.isEmpty() || repeticiones < 1 || calentamiento < 0 || plazoMs < 1) {
+                throw new IllegalArgumentException("Se necesita al menos un Sudoku, --repeticiones y --plazo deben "
+                        + "ser positivos y --calentamiento no puede ser negativo");
+            }
+            
+            ComparacionMotores comparacion = new AnalizadorPerformance().compararMotores(
+                    motores, sudokus, repeticiones, calentamiento, plazoMs, null);
+            informar(comparacion, sudokus.size(), repeticiones, plazoMs);
+            return EXITO;
+        } catch (IllegalArgumentException | IllegalStateException | IOException e) {
+            salida.println("Error: " + e.getMessage());
+            return ERROR;
+        }
+    }
+    
+    private static Map<String, Supplier<ISudokuSolver>> motoresPorNombre(String lista) {
+        Map<String, Supplier<ISudokuSolver>> motores = new LinkedHashMap<>();
+        for (String nombre : lista.split(",")) {
+            String motor = nombre.trim();
+            CatalogoMotores.crear(motor); // Falla ahora, y no a mitad de la medición, si el nombre no existe
+            motores.put(motor, () -> CatalogoMotores.crear(motor));
+        }
+        return motores;
+    }
+    
+    private void informar(ComparacionMotores comparacion, int cantidadSudokus, int repeticiones, long plazoMs) {
+        salida.println(String.format(Locale.ROOT, "%d Sudokus, %d repeticiones, plazo %d ms por resolución",
+                cantidadSudokus, repeticiones, plazoMs));
+        salida.println(String.format(Locale.ROOT, "%-14s %12s %12s %12s %12s %14s %10s",
+                "motor", "total ms", "mediana ms", "p99 ms", "maximo ms", "nodos prom.", "en plazo"));
+        for (String motor : comparacion.obtenerMotores()) {
+            EstadisticasLatencia latencias = new EstadisticasLatencia();
+            double totalMs = 0;
+            long nodos = 0;
+            int enPlazo = 0;
+            for (MuestraRendimiento muestra : comparacion.obtenerMuestras()) {
+                if (muestra.obtenerSerie().equals(motor)) {
+                    latencias.registrar((long) (muestra.obtenerTiempoMs() * 1_000_000));
+                    totalMs += muestra.obtenerTiempoMs();
+                    nodos += muestra.obtenerNodos();
+                    if (muestra.estaCompleta()) {
+                        enPlazo++;
+                    }
+                }
+            }
+            salida.println(String.format(Locale.ROOT, "%-14s %12.2f %12.3f %12.3f %12.3f %14.1f %6d/%d",
+                    motor, totalMs, latencias.obtenerPercentilMs(50), latencias.obtenerPercentilMs(99),
+                    latencias.obtenerMaximoMs(), (double) nodos / latencias.obtenerCantidad(),
+                    enPlazo, latencias.obtenerCantidad()));
+        }
+    }
+}
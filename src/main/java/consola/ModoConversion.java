@@ -0,0 +1,92 @@
+package consola;
+
+import modelo.CatalogoMotores;
+import modelo.ConversorSudokus;
+import modelo.GrillaSudoku;
+import modelo.LectorSudokusBinario;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Modo sin interfaz gráfica que convierte archivos de Sudokus entre el formato de
+ * texto de 81 caracteres por línea y el formato binario con índice.
+ * 
+ * Uso:
+ * <pre>
+ * convertir --entrada archivo --salida archivo [--soluciones] [--conteo limite] [--motor nombre]
+ * convertir --entrada archivo.binario --mostrar n
+ * </pre>
+ * El sentido de la conversión se deduce de la firma del archivo de entrada. Con
+ * --soluciones o --conteo se resuelve cada Sudoku y se guarda su solución o su
+ * cantidad de soluciones. Con --mostrar se imprime el registro n de un archivo binario.
+ */
+public class ModoConversion {
+    public static final int EXITO = 0;
+    public static final int ERROR = 2;
+    
+    private final PrintStream salida;
+    
+    public ModoConversion(PrintStream salida) {
+        this.salida = salida;
+    }
+    
+    /**
+     * Ejecuta el modo con los argumentos dados
+     * @return Código de salida del proceso
+     */
+    public int ejecutar(String[] argumentos) {
+        try {
+            ArgumentosConsola args = new ArgumentosConsola(argumentos, Set.of("soluciones"));
+            Path entrada = Paths.get(args.obtenerTextoObligatorio("entrada"));
+            if (args.tieneOpcion("mostrar")) {
+                return mostrar(entrada, args.obtenerEntero("mostrar", 0));
+            }
+            Path destino = Paths.get(args.obtenerTextoObligatorio("salida"));
+            
+            long inicio = System.nanoTime();
+            int convertidos;
+            if (LectorSudokusBinario.esBinario(entrada)) {
+                convertidos = ConversorSudokus.binarioATexto(entrada, destino);
+            } else {
+                int limiteConteo = args.obtenerEntero("conteo", 0);
+                boolean resolver = args.tieneBandera("soluciones") || limiteConteo > 0;
+                String motor = args.obtenerTexto("motor", CatalogoMotores.MRV);
+                convertidos = ConversorSudokus.textoABinario(entrada, destino,
+                        resolver ? CatalogoMotores.crear(motor) : null, limiteConteo);
+            }
+            double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+            
+            long bytesEntrada = Files.size(entrada);
+            long bytesSalida = Files.size(destino);
+            salida.println(String.format(Locale.ROOT, "%d Sudokus convertidos en %.3f s: %d bytes -> %d bytes (%.2fx)",
+                    convertidos, segundos, bytesEntrada, bytesSalida,
+                    bytesSalida > 0 ? bytesEntrada / (double) bytesSalida : 0.0));
+            return EXITO;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | IOException e) {
+            salida.println("Error: " + e.getMessage());
+            return ERROR;
+        }
+    }
+    
+    private int mostrar(Path entrada, int indice) throws IOException {
+        try (LectorSudokusBinario lector = new LectorSudokusBinario(entrada)) {
+            salida.println("Sudoku " + indice + " de " + lector.obtenerCantidad() + ":");
+            salida.print(lector.leerSudoku(indice));
+            GrillaSudoku solucion = lector.leerSolucion(indice);
+            if (solucion != null) {
+                salida.println("Solución:");
+                salida.print(solucion);
+            }
+            if (lector.tieneConteos()) {
+                salida.println("Cantidad de soluciones: " + lector.leerCantidadSoluciones(indice));
+            }
+            return EXITO;
+        }
+    }
+}
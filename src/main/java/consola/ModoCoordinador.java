@@ -0,0 +1,85 @@
+package consola;
+
+import modelo.CatalogoMotores;
+import modelo.GrillaSudoku;
+import servicio.CoordinadorConteo;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Modo sin interfaz gráfica que cuenta las soluciones de un Sudoku repartiendo el
+ * árbol de búsqueda entre procesos trabajadores.
+ * 
+ * Uso:
+ * <pre>
+ * coordinador --sudoku s [--trabajadores n] [--motor MRV] [--partes n] [--limite n]
+ *             [--direccion localhost] [--puerto 0]
+ * </pre>
+ * Lanza --trabajadores procesos locales (por defecto uno por núcleo) y reemplaza los
+ * que terminen. Otras máquinas pueden sumarse con el modo trabajador apuntando a la
+ * dirección y el puerto del coordinador, que para eso debe escuchar en una interfaz
+ * accesible (--direccion 0.0.0.0). Con --trabajadores 0 el conteo espera a que se
+ * conecten trabajadores remotos.
+ */
+public class ModoCoordinador {
+    public static final int EXITO = 0;
+    public static final int ERROR = 2;
+    
+    private final PrintStream salida;
+    
+    public ModoCoordinador(PrintStream salida) {
+        this.salida = salida;
+    }
+    
+    /**
+     * Ejecuta el modo con los argumentos dados
+     * @return Código de salida del proceso
+     */
+    public int ejecutar(String[] argumentos) {
+        CoordinadorConteo coordinador = null;
+        try {
+            ArgumentosConsola args = new ArgumentosConsola(argumentos, Set.of());
+            GrillaSudoku grilla = GrillaSudoku.desdeCadena(args.obtenerTextoObligatorio("sudoku"));
+            int trabajadores = args.obtenerEntero("trabajadores", Runtime.getRuntime().availableProcessors());
+            String motor = args.obtenerTexto("motor", CatalogoMotores.MRV);
+            int partes = args.obtenerEntero("partes", Math.max(64, trabajadores * 16));
+            long limite = args.obtenerLargo("limite", Long.MAX_VALUE);
+            CatalogoMotores.crear(motor); // Falla antes de lanzar trabajadores si el motor no existe
+            if (trabajadores < 0 || partes < 1 || limite < 1) {
+                throw new IllegalArgumentException("--trabajadores no puede ser negativo; --partes y --limite deben ser al menos 1");
+            }
+            
+            coordinador = new CoordinadorConteo(args.obtenerTexto("direccion", "localhost"),
+                    args.obtenerEntero("puerto", 0));
+            coordinador.establecerAvisos(salida::println);
+            coordinador.iniciar();
+            salida.println("Coordinador escuchando en el puerto " + coordinador.obtenerPuerto());
+            if (trabajadores > 0) {
+                coordinador.lanzarTrabajadoresLocales(trabajadores, motor);
+            }
+            
+            long inicio = System.nanoTime();
+            long soluciones = coordinador.contar(grilla, limite, partes, null);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            
+            salida.println("soluciones: " + soluciones);
+            salida.println(String.format(Locale.ROOT, "%d nodos en %.2f s; %d partes reasignadas por trabajadores caídos",
+                    coordinador.obtenerNodosUltimoConteo(), segundos, coordinador.obtenerReasignaciones()));
+            return EXITO;
+        } catch (IllegalArgumentException | IllegalStateException | IOException e) {
+            salida.println("Error: " + e.getMessage());
+            return ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            salida.println("Error: conteo interrumpido");
+            return ERROR;
+        } finally {
+            if (coordinador != null) {
+                coordinador.detener();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package consola;
+
+import modelo.EscritorSudokusBinario;
+import modelo.EstadoEtapa;
+import modelo.TuberiaCorpus;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Modo sin interfaz gráfica que construye un corpus de Sudokus de solución única
+ * con la {@link TuberiaCorpus} y lo guarda en formato binario con sus soluciones.
+ * 
+ * Uso:
+ * <pre>
+ * corpus --salida archivo --cantidad n [--prefijados 45] [--semilla s] [--lote 16] [--buffer 4]
+ *        [--hilos-generar n] [--hilos-resolver n] [--hilos-validar n]
+ * </pre>
+ * Mientras corre informa cada segundo el avance de cada etapa.
+ */
+public class ModoCorpus {
+    public static final int EXITO = 0;
+    public static final int ERROR = 2;
+    
+    private final PrintStream salida;
+    
+    public ModoCorpus(PrintStream salida) {
+        this.salida = salida;
+    }
+    
+    /**
+     * Ejecuta el modo con los argumentos dados
+     * @return Código de salida del proceso
+     */
+    public int ejecutar(String[] argumentos) {
+        try {
+            ArgumentosConsola args = new ArgumentosConsola(argumentos, Set.of());
+            String archivo = args.obtenerTextoObligatorio("salida");
+            int cantidad = args.obtenerEntero("cantidad", 1000);
+            int prefijados = args.obtenerEntero("prefijados", 45);
+            long semilla = args.obtenerLargo("semilla", System.currentTimeMillis());
+            int nucleos = Runtime.getRuntime().availableProcessors();
+            
+            // La verificación de unicidad es la etapa más costosa: recibe la mitad de los núcleos
+            TuberiaCorpus tuberia = new TuberiaCorpus(prefijados, semilla,
+                    args.obtenerEntero("lote", 16),
+                    args.obtenerEntero("buffer", 4),
+                    args.obtenerEntero("hilos-generar", Math.max(1, nucleos / 4)),
+                    args.obtenerEntero("hilos-resolver", Math.max(1, nucleos / 4)),
+                    args.obtenerEntero("hilos-validar", Math.max(1, nucleos / 2)));
+            
+            ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor();
+            monitor.scheduleAtFixedRate(() -> informar(tuberia.obtenerEstado()), 1, 1, TimeUnit.SECONDS);
+            long inicio = System.nanoTime();
+            List<EstadoEtapa> estadoFinal;
+            int aceptados;
+            try (EscritorSudokusBinario escritor = new EscritorSudokusBinario(Paths.get(archivo), true, false)) {
+                estadoFinal = tuberia.ejecutar(cantidad, entrada -> {
+                    try {
+                        escritor.agregar(entrada.obtenerSudoku(), entrada.obtenerSolucion(), 0);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                aceptados = escritor.obtenerCantidad();
+            } finally {
+                monitor.shutdownNow();
+            }
+            double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+            
+            informar(estadoFinal);
+            salida.println(String.format(Locale.ROOT, "%d de %d Sudokus con solución única guardados en %s (%.3f s)",
+                    aceptados, cantidad, archivo, segundos));
+            return EXITO;
+        } catch (IllegalArgumentException | IllegalStateException | IOException e) {
+            salida.println("Error: " + e.getMessage());
+            return ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            salida.println("Error: construcción interrumpida");
+            return ERROR;
+        }
+    }
+    
+    private void informar(List<EstadoEtapa> estado) {
+        for (EstadoEtapa etapa : estado) {
+            salida.println(etapa);
+        }
+        salida.println();
+    }
+}
@@ -0,0 +1,511 @@
+package consola;
+
+import interfaces.ISudokuSolver;
+import modelo.ArchivoSudokus;
+import modelo.CatalogoMotores;
+import modelo.ContadorExacto;
+import modelo.EstadisticasLatencia;
+import modelo.FragmentoSudokus;
+import modelo.GrillaSudoku;
+import modelo.LectorSudokus;
+import modelo.PuntoControlConteo;
+import modelo.ResultadoBusqueda;
+import modelo.TokenCancelacion;
+import modelo.ValidadorSudoku;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Modo sin interfaz gráfica que procesa archivos de Sudokus, uno por línea en el
+ * formato de 81 caracteres de {@link GrillaSudoku#desdeCadena(CharSequence)}.
+ *
+ * Uso:
+ * <pre>
+ * lote [--entrada archivo|-] [--salida archivo|-] [--operacion resolver|contar|contar-exacto|validar]
+ *      [--motor nombre] [--hilos n] [--limite n] [--ventana n] [--fragmento bytes]
+ *      [--presupuesto ms] [--puntos-control directorio]
+ * </pre>
+ * Los Sudokus se leen a medida que se procesan y se reparten entre los hilos
+ * trabajadores; la salida tiene una línea por Sudoku en el mismo orden que la
+ * entrada. Las líneas vacías se ignoran. Al terminar se informan el throughput
+ * y las latencias por la salida de errores.
+ * 
+ * La entrada estándar se lee línea por línea. Un archivo de entrada se mapea en
+ * memoria y se divide en fragmentos de --fragmento bytes que cada hilo interpreta
+ * directamente desde los bytes mapeados con un {@link LectorSudokus}.
+ * 
+ * Con --presupuesto cada Sudoku dispone de ese tiempo para resolverse o contarse;
+ * si se agota, su línea indica "tiempo agotado" (junto con las soluciones contadas
+ * hasta ese momento) y el lote sigue con el siguiente.
+ * 
+ * Con --puntos-control, cada conteo de la operación contar guarda periódicamente su
+ * avance en un archivo del directorio con el nombre del Sudoku y su posición en la
+ * entrada (el número de línea de la entrada estándar o el desplazamiento en bytes
+ * en un archivo), de modo que un Sudoku repetido en el lote tiene su propio archivo.
+ * Si el lote se interrumpe o un conteo agota su presupuesto, al volver a ejecutarlo
+ * sobre la misma entrada cada conteo se reanuda desde su último punto de control. El
+ * archivo se elimina cuando el conteo termina. Un punto de control que no se puede
+ * leer se informa y se descarta, y ese conteo empieza de cero.
+ * 
+ * La operación contar-exacto cuenta con {@link ContadorExacto}, sin límite ni
+ * enumeración, e ignora --motor y --limite. Si un Sudoku requiere más estados de
+ * los que admite el contador, su línea indica "sin conteo exacto" con el motivo y
+ * cuenta como sin terminar, igual que un tiempo agotado.
+ * 
+ * Códigos de salida:
+ * <ul>
+ * <li>{@link #EXITO} (0): todos los Sudokus se procesaron;</li>
+ * <li>{@link #CON_ERRORES_DE_ENTRADA} (1): alguna línea no es un Sudoku; tiene
+ *     prioridad sobre el tiempo agotado;</li>
+ * <li>{@link #ERROR} (2): el lote no pudo ejecutarse, por argumentos inválidos o
+ *     un error de lectura o escritura;</li>
+ * <li>{@link #CON_TIEMPO_AGOTADO} (3): algún Sudoku agotó su --presupuesto o no
+ *     se pudo contar exactamente.</li>
+ * </ul>
+ */
+public class ModoLote {
+    public static final int EXITO = 0;
+    public static final int CON_ERRORES_DE_ENTRADA = 1;
+    public static final int ERROR = 2;
+    public static final int CON_TIEMPO_AGOTADO = 3;
+    
+    public static final String OPERACION_RESOLVER = "resolver";
+    public static final String OPERACION_CONTAR = "contar";
+    public static final String OPERACION_CONTAR_EXACTO = "contar-exacto";
+    public static final String OPERACION_VALIDAR = "validar";
+    
+    private static final String ESTANDAR = "-";
+    private static final int CELDAS = 81;
+    private static final int TAMANO_BUFFER = 1 << 16;
+    private static final int TAMANO_FRAGMENTO = 4 << 20;
+    private static final long INTERVALO_PUNTOS_CONTROL_MS = 30_000;
+    
+    private final InputStream entradaEstandar;
+    private final OutputStream salidaEstandar;
+    private final PrintStream informe;
+    
+    /**
+     * @param entradaEstandar Flujo del que se leen los Sudokus con --entrada -
+     * @param salidaEstandar Flujo en el que se escriben los resultados con --salida -
+     * @param informe Flujo en el que se escriben las estadísticas y los errores
+     */
+    public ModoLote(InputStream entradaEstandar, OutputStream salidaEstandar, PrintStream informe) {
+        this.entradaEstandar = entradaEstandar;
+        this.salidaEstandar = salidaEstandar;
+        this.informe = informe;
+    }
+    
+    /**
+     * Ejecuta el modo con los argumentos dados
+     * @return Código de salida del proceso
+     */
+    public int ejecutar(String[] argumentos) {
+        try {
+            ArgumentosConsola args = new ArgumentosConsola(argumentos, Set.of());
+            String entrada = args.obtenerTexto("entrada", ESTANDAR);
+            String salida = args.obtenerTexto("salida", ESTANDAR);
+            String operacion = args.obtenerTexto("operacion", OPERACION_RESOLVER);
+            String motor = args.obtenerTexto("motor", CatalogoMotores.MRV);
+            int hilos = args.obtenerEntero("hilos", Runtime.getRuntime().availableProcessors());
+            int limite = args.obtenerEntero("limite", Integer.MAX_VALUE);
+            int ventana = args.obtenerEntero("ventana", hilos * 64);
+            int tamanoFragmento = args.obtenerEntero("fragmento", TAMANO_FRAGMENTO);
+            long presupuestoMs = args.obtenerLargo("presupuesto", 0L);
+            String puntosControl = args.obtenerTexto("puntos-control", null);
+            
+            if (!operacion.equals(OPERACION_RESOLVER) && !operacion.equals(OPERACION_CONTAR)
+                    && !operacion.equals(OPERACION_CONTAR_EXACTO) && !operacion.equals(OPERACION_VALIDAR)) {
+                throw new IllegalArgumentException("Operación desconocida: " + operacion
+                        + ". Disponibles: resolver, contar, contar-exacto, validar");
+            }
+            if (hilos < 1 || ventana < 1 || limite < 1 || tamanoFragmento < 1) {
+                throw new IllegalArgumentException("--hilos, --ventana, --limite y --fragmento deben ser al menos 1");
+            }
+            if (presupuestoMs < 0) {
+                throw new IllegalArgumentException("--presupuesto no puede ser negativo");
+            }
+            Tarea tarea = new Tarea(operacion, motor, limite, presupuestoMs, // Falla antes de leer la entrada si el motor no existe
+                    puntosControl == null ? null : Paths.get(puntosControl), informe);
+            
+            if (ESTANDAR.equals(entrada)) {
+                try (Writer escritor = abrirSalida(salida)) {
+                    Reader lector = new InputStreamReader(entradaEstandar, StandardCharsets.UTF_8);
+                    return procesarLineas(new BufferedReader(lector, TAMANO_BUFFER), escritor, tarea, hilos, ventana);
+                }
+            }
+            try (ArchivoSudokus archivo = new ArchivoSudokus(Paths.get(entrada)); Writer escritor = abrirSalida(salida)) {
+                return procesarFragmentos(archivo.dividir(tamanoFragmento), escritor, tarea, hilos);
+            }
+        } catch (IllegalArgumentException | IllegalStateException | IOException e) {
+            informe.println("Error: " + e.getMessage());
+            return ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            informe.println("Error: procesamiento interrumpido");
+            return ERROR;
+        }
+    }
+    
+    /**
+     * Lee los Sudokus línea por línea, los reparte entre los hilos y escribe los
+     * resultados en orden. Como máximo hay {@code ventana} Sudokus leídos pendientes
+     * de escribir, por lo que la memoria no depende del tamaño de la entrada.
+     */
+    private int procesarLineas(BufferedReader lector, Writer escritor, Tarea tarea, int hilos, int ventana)
+            throws IOException, InterruptedException {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        ArrayDeque<Future<Resultado>> pendientes = new ArrayDeque<>(ventana);
+        EstadisticasLatencia latencias = new EstadisticasLatencia();
+        Totales totales = new Totales();
+        long inicio = System.nanoTime();
+        try {
+            String linea;
+            long numeroLinea = 0;
+            while ((linea = lector.readLine()) != null) {
+                numeroLinea++;
+                if (linea.isBlank()) {
+                    continue;
+                }
+                if (pendientes.size() == ventana) {
+                    escribir(pendientes.poll(), escritor, latencias, totales);
+                }
+                String texto = linea.strip();
+                long posicion = numeroLinea;
+                pendientes.add(ejecutor.submit(() -> tarea.procesar(texto, posicion)));
+            }
+            while (!pendientes.isEmpty()) {
+                escribir(pendientes.poll(), escritor, latencias, totales);
+            }
+            escritor.flush();
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        long tiempoTotalNanos = System.nanoTime() - inicio;
+        
+        informar(tarea.operacion, hilos, latencias, totales, tiempoTotalNanos);
+        return totales.codigoSalida();
+    }
+    
+    /**
+     * Reparte los fragmentos de un archivo mapeado entre los hilos y escribe sus
+     * resultados en orden. Se mantienen como máximo dos fragmentos en curso por hilo.
+     */
+    private int procesarFragmentos(List<FragmentoSudokus> fragmentos, Writer escritor, Tarea tarea, int hilos)
+            throws IOException, InterruptedException {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        int ventana = hilos * 2;
+        ArrayDeque<Future<Resultado>> pendientes = new ArrayDeque<>(ventana);
+        EstadisticasLatencia latencias = new EstadisticasLatencia();
+        Totales totales = new Totales();
+        long inicio = System.nanoTime();
+        try {
+            for (FragmentoSudokus fragmento : fragmentos) {
+                if (pendientes.size() == ventana) {
+                    escribir(pendientes.poll(), escritor, latencias, totales);
+                }
+                pendientes.add(ejecutor.submit(() -> tarea.procesarFragmento(fragmento)));
+            }
+            while (!pendientes.isEmpty()) {
+                escribir(pendientes.poll(), escritor, latencias, totales);
+            }
+            escritor.flush();
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        long tiempoTotalNanos = System.nanoTime() - inicio;
+        
+        informar(tarea.operacion, hilos, latencias, totales, tiempoTotalNanos);
+        return totales.codigoSalida();
+    }
+    
+    /**
+     * Espera un resultado pendiente, lo escribe y registra sus latencias y totales
+     */
+    private void escribir(Future<Resultado> pendiente, Writer escritor, EstadisticasLatencia latencias,
+                          Totales totales) throws IOException, InterruptedException {
+        Resultado resultado;
+        try {
+            resultado = pendiente.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló el procesamiento de un Sudoku", e.getCause());
+        }
+        for (int i = 0; i < resultado.cantidad; i++) {
+            latencias.registrar(resultado.latenciasNanos[i]);
+        }
+        escritor.append(resultado.texto);
+        totales.errores += resultado.errores;
+        totales.agotados += resultado.agotados;
+    }
+    
+    private void informar(String operacion, int hilos, EstadisticasLatencia latencias, Totales totales,
+                          long tiempoTotalNanos) {
+        double segundos = tiempoTotalNanos / 1_000_000_000.0;
+        int procesados = latencias.obtenerCantidad();
+        informe.println(String.format(Locale.ROOT,
+                "Operación %s con %d hilos: %d Sudokus en %.3f s (%d líneas inválidas, %d con tiempo agotado)",
+                operacion, hilos, procesados, segundos, totales.errores, totales.agotados));
+        informe.println(String.format(Locale.ROOT, "Throughput: %.1f Sudokus/s",
+                segundos > 0 ? procesados / segundos : 0.0));
+        informe.println(String.format(Locale.ROOT,
+                "Latencia (ms): promedio %.4f  p50 %.4f  p90 %.4f  p99 %.4f  máx %.4f",
+                latencias.obtenerPromedioMs(),
+                latencias.obtenerPercentilMs(50),
+                latencias.obtenerPercentilMs(90),
+                latencias.obtenerPercentilMs(99),
+                latencias.obtenerMaximoMs()));
+    }
+    
+    private Writer abrirSalida(String salida) throws IOException {
+        if (ESTANDAR.equals(salida)) {
+            // No se cierra la salida estándar al terminar, solo se vacía
+            return new BufferedWriter(new OutputStreamWriter(salidaEstandar, StandardCharsets.UTF_8), TAMANO_BUFFER) {
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+        }
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(Paths.get(salida)),
+                StandardCharsets.UTF_8), TAMANO_BUFFER);
+    }
+    
+    /**
+     * Operación a aplicar sobre cada Sudoku. Todos los hilos trabajadores comparten
+     * la misma instancia del motor; cada hilo reutiliza además su propia grilla.
+     */
+    private static class Tarea {
+        private final String operacion;
+        private final int limite;
+        private final long presupuestoMs;
+        private final Path directorioPuntosControl;
+        private final PrintStream informe;
+        private final ISudokuSolver resolvedor;
+        private final ValidadorSudoku validador;
+        private final ThreadLocal<GrillaSudoku> grillas;
+        
+        /**
+         * @param directorioPuntosControl Directorio de los puntos de control de los conteos, o null
+         * @param informe Flujo en el que se avisa de los puntos de control descartados
+         */
+        Tarea(String operacion, String motor, int limite, long presupuestoMs, Path directorioPuntosControl,
+              PrintStream informe) {
+            this.operacion = operacion;
+            this.limite = limite;
+            this.presupuestoMs = presupuestoMs;
+            this.directorioPuntosControl = directorioPuntosControl;
+            this.informe = informe;
+            this.resolvedor = CatalogoMotores.crear(motor);
+            this.validador = new ValidadorSudoku();
+            this.grillas = ThreadLocal.withInitial(GrillaSudoku::new);
+        }
+        
+        /**
+         * Interpreta y procesa un Sudoku leído como línea de texto
+         * @param numeroLinea Número de línea en la entrada, que distingue su punto de control
+         */
+        Resultado procesar(String texto, long numeroLinea) {
+            GrillaSudoku grilla;
+            try {
+                grilla = GrillaSudoku.desdeCadena(texto);
+            } catch (IllegalArgumentException e) {
+                return new Resultado(lineaError(e) + "\n", new long[0], 0, 1, 0);
+            }
+            StringBuilder salida = new StringBuilder(CELDAS + 1);
+            long[] latenciasNanos = new long[1];
+            boolean completo = aplicar(grilla, numeroLinea, salida, latenciasNanos, 0);
+            return new Resultado(salida, latenciasNanos, 1, 0, completo ? 0 : 1);
+        }
+        
+        /**
+         * Procesa todos los Sudokus de un fragmento mapeado, cargándolos sobre
+         * una única grilla por hilo
+         */
+        Resultado procesarFragmento(FragmentoSudokus fragmento) throws IOException {
+            LectorSudokus lector = fragmento.abrir();
+            GrillaSudoku grilla = grillas.get();
+            StringBuilder salida = new StringBuilder((int) Math.min(fragmento.obtenerFin() - fragmento.obtenerInicio(), 1 << 24));
+            long[] latenciasNanos = new long[256];
+            int cantidad = 0;
+            int errores = 0;
+            int agotados = 0;
+            int estado;
+            while ((estado = lector.siguiente(grilla)) != LectorSudokus.FIN) {
+                if (estado == LectorSudokus.INVALIDO) {
+                    salida.append(lineaError(lector.obtenerRegistro())).append('\n');
+                    errores++;
+                    continue;
+                }
+                if (cantidad == latenciasNanos.length) {
+                    latenciasNanos = Arrays.copyOf(latenciasNanos, cantidad * 2);
+                }
+                long desplazamiento = fragmento.obtenerInicio() + lector.obtenerInicioRegistro();
+                if (!aplicar(grilla, desplazamiento, salida, latenciasNanos, cantidad++)) {
+                    agotados++;
+                }
+            }
+            return new Resultado(salida, latenciasNanos, cantidad, errores, agotados);
+        }
+        
+        /**
+         * Vuelve a interpretar un registro que el lector rechazó, para informar el
+         * mismo motivo que en la lectura por líneas
+         */
+        private static String lineaError(String registro) {
+            try {
+                GrillaSudoku.desdeCadena(registro);
+            } catch (IllegalArgumentException e) {
+                return lineaError(e);
+            }
+            return "error: registro inválido";
+        }
+        
+        private static String lineaError(IllegalArgumentException e) {
+            return "error: " + e.getMessage();
+        }
+        
+        /**
+         * Aplica la operación a la grilla y agrega la línea de resultado a la salida
+         * @param ubicacion Posición del Sudoku en la entrada, que distingue su punto de control
+         * @param latenciasNanos Arreglo en el que se registra la duración de la operación
+         * @param posicion Posición del arreglo a completar
+         * @return false si se agotó el presupuesto de tiempo antes de terminar
+         */
+        private boolean aplicar(GrillaSudoku grilla, long ubicacion, StringBuilder salida, long[] latenciasNanos,
+                                int posicion) {
+            long inicio = System.nanoTime();
+            TokenCancelacion token = presupuestoMs > 0 ? TokenCancelacion.conPlazo(presupuestoMs) : null;
+            boolean completo = true;
+            switch (operacion) {
+                case OPERACION_RESOLVER: {
+                    ResultadoBusqueda resultado = resolvedor.resolver(grilla, token);
+                    completo = resultado.estaCompleta();
+                    if (resultado.obtenerSoluciones() == 1) {
+                        agregarGrilla(grilla, salida);
+                    } else {
+                        salida.append(completo ? "sin solución" : "tiempo agotado");
+                    }
+                    break;
+                }
+                case OPERACION_CONTAR: {
+                    ResultadoBusqueda resultado = directorioPuntosControl == null
+                            ? resolvedor.contarSoluciones(grilla, limite, token)
+                            : resolvedor.contarReanudable(grilla, limite, -1, token, null,
+                                    abrirPuntoControl(grilla, ubicacion), INTERVALO_PUNTOS_CONTROL_MS);
+                    completo = resultado.estaCompleta();
+                    if (!completo) {
+                        salida.append("tiempo agotado: al menos ");
+                    }
+                    salida.append(resultado.obtenerSoluciones());
+                    break;
+                }
+                case OPERACION_CONTAR_EXACTO:
+                    try {
+                        // El contador guarda estadísticas del último conteo: uno por Sudoku
+                        salida.append(new ContadorExacto().contar(grilla, token));
+                    } catch (CancellationException e) {
+                        salida.append("tiempo agotado");
+                        completo = false;
+                    } catch (IllegalArgumentException e) {
+                        salida.append("sin conteo exacto: ").append(e.getMessage());
+                        completo = false;
+                    }
+                    break;
+                default:
+                    salida.append(validador.esGrillaValida(grilla) ? "válida" : "inválida");
+                    break;
+            }
+            latenciasNanos[posicion] = System.nanoTime() - inicio;
+            salida.append('\n');
+            return completo;
+        }
+        
+        /**
+         * @return El archivo de puntos de control del Sudoku, descartado si quedó uno
+         *         que no se puede leer (dañado o de un formato anterior)
+         */
+        private Path abrirPuntoControl(GrillaSudoku grilla, long ubicacion) {
+            Path archivo = directorioPuntosControl.resolve(grilla.aCadena() + "-" + ubicacion + ".txt");
+            if (Files.exists(archivo)) {
+                try {
+                    PuntoControlConteo.cargar(archivo);
+                } catch (IOException e) {
+                    informe.println("Aviso: se descarta el punto de control ilegible " + archivo
+                            + " y el conteo empieza de cero (" + e.getMessage() + ")");
+                    try {
+                        Files.deleteIfExists(archivo);
+                    } catch (IOException ignorada) {
+                        // El conteo lo ignora igual y lo reemplaza con su primer punto de control
+                    }
+                }
+            }
+            return archivo;
+        }
+        
+        private static void agregarGrilla(GrillaSudoku grilla, StringBuilder salida) {
+            for (int fila = 0; fila < grilla.obtenerTamano(); fila++) {
+                for (int columna = 0; columna < grilla.obtenerTamano(); columna++) {
+                    int valor = grilla.obtenerValor(fila, columna);
+                    salida.append(valor == 0 ? '.' : (char) ('0' + valor));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Resultado de procesar una línea o un fragmento: el texto a escribir, las
+     * latencias de los Sudokus válidos y cuántos agotaron su presupuesto
+     */
+    private static class Resultado {
+        private final CharSequence texto;
+        private final long[] latenciasNanos;
+        private final int cantidad;
+        private final int errores;
+        private final int agotados;
+        
+        Resultado(CharSequence texto, long[] latenciasNanos, int cantidad, int errores, int agotados) {
+            this.texto = texto;
+            this.latenciasNanos = latenciasNanos;
+            this.cantidad = cantidad;
+            this.errores = errores;
+            this.agotados = agotados;
+        }
+    }
+    
+    /**
+     * Registros inválidos y Sudokus con tiempo agotado acumulados en todo el lote
+     */
+    private static class Totales {
+        private int errores;
+        private int agotados;
+        
+        int codigoSalida() {
+            if (errores > 0) {
+                return CON_ERRORES_DE_ENTRADA;
+            }
+            return agotados > 0 ? CON_TIEMPO_AGOTADO : EXITO;
+        }
+    }
+}
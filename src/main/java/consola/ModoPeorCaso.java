@@ -0,0 +1,82 @@
+package consola;
+
+import modelo.BuscadorPeorCaso;
+import modelo.CatalogoMotores;
+import modelo.PeorCaso;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Modo sin interfaz gráfica que busca los Sudokus que más le cuestan a un motor y
+ * los guarda como corpus. El archivo se puede volver a medir con el modo
+ * {@code comparar --archivo}, como batería de regresión del peor caso del motor.
+ *
+ * Uso:
+ * <pre>
+ * peorcaso --motor nombre [--objetivo nodos|tiempo] [--ascensos n] [--mutaciones n]
+ *          [--cantidad n] [--semilla s] [--plazo ms] [--salida archivo]
+ * </pre>
+ * Por defecto guarda en peores-&lt;motor&gt;.txt.
+ */
+public class ModoPeorCaso {
+    public static final int EXITO = 0;
+    public static final int ERROR = 2;
+    
+    private final PrintStream salida;
+    
+    public ModoPeorCaso(PrintStream salida) {
+        this.salida = salida;
+    }
+    
+    /**
+     * Ejecuta el modo con los argumentos dados
+     * @return Código de salida del proceso
+     */
+    public int ejecutar(String[] argumentos) {
+        try {
+            ArgumentosConsola args = new ArgumentosConsola(argumentos, Set.of());
+            String motor = args.obtenerTextoObligatorio("motor");
+            BuscadorPeorCaso.Objetivo objetivo = interpretarObjetivo(args.obtenerTexto("objetivo", "nodos"));
+            int ascensos = args.obtenerEntero("ascensos", 20);
+            int mutaciones = args.obtenerEntero("mutaciones", 500);
+            int cantidad = args.obtenerEntero("cantidad", 20);
+            long semilla = args.obtenerLargo("semilla", 20240601L);
+            long plazoMs = args.obtenerLargo("plazo", 10_000);
+            Path archivo = Paths.get(args.obtenerTexto("salida", "peores-" + motor + ".txt"));
+            
+            BuscadorPeorCaso buscador = new BuscadorPeorCaso(motor, CatalogoMotores.crear(motor),
+                    objetivo, semilla, plazoMs);
+            List<PeorCaso> peores = buscador.buscar(ascensos, mutaciones, cantidad,
+                    hechos -> salida.println("Ascenso " + hechos + " de " + ascensos));
+            buscador.guardar(peores, archivo);
+            
+            salida.println(peores.size() + " Sudokus guardados en " + archivo + "; los peores:");
+            for (PeorCaso caso : peores.subList(0, Math.min(5, peores.size()))) {
+                salida.println(String.format(Locale.ROOT, "  %s  %d nodos, %.3f ms%s", caso.obtenerSudoku().aCadena(),
+                        caso.obtenerNodos(), caso.obtenerTiempoMs(), caso.estaCompleta() ? "" : " (sin terminar)"));
+            }
+            salida.println("Para medirlos de nuevo: comparar --archivo " + archivo + " --motores " + motor);
+            return EXITO;
+        } catch (IllegalArgumentException | IOException e) {
+            salida.println("Error: " + e.getMessage());
+            return ERROR;
+        }
+    }
+    
+    private static BuscadorPeorCaso.Objetivo interpretarObjetivo(String texto) {
+        switch (texto) {
+            case "nodos":
+                return BuscadorPeorCaso.Objetivo.NODOS;
+            case "tiempo":
+                return BuscadorPeorCaso.Objetivo.TIEMPO;
+            default:
+                throw new IllegalArgumentException("Objetivo desconocido: " + texto + ". Usar nodos o tiempo");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package consola;
+
+import modelo.AnalizadorPerformance;
+import modelo.CatalogoMotores;
+import modelo.DetectorRegresiones;
+import modelo.LineaBase;
+import modelo.MuestraRendimiento;
+import modelo.ResultadoRegresion;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Modo sin interfaz gráfica que mide un corpus fijo y lo compara contra una línea base.
+ * 
+ * Uso:
+ * <pre>
+ * rendimiento --linea-base archivo [--guardar] [--motor nombre] [--prefijados 17,20,...]
+ *             [--ejecuciones n] [--semilla s] [--calentamiento n] [--umbral 0.10] [--alfa 0.01]
+ * </pre>
+ * Con --guardar escribe la línea base. Sin --guardar vuelve a medir el mismo corpus
+ * (motor, semilla, prefijados y ejecuciones se toman de la línea base) y termina con
+ * código 1 si alguna operación empeoró de forma significativa.
+ */
+public class ModoRegresion {
+    public static final int SIN_REGRESIONES = 0;
+    public static final int CON_REGRESIONES = 1;
+    public static final int ERROR = 2;
+    
+    private final PrintStream salida;
+    
+    public ModoRegresion(PrintStream salida) {
+        this.salida = salida;
+    }
+    
+    /**
+     * Ejecuta el modo con los argumentos dados
+     * @return Código de salida del proceso
+     */
+    public int ejecutar(String[] argumentos) {
+        try {
+            ArgumentosConsola args = new ArgumentosConsola(argumentos, Set.of("guardar"));
+            Path archivo = Paths.get(args.obtenerTextoObligatorio("linea-base"));
+            if (args.tieneBandera("guardar")) {
+                return guardarLineaBase(args, archivo);
+            }
+            return compararConLineaBase(args, archivo);
+        } catch (IllegalArgumentException | IOException e) {
+            salida.println("Error: " + e.getMessage());
+            return ERROR;
+        }
+    }
+    
+    private int guardarLineaBase(ArgumentosConsola args, Path archivo) throws IOException {
+        String motor = args.obtenerTexto("motor", CatalogoMotores.BACKTRACKING);
+        List<Integer> prefijados = args.obtenerListaEnteros("prefijados", List.of(17, 20, 25, 30, 35, 40));
+        int ejecuciones = args.obtenerEntero("ejecuciones", 30);
+        long semilla = args.obtenerLargo("semilla", 20240601L);
+        int calentamiento = args.obtenerEntero("calentamiento", 1);
+        
+        List<MuestraRendimiento> muestras = medir(motor, prefijados, ejecuciones, semilla, calentamiento);
+        
+        Map<String, String> metadatos = new LinkedHashMap<>();
+        metadatos.put("motor", motor);
+        metadatos.put("prefijados", unir(prefijados));
+        metadatos.put("ejecuciones", String.valueOf(ejecuciones));
+        metadatos.put("semilla", String.valueOf(semilla));
+        metadatos.put("calentamiento", String.valueOf(calentamiento));
+        metadatos.put("java", System.getProperty("java.version"));
+        metadatos.put("fecha", LocalDateTime.now().toString());
+        new LineaBase(metadatos, muestras).guardar(archivo);
+        
+        salida.println("Línea base guardada en " + archivo + " (" + muestras.size() + " muestras).");
+        return SIN_REGRESIONES;
+    }
+    
+    private int compararConLineaBase(ArgumentosConsola args, Path archivo) throws IOException {
+        if (!Files.exists(archivo)) {
+            throw new IOException("No existe la línea base " + archivo + ". Créela con --guardar.");
+        }
+        LineaBase lineaBase = LineaBase.cargar(archivo);
+        Map<String, String> metadatos = lineaBase.obtenerMetadatos();
+        
+        String motor = args.obtenerTexto("motor", metadatos.getOrDefault("motor", CatalogoMotores.BACKTRACKING));
+        List<Integer> prefijados = args.obtenerListaEnteros("prefijados",
+                ArgumentosConsola.interpretarListaEnteros(metadatos.getOrDefault("prefijados", "17,20,25,30,35,40")));
+        int ejecuciones = args.obtenerEntero("ejecuciones", Integer.parseInt(metadatos.getOrDefault("ejecuciones", "30")));
+        long semilla = args.obtenerLargo("semilla", Long.parseLong(metadatos.getOrDefault("semilla", "20240601")));
+        int calentamiento = args.obtenerEntero("calentamiento", Integer.parseInt(metadatos.getOrDefault("calentamiento", "1")));
+        double umbral = args.obtenerDecimal("umbral", 0.10);
+        double alfa = args.obtenerDecimal("alfa", 0.01);
+        
+        List<MuestraRendimiento> actuales = medir(motor, prefijados, ejecuciones, semilla, calentamiento);
+        List<ResultadoRegresion> resultados =
+                new DetectorRegresiones(umbral, alfa).comparar(lineaBase.obtenerMuestras(), actuales);
+        
+        salida.println(String.format(Locale.ROOT, "Motor %s contra %s (umbral %.0f%%, alfa %.3f)",
+                motor, archivo, umbral * 100, alfa));
+        salida.println(String.format(Locale.ROOT, "%-10s %10s %14s %14s %10s %10s  %s",
+                "operacion", "prefijados", "base (ms)", "actual (ms)", "variacion", "p-valor", "estado"));
+        List<ResultadoRegresion> regresiones = new ArrayList<>();
+        for (ResultadoRegresion resultado : resultados) {
+            if (resultado.esRegresion()) {
+                regresiones.add(resultado);
+            }
+            salida.println(String.format(Locale.ROOT, "%-10s %10d %14.4f %14.4f %+9.1f%% %10.4f  %s",
+                    resultado.obtenerOperacion(),
+                    resultado.obtenerCantidadPrefijados(),
+                    resultado.obtenerMedianaBaseMs(),
+                    resultado.obtenerMedianaActualMs(),
+                    resultado.obtenerVariacion() * 100,
+                    resultado.obtenerPValor(),
+                    resultado.esRegresion() ? "REGRESIÓN" : "ok"));
+        }
+        
+        if (regresiones.isEmpty()) {
+            salida.println("Sin regresiones.");
+            return SIN_REGRESIONES;
+        }
+        salida.println(regresiones.size() + " regresiones detectadas:");
+        for (ResultadoRegresion regresion : regresiones) {
+            salida.println(String.format(Locale.ROOT, "  %s con %d prefijados: %+.1f%%",
+                    regresion.obtenerOperacion(), regresion.obtenerCantidadPrefijados(),
+                    regresion.obtenerVariacion() * 100));
+        }
+        return CON_REGRESIONES;
+    }
+    
+    private List<MuestraRendimiento> medir(String motor, List<Integer> prefijados, int ejecuciones,
+                                           long semilla, int calentamiento) {
+        salida.println("Midiendo " + ejecuciones + " Sudokus por cantidad " + prefijados + " con el motor " + motor + "...");
+        return new AnalizadorPerformance().medirCorpus(
+                CatalogoMotores.crear(motor), prefijados, ejecuciones, semilla, calentamiento);
+    }
+    
+    private static String unir(List<Integer> valores) {
+        StringBuilder texto = new StringBuilder();
+        for (Integer valor : valores) {
+            if (texto.length() > 0) {
+                texto.append(',');
+            }
+            texto.append(valor);
+        }
+        return texto.toString();
+    }
+}
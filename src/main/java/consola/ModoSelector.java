@@ -0,0 +1,89 @@
+package consola;
+
+import modelo.AnalizadorPerformance;
+import modelo.CaracteristicasSudoku;
+import modelo.CatalogoMotores;
+import modelo.GrillaSudoku;
+import modelo.SelectorMotores;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Modo sin interfaz gráfica que entrena el modelo del motor adaptativo o consulta
+ * qué motor elegiría para un Sudoku.
+ * 
+ * Uso:
+ * <pre>
+ * selector [--modelo archivo] [--prefijados 17,20,...] [--ejecuciones n] [--semilla s] [--calentamiento n]
+ *          [--plazo ms]
+ * selector --sudoku s [--modelo archivo]
+ * </pre>
+ * Sin --sudoku mide todos los motores disponibles sobre un corpus fijo y guarda el
+ * modelo; cada resolución se corta a los --plazo milisegundos (1000 por defecto).
+ * Por defecto el modelo es el que usa el motor {@code Adaptativo}
+ * ({@link SelectorMotores#ARCHIVO_POR_DEFECTO}).
+ */
+public class ModoSelector {
+    public static final int EXITO = 0;
+    public static final int ERROR = 2;
+    
+    private final PrintStream salida;
+    
+    public ModoSelector(PrintStream salida) {
+        this.salida = salida;
+    }
+    
+    /**
+     * Ejecuta el modo con los argumentos dados
+     * @return Código de salida del proceso
+     */
+    public int ejecutar(String[] argumentos) {
+        try {
+            ArgumentosConsola args = new ArgumentosConsola(argumentos, Set.of());
+            Path archivo = Paths.get(args.obtenerTexto("modelo", SelectorMotores.ARCHIVO_POR_DEFECTO.toString()));
+            if (args.tieneOpcion("sudoku")) {
+                return consultar(GrillaSudoku.desdeCadena(args.obtenerTextoObligatorio("sudoku")), archivo);
+            }
+            return entrenar(args, archivo);
+        } catch (IllegalArgumentException | IOException e) {
+            salida.println("Error: " + e.getMessage());
+            return ERROR;
+        }
+    }
+    
+    private int entrenar(ArgumentosConsola args, Path archivo) throws IOException {
+        List<Integer> prefijados = args.obtenerListaEnteros("prefijados", List.of(17, 20, 25, 30, 35, 40, 45, 50));
+        int ejecuciones = args.obtenerEntero("ejecuciones", 30);
+        long semilla = args.obtenerLargo("semilla", 20240601L);
+        int calentamiento = args.obtenerEntero("calentamiento", 1);
+        long plazoMs = args.obtenerLargo("plazo", 1000);
+        if (ejecuciones < 1 || calentamiento < 0 || plazoMs < 1) {
+            throw new IllegalArgumentException("--ejecuciones y --plazo deben ser al menos 1 y --calentamiento no puede ser negativo");
+        }
+        
+        SelectorMotores selector = new AnalizadorPerformance().entrenarSelector(
+                CatalogoMotores.motoresDisponibles(), prefijados, ejecuciones, semilla, calentamiento, plazoMs, null);
+        selector.guardar(archivo);
+        
+        salida.println("Modelo guardado en " + archivo + " (" + selector.obtenerCantidadEjemplos() + " Sudokus).");
+        int[] victorias = selector.obtenerVictoriasEntrenamiento();
+        for (int motor = 0; motor < victorias.length; motor++) {
+            salida.println("  " + selector.obtenerMotores().get(motor) + " fue el más rápido en "
+                    + victorias[motor] + " Sudokus");
+        }
+        return EXITO;
+    }
+    
+    private int consultar(GrillaSudoku grilla, Path archivo) throws IOException {
+        SelectorMotores selector = SelectorMotores.cargar(archivo);
+        CaracteristicasSudoku caracteristicas = CaracteristicasSudoku.calcular(grilla);
+        salida.println("caracteristicas: " + caracteristicas);
+        salida.println("motor: " + selector.elegir(caracteristicas));
+        return EXITO;
+    }
+}
@@ -0,0 +1,61 @@
+package consola;
+
+import servicio.ServidorSudoku;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Modo sin interfaz gráfica que levanta el servicio HTTP local de resolución.
+ * 
+ * Uso:
+ * <pre>
+ * servidor [--puerto 8080] [--hilos n] [--cola n] [--tiempo-limite ms]
+ * </pre>
+ * El servicio atiende en localhost hasta que se detiene el proceso.
+ */
+public class ModoServidor {
+    public static final int EXITO = 0;
+    public static final int ERROR = 2;
+    
+    private final PrintStream salida;
+    
+    public ModoServidor(PrintStream salida) {
+        this.salida = salida;
+    }
+    
+    /**
+     * Ejecuta el modo con los argumentos dados. Bloquea hasta que el proceso se detiene.
+     * @return Código de salida del proceso
+     */
+    public int ejecutar(String[] argumentos) {
+        try {
+            ArgumentosConsola args = new ArgumentosConsola(argumentos, Set.of());
+            int puerto = args.obtenerEntero("puerto", 8080);
+            int hilos = args.obtenerEntero("hilos", Runtime.getRuntime().availableProcessors());
+            int cola = args.obtenerEntero("cola", hilos * 16);
+            long tiempoLimiteMs = args.obtenerLargo("tiempo-limite", 2000);
+            
+            ServidorSudoku servidor = new ServidorSudoku(puerto, hilos, cola, tiempoLimiteMs);
+            servidor.iniciar();
+            CountDownLatch detenido = new CountDownLatch(1);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                servidor.detener();
+                detenido.countDown();
+            }));
+            salida.println("Servicio escuchando en http://localhost:" + servidor.obtenerPuerto()
+                    + " con " + hilos + " hilos de cálculo (tiempo límite " + tiempoLimiteMs + " ms)");
+            detenido.await();
+            return EXITO;
+        } catch (IllegalArgumentException | IOException | UncheckedIOException e) {
+            salida.println("Error: " + e.getMessage());
+            return ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return EXITO;
+        }
+    }
+}
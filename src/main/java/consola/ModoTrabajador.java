@@ -0,0 +1,60 @@
+package consola;
+
+import modelo.CatalogoMotores;
+import servicio.TrabajadorConteo;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Set;
+
+/**
+ * Modo sin interfaz gráfica que cuenta partes de un conteo distribuido para un
+ * coordinador (ver {@link ModoCoordinador}).
+ * 
+ * Uso:
+ * <pre>
+ * trabajador --coordinador host:puerto [--motor MRV]
+ * </pre>
+ * Termina cuando el coordinador lo despide.
+ */
+public class ModoTrabajador {
+    public static final int EXITO = 0;
+    public static final int ERROR = 2;
+    
+    private final PrintStream salida;
+    
+    public ModoTrabajador(PrintStream salida) {
+        this.salida = salida;
+    }
+    
+    /**
+     * Ejecuta el modo con los argumentos dados
+     * @return Código de salida del proceso
+     */
+    public int ejecutar(String[] argumentos) {
+        try {
+            ArgumentosConsola args = new ArgumentosConsola(argumentos, Set.of());
+            String coordinador = args.obtenerTextoObligatorio("coordinador");
+            int separador = coordinador.lastIndexOf(':');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("--coordinador debe tener la forma host:puerto");
+            }
+            String host = coordinador.substring(0, separador);
+            int puerto;
+            try {
+                puerto = Integer.parseInt(coordinador.substring(separador + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Puerto inválido en --coordinador: " + coordinador);
+            }
+            TrabajadorConteo trabajador = new TrabajadorConteo(
+                    CatalogoMotores.crear(args.obtenerTexto("motor", CatalogoMotores.MRV)));
+            
+            int partes = trabajador.ejecutar(host, puerto);
+            salida.println(partes + " partes contadas");
+            return EXITO;
+        } catch (IllegalArgumentException | IOException e) {
+            salida.println("Error: " + e.getMessage());
+            return ERROR;
+        }
+    }
+}
@@ -3,22 +3,42 @@ package controlador;
 import modelo.*;
 import vista.VistaSudoku;
 import vista.VistaPerformance;
+import vista.PublicadorProgreso;
 import interfaces.ISudokuSolver;
 import interfaces.ISudokuValidator;
 
 import javax.swing.*;
+import java.awt.BorderLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Controlador que coordina la vista y el modelo
  */
 public class ControladorSudoku {
+    /** Cantidad de soluciones que se guardan para recorrer con los botones de navegación */
+    private static final int MAXIMO_SOLUCIONES_NAVEGABLES = 1000;
+    /** Archivo en el que el conteo en curso guarda su avance, para reanudarlo si se interrumpe */
+    private static final Path ARCHIVO_PUNTO_CONTROL =
+            Paths.get(System.getProperty("user.home"), ".sudoku", "conteo-en-curso.txt");
+    private static final long INTERVALO_PUNTOS_CONTROL_MS = 10_000;
+    
     private VistaSudoku vista;
     private ISudokuValidator validador;
     private ISudokuSolver resolvedor;
@@ -26,6 +46,10 @@ public class ControladorSudoku {
     private AnalizadorPerformance analizadorPerformance;
     private int indiceSolucionActual = -1;
     private int totalSoluciones = 0;
+    private int solucionesPreparadas = 0;
+    private IndiceSoluciones indiceSoluciones;
+    private TokenCancelacion consultaIndice;
+    private TokenCancelacion calentamientoIndice;
     
     public ControladorSudoku(VistaSudoku vista) {
         this.vista = vista;
@@ -44,8 +68,11 @@ public class ControladorSudoku {
         vista.agregarListenerValidar(new ListenerValidar());
         vista.agregarListenerContarSoluciones(new ListenerContarSoluciones());
         vista.agregarListenerAnalisisPerformance(new ListenerAnalisisPerformance());
+        vista.agregarListenerEscalabilidad(new ListenerEscalabilidad());
+        vista.agregarListenerCompararMotores(new ListenerCompararMotores());
         vista.agregarListenerSolucionAnterior(new ListenerSolucionAnterior());
         vista.agregarListenerSolucionSiguiente(new ListenerSolucionSiguiente());
+        vista.agregarListenerIrASolucion(new ListenerIrASolucion());
     }
     
     private class ListenerResolver implements ActionListener {
@@ -156,41 +183,142 @@ public class ControladorSudoku {
                 return;
             }
             
-            // Mostrar diálogo de progreso
+            ofrecerReanudarConteo(grilla);
+            
+            // El índice para saltar a soluciones no guardadas memoriza sus conteos en paralelo
+            IndiceSoluciones indice = IndiceSoluciones.enOrdenDeFilas(grilla);
+            TokenCancelacion calentamiento = calentarIndice(indice);
+            
+            // Mostrar diálogo de progreso con la opción de cancelar el conteo
+            TokenCancelacion token = new TokenCancelacion();
             JDialog dialogoProgreso = new JDialog((JFrame) SwingUtilities.getWindowAncestor(vista), "Contando soluciones...", true);
-            dialogoProgreso.setSize(300, 100);
+            dialogoProgreso.setSize(300, 120);
             dialogoProgreso.setLocationRelativeTo(vista);
-            JLabel etiqueta = new JLabel("Calculando, por favor espere...");
-            dialogoProgreso.add(etiqueta);
+            dialogoProgreso.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+            JLabel etiqueta = new JLabel("Calculando, por favor espere...", SwingConstants.CENTER);
+            JButton botonCancelar = new JButton("Cancelar");
+            botonCancelar.addActionListener(evento -> {
+                token.cancelar();
+                botonCancelar.setEnabled(false);
+                etiqueta.setText("Cancelando...");
+            });
+            dialogoProgreso.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosing(WindowEvent evento) {
+                    botonCancelar.doClick();
+                }
+            });
+            JPanel panelBoton = new JPanel();
+            panelBoton.add(botonCancelar);
+            dialogoProgreso.add(etiqueta, BorderLayout.CENTER);
+            dialogoProgreso.add(panelBoton, BorderLayout.SOUTH);
+            
+            // La búsqueda informa el conteo parcial muy seguido; la etiqueta se refresca a ritmo fijo
+            AtomicInteger contadas = new AtomicInteger(0);
+            Timer refresco = new Timer(100, evento -> {
+                if (!token.estaCancelado()) {
+                    etiqueta.setText("Contando... " + contadas.get() + " soluciones hasta ahora");
+                }
+            });
+            refresco.start();
             
             new Thread(() -> {
                 SwingUtilities.invokeLater(() -> dialogoProgreso.setVisible(true));
                 
-                int total = resolvedor.contarSoluciones(grilla.clonar());
-                
-                if (total > 0) {
-                    resolvedor.prepararSoluciones(grilla.clonar());
+                // Un único recorrido cuenta todas las soluciones y guarda las primeras para navegarlas
+                ResultadoBusqueda conteo;
+                try {
+                    conteo = resolvedor.contarReanudable(grilla.clonar(), Integer.MAX_VALUE,
+                            MAXIMO_SOLUCIONES_NAVEGABLES, token, contadas::set,
+                            ARCHIVO_PUNTO_CONTROL, INTERVALO_PUNTOS_CONTROL_MS);
+                } catch (UncheckedIOException ex) {
+                    SwingUtilities.invokeLater(() -> {
+                        refresco.stop();
+                        dialogoProgreso.setVisible(false);
+                        dialogoProgreso.dispose();
+                        vista.establecerEstado("Error con el archivo de avance del conteo: " + ex.getCause().getMessage());
+                        limpiarSoluciones();
+                        calentamiento.cancelar();
+                    });
+                    return;
                 }
+                int total = conteo.obtenerSoluciones();
+                int navegables = Math.min(total, MAXIMO_SOLUCIONES_NAVEGABLES);
                 
                 SwingUtilities.invokeLater(() -> {
+                    refresco.stop();
                     dialogoProgreso.setVisible(false);
+                    dialogoProgreso.dispose();
                     
-                    if (total == 0) {
-                        vista.establecerEstado("No se encontraron soluciones.");
-                        limpiarSoluciones();
+                    String mensaje;
+                    if (!conteo.estaCompleta()) {
+                        mensaje = "Conteo cancelado: al menos " + total + " soluciones ("
+                                + conteo.obtenerNodos() + " nodos explorados). El avance quedó guardado"
+                                + " y puede reanudarse al volver a contar.";
+                    } else if (total == 0) {
+                        mensaje = "No se encontraron soluciones.";
                     } else {
-                        totalSoluciones = total;
-                        vista.establecerEstado(total == 1
+                        mensaje = total == 1
                                 ? "Se encontró 1 solución única."
-                                : "Se encontraron " + total + " soluciones.");
+                                : "Se encontraron " + total + " soluciones.";
+                    }
+                    if (!conteo.estaCompleta() && navegables > 0 && navegables < total) {
+                        mensaje += " Se pueden recorrer las primeras " + navegables + ".";
+                    }
+                    vista.establecerEstado(mensaje);
+                    
+                    limpiarSoluciones();
+                    if (navegables > 0) {
+                        // Con el conteo completo, las soluciones que no se guardaron se obtienen
+                        // a pedido con un índice en el mismo orden que el resolvedor
+                        solucionesPreparadas = navegables;
+                        totalSoluciones = conteo.estaCompleta() ? total : navegables;
+                        if (totalSoluciones > solucionesPreparadas) {
+                            indiceSoluciones = indice;
+                            calentamientoIndice = calentamiento;
+                        }
                         indiceSolucionActual = 0;
                         mostrarSolucionActual();
                     }
+                    if (indiceSoluciones != indice) {
+                        calentamiento.cancelar();
+                    }
                 });
             }).start();
         }
     }
     
+    /**
+     * Si quedó guardado un conteo interrumpido de la misma grilla, pregunta si
+     * reanudarlo; si no, lo descarta para que el conteo empiece de cero
+     */
+    private void ofrecerReanudarConteo(GrillaSudoku grilla) {
+        if (!Files.exists(ARCHIVO_PUNTO_CONTROL)) {
+            return;
+        }
+        try {
+            PuntoControlConteo punto = PuntoControlConteo.cargar(ARCHIVO_PUNTO_CONTROL);
+            if (punto.obtenerGrilla().aCadena().equals(grilla.aCadena())) {
+                int respuesta = JOptionPane.showConfirmDialog(vista,
+                        String.format("Hay un conteo interrumpido de esta grilla con %d soluciones contadas"
+                                + " en %.0f segundos.%n¿Reanudarlo desde donde quedó?",
+                                punto.obtenerContadas(), punto.obtenerTiempoMs() / 1000),
+                        "Reanudar conteo", JOptionPane.YES_NO_OPTION);
+                if (respuesta == JOptionPane.YES_OPTION) {
+                    return;
+                }
+            }
+            Files.deleteIfExists(ARCHIVO_PUNTO_CONTROL);
+        } catch (IOException ex) {
+            vista.establecerEstado("No se pudo leer el conteo interrumpido: " + ex.getMessage());
+            try {
+                Files.deleteIfExists(ARCHIVO_PUNTO_CONTROL);
+            } catch (IOException ignorada) {
+                // El conteo intentará reemplazarlo e informará si tampoco puede
+            }
+        }
+    }
+    
     private class ListenerAnalisisPerformance implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
@@ -211,37 +339,41 @@ public class ControladorSudoku {
                 vistaPerformance.setVisible(true);
             });
             
+            PublicadorProgreso publicador = new PublicadorProgreso(vistaPerformance);
+            publicador.iniciar();
+            
             new Thread(() -> {
                 try {
-                    Map<Integer, Double> resultados = new HashMap<>();
+                    Map<Integer, ResultadoMedicion> resultados = new HashMap<>();
                     AtomicInteger ejecucionesRealizadas = new AtomicInteger(0);
                     
                     for (Integer cantidad : cantidades) {
                         final int cantActual = cantidad;
-                        double promedio = analizadorPerformance.medirTiempoPromedio(
+                        ResultadoMedicion medicion = analizadorPerformance.medirRendimiento(
                                 cantActual,
                                 ejecucionesPorCantidad,
                                 incremento -> {
                                     int actual = ejecucionesRealizadas.incrementAndGet();
-                                    SwingUtilities.invokeLater(() -> vistaPerformance.actualizarProgreso(
+                                    publicador.reportarProgreso(
                                             actual,
                                             totalEjecuciones,
                                             "Analizando " + cantActual + " valores prefijados (" +
                                                     actual + "/" + totalEjecuciones + ")"
-                                    ));
+                                    );
                                 }
                         );
-                        resultados.put(cantActual, promedio);
+                        resultados.put(cantActual, medicion);
+                        publicador.publicar(() -> vistaPerformance.agregarResultadoParcial(medicion));
                     }
                     
-                    SwingUtilities.invokeLater(() -> {
-                        vistaPerformance.mostrarResultados(resultados);
+                    publicador.finalizar(() -> {
+                        vistaPerformance.mostrarResultadosDetallados(resultados);
                         vistaPerformance.ocultarProgreso();
                     });
                     
                 } catch (Exception ex) {
                     ex.printStackTrace();
-                    SwingUtilities.invokeLater(() -> {
+                    publicador.finalizar(() -> {
                         JOptionPane.showMessageDialog(
                             vistaPerformance,
                             "Error durante el análisis: " + ex.getMessage(),
@@ -255,6 +387,152 @@ public class ControladorSudoku {
         }
     }
     
+    private class ListenerEscalabilidad implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            String motor = vista.solicitarMotor(CatalogoMotores.nombres());
+            if (motor == null) {
+                return;
+            }
+            VistaPerformance vistaPerformance = new VistaPerformance((JFrame) SwingUtilities.getWindowAncestor(vista));
+            
+            int cantidadPrefijados = vista.obtenerCantidadPrefijados();
+            List<Integer> nivelesHilos = analizadorPerformance.nivelesHilosPorDefecto();
+            int resolucionesPorNivel = 40;
+            int totalResoluciones = nivelesHilos.size() * resolucionesPorNivel;
+            
+            SwingUtilities.invokeLater(() -> {
+                vistaPerformance.actualizarProgreso(0, totalResoluciones, "Generando Sudokus de prueba...");
+                vistaPerformance.setVisible(true);
+            });
+            
+            PublicadorProgreso publicador = new PublicadorProgreso(vistaPerformance);
+            publicador.iniciar();
+            
+            new Thread(() -> {
+                try {
+                    AtomicInteger resolucionesRealizadas = new AtomicInteger(0);
+                    
+                    Map<Integer, ResultadoEscalabilidad> resultados = analizadorPerformance.analizarEscalabilidad(
+                            () -> CatalogoMotores.crear(motor),
+                            cantidadPrefijados,
+                            resolucionesPorNivel,
+                            nivelesHilos,
+                            incremento -> {
+                                int actual = resolucionesRealizadas.incrementAndGet();
+                                publicador.reportarProgreso(
+                                        actual,
+                                        totalResoluciones,
+                                        "Resolviendo con " + motor + " y " + cantidadPrefijados + " valores prefijados (" +
+                                                actual + "/" + totalResoluciones + ")"
+                                );
+                            },
+                            parciales -> publicador.publicar(() -> vistaPerformance.mostrarEscalabilidad(motor, parciales))
+                    );
+                    
+                    publicador.finalizar(() -> {
+                        vistaPerformance.mostrarEscalabilidad(motor, resultados);
+                        vistaPerformance.ocultarProgreso();
+                    });
+                    
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                    publicador.finalizar(() -> {
+                        JOptionPane.showMessageDialog(
+                            vistaPerformance,
+                            "Error durante el análisis: " + ex.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE
+                        );
+                        vistaPerformance.dispose();
+                    });
+                }
+            }).start();
+        }
+    }
+    
+    private class ListenerCompararMotores implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            VistaPerformance vistaPerformance = new VistaPerformance((JFrame) SwingUtilities.getWindowAncestor(vista));
+            
+            List<Integer> cantidades = new ArrayList<>();
+            for (int i = 17; i <= 40; i += 3) {
+                cantidades.add(i);
+            }
+            
+            int ejecucionesPorCantidad = 10;
+            int totalSudokus = cantidades.size() * ejecucionesPorCantidad;
+            long semilla = System.currentTimeMillis();
+            
+            SwingUtilities.invokeLater(() -> {
+                vistaPerformance.actualizarProgreso(0, totalSudokus, "Iniciando comparación...");
+                vistaPerformance.setVisible(true);
+            });
+            
+            PublicadorProgreso publicador = new PublicadorProgreso(vistaPerformance);
+            publicador.iniciar();
+            
+            new Thread(() -> {
+                try {
+                    ComparacionMotores comparacion = analizadorPerformance.compararMotores(
+                            CatalogoMotores.motoresDisponibles(),
+                            cantidades,
+                            ejecucionesPorCantidad,
+                            semilla,
+                            procesados -> publicador.reportarProgreso(
+                                    procesados,
+                                    totalSudokus,
+                                    "Comparando motores (" + procesados + "/" + totalSudokus + ")"
+                            )
+                    );
+                    
+                    publicador.finalizar(() -> {
+                        vistaPerformance.agregarListenerExportarCsv(
+                                ev -> exportarComparacion(vistaPerformance, comparacion, "csv"));
+                        vistaPerformance.agregarListenerExportarJson(
+                                ev -> exportarComparacion(vistaPerformance, comparacion, "json"));
+                        vistaPerformance.mostrarComparacion(comparacion);
+                        vistaPerformance.ocultarProgreso();
+                    });
+                    
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                    publicador.finalizar(() -> {
+                        JOptionPane.showMessageDialog(
+                            vistaPerformance,
+                            "Error durante la comparación: " + ex.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE
+                        );
+                        vistaPerformance.dispose();
+                    });
+                }
+            }).start();
+        }
+    }
+    
+    private void exportarComparacion(VistaPerformance vistaPerformance, ComparacionMotores comparacion, String formato) {
+        File destino = vistaPerformance.elegirArchivoDestino(formato);
+        if (destino == null) {
+            return;
+        }
+        try (Writer escritor = Files.newBufferedWriter(destino.toPath(), StandardCharsets.UTF_8)) {
+            if (formato.equals("csv")) {
+                ExportadorResultados.exportarCsv(comparacion, escritor);
+            } else {
+                ExportadorResultados.exportarJson(comparacion, escritor);
+            }
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(
+                vistaPerformance,
+                "No se pudo exportar: " + ex.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE
+            );
+        }
+    }
+    
     private class ListenerSolucionAnterior implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
@@ -281,6 +559,20 @@ public class ControladorSudoku {
         }
     }
     
+    private class ListenerIrASolucion implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            if (totalSoluciones <= 0) {
+                return;
+            }
+            int numero = vista.solicitarNumeroSolucion(totalSoluciones);
+            if (numero > 0) {
+                indiceSolucionActual = numero - 1;
+                mostrarSolucionActual();
+            }
+        }
+    }
+    
     private GrillaSudoku obtenerGrillaDesdeVista() {
         return vista.construirGrilla();
     }
@@ -310,8 +602,18 @@ public class ControladorSudoku {
     }
     
     private void limpiarSoluciones() {
+        if (consultaIndice != null) {
+            consultaIndice.cancelar();
+            consultaIndice = null;
+        }
+        if (calentamientoIndice != null) {
+            calentamientoIndice.cancelar();
+            calentamientoIndice = null;
+        }
         indiceSolucionActual = -1;
         totalSoluciones = 0;
+        solucionesPreparadas = 0;
+        indiceSoluciones = null;
         vista.actualizarNavegacionSoluciones(0, 0);
         vista.establecerInfoSolucion(" ");
     }
@@ -321,6 +623,10 @@ public class ControladorSudoku {
             vista.actualizarNavegacionSoluciones(0, 0);
             return;
         }
+        if (indiceSolucionActual >= solucionesPreparadas && indiceSoluciones != null) {
+            buscarSolucionIndexada(indiceSolucionActual);
+            return;
+        }
         GrillaSudoku solucion = resolvedor.obtenerSolucion(indiceSolucionActual);
         if (solucion == null) {
             vista.actualizarNavegacionSoluciones(0, 0);
@@ -329,4 +635,60 @@ public class ControladorSudoku {
         vista.mostrarGrilla(solucion);
         vista.actualizarNavegacionSoluciones(indiceSolucionActual, totalSoluciones);
     }
+    
+    /**
+     * Cuenta las soluciones con el índice en segundo plano, para que memorice los conteos
+     * de los subárboles y los saltos tarden milisegundos. Corre junto al conteo del
+     * resolvedor, que es varias veces más lento, así que suele terminar antes que él;
+     * un salto pedido mientras tanto espera a que termine.
+     * @return Token para cancelar el calentamiento si el índice no se va a usar
+     */
+    private TokenCancelacion calentarIndice(IndiceSoluciones indice) {
+        TokenCancelacion token = new TokenCancelacion();
+        new Thread(() -> {
+            try {
+                indice.contarSoluciones(token);
+            } catch (CancellationException ex) {
+                // El índice ya no se va a usar
+            }
+        }).start();
+        return token;
+    }
+    
+    /**
+     * Obtiene con el índice una solución que no está entre las preparadas, en segundo plano.
+     * Una nueva consulta cancela la anterior si todavía no terminó.
+     */
+    private void buscarSolucionIndexada(int indice) {
+        if (consultaIndice != null) {
+            consultaIndice.cancelar();
+        }
+        TokenCancelacion token = new TokenCancelacion();
+        consultaIndice = token;
+        IndiceSoluciones indiceActual = indiceSoluciones;
+        vista.actualizarNavegacionSoluciones(indice, totalSoluciones);
+        vista.establecerEstado("Buscando la solución " + (indice + 1) + "...");
+        
+        new Thread(() -> {
+            long inicio = System.nanoTime();
+            GrillaSudoku solucion;
+            try {
+                solucion = indiceActual.obtenerSolucion(indice, token);
+            } catch (CancellationException ex) {
+                return;
+            }
+            double milisegundos = (System.nanoTime() - inicio) / 1_000_000.0;
+            
+            SwingUtilities.invokeLater(() -> {
+                if (token != consultaIndice) {
+                    return; // Llegó una consulta más nueva o se limpiaron las soluciones
+                }
+                consultaIndice = null;
+                if (solucion != null) {
+                    vista.mostrarGrilla(solucion);
+                }
+                vista.establecerEstado(String.format("Solución %d obtenida en %.1f ms", indice + 1, milisegundos));
+            });
+        }).start();
+    }
 }
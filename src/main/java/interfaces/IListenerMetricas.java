@@ -0,0 +1,15 @@
+package interfaces;
+
+import modelo.MetricasBusqueda;
+
+/**
+ * Interfaz para recibir las métricas de búsqueda de un resolvedor.
+ * Se notifica una única vez al finalizar cada operación, nunca durante la búsqueda.
+ */
+public interface IListenerMetricas {
+    /**
+     * Invocado cuando el resolvedor termina una operación de búsqueda
+     * @param metricas Contadores acumulados durante la operación
+     */
+    void alFinalizarBusqueda(MetricasBusqueda metricas);
+}
@@ -1,9 +1,19 @@
 package interfaces;
 
 import modelo.GrillaSudoku;
+import modelo.ResultadoBusqueda;
+import modelo.TokenCancelacion;
+
+import java.nio.file.Path;
+import java.util.function.IntConsumer;
 
 /**
- * Interfaz para estrategias de resolución de Sudoku
+ * Interfaz para estrategias de resolución de Sudoku.
+ * Las implementaciones pueden usarse desde varios hilos a la vez: cada operación
+ * es independiente de las anteriores y su estado de búsqueda no se comparte.
+ * 
+ * Las variantes que reciben un {@link TokenCancelacion} consultan el token durante
+ * la búsqueda y, si se activa, devuelven lo encontrado hasta ese momento.
  */
 public interface ISudokuSolver {
     /**
@@ -13,6 +23,14 @@ public interface ISudokuSolver {
      */
     boolean resolver(GrillaSudoku grilla);
     
+    /**
+     * Resuelve un Sudoku, abandonando la búsqueda si el token se activa
+     * @param grilla La grilla a resolver; solo se modifica si se encontró una solución
+     * @param token Token de cancelación, o null para no interrumpir la búsqueda
+     * @return Resultado con 1 solución si se resolvió, o 0 si no tiene solución o no terminó
+     */
+    ResultadoBusqueda resolver(GrillaSudoku grilla, TokenCancelacion token);
+    
     /**
      * Cuenta todas las soluciones posibles del Sudoku
      * @param grilla La grilla de Sudoku
@@ -21,17 +39,90 @@ public interface ISudokuSolver {
     int contarSoluciones(GrillaSudoku grilla);
     
     /**
-     * Calcula y almacena todas las soluciones posibles para la grilla
+     * Cuenta las soluciones del Sudoku, deteniéndose al llegar al límite.
+     * Con límite 2 sirve para verificar si la solución es única.
+     * @param grilla La grilla de Sudoku
+     * @param limite Cantidad máxima de soluciones a contar
+     * @return El número de soluciones encontradas, como mucho el límite
+     */
+    int contarSoluciones(GrillaSudoku grilla, int limite);
+    
+    /**
+     * Cuenta las soluciones del Sudoku hasta el límite o hasta que el token se active
+     * @param grilla La grilla de Sudoku
+     * @param limite Cantidad máxima de soluciones a contar
+     * @param token Token de cancelación, o null para no interrumpir la búsqueda
+     * @return Las soluciones contadas, los nodos explorados y si el conteo terminó
+     */
+    ResultadoBusqueda contarSoluciones(GrillaSudoku grilla, int limite, TokenCancelacion token);
+    
+    /**
+     * Calcula y almacena todas las soluciones posibles para la grilla.
+     * Las soluciones almacenadas se comparten entre hilos y se reemplazan en la siguiente llamada.
      * @param grilla La grilla de Sudoku
      * @return La cantidad de soluciones encontradas
      */
     int prepararSoluciones(GrillaSudoku grilla);
     
+    /**
+     * Como {@link #prepararSoluciones(GrillaSudoku)}, pero si el token se activa
+     * quedan almacenadas las soluciones encontradas hasta ese momento
+     * @param grilla La grilla de Sudoku
+     * @param token Token de cancelación, o null para no interrumpir la búsqueda
+     * @return Las soluciones almacenadas, los nodos explorados y si la búsqueda terminó
+     */
+    ResultadoBusqueda prepararSoluciones(GrillaSudoku grilla, TokenCancelacion token);
+    
+    /**
+     * Cuenta todas las soluciones en un único recorrido y almacena, en lugar de las
+     * soluciones preparadas anteriores, las primeras {@code maximoPreparadas}.
+     * Equivale a contar y luego preparar, pero sin recorrer el árbol dos veces ni
+     * guardar más soluciones de las que se van a mostrar.
+     * @param grilla La grilla de Sudoku
+     * @param maximoPreparadas Cantidad máxima de soluciones a almacenar para {@link #obtenerSolucion(int)}
+     * @param token Token de cancelación, o null para no interrumpir la búsqueda
+     * @param progreso Recibe periódicamente, desde el hilo de la búsqueda, la cantidad
+     *                 contada hasta el momento; puede ser null
+     * @return Las soluciones contadas, los nodos explorados y si el conteo terminó
+     */
+    ResultadoBusqueda contarYPrepararSoluciones(GrillaSudoku grilla, int maximoPreparadas,
+                                                TokenCancelacion token, IntConsumer progreso);
+    
+    /**
+     * Cuenta como {@link #contarYPrepararSoluciones}, guardando en el archivo dado un
+     * punto de control cada {@code intervaloMs} como mínimo. Si el archivo tiene un punto
+     * de control del mismo conteo (motor, grilla, límite y si se preparan soluciones),
+     * el conteo se reanuda desde él en lugar de empezar de cero; uno de otro conteo o que
+     * no se puede leer se ignora y se reemplaza. Al terminar el conteo
+     * el archivo se elimina; si el token lo detiene, queda el punto de control del
+     * lugar en que se detuvo.
+     * @param grilla La grilla de Sudoku
+     * @param limite Cantidad máxima de soluciones a contar
+     * @param maximoPreparadas Cantidad máxima de soluciones a almacenar, o -1 para solo
+     *                         contar, como {@link #contarSoluciones(GrillaSudoku, int, TokenCancelacion)}
+     * @param token Token de cancelación, o null para no interrumpir la búsqueda
+     * @param progreso Recibe periódicamente la cantidad contada hasta el momento; puede ser null
+     * @param archivo Archivo de puntos de control
+     * @param intervaloMs Tiempo mínimo entre dos puntos de control
+     * @return Las soluciones contadas, incluidas las del punto de control, los nodos
+     *         explorados y si el conteo terminó
+     * @throws java.io.UncheckedIOException si no se puede escribir el archivo
+     */
+    ResultadoBusqueda contarReanudable(GrillaSudoku grilla, int limite, int maximoPreparadas,
+                                       TokenCancelacion token, IntConsumer progreso,
+                                       Path archivo, long intervaloMs);
+    
     /**
      * Obtiene una solución previamente calculada mediante {@link #prepararSoluciones(GrillaSudoku)}
      * @param indice Índice de la solución (base cero)
      * @return La solución solicitada o null si el índice es inválido
      */
     GrillaSudoku obtenerSolucion(int indice);
+    
+    /**
+     * Registra un listener que recibe las métricas de búsqueda al finalizar cada operación.
+     * Con listener null la instrumentación queda desactivada y no agrega costo a la búsqueda.
+     * @param listener El listener a notificar, o null para desactivar las métricas
+     */
+    void establecerListenerMetricas(IListenerMetricas listener);
 }
-
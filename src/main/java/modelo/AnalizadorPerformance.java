@@ -1,15 +1,38 @@
 package modelo;
 
+import interfaces.IListenerMetricas;
+import interfaces.ISudokuSolver;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 
 /**
  * Clase para analizar el rendimiento del resolvedor de Sudoku
  */
 public class AnalizadorPerformance {
+    public static final String OPERACION_GENERAR = "generar";
+    public static final String OPERACION_RESOLVER = "resolver";
+    public static final String OPERACION_VALIDAR = "validar";
+    
+    /**
+     * Límite del conteo medido en {@link #medirRendimiento}: contar hasta 2 soluciones
+     * es la verificación de unicidad, y acota el tiempo en Sudokus con muchas soluciones
+     */
+    public static final int LIMITE_CONTEO_MEDICION = 2;
+    
     private GeneradorSudoku generador;
     private ResolvedorSudoku resolvedor;
     private ValidadorSudoku validador;
@@ -58,22 +81,467 @@ public class AnalizadorPerformance {
      * @return Tiempo promedio en milisegundos
      */
     public double medirTiempoPromedio(int cantidadPrefijados, int ejecuciones, IntConsumer progresoCallback) {
-        List<Long> tiempos = new ArrayList<>();
-        for (int i = 0; i < ejecuciones; i++) {
-            GrillaSudoku grilla = generador.generarSudoku(cantidadPrefijados);
+        return medirRendimiento(cantidadPrefijados, ejecuciones, progresoCallback).obtenerTiempoPromedioMs();
+    }
+    
+    /**
+     * Mide el tiempo promedio de resolución junto con las métricas de búsqueda
+     * (nodos, retrocesos, verificaciones, profundidad y eliminaciones) de cada ejecución.
+     * Además mide latencia y bytes asignados por el hilo actual al generar cada Sudoku,
+     * al resolverlo y al verificar si su solución es única (conteo hasta
+     * {@link #LIMITE_CONTEO_MEDICION} soluciones).
+     * @param cantidadPrefijados Cantidad de valores prefijados
+     * @param ejecuciones Número de Sudokus a generar y resolver
+     * @param progresoCallback Callback opcional para reportar progreso (se invoca después de cada ejecución)
+     * @return Promedios de tiempo, asignaciones y trabajo algorítmico por operación
+     */
+    public ResultadoMedicion medirRendimiento(int cantidadPrefijados, int ejecuciones, IntConsumer progresoCallback) {
+        MetricasBusqueda[] ultimasMetricas = new MetricasBusqueda[1];
+        IListenerMetricas listener = metricas -> ultimasMetricas[0] = metricas;
+        
+        long tiempoTotal = 0;
+        long tiempoGeneracion = 0;
+        long tiempoConteo = 0;
+        long bytesResolucion = 0;
+        long bytesGeneracion = 0;
+        long bytesConteo = 0;
+        long nodos = 0;
+        long retrocesos = 0;
+        long verificaciones = 0;
+        long eliminaciones = 0;
+        int profundidadMaxima = 0;
+        try {
+            for (int i = 0; i < ejecuciones; i++) {
+                long bytesInicio = MedidorAsignaciones.bytesAsignadosHiloActual();
+                long tiempoInicio = System.nanoTime();
+                GrillaSudoku grilla = generador.generarSudoku(cantidadPrefijados);
+                tiempoGeneracion += System.nanoTime() - tiempoInicio;
+                bytesGeneracion += MedidorAsignaciones.bytesAsignadosHiloActual() - bytesInicio;
+                
+                GrillaSudoku copia = grilla.clonar();
+                resolvedor.establecerListenerMetricas(listener);
+                bytesInicio = MedidorAsignaciones.bytesAsignadosHiloActual();
+                tiempoInicio = System.nanoTime();
+                resolvedor.resolver(copia);
+                long tiempoFin = System.nanoTime();
+                bytesResolucion += MedidorAsignaciones.bytesAsignadosHiloActual() - bytesInicio;
+                tiempoTotal += tiempoFin - tiempoInicio;
+                resolvedor.establecerListenerMetricas(null);
+                
+                MetricasBusqueda metricas = ultimasMetricas[0];
+                nodos += metricas.obtenerNodos();
+                retrocesos += metricas.obtenerRetrocesos();
+                verificaciones += metricas.obtenerVerificaciones();
+                eliminaciones += metricas.obtenerEliminaciones();
+                profundidadMaxima = Math.max(profundidadMaxima, metricas.obtenerProfundidadMaxima());
+                
+                bytesInicio = MedidorAsignaciones.bytesAsignadosHiloActual();
+                tiempoInicio = System.nanoTime();
+                resolvedor.contarSoluciones(grilla, LIMITE_CONTEO_MEDICION);
+                tiempoConteo += System.nanoTime() - tiempoInicio;
+                bytesConteo += MedidorAsignaciones.bytesAsignadosHiloActual() - bytesInicio;
+                
+                if (progresoCallback != null) {
+                    progresoCallback.accept(i + 1);
+                }
+            }
+        } finally {
+            resolvedor.establecerListenerMetricas(null);
+        }
+        
+        double divisor = Math.max(ejecuciones, 1);
+        return new ResultadoMedicion(cantidadPrefijados, ejecuciones, tiempoTotal / 1_000_000.0 / divisor,
+                nodos / divisor, retrocesos / divisor, verificaciones / divisor, profundidadMaxima, eliminaciones / divisor,
+                bytesResolucion / divisor, tiempoGeneracion / 1_000_000.0 / divisor, bytesGeneracion / divisor,
+                tiempoConteo / 1_000_000.0 / divisor, bytesConteo / divisor);
+    }
+    
+    /**
+     * Niveles de paralelismo por defecto: 1, 2, 4, ... hasta la cantidad de núcleos disponibles
+     * @return Lista ordenada de cantidades de hilos
+     */
+    public List<Integer> nivelesHilosPorDefecto() {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        List<Integer> niveles = new ArrayList<>();
+        for (int hilos = 1; hilos < nucleos; hilos *= 2) {
+            niveles.add(hilos);
+        }
+        niveles.add(nucleos);
+        return niveles;
+    }
+    
+    /**
+     * Mide cómo escala el resolvedor por backtracking al repartir resoluciones entre varios hilos.
+     * Todos los niveles resuelven el mismo conjunto de Sudokus, generado antes de medir.
+     * @param cantidadPrefijados Cantidad de valores prefijados de los Sudokus
+     * @param resolucionesPorNivel Número de Sudokus a resolver en cada nivel de paralelismo
+     * @param nivelesHilos Cantidades de hilos trabajadores a medir
+     * @param progresoCallback Callback opcional para reportar progreso (se invoca después de cada resolución)
+     * @return Mapa ordenado con la cantidad de hilos como clave y el resultado de la medición como valor
+     */
+    public Map<Integer, ResultadoEscalabilidad> analizarEscalabilidad(int cantidadPrefijados, int resolucionesPorNivel,
+                                                                      List<Integer> nivelesHilos, IntConsumer progresoCallback) {
+        return analizarEscalabilidad(() -> resolvedor, cantidadPrefijados, resolucionesPorNivel, nivelesHilos,
+                progresoCallback, null);
+    }
+    
+    /**
+     * Igual que {@link #analizarEscalabilidad(int, int, List, IntConsumer)}, pero con el motor
+     * indicado y entregando los resultados acumulados cada vez que termina de medirse un
+     * nivel de paralelismo.
+     * @param motor Crea el motor a medir; se pide una instancia por nivel
+     * @param resultadosParciales Callback opcional que recibe una copia de los resultados medidos hasta el momento
+     */
+    public Map<Integer, ResultadoEscalabilidad> analizarEscalabilidad(Supplier<ISudokuSolver> motor,
+                                                                      int cantidadPrefijados, int resolucionesPorNivel,
+                                                                      List<Integer> nivelesHilos, IntConsumer progresoCallback,
+                                                                      Consumer<Map<Integer, ResultadoEscalabilidad>> resultadosParciales) {
+        List<GrillaSudoku> sudokus = new ArrayList<>();
+        for (int i = 0; i < resolucionesPorNivel; i++) {
+            sudokus.add(generador.generarSudoku(cantidadPrefijados));
+        }
+        
+        Map<Integer, ResultadoEscalabilidad> resultados = new TreeMap<>();
+        for (Integer hilos : nivelesHilos) {
+            resultados.put(hilos, medirEscalabilidad(motor, sudokus, hilos, progresoCallback));
+            if (resultadosParciales != null) {
+                resultadosParciales.accept(new TreeMap<>(resultados));
+            }
+        }
+        return resultados;
+    }
+    
+    /**
+     * Resuelve un conjunto de Sudokus repartiéndolos dinámicamente entre varios hilos.
+     * Todos los hilos comparten un mismo resolvedor; cada uno busca con su propia sesión.
+     * @param motor Crea el resolvedor que comparten los hilos
+     * @param sudokus Sudokus a resolver (no se modifican)
+     * @param hilos Cantidad de hilos trabajadores
+     * @param progresoCallback Callback opcional para reportar progreso (se invoca después de cada resolución)
+     * @return Throughput agregado y latencias individuales de la medición
+     */
+    public ResultadoEscalabilidad medirEscalabilidad(Supplier<ISudokuSolver> motor, List<GrillaSudoku> sudokus, int hilos,
+                                                     IntConsumer progresoCallback) {
+        if (hilos < 1) {
+            throw new IllegalArgumentException("La cantidad de hilos debe ser al menos 1");
+        }
+        
+        long[] latencias = new long[sudokus.size()];
+        AtomicInteger siguiente = new AtomicInteger(0);
+        AtomicInteger completadas = new AtomicInteger(0);
+        CountDownLatch largada = new CountDownLatch(1);
+        ISudokuSolver resolvedorCompartido = motor.get();
+        
+        List<Callable<Void>> trabajadores = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            trabajadores.add(() -> {
+                largada.await();
+                int indice;
+                while ((indice = siguiente.getAndIncrement()) < sudokus.size()) {
+                    GrillaSudoku grilla = sudokus.get(indice).clonar();
+                    long tiempoInicio = System.nanoTime();
+                    resolvedorCompartido.resolver(grilla);
+                    latencias[indice] = System.nanoTime() - tiempoInicio;
+                    if (progresoCallback != null) {
+                        progresoCallback.accept(completadas.incrementAndGet());
+                    }
+                }
+                return null;
+            });
+        }
+        
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<Void>> futuros = new ArrayList<>();
+            for (Callable<Void> trabajador : trabajadores) {
+                futuros.add(ejecutor.submit(trabajador));
+            }
             long tiempoInicio = System.nanoTime();
-            resolvedor.resolver(grilla.clonar());
-            long tiempoFin = System.nanoTime();
-            long tiempoMs = (tiempoFin - tiempoInicio) / 1_000_000;
-            tiempos.add(tiempoMs);
+            largada.countDown();
+            for (Future<Void> futuro : futuros) {
+                futuro.get();
+            }
+            long tiempoTotal = System.nanoTime() - tiempoInicio;
+            
+            long suma = 0;
+            long maximo = 0;
+            for (long latencia : latencias) {
+                suma += latencia;
+                maximo = Math.max(maximo, latencia);
+            }
+            double promedio = latencias.length == 0 ? 0.0 : (double) suma / latencias.length;
+            return new ResultadoEscalabilidad(hilos, sudokus.size(), tiempoTotal / 1_000_000.0,
+                    promedio / 1_000_000.0, maximo / 1_000_000.0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Medición de escalabilidad interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error en un hilo trabajador: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Ejecuta varios motores sobre exactamente las mismas entradas. Los Sudokus se
+     * generan con una semilla fija, así que dos comparaciones con la misma semilla
+     * miden los mismos puzzles. Para cada Sudoku se ejecutan todos los motores
+     * uno tras otro, para que las variaciones del sistema afecten a todos por igual.
+     * @param motores Motores a comparar por nombre; el primero es la referencia de las aceleraciones
+     * @param cantidadesPrefijados Cantidades de valores prefijados a medir
+     * @param ejecucionesPorCantidad Número de Sudokus por cada cantidad
+     * @param semilla Semilla para generar las entradas
+     * @param progresoCallback Callback opcional para reportar progreso (se invoca después de cada Sudoku)
+     * @return Todas las muestras individuales de la comparación
+     * @throws IllegalStateException si un motor devuelve una solución inválida
+     */
+    public ComparacionMotores compararMotores(Map<String, Supplier<ISudokuSolver>> motores,
+                                              List<Integer> cantidadesPrefijados, int ejecucionesPorCantidad,
+                                              long semilla, IntConsumer progresoCallback) {
+        MedicionMotores medicion = new MedicionMotores(motores, semilla);
+        GeneradorSudoku generadorFijo = new GeneradorSudoku(semilla);
+        int procesados = 0;
+        for (Integer cantidad : cantidadesPrefijados) {
+            for (int i = 0; i < ejecucionesPorCantidad; i++) {
+                medicion.medir(generadorFijo.generarSudoku(cantidad), cantidad, i, TokenCancelacion::new, true);
+                if (progresoCallback != null) {
+                    progresoCallback.accept(++procesados);
+                }
+            }
+        }
+        return medicion.comparacion;
+    }
+    
+    /**
+     * Ejecuta varios motores sobre un corpus dado, por ejemplo {@link CorpusDificil}.
+     * Como en {@link #compararMotores(Map, List, int, long, IntConsumer)}, para cada
+     * Sudoku se ejecutan todos los motores uno tras otro, pero antes se recorre el
+     * corpus las veces indicadas sin registrar nada. Cada resolución tiene un plazo:
+     * en los Sudokus difíciles un motor puede tardar órdenes de magnitud más que otro,
+     * y sin plazo la comparación la dominaría él.
+     * @param motores Motores a comparar por nombre; el primero es la referencia de las aceleraciones
+     * @param sudokus Corpus de entrada
+     * @param repeticiones Veces que se mide cada Sudoku con cada motor
+     * @param pasadasCalentamiento Pasadas completas sin medir antes de la medición
+     * @param plazoMs Tiempo máximo de cada resolución; la que lo alcanza se registra como sin terminar
+     * @param progresoCallback Callback opcional para reportar progreso (se invoca después de cada Sudoku medido)
+     * @return Las muestras, con el índice de cada Sudoku en el corpus y semilla 0
+     * @throws IllegalStateException si un motor devuelve una solución inválida
+     */
+    public ComparacionMotores compararMotores(Map<String, Supplier<ISudokuSolver>> motores,
+                                              List<GrillaSudoku> sudokus, int repeticiones,
+                                              int pasadasCalentamiento, long plazoMs,
+                                              IntConsumer progresoCallback) {
+        MedicionMotores medicion = new MedicionMotores(motores, 0);
+        Supplier<TokenCancelacion> plazo = () -> TokenCancelacion.conPlazo(plazoMs);
+        for (int pasada = 0; pasada < pasadasCalentamiento; pasada++) {
+            for (int i = 0; i < sudokus.size(); i++) {
+                medicion.medir(sudokus.get(i), 0, i, plazo, false);
+            }
+        }
+        for (int i = 0; i < sudokus.size(); i++) {
+            GrillaSudoku grilla = sudokus.get(i);
+            int cantidad = grilla.contarCeldasCompletas();
+            for (int repeticion = 0; repeticion < repeticiones; repeticion++) {
+                medicion.medir(grilla, cantidad, i, plazo, true);
+            }
+            if (progresoCallback != null) {
+                progresoCallback.accept(i + 1);
+            }
+        }
+        return medicion.comparacion;
+    }
+    
+    /**
+     * Entrena un {@link SelectorMotores} midiendo cada motor sobre un corpus fijo de
+     * Sudokus generado a partir de una semilla. Antes de medir se recorre el corpus
+     * las veces indicadas sin registrar nada, para que el JIT compile todos los
+     * motores y ninguno quede en desventaja por medirse primero. Con pocos prefijados
+     * un motor puede tardar segundos en un solo Sudoku, así que cada resolución tiene
+     * un plazo y el entrenamiento dura a lo sumo un plazo por resolución.
+     * @param motores Motores entre los que elegirá el selector, por nombre
+     * @param cantidadesPrefijados Cantidades de valores prefijados del corpus
+     * @param ejecucionesPorCantidad Número de Sudokus por cada cantidad
+     * @param semilla Semilla del corpus
+     * @param pasadasCalentamiento Pasadas completas sin medir antes de la medición
+     * @param plazoMs Tiempo máximo de cada resolución; la que lo alcanza se registra con el plazo
+     * @param progresoCallback Callback opcional para reportar progreso (se invoca después de cada Sudoku medido)
+     * @return El selector entrenado con los tiempos medidos
+     */
+    public SelectorMotores entrenarSelector(Map<String, Supplier<ISudokuSolver>> motores,
+                                            List<Integer> cantidadesPrefijados, int ejecucionesPorCantidad,
+                                            long semilla, int pasadasCalentamiento, long plazoMs,
+                                            IntConsumer progresoCallback) {
+        if (motores.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos un motor para entrenar el selector");
+        }
+        if (plazoMs < 1) {
+            throw new IllegalArgumentException("El plazo debe ser positivo");
+        }
+        List<String> nombres = new ArrayList<>(motores.keySet());
+        List<ISudokuSolver> instancias = new ArrayList<>();
+        for (String nombre : nombres) {
+            instancias.add(motores.get(nombre).get());
+        }
+        
+        List<GrillaSudoku> grillas = new ArrayList<>();
+        GeneradorSudoku generadorFijo = new GeneradorSudoku(semilla);
+        for (Integer cantidad : cantidadesPrefijados) {
+            for (int i = 0; i < ejecucionesPorCantidad; i++) {
+                grillas.add(generadorFijo.generarSudoku(cantidad));
+            }
+        }
+        for (int pasada = 0; pasada < pasadasCalentamiento; pasada++) {
+            for (GrillaSudoku grilla : grillas) {
+                for (ISudokuSolver instancia : instancias) {
+                    instancia.resolver(grilla.clonar(), TokenCancelacion.conPlazo(plazoMs));
+                }
+            }
+        }
+        
+        List<double[]> tiempos = new ArrayList<>();
+        for (int i = 0; i < grillas.size(); i++) {
+            double[] tiemposSudoku = new double[instancias.size()];
+            for (int motor = 0; motor < instancias.size(); motor++) {
+                GrillaSudoku copia = grillas.get(i).clonar();
+                TokenCancelacion token = TokenCancelacion.conPlazo(plazoMs);
+                long tiempoInicio = System.nanoTime();
+                ResultadoBusqueda resultado = instancias.get(motor).resolver(copia, token);
+                double tiempoMs = (System.nanoTime() - tiempoInicio) / 1_000_000.0;
+                // Los motores que no terminan empatan en el plazo, sin importar cuánto se pasó cada uno
+                tiemposSudoku[motor] = resultado.estaCompleta() ? tiempoMs : plazoMs;
+            }
+            tiempos.add(tiemposSudoku);
             if (progresoCallback != null) {
                 progresoCallback.accept(i + 1);
             }
         }
-        return tiempos.stream()
-                .mapToLong(Long::longValue)
-                .average()
-                .orElse(0.0);
+        return SelectorMotores.entrenar(nombres, grillas, tiempos);
+    }
+    
+    /**
+     * Mide un corpus fijo de Sudokus, generado a partir de una semilla, registrando
+     * una muestra por Sudoku para cada operación: generarlo, resolverlo con el motor
+     * dado y validar la solución. Antes de medir se recorre el corpus las veces
+     * indicadas sin registrar nada, para que el JIT compile los caminos calientes.
+     * @param motor Motor con el que se resuelven los Sudokus
+     * @param cantidadesPrefijados Cantidades de valores prefijados del corpus
+     * @param ejecucionesPorCantidad Número de Sudokus por cada cantidad
+     * @param semilla Semilla del corpus
+     * @param pasadasCalentamiento Pasadas completas sin medir antes de la medición
+     * @return Las muestras de las tres operaciones
+     */
+    public List<MuestraRendimiento> medirCorpus(ISudokuSolver motor, List<Integer> cantidadesPrefijados,
+                                                int ejecucionesPorCantidad, long semilla, int pasadasCalentamiento) {
+        for (int pasada = 0; pasada < pasadasCalentamiento; pasada++) {
+            recorrerCorpus(motor, cantidadesPrefijados, ejecucionesPorCantidad, semilla, null);
+        }
+        List<MuestraRendimiento> muestras = new ArrayList<>();
+        recorrerCorpus(motor, cantidadesPrefijados, ejecucionesPorCantidad, semilla, muestras);
+        return muestras;
+    }
+    
+    private void recorrerCorpus(ISudokuSolver motor, List<Integer> cantidadesPrefijados,
+                                int ejecucionesPorCantidad, long semilla, List<MuestraRendimiento> muestras) {
+        GeneradorSudoku generadorFijo = new GeneradorSudoku(semilla);
+        MetricasBusqueda[] ultimasMetricas = new MetricasBusqueda[1];
+        motor.establecerListenerMetricas(metricas -> ultimasMetricas[0] = metricas);
+        try {
+            for (Integer cantidad : cantidadesPrefijados) {
+                for (int i = 0; i < ejecucionesPorCantidad; i++) {
+                    long inicioGenerar = System.nanoTime();
+                    GrillaSudoku grilla = generadorFijo.generarSudoku(cantidad);
+                    long finGenerar = System.nanoTime();
+                    
+                    GrillaSudoku solucion = grilla.clonar();
+                    ultimasMetricas[0] = null;
+                    long inicioResolver = System.nanoTime();
+                    motor.resolver(solucion);
+                    long finResolver = System.nanoTime();
+                    long nodos = ultimasMetricas[0] == null ? 0 : ultimasMetricas[0].obtenerNodos();
+                    
+                    long inicioValidar = System.nanoTime();
+                    validador.esGrillaValida(solucion);
+                    long finValidar = System.nanoTime();
+                    
+                    if (muestras != null) {
+                        muestras.add(new MuestraRendimiento(OPERACION_GENERAR, cantidad, i,
+                                (finGenerar - inicioGenerar) / 1_000_000.0, 0));
+                        muestras.add(new MuestraRendimiento(OPERACION_RESOLVER, cantidad, i,
+                                (finResolver - inicioResolver) / 1_000_000.0, nodos));
+                        muestras.add(new MuestraRendimiento(OPERACION_VALIDAR, cantidad, i,
+                                (finValidar - inicioValidar) / 1_000_000.0, 0));
+                    }
+                }
+            }
+        } finally {
+            motor.establecerListenerMetricas(null);
+        }
+    }
+    
+    /**
+     * Motores de una comparación y las muestras que se van registrando
+     */
+    private class MedicionMotores {
+        private final List<String> nombres;
+        private final Map<String, ISudokuSolver> instancias = new HashMap<>();
+        private final ComparacionMotores comparacion;
+        private MetricasBusqueda ultimasMetricas;
+        
+        MedicionMotores(Map<String, Supplier<ISudokuSolver>> motores, long semilla) {
+            if (motores.isEmpty()) {
+                throw new IllegalArgumentException("Se necesita al menos un motor para comparar");
+            }
+            nombres = new ArrayList<>(motores.keySet());
+            for (String nombre : nombres) {
+                ISudokuSolver motor = motores.get(nombre).get();
+                motor.establecerListenerMetricas(metricas -> ultimasMetricas = metricas);
+                instancias.put(nombre, motor);
+            }
+            comparacion = new ComparacionMotores(nombres, semilla);
+        }
+        
+        /**
+         * Resuelve el Sudoku con cada motor, uno tras otro, y verifica las soluciones
+         * @param tokens Crea el token de cada resolución
+         * @param registrar false para una pasada de calentamiento, que no deja muestras
+         */
+        void medir(GrillaSudoku sudoku, int cantidad, int indice, Supplier<TokenCancelacion> tokens,
+                   boolean registrar) {
+            for (String nombre : nombres) {
+                GrillaSudoku copia = sudoku.clonar();
+                TokenCancelacion token = tokens.get();
+                ultimasMetricas = null;
+                long tiempoInicio = System.nanoTime();
+                ResultadoBusqueda resultado = instancias.get(nombre).resolver(copia, token);
+                long tiempoFin = System.nanoTime();
+                if (resultado.obtenerSoluciones() > 0 && !esSolucionDe(copia, sudoku)) {
+                    throw new IllegalStateException("El motor " + nombre
+                            + " devolvió una solución inválida para el Sudoku " + indice);
+                }
+                if (registrar) {
+                    long nodos = ultimasMetricas == null ? 0 : ultimasMetricas.obtenerNodos();
+                    comparacion.agregarMuestra(new MuestraRendimiento(nombre, cantidad, indice,
+                            (tiempoFin - tiempoInicio) / 1_000_000.0, nodos, resultado.estaCompleta()));
+                }
+            }
+        }
+        
+        /**
+         * @return true si la grilla está completa, sin conflictos y conserva los prefijados del Sudoku
+         */
+        private boolean esSolucionDe(GrillaSudoku solucion, GrillaSudoku sudoku) {
+            int tamano = sudoku.obtenerTamano();
+            for (int fila = 0; fila < tamano; fila++) {
+                for (int columna = 0; columna < tamano; columna++) {
+                    int prefijado = sudoku.obtenerValor(fila, columna);
+                    if (prefijado != 0 && solucion.obtenerValor(fila, columna) != prefijado) {
+                        return false;
+                    }
+                }
+            }
+            return solucion.contarCeldasCompletas() == tamano * tamano
+                    && validador.esGrillaValida(solucion);
+        }
     }
 }
-
@@ -0,0 +1,92 @@
+package modelo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Archivo de Sudokus en el formato de 81 caracteres por línea, leído mediante
+ * mapeo de memoria. El archivo se divide en fragmentos que terminan en un fin de
+ * línea, de modo que cada fragmento puede leerse en paralelo con un {@link LectorSudokus}.
+ */
+public class ArchivoSudokus implements Closeable {
+    /** Distancia máxima que se busca un fin de línea al cortar un fragmento */
+    static final int LARGO_MAXIMO_LINEA = 1024;
+    
+    private final FileChannel canal;
+    private final long tamano;
+    
+    /**
+     * Abre el archivo para lectura
+     * @param archivo Ruta del archivo
+     */
+    public ArchivoSudokus(Path archivo) throws IOException {
+        this.canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        this.tamano = canal.size();
+    }
+    
+    /**
+     * @return Tamaño del archivo en bytes
+     */
+    public long obtenerTamano() {
+        return tamano;
+    }
+    
+    /**
+     * Divide el archivo en fragmentos consecutivos de aproximadamente el tamaño dado.
+     * Cada fragmento se extiende hasta el siguiente fin de línea, por lo que ningún
+     * Sudoku queda partido entre dos fragmentos.
+     * @param tamanoFragmento Tamaño aproximado de cada fragmento en bytes
+     * @return Los fragmentos en el orden del archivo
+     */
+    public List<FragmentoSudokus> dividir(int tamanoFragmento) throws IOException {
+        if (tamanoFragmento < 1) {
+            throw new IllegalArgumentException("El tamaño de los fragmentos debe ser al menos 1");
+        }
+        List<FragmentoSudokus> fragmentos = new ArrayList<>();
+        ByteBuffer busqueda = ByteBuffer.allocate(LARGO_MAXIMO_LINEA);
+        long inicio = 0;
+        while (inicio < tamano) {
+            long fin = Math.min(inicio + tamanoFragmento, tamano);
+            if (fin < tamano) {
+                fin = buscarFinDeLinea(fin, busqueda);
+            }
+            fragmentos.add(new FragmentoSudokus(this, fragmentos.size(), inicio, fin));
+            inicio = fin;
+        }
+        return fragmentos;
+    }
+    
+    /**
+     * Busca la posición siguiente al primer '\n' desde la dada. Si la línea es más
+     * larga que {@link #LARGO_MAXIMO_LINEA} se corta igual; esa línea no es un Sudoku
+     * válido y el lector la informa como inválida.
+     */
+    private long buscarFinDeLinea(long desde, ByteBuffer busqueda) throws IOException {
+        busqueda.clear();
+        int leidos = canal.read(busqueda, desde);
+        for (int i = 0; i < leidos; i++) {
+            if (busqueda.get(i) == '\n') {
+                return desde + i + 1;
+            }
+        }
+        return Math.min(desde + Math.max(leidos, 0), tamano);
+    }
+    
+    /**
+     * Mapea en memoria una región del archivo
+     */
+    LectorSudokus mapear(long inicio, long fin) throws IOException {
+        return new LectorSudokus(canal.map(FileChannel.MapMode.READ_ONLY, inicio, fin - inicio));
+    }
+    
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
@@ -0,0 +1,236 @@
+package modelo;
+
+import interfaces.ISudokuSolver;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Busca Sudokus de solución única que le cuesten lo más posible a un motor, para
+ * conocer su peor caso en lugar del caso promedio de los Sudokus aleatorios.
+ *
+ * La búsqueda es un ascenso de colina sobre los prefijados: se parte de un Sudoku
+ * mínimo (no se le puede quitar ningún prefijado sin perder la unicidad) de una
+ * solución aleatoria y se lo muta quitando, agregando o moviendo prefijados, siempre
+ * con valores de esa solución. Una mutación se acepta si el Sudoku sigue teniendo
+ * solución única y no le cuesta menos al motor; aceptar los empates deja cruzar las
+ * mesetas, que son frecuentes cuando se mide en nodos. Cada ascenso parte de una
+ * solución distinta, para no quedar en un solo máximo local, y aporta a lo sumo
+ * un Sudoku al resultado.
+ *
+ * Los peores Sudokus encontrados se guardan en el formato de {@link CorpusDificil},
+ * de modo que el modo {@code comparar} puede volver a medirlos como batería de
+ * regresión del peor caso.
+ */
+public class BuscadorPeorCaso {
+    /**
+     * Lo que se quiere maximizar
+     */
+    public enum Objetivo {
+        /** Nodos visitados: no depende de la carga de la máquina ni del JIT */
+        NODOS,
+        /** Tiempo de resolución, el mínimo de tres mediciones para atenuar el ruido */
+        TIEMPO
+    }
+    
+    private static final int MEDICIONES_TIEMPO = 3;
+    
+    private final String nombreMotor;
+    private final ISudokuSolver motor;
+    private final Objetivo objetivo;
+    private final long plazoMs;
+    private final Random aleatorio;
+    private final GeneradorSudoku generador;
+    private final ResolvedorSudokuMRV verificador;
+    
+    /**
+     * @param nombreMotor Nombre del motor, para los metadatos del archivo
+     * @param motor Motor cuyo peor caso se busca
+     * @param objetivo Lo que se maximiza
+     * @param semilla Semilla de las soluciones y las mutaciones
+     * @param plazoMs Tiempo máximo de cada resolución; un Sudoku que lo alcanza ya es un peor caso
+     */
+    public BuscadorPeorCaso(String nombreMotor, ISudokuSolver motor, Objetivo objetivo, long semilla, long plazoMs) {
+        if (plazoMs < 1) {
+            throw new IllegalArgumentException("El plazo debe ser positivo");
+        }
+        this.nombreMotor = nombreMotor;
+        this.motor = motor;
+        this.objetivo = objetivo;
+        this.plazoMs = plazoMs;
+        this.aleatorio = new Random(semilla);
+        this.generador = new GeneradorSudoku(semilla);
+        this.verificador = new ResolvedorSudokuMRV();
+    }
+    
+    /**
+     * Ejecuta la búsqueda
+     * @param ascensos Cantidad de ascensos, cada uno desde una solución nueva
+     * @param mutacionesPorAscenso Mutaciones que se prueban en cada ascenso
+     * @param cantidadPeores Cantidad de Sudokus a conservar, a lo sumo uno por ascenso
+     * @param progresoCallback Callback opcional para reportar progreso (se invoca después de cada ascenso)
+     * @return Los peores Sudokus encontrados, del más costoso al menos costoso
+     */
+    public List<PeorCaso> buscar(int ascensos, int mutacionesPorAscenso, int cantidadPeores,
+                                 IntConsumer progresoCallback) {
+        if (ascensos < 1 || mutacionesPorAscenso < 0 || cantidadPeores < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un ascenso y un Sudoku a conservar");
+        }
+        List<PeorCaso> peores = new ArrayList<>();
+        for (int ascenso = 0; ascenso < ascensos; ascenso++) {
+            GrillaSudoku solucion = generador.generarSudokuResuelto();
+            boolean[] prefijados = new boolean[81];
+            Arrays.fill(prefijados, true);
+            minimizar(solucion, prefijados);
+            
+            PeorCaso actual = medir(construir(solucion, prefijados));
+            for (int i = 0; i < mutacionesPorAscenso; i++) {
+                boolean[] mutados = prefijados.clone();
+                mutar(mutados);
+                GrillaSudoku candidato = construir(solucion, mutados);
+                if (verificador.contarSoluciones(candidato.clonar(), 2) != 1) {
+                    continue;
+                }
+                PeorCaso medido = medir(candidato);
+                if (puntaje(medido) >= puntaje(actual)) {
+                    actual = medido;
+                    prefijados = mutados;
+                }
+            }
+            // Solo el máximo de cada ascenso: sus vecinos difieren en un prefijado y repetirían el mismo caso
+            conservar(peores, actual, cantidadPeores);
+            if (progresoCallback != null) {
+                progresoCallback.accept(ascenso + 1);
+            }
+        }
+        return peores;
+    }
+    
+    /**
+     * Quita prefijados en orden aleatorio mientras el Sudoku siga teniendo solución única
+     */
+    private void minimizar(GrillaSudoku solucion, boolean[] prefijados) {
+        List<Integer> celdas = new ArrayList<>();
+        for (int celda = 0; celda < 81; celda++) {
+            if (prefijados[celda]) {
+                celdas.add(celda);
+            }
+        }
+        Collections.shuffle(celdas, aleatorio);
+        for (int celda : celdas) {
+            prefijados[celda] = false;
+            if (verificador.contarSoluciones(construir(solucion, prefijados), 2) != 1) {
+                prefijados[celda] = true;
+            }
+        }
+    }
+    
+    /**
+     * Quita un prefijado, agrega uno o mueve uno a una celda vacía, con igual probabilidad
+     */
+    private void mutar(boolean[] prefijados) {
+        int operacion = aleatorio.nextInt(3);
+        if (operacion != 1) {
+            prefijados[celdaAlAzar(prefijados, true)] = false;
+        }
+        if (operacion != 0) {
+            prefijados[celdaAlAzar(prefijados, false)] = true;
+        }
+    }
+    
+    private int celdaAlAzar(boolean[] prefijados, boolean valor) {
+        int cantidad = 0;
+        for (boolean prefijado : prefijados) {
+            if (prefijado == valor) {
+                cantidad++;
+            }
+        }
+        int elegida = aleatorio.nextInt(cantidad);
+        for (int celda = 0; celda < 81; celda++) {
+            if (prefijados[celda] == valor && elegida-- == 0) {
+                return celda;
+            }
+        }
+        throw new IllegalStateException("No hay celdas con el valor pedido");
+    }
+    
+    private static GrillaSudoku construir(GrillaSudoku solucion, boolean[] prefijados) {
+        GrillaSudoku sudoku = new GrillaSudoku();
+        for (int celda = 0; celda < 81; celda++) {
+            if (prefijados[celda]) {
+                sudoku.establecerValor(celda / 9, celda % 9, solucion.obtenerValor(celda / 9, celda % 9));
+            }
+        }
+        return sudoku;
+    }
+    
+    private PeorCaso medir(GrillaSudoku sudoku) {
+        int mediciones = objetivo == Objetivo.TIEMPO ? MEDICIONES_TIEMPO : 1;
+        ResultadoBusqueda resultado = null;
+        double tiempoMs = Double.MAX_VALUE;
+        for (int i = 0; i < mediciones; i++) {
+            long inicio = System.nanoTime();
+            resultado = motor.resolver(sudoku.clonar(), TokenCancelacion.conPlazo(plazoMs));
+            tiempoMs = Math.min(tiempoMs, (System.nanoTime() - inicio) / 1_000_000.0);
+        }
+        return new PeorCaso(sudoku, resultado.obtenerNodos(), tiempoMs, resultado.estaCompleta());
+    }
+    
+    private double puntaje(PeorCaso caso) {
+        return objetivo == Objetivo.NODOS ? caso.obtenerNodos() : caso.obtenerTiempoMs();
+    }
+    
+    /**
+     * Inserta el caso entre los peores si lo merece, sin repetir Sudokus
+     */
+    private void conservar(List<PeorCaso> peores, PeorCaso caso, int cantidadPeores) {
+        String texto = caso.obtenerSudoku().aCadena();
+        for (PeorCaso conservado : peores) {
+            if (conservado.obtenerSudoku().aCadena().equals(texto)) {
+                return;
+            }
+        }
+        int posicion = peores.size();
+        while (posicion > 0 && puntaje(peores.get(posicion - 1)) < puntaje(caso)) {
+            posicion--;
+        }
+        if (posicion < cantidadPeores) {
+            peores.add(posicion, caso);
+            if (peores.size() > cantidadPeores) {
+                peores.remove(peores.size() - 1);
+            }
+        }
+    }
+    
+    /**
+     * Guarda los Sudokus en el formato de {@link CorpusDificil}, con lo que costó cada
+     * uno en un comentario, reemplazando el archivo si existe
+     * @param peores Sudokus a guardar, normalmente el resultado de {@link #buscar}
+     * @param archivo Ruta del archivo; se crean los directorios que falten
+     */
+    public void guardar(List<PeorCaso> peores, Path archivo) throws IOException {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        Files.createDirectories(directorio);
+        try (BufferedWriter escritor = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            escritor.write("# motor=" + nombreMotor + "\n");
+            escritor.write("# objetivo=" + objetivo.name().toLowerCase(Locale.ROOT) + "\n");
+            escritor.write("# plazo_ms=" + plazoMs + "\n");
+            for (PeorCaso caso : peores) {
+                escritor.write(String.format(Locale.ROOT, "# nodos=%d ms=%.3f prefijados=%d%s\n",
+                        caso.obtenerNodos(), caso.obtenerTiempoMs(), caso.obtenerSudoku().contarCeldasCompletas(),
+                        caso.estaCompleta() ? "" : " sin_terminar"));
+                escritor.write(caso.obtenerSudoku().aCadena() + "\n");
+            }
+        }
+    }
+}
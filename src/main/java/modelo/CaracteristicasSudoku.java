@@ -0,0 +1,112 @@
+package modelo;
+
+import java.util.Locale;
+
+/**
+ * Características baratas de calcular de un Sudoku, con las que se estima qué
+ * motor lo resolverá más rápido. Se obtienen con una pasada sobre la grilla, sin
+ * buscar: prefijados, distribución de la cantidad de candidatos de las celdas
+ * vacías y "singles desnudos" (celdas vacías con un único candidato).
+ */
+public final class CaracteristicasSudoku {
+    private static final int TAMANO = 9;
+    private static final int CELDAS = TAMANO * TAMANO;
+    
+    private final int prefijados;
+    private final int singles;
+    private final int bivalores;
+    private final double promedioCandidatos;
+    
+    CaracteristicasSudoku(int prefijados, int singles, int bivalores, double promedioCandidatos) {
+        this.prefijados = prefijados;
+        this.singles = singles;
+        this.bivalores = bivalores;
+        this.promedioCandidatos = promedioCandidatos;
+    }
+    
+    /**
+     * Calcula las características de la grilla
+     */
+    public static CaracteristicasSudoku calcular(GrillaSudoku grilla) {
+        int[] filas = new int[TAMANO];
+        int[] columnas = new int[TAMANO];
+        int[] cajas = new int[TAMANO];
+        int prefijados = 0;
+        for (int fila = 0; fila < TAMANO; fila++) {
+            for (int columna = 0; columna < TAMANO; columna++) {
+                if (!grilla.estaVacio(fila, columna)) {
+                    int bit = 1 << grilla.obtenerValor(fila, columna);
+                    filas[fila] |= bit;
+                    columnas[columna] |= bit;
+                    cajas[(fila / 3) * 3 + columna / 3] |= bit;
+                    prefijados++;
+                }
+            }
+        }
+        
+        int singles = 0;
+        int bivalores = 0;
+        int sumaCandidatos = 0;
+        for (int fila = 0; fila < TAMANO; fila++) {
+            for (int columna = 0; columna < TAMANO; columna++) {
+                if (grilla.estaVacio(fila, columna)) {
+                    int usados = filas[fila] | columnas[columna] | cajas[(fila / 3) * 3 + columna / 3];
+                    int candidatos = Integer.bitCount(0x3FE & ~usados);
+                    sumaCandidatos += candidatos;
+                    if (candidatos == 1) {
+                        singles++;
+                    } else if (candidatos == 2) {
+                        bivalores++;
+                    }
+                }
+            }
+        }
+        int vacias = CELDAS - prefijados;
+        return new CaracteristicasSudoku(prefijados, singles, bivalores,
+                vacias == 0 ? 0 : (double) sumaCandidatos / vacias);
+    }
+    
+    public int obtenerPrefijados() {
+        return prefijados;
+    }
+    
+    /**
+     * @return Celdas vacías con un único candidato
+     */
+    public int obtenerSingles() {
+        return singles;
+    }
+    
+    /**
+     * @return Celdas vacías con exactamente dos candidatos
+     */
+    public int obtenerBivalores() {
+        return bivalores;
+    }
+    
+    /**
+     * @return Cantidad promedio de candidatos de las celdas vacías
+     */
+    public double obtenerPromedioCandidatos() {
+        return promedioCandidatos;
+    }
+    
+    /**
+     * Distancia entre dos Sudokus en el espacio de características, con cada
+     * característica llevada a [0, 1] según su rango posible
+     */
+    double distancia(CaracteristicasSudoku otras) {
+        double prefijadosDif = (prefijados - otras.prefijados) / (double) CELDAS;
+        double singlesDif = (singles - otras.singles) / (double) CELDAS;
+        double bivaloresDif = (bivalores - otras.bivalores) / (double) CELDAS;
+        double candidatosDif = (promedioCandidatos - otras.promedioCandidatos) / TAMANO;
+        return Math.sqrt(prefijadosDif * prefijadosDif + singlesDif * singlesDif
+                + bivaloresDif * bivaloresDif + candidatosDif * candidatosDif);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d prefijados, %d singles, %d bivalores, %.2f candidatos promedio",
+                prefijados, singles, bivalores, promedioCandidatos);
+    }
+}
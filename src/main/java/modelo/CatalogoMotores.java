@@ -0,0 +1,90 @@
+package modelo;
+
+import interfaces.ISudokuSolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Catálogo de los motores de resolución disponibles, identificados por nombre
+ */
+public class CatalogoMotores {
+    public static final String BACKTRACKING = "Backtracking";
+    public static final String MRV = "MRV";
+    public static final String REINICIOS = "Reinicios";
+    public static final String CONFLICTOS = "Conflictos";
+    public static final String PORTAFOLIO = "Portafolio";
+    public static final String ADAPTATIVO = "Adaptativo";
+    
+    private CatalogoMotores() {
+    }
+    
+    /**
+     * Obtiene los motores disponibles. El primero es el motor de referencia contra
+     * el que se calculan las aceleraciones en las comparaciones.
+     * @return Mapa ordenado de nombre a fábrica de nuevas instancias del motor
+     */
+    public static Map<String, Supplier<ISudokuSolver>> motoresDisponibles() {
+        Map<String, Supplier<ISudokuSolver>> motores = new LinkedHashMap<>();
+        motores.put(BACKTRACKING, () -> new ResolvedorSudoku(new ValidadorSudoku()));
+        motores.put(MRV, ResolvedorSudokuMRV::new);
+        motores.put(REINICIOS, ResolvedorReinicios::new);
+        motores.put(CONFLICTOS, ResolvedorConflictos::new);
+        return motores;
+    }
+    
+    /**
+     * Obtiene los nombres que acepta {@link #crear(String)}: los motores disponibles,
+     * el portafolio que los corre en carrera y el adaptativo que elige uno por Sudoku.
+     * Estos dos no están entre los motores disponibles porque delegan en ellos: sus
+     * resultados dependen de qué motor termina resolviendo, lo que los deja fuera de
+     * las comparaciones entre motores.
+     * @return Nombres de los motores, en orden
+     */
+    public static List<String> nombres() {
+        List<String> nombres = new ArrayList<>(motoresDisponibles().keySet());
+        nombres.add(PORTAFOLIO);
+        nombres.add(ADAPTATIVO);
+        return nombres;
+    }
+    
+    /**
+     * Crea una nueva instancia del motor indicado
+     * @param nombre Nombre del motor, uno de {@link #nombres()}. El adaptativo usa el
+     *               modelo de {@link SelectorMotores#ARCHIVO_POR_DEFECTO}, o elige
+     *               siempre MRV si todavía no se entrenó ninguno.
+     * @return Una nueva instancia del motor
+     * @throws UncheckedIOException si el modelo del adaptativo existe pero no se puede leer
+     */
+    public static ISudokuSolver crear(String nombre) {
+        if (PORTAFOLIO.equals(nombre)) {
+            return new ResolvedorPortafolio(motoresDisponibles());
+        }
+        if (ADAPTATIVO.equals(nombre)) {
+            return new ResolvedorAdaptativo(cargarSelector(), motoresDisponibles());
+        }
+        Supplier<ISudokuSolver> fabrica = motoresDisponibles().get(nombre);
+        if (fabrica == null) {
+            throw new IllegalArgumentException("Motor desconocido: " + nombre
+                    + ". Disponibles: " + nombres());
+        }
+        return fabrica.get();
+    }
+    
+    private static SelectorMotores cargarSelector() {
+        if (!Files.exists(SelectorMotores.ARCHIVO_POR_DEFECTO)) {
+            return SelectorMotores.sinEntrenar(MRV);
+        }
+        try {
+            return SelectorMotores.cargar(SelectorMotores.ARCHIVO_POR_DEFECTO);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package modelo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Resultados de ejecutar varios motores sobre las mismas entradas.
+ * Conserva todas las muestras individuales para poder exportarlas.
+ */
+public class ComparacionMotores {
+    private final List<String> motores;
+    private final long semilla;
+    private final List<MuestraRendimiento> muestras;
+    
+    /**
+     * @param motores Nombres de los motores comparados; el primero es la referencia
+     * @param semilla Semilla con la que se generaron las entradas
+     */
+    public ComparacionMotores(List<String> motores, long semilla) {
+        this.motores = new ArrayList<>(motores);
+        this.semilla = semilla;
+        this.muestras = new ArrayList<>();
+    }
+    
+    public void agregarMuestra(MuestraRendimiento muestra) {
+        muestras.add(muestra);
+    }
+    
+    public List<String> obtenerMotores() {
+        return Collections.unmodifiableList(motores);
+    }
+    
+    public long obtenerSemilla() {
+        return semilla;
+    }
+    
+    public List<MuestraRendimiento> obtenerMuestras() {
+        return Collections.unmodifiableList(muestras);
+    }
+    
+    /**
+     * @return Cantidades de valores prefijados medidas, en orden ascendente
+     */
+    public List<Integer> obtenerCantidades() {
+        TreeSet<Integer> cantidades = new TreeSet<>();
+        for (MuestraRendimiento muestra : muestras) {
+            cantidades.add(muestra.obtenerCantidadPrefijados());
+        }
+        return new ArrayList<>(cantidades);
+    }
+    
+    /**
+     * @return Tiempo promedio en milisegundos de las resoluciones terminadas del motor
+     * para esa cantidad, o 0 si no hay ninguna
+     */
+    public double tiempoPromedio(String motor, int cantidadPrefijados) {
+        double suma = 0;
+        int cantidad = 0;
+        for (MuestraRendimiento muestra : muestras) {
+            if (muestra.obtenerSerie().equals(motor) && muestra.obtenerCantidadPrefijados() == cantidadPrefijados
+                    && muestra.estaCompleta()) {
+                suma += muestra.obtenerTiempoMs();
+                cantidad++;
+            }
+        }
+        return cantidad == 0 ? 0.0 : suma / cantidad;
+    }
+    
+    /**
+     * @return Cantidad de resoluciones del motor para esa cantidad que alcanzaron el plazo
+     */
+    public int contarSinTerminar(String motor, int cantidadPrefijados) {
+        int cantidad = 0;
+        for (MuestraRendimiento muestra : muestras) {
+            if (muestra.obtenerSerie().equals(motor) && muestra.obtenerCantidadPrefijados() == cantidadPrefijados
+                    && !muestra.estaCompleta()) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+    
+    /**
+     * Aceleración del motor respecto del motor de referencia (el primero).
+     * Un valor de 2 significa que el motor tarda la mitad que la referencia.
+     * Si alguno de los dos no terminó alguna resolución, los promedios cubren
+     * Sudokus distintos y no se pueden comparar.
+     * @return Cociente de tiempos promedio, o 0 si el motor no tiene tiempo medible
+     */
+    public double aceleracion(String motor, int cantidadPrefijados) {
+        String referencia = motores.get(0);
+        double tiempoMotor = tiempoPromedio(motor, cantidadPrefijados);
+        if (tiempoMotor <= 0 || contarSinTerminar(motor, cantidadPrefijados) > 0
+                || contarSinTerminar(referencia, cantidadPrefijados) > 0) {
+            return 0.0;
+        }
+        return tiempoPromedio(referencia, cantidadPrefijados) / tiempoMotor;
+    }
+}
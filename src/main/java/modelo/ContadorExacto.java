@@ -0,0 +1,609 @@
+package modelo;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cuenta exactamente las soluciones de un Sudoku sin enumerarlas una por una, por
+ * lo que sirve para grillas poco restringidas cuyas soluciones no entran en un int
+ * ni se pueden recorrer en un tiempo razonable.
+ *
+ * La grilla se completa fila por fila. Después de cada fila solo importa, para
+ * cada dígito, en qué columnas y en qué cajas de la banda actual ya aparece: dos
+ * prefijos con la misma "firma" por dígito tienen la misma cantidad de maneras de
+ * completarse. El conteo avanza de a una fila sobre el conjunto de estados
+ * distintos, acumulando para cada estado cuántos prefijos llevan a él.
+ *
+ * Además, los dígitos que no aparecen en los prefijados de las filas restantes son
+ * intercambiables entre sí: renombrarlos no cambia la cantidad de maneras de
+ * completar la grilla. Los estados se guardan en forma canónica respecto de esos
+ * renombres (las firmas de los dígitos libres, ordenadas), lo que reduce la
+ * cantidad de estados distintos en varios órdenes de magnitud cuando las últimas
+ * filas tienen pocos prefijados.
+ *
+ * Cuando las bandas que faltan no tienen prefijados, permutar las columnas (dentro
+ * de cada pila de cajas, y las pilas entre sí) tampoco cambia la cantidad de
+ * maneras de completarlas. Al cerrar una banda así, los estados se agrupan también
+ * respecto de esas permutaciones y cada uno se completa por separado, con lo que la
+ * memoria queda acotada por los estados de un solo comienzo. Así se cuenta, en unos
+ * minutos, la grilla vacía (6.670.903.752.021.072.936.960 soluciones): la primera
+ * banda deja 44 grupos.
+ *
+ * Con 17 o más prefijados el conteo tarda segundos. Con pocos prefijados repartidos
+ * en todas las bandas los estados pueden no entrar en memoria: el conteo se
+ * abandona si después de alguna fila hay más de {@link #MAXIMO_ESTADOS}.
+ */
+public class ContadorExacto {
+    private static final int TAMANO = 9;
+    private static final int TODOS = 0x3FE; // bits 1..9
+    private static final int BITS_FIRMA = 12; // 9 columnas y 3 cajas de la banda actual
+    private static final int CAJAS_BANDA = 0xE00;
+    private static final int COLUMNAS = 0x1FF;
+    
+    /**
+     * Cantidad máxima de estados distintos después de una fila por omisión: unos 100 MB
+     * por tabla. La grilla vacía llega a 1.325.268.
+     */
+    public static final int MAXIMO_ESTADOS = 2_000_000;
+    
+    /** Cantidad de estados generados entre dos consultas al token de cancelación */
+    private static final int INTERVALO_CONSULTA = 1 << 14;
+    
+    private final int maximoEstados;
+    private final int[] estadosPorFila = new int[TAMANO];
+    
+    public ContadorExacto() {
+        this(MAXIMO_ESTADOS);
+    }
+    
+    /**
+     * @param maximoEstados Cantidad máxima de estados distintos después de una fila
+     */
+    public ContadorExacto(int maximoEstados) {
+        if (maximoEstados < 1) {
+            throw new IllegalArgumentException("El máximo de estados debe ser positivo");
+        }
+        this.maximoEstados = maximoEstados;
+    }
+    
+    /**
+     * Cuenta las soluciones de la grilla
+     * @param grilla La grilla de Sudoku
+     * @return La cantidad exacta de soluciones
+     * @throws IllegalArgumentException si la grilla requiere demasiados estados
+     */
+    public BigInteger contar(GrillaSudoku grilla) {
+        return contar(grilla, null);
+    }
+    
+    /**
+     * Cuenta las soluciones de la grilla
+     * @param grilla La grilla de Sudoku
+     * @param token Token de cancelación, o null para no interrumpir el conteo
+     * @return La cantidad exacta de soluciones
+     * @throws CancellationException si el token se activa antes de terminar
+     * @throws IllegalArgumentException si después de alguna fila hay más estados que el máximo
+     */
+    public BigInteger contar(GrillaSudoku grilla, TokenCancelacion token) {
+        Conteo conteo = new Conteo(grilla, token, maximoEstados);
+        if (!conteo.prefijadosConsistentes()) {
+            Arrays.fill(estadosPorFila, 0);
+            return BigInteger.ZERO;
+        }
+        BigInteger total = conteo.ejecutar();
+        System.arraycopy(conteo.estadosPorFila, 0, estadosPorFila, 0, TAMANO);
+        return total;
+    }
+    
+    /**
+     * @return Cantidad de estados distintos después de cada fila en el último conteo; en
+     *         las bandas que se completan por separado, el máximo entre los comienzos
+     */
+    public int[] obtenerEstadosPorFila() {
+        return estadosPorFila.clone();
+    }
+    
+    /**
+     * Estado de un conteo en curso. Las firmas se indexan por dígito (1 a 9): los bits
+     * 0 a 8 indican las columnas en que ya aparece y los bits 9 a 11, las cajas de la
+     * banda actual.
+     */
+    private static class Conteo {
+        private final int[][] prefijados = new int[TAMANO][TAMANO];
+        /** Dígitos prefijados en cada columna en filas posteriores a la indicada */
+        private final int[][] reservadosColumna = new int[TAMANO][TAMANO];
+        /** Dígitos prefijados en cada caja de la banda en filas posteriores a la indicada */
+        private final int[][] reservadosCaja = new int[TAMANO][3];
+        /** Dígitos que no aparecen en los prefijados de las filas posteriores a la indicada */
+        private final int[] libres = new int[TAMANO];
+        private final int[] estadosPorFila = new int[TAMANO];
+        private final TokenCancelacion token;
+        private final int maximoEstados;
+        
+        // Estado de la expansión de la fila actual
+        private final int[] firmas = new int[TAMANO + 1];
+        private final int[] mascaraColumna = new int[TAMANO];
+        private final int[] mascaraCaja = new int[3];
+        private final int[] colocados = new int[TAMANO];
+        private final int[] nuevas = new int[TAMANO + 1];
+        private final int[] firmasLibres = new int[TAMANO];
+        private int fila;
+        private TablaEstados siguientes;
+        private long multiplicidad;
+        private BigInteger multiplicidadGrande;
+        private long generados;
+        
+        Conteo(GrillaSudoku grilla, TokenCancelacion token, int maximoEstados) {
+            this.token = token;
+            this.maximoEstados = maximoEstados;
+            int[][] valores = orientar(grilla);
+            int[] orden = ordenDeFilas(valores);
+            for (int f = 0; f < TAMANO; f++) {
+                prefijados[f] = valores[orden[f]];
+            }
+            for (int f = TAMANO - 1; f >= 0; f--) {
+                int enFilasPosteriores = 0;
+                for (int g = f + 1; g < TAMANO; g++) {
+                    for (int c = 0; c < TAMANO; c++) {
+                        int valor = prefijados[g][c];
+                        if (valor == 0) {
+                            continue;
+                        }
+                        enFilasPosteriores |= 1 << valor;
+                        reservadosColumna[f][c] |= 1 << valor;
+                        if (g / 3 == f / 3) {
+                            reservadosCaja[f][c / 3] |= 1 << valor;
+                        }
+                    }
+                }
+                libres[f] = TODOS & ~enFilasPosteriores;
+            }
+        }
+        
+        /**
+         * Transponer la grilla no cambia la cantidad de soluciones. Se recorre por filas o
+         * por columnas según cuál concentre más los prefijados en una misma banda: esa
+         * banda se procesa primero y acota la cantidad de estados desde el comienzo.
+         * @return Los valores de la grilla, transpuesta si conviene
+         */
+        private static int[][] orientar(GrillaSudoku grilla) {
+            int[][] porFilas = new int[TAMANO][TAMANO];
+            int[][] porColumnas = new int[TAMANO][TAMANO];
+            for (int f = 0; f < TAMANO; f++) {
+                for (int c = 0; c < TAMANO; c++) {
+                    porFilas[f][c] = grilla.obtenerValor(f, c);
+                    porColumnas[c][f] = porFilas[f][c];
+                }
+            }
+            int[] bandasFilas = prefijadosPorBanda(porFilas);
+            int[] bandasColumnas = prefijadosPorBanda(porColumnas);
+            return Arrays.compare(bandasColumnas, bandasFilas) > 0 ? porColumnas : porFilas;
+        }
+        
+        /**
+         * @return Cantidad de prefijados de cada banda, de mayor a menor
+         */
+        private static int[] prefijadosPorBanda(int[][] valores) {
+            int[] bandas = new int[3];
+            for (int f = 0; f < TAMANO; f++) {
+                bandas[f / 3] += contarPrefijados(valores[f]);
+            }
+            Arrays.sort(bandas);
+            return new int[] {bandas[2], bandas[1], bandas[0]};
+        }
+        
+        private static int contarPrefijados(int[] fila) {
+            int cantidad = 0;
+            for (int valor : fila) {
+                if (valor != 0) {
+                    cantidad++;
+                }
+            }
+            return cantidad;
+        }
+        
+        /**
+         * Permutar las bandas, o las filas dentro de una banda, no cambia la cantidad de
+         * soluciones. Se procesan primero las bandas y filas con más prefijados: acotan
+         * antes la cantidad de estados y dejan antes sin prefijados a las filas restantes,
+         * con lo que hay más dígitos libres para agrupar estados.
+         * @return Para cada posición de procesamiento, la fila original
+         */
+        private static int[] ordenDeFilas(int[][] valores) {
+            int[] porFila = new int[TAMANO];
+            for (int f = 0; f < TAMANO; f++) {
+                porFila[f] = contarPrefijados(valores[f]);
+            }
+            Integer[] bandas = {0, 1, 2};
+            Arrays.sort(bandas, (a, b) -> Integer.compare(
+                    porFila[b * 3] + porFila[b * 3 + 1] + porFila[b * 3 + 2],
+                    porFila[a * 3] + porFila[a * 3 + 1] + porFila[a * 3 + 2]));
+            int[] orden = new int[TAMANO];
+            int posicion = 0;
+            for (int banda : bandas) {
+                Integer[] filas = {banda * 3, banda * 3 + 1, banda * 3 + 2};
+                Arrays.sort(filas, (a, b) -> Integer.compare(porFila[b], porFila[a]));
+                for (int f : filas) {
+                    orden[posicion++] = f;
+                }
+            }
+            return orden;
+        }
+        
+        /**
+         * @return false si algún valor prefijado se repite en su fila, columna o caja
+         */
+        boolean prefijadosConsistentes() {
+            ValidadorSudoku validador = new ValidadorSudoku();
+            GrillaSudoku grilla = new GrillaSudoku(prefijados);
+            return !validador.tieneConflictos(grilla);
+        }
+        
+        BigInteger ejecutar() {
+            TablaEstados actuales = new TablaEstados();
+            actuales.sumar(0, 0, 1, null);
+            return contarDesde(actuales, 0);
+        }
+        
+        /**
+         * Completa las filas desde la indicada a partir de los estados dados
+         * @return Cantidad de maneras de completar la grilla, sumada sobre los estados
+         */
+        private BigInteger contarDesde(TablaEstados actuales, int primeraFila) {
+            for (fila = primeraFila; fila < TAMANO; fila++) {
+                if (fila == 3 && libres[fila - 1] == TODOS && actuales.tamano() > 1) {
+                    return contarPorSeparado(actuales, fila);
+                }
+                siguientes = new TablaEstados();
+                for (int i = 0; i < actuales.capacidad(); i++) {
+                    if (!actuales.ocupada(i)) {
+                        continue;
+                    }
+                    desempaquetar(actuales.alta(i), actuales.baja(i));
+                    multiplicidad = actuales.cantidad(i);
+                    multiplicidadGrande = actuales.cantidadGrande(i);
+                    expandir();
+                }
+                actuales = siguientes;
+                estadosPorFila[fila] = Math.max(estadosPorFila[fila], actuales.tamano());
+                if (actuales.tamano() == 0) {
+                    return BigInteger.ZERO;
+                }
+            }
+            // Después de la última fila queda un único estado: todas las columnas completas
+            BigInteger total = BigInteger.ZERO;
+            for (int i = 0; i < actuales.capacidad(); i++) {
+                if (actuales.ocupada(i)) {
+                    total = total.add(actuales.cantidadTotal(i));
+                }
+            }
+            return total;
+        }
+        
+        /**
+         * Las filas desde la indicada no tienen prefijados: agrupa los estados respecto de
+         * las permutaciones de columnas y completa cada grupo por separado
+         */
+        private BigInteger contarPorSeparado(TablaEstados actuales, int primeraFila) {
+            TablaEstados grupos = new TablaEstados();
+            long[] canonico = new long[2];
+            for (int i = 0; i < actuales.capacidad(); i++) {
+                if (actuales.ocupada(i)) {
+                    canonizarColumnas(actuales.alta(i), actuales.baja(i), canonico);
+                    grupos.sumar(canonico[0], canonico[1], actuales.cantidad(i), actuales.cantidadGrande(i));
+                }
+            }
+            BigInteger total = BigInteger.ZERO;
+            for (int i = 0; i < grupos.capacidad(); i++) {
+                if (!grupos.ocupada(i)) {
+                    continue;
+                }
+                TablaEstados comienzo = new TablaEstados();
+                comienzo.sumar(grupos.alta(i), grupos.baja(i), 1, null);
+                total = total.add(contarDesde(comienzo, primeraFila).multiply(grupos.cantidadTotal(i)));
+            }
+            return total;
+        }
+        
+        /**
+         * Forma canónica de un estado al cerrar una banda respecto de las permutaciones de
+         * columnas: la menor, en orden lexicográfico, de las listas ordenadas de firmas que
+         * resultan de aplicar cada permutación. Supone que todos los dígitos son libres.
+         * @param canonico Recibe el estado canónico empaquetado como en la tabla de estados
+         */
+        private void canonizarColumnas(long alta, long baja, long[] canonico) {
+            desempaquetar(alta, baja);
+            int[] mejor = null;
+            int[] permutadas = new int[TAMANO];
+            for (int[] tabla : PermutacionesColumnas.TABLAS) {
+                for (int digito = 1; digito <= TAMANO; digito++) {
+                    permutadas[digito - 1] = tabla[firmas[digito]];
+                }
+                Arrays.sort(permutadas);
+                if (mejor == null || Arrays.compare(permutadas, mejor) < 0) {
+                    mejor = permutadas.clone();
+                }
+            }
+            canonico[0] = 0;
+            canonico[1] = 0;
+            for (int digito = 1; digito <= 5; digito++) {
+                canonico[0] |= (long) mejor[digito - 1] << (BITS_FIRMA * (digito - 1));
+            }
+            for (int digito = 6; digito <= TAMANO; digito++) {
+                canonico[1] |= (long) mejor[digito - 1] << (BITS_FIRMA * (digito - 6));
+            }
+        }
+        
+        private void desempaquetar(long alta, long baja) {
+            int mascara = (1 << BITS_FIRMA) - 1;
+            for (int digito = 1; digito <= TAMANO; digito++) {
+                firmas[digito] = digito <= 5
+                        ? (int) (alta >>> (BITS_FIRMA * (digito - 1))) & mascara
+                        : (int) (baja >>> (BITS_FIRMA * (digito - 6))) & mascara;
+            }
+        }
+        
+        /**
+         * Genera todas las maneras de llenar la fila actual a partir de las firmas cargadas
+         */
+        private void expandir() {
+            Arrays.fill(mascaraColumna, 0);
+            Arrays.fill(mascaraCaja, 0);
+            for (int digito = 1; digito <= TAMANO; digito++) {
+                int firma = firmas[digito];
+                int bit = 1 << digito;
+                for (int c = 0; c < TAMANO; c++) {
+                    if ((firma & (1 << c)) != 0) {
+                        mascaraColumna[c] |= bit;
+                    }
+                }
+                for (int caja = 0; caja < 3; caja++) {
+                    if ((firma & (1 << (TAMANO + caja))) != 0) {
+                        mascaraCaja[caja] |= bit;
+                    }
+                }
+            }
+            // Los dígitos prefijados en la fila solo pueden ir en su celda
+            int prefijadosFila = 0;
+            for (int c = 0; c < TAMANO; c++) {
+                if (prefijados[fila][c] != 0) {
+                    prefijadosFila |= 1 << prefijados[fila][c];
+                }
+            }
+            llenarCelda(0, prefijadosFila);
+        }
+        
+        private void llenarCelda(int columna, int usados) {
+            if (columna == TAMANO) {
+                registrarFila();
+                return;
+            }
+            int prefijado = prefijados[fila][columna];
+            int caja = columna / 3;
+            int bloqueados = mascaraColumna[columna] | mascaraCaja[caja]
+                    | reservadosColumna[fila][columna] | reservadosCaja[fila][caja];
+            int candidatos;
+            if (prefijado != 0) {
+                candidatos = (1 << prefijado) & ~bloqueados;
+            } else {
+                candidatos = TODOS & ~usados & ~bloqueados;
+            }
+            while (candidatos != 0) {
+                int bit = candidatos & -candidatos;
+                candidatos ^= bit;
+                colocados[columna] = Integer.numberOfTrailingZeros(bit);
+                llenarCelda(columna + 1, usados | bit);
+            }
+        }
+        
+        /**
+         * Calcula el estado canónico que resulta de la fila recién llenada y suma la multiplicidad
+         */
+        private void registrarFila() {
+            if (token != null && ++generados % INTERVALO_CONSULTA == 0 && token.debeDetenerse()) {
+                throw new CancellationException("Conteo cancelado");
+            }
+            boolean cierraBanda = fila % 3 == 2;
+            for (int c = 0; c < TAMANO; c++) {
+                int digito = colocados[c];
+                int firma = firmas[digito] | (1 << c) | (1 << (TAMANO + c / 3));
+                nuevas[digito] = cierraBanda ? firma & ~CAJAS_BANDA : firma;
+            }
+            canonizar(libres[fila]);
+            long alta = 0;
+            long baja = 0;
+            for (int digito = 1; digito <= 5; digito++) {
+                alta |= (long) nuevas[digito] << (BITS_FIRMA * (digito - 1));
+            }
+            for (int digito = 6; digito <= TAMANO; digito++) {
+                baja |= (long) nuevas[digito] << (BITS_FIRMA * (digito - 6));
+            }
+            siguientes.sumar(alta, baja, multiplicidad, multiplicidadGrande);
+            if (siguientes.tamano() > maximoEstados) {
+                throw new IllegalArgumentException("La grilla tiene muy pocos prefijados para el conteo exacto: "
+                        + "más de " + maximoEstados + " estados después de la fila " + (fila + 1));
+            }
+        }
+        
+        /**
+         * Lleva las nuevas firmas a la forma canónica respecto de los renombres de los
+         * dígitos libres: las firmas de los dígitos libres se ordenan y se asignan a los
+         * dígitos libres en orden creciente; las de los demás dígitos quedan en su lugar.
+         */
+        private void canonizar(int libres) {
+            int cantidadLibres = 0;
+            for (int digito = 1; digito <= TAMANO; digito++) {
+                if ((libres & (1 << digito)) != 0) {
+                    // Inserción ordenada: son a lo sumo nueve valores
+                    int firma = nuevas[digito];
+                    int i = cantidadLibres++;
+                    while (i > 0 && firmasLibres[i - 1] > firma) {
+                        firmasLibres[i] = firmasLibres[i - 1];
+                        i--;
+                    }
+                    firmasLibres[i] = firma;
+                }
+            }
+            int siguienteLibre = 0;
+            for (int digito = 1; digito <= TAMANO; digito++) {
+                if ((libres & (1 << digito)) != 0) {
+                    nuevas[digito] = firmasLibres[siguienteLibre++];
+                }
+            }
+        }
+    }
+    
+    /**
+     * Las 1296 permutaciones de columnas que conservan las pilas de cajas (6 órdenes de
+     * las pilas por 6 órdenes dentro de cada una), como tablas de máscara de columnas
+     * a máscara permutada
+     */
+    private static final class PermutacionesColumnas {
+        private static final int[][] ORDENES = {
+            {0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}
+        };
+        static final int[][] TABLAS = crear();
+        
+        private static int[][] crear() {
+            int[][] tablas = new int[6 * 6 * 6 * 6][];
+            int cantidad = 0;
+            for (int[] pilas : ORDENES) {
+                for (int[] primera : ORDENES) {
+                    for (int[] segunda : ORDENES) {
+                        for (int[] tercera : ORDENES) {
+                            int[][] dentro = {primera, segunda, tercera};
+                            int[] destino = new int[TAMANO];
+                            for (int c = 0; c < TAMANO; c++) {
+                                destino[c] = pilas[c / 3] * 3 + dentro[c / 3][c % 3];
+                            }
+                            int[] tabla = new int[COLUMNAS + 1];
+                            for (int mascara = 0; mascara <= COLUMNAS; mascara++) {
+                                for (int c = 0; c < TAMANO; c++) {
+                                    if ((mascara & (1 << c)) != 0) {
+                                        tabla[mascara] |= 1 << destino[c];
+                                    }
+                                }
+                            }
+                            tablas[cantidad++] = tabla;
+                        }
+                    }
+                }
+            }
+            return tablas;
+        }
+    }
+    
+    /**
+     * Tabla hash de direccionamiento abierto de estado (108 bits en dos long) a cantidad
+     * de prefijos que llevan a él. Las cantidades se suman en long mientras entren y
+     * pasan a BigInteger al desbordar; evita crear un objeto por estado y por suma.
+     */
+    private static final class TablaEstados {
+        private long[] altas = new long[1 << 10];
+        private long[] bajas = new long[1 << 10];
+        private long[] cantidades = new long[1 << 10];
+        private BigInteger[] grandes;
+        private boolean[] ocupadas = new boolean[1 << 10];
+        private int tamano;
+        
+        int capacidad() {
+            return ocupadas.length;
+        }
+        
+        int tamano() {
+            return tamano;
+        }
+        
+        boolean ocupada(int i) {
+            return ocupadas[i];
+        }
+        
+        long alta(int i) {
+            return altas[i];
+        }
+        
+        long baja(int i) {
+            return bajas[i];
+        }
+        
+        long cantidad(int i) {
+            return cantidades[i];
+        }
+        
+        /**
+         * @return La cantidad del estado, sin importar si desbordó un long
+         */
+        BigInteger cantidadTotal(int i) {
+            BigInteger grande = cantidadGrande(i);
+            return grande != null ? grande : BigInteger.valueOf(cantidades[i]);
+        }
+        
+        /**
+         * @return La cantidad como BigInteger si desbordó un long, o null
+         */
+        BigInteger cantidadGrande(int i) {
+            return grandes == null ? null : grandes[i];
+        }
+        
+        /**
+         * Suma una cantidad al estado dado, agregándolo si no estaba
+         * @param grande La cantidad como BigInteger si no entra en un long, o null para usar {@code cantidad}
+         */
+        void sumar(long alta, long baja, long cantidad, BigInteger grande) {
+            if ((tamano + 1) * 2 > ocupadas.length) {
+                agrandar();
+            }
+            int mascara = ocupadas.length - 1;
+            int i = dispersar(alta, baja) & mascara;
+            while (ocupadas[i] && (altas[i] != alta || bajas[i] != baja)) {
+                i = (i + 1) & mascara;
+            }
+            if (!ocupadas[i]) {
+                ocupadas[i] = true;
+                altas[i] = alta;
+                bajas[i] = baja;
+                tamano++;
+            }
+            if (grande == null && (grandes == null || grandes[i] == null)) {
+                long suma = cantidades[i] + cantidad;
+                // Desborde si ambos sumandos tienen signo distinto al resultado
+                if (((cantidades[i] ^ suma) & (cantidad ^ suma)) >= 0) {
+                    cantidades[i] = suma;
+                    return;
+                }
+            }
+            if (grandes == null) {
+                grandes = new BigInteger[ocupadas.length];
+            }
+            BigInteger actual = grandes[i] != null ? grandes[i] : BigInteger.valueOf(cantidades[i]);
+            grandes[i] = actual.add(grande != null ? grande : BigInteger.valueOf(cantidad));
+        }
+        
+        private static int dispersar(long alta, long baja) {
+            long h = alta * 0x9E3779B97F4A7C15L ^ baja * 0xC2B2AE3D27D4EB4FL;
+            return (int) (h ^ (h >>> 29));
+        }
+        
+        private void agrandar() {
+            long[] viejasAltas = altas;
+            long[] viejasBajas = bajas;
+            long[] viejasCantidades = cantidades;
+            BigInteger[] viejasGrandes = grandes;
+            boolean[] viejasOcupadas = ocupadas;
+            int capacidad = viejasOcupadas.length * 2;
+            altas = new long[capacidad];
+            bajas = new long[capacidad];
+            cantidades = new long[capacidad];
+            grandes = null;
+            ocupadas = new boolean[capacidad];
+            tamano = 0;
+            for (int i = 0; i < viejasOcupadas.length; i++) {
+                if (viejasOcupadas[i]) {
+                    sumar(viejasAltas[i], viejasBajas[i], viejasCantidades[i],
+                            viejasGrandes == null ? null : viejasGrandes[i]);
+                }
+            }
+        }
+    }
+}
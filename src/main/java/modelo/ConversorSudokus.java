@@ -0,0 +1,121 @@
+package modelo;
+
+import interfaces.ISudokuSolver;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Conversión entre el formato de texto de 81 caracteres por línea y el formato
+ * binario de {@link EscritorSudokusBinario}
+ */
+public class ConversorSudokus {
+    private static final int TAMANO_FRAGMENTO = 4 << 20;
+    
+    private ConversorSudokus() {
+    }
+    
+    /**
+     * Convierte un archivo de texto al formato binario
+     * @param texto Archivo de texto de entrada
+     * @param binario Archivo binario a crear
+     * @param resolvedor Motor con el que se calcula la solución de cada Sudoku, o null
+     *                   para guardar solo los valores prefijados. Los Sudokus sin solución
+     *                   se guardan con una solución vacía.
+     * @param limiteConteo Si es mayor que 0, se guarda también la cantidad de soluciones
+     *                     de cada Sudoku contando hasta este límite (requiere resolvedor)
+     * @return Cantidad de Sudokus convertidos
+     * @throws IOException Si algún registro del texto no es un Sudoku válido; en ese
+     *                     caso el archivo binario no se crea ni se modifica
+     */
+    public static int textoABinario(Path texto, Path binario, ISudokuSolver resolvedor, int limiteConteo)
+            throws IOException {
+        if (limiteConteo > 0 && resolvedor == null) {
+            throw new IllegalArgumentException("Se necesita un motor para guardar la cantidad de soluciones");
+        }
+        return escribirYReemplazar(binario, temporal -> escribirBinario(texto, temporal, resolvedor, limiteConteo));
+    }
+    
+    /**
+     * Escribe al lado del destino y lo reemplaza al final: si la conversión falla a mitad
+     * de camino, el cierre del escritor deja un archivo truncado que se cargaría sin
+     * error (en el binario, incluso con encabezado e índice válidos)
+     * @return Lo que devuelve la escritura
+     */
+    private static int escribirYReemplazar(Path destino, Escritura escritura) throws IOException {
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        boolean movido = false;
+        try {
+            int cantidad = escritura.escribir(temporal);
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            movido = true;
+            return cantidad;
+        } finally {
+            if (!movido) {
+                Files.deleteIfExists(temporal);
+            }
+        }
+    }
+    
+    private interface Escritura {
+        int escribir(Path archivo) throws IOException;
+    }
+    
+    private static int escribirBinario(Path texto, Path binario, ISudokuSolver resolvedor, int limiteConteo)
+            throws IOException {
+        try (ArchivoSudokus archivo = new ArchivoSudokus(texto);
+             EscritorSudokusBinario escritor = new EscritorSudokusBinario(binario, resolvedor != null, limiteConteo > 0)) {
+            GrillaSudoku grilla = new GrillaSudoku();
+            for (FragmentoSudokus fragmento : archivo.dividir(TAMANO_FRAGMENTO)) {
+                LectorSudokus lector = fragmento.abrir();
+                int estado;
+                while ((estado = lector.siguiente(grilla)) != LectorSudokus.FIN) {
+                    if (estado == LectorSudokus.INVALIDO) {
+                        throw new IOException("El registro " + (escritor.obtenerCantidad() + 1)
+                                + " de " + texto + " no es un Sudoku de 81 caracteres");
+                    }
+                    GrillaSudoku solucion = null;
+                    int cantidadSoluciones = 0;
+                    if (resolvedor != null) {
+                        solucion = grilla.clonar();
+                        if (!resolvedor.resolver(solucion)) {
+                            solucion = new GrillaSudoku();
+                        }
+                        if (limiteConteo > 0) {
+                            cantidadSoluciones = resolvedor.contarSoluciones(grilla, limiteConteo);
+                        }
+                    }
+                    escritor.agregar(grilla, solucion, cantidadSoluciones);
+                }
+            }
+            return escritor.obtenerCantidad();
+        }
+    }
+    
+    /**
+     * Convierte un archivo binario al formato de texto, un Sudoku por línea
+     * @param binario Archivo binario de entrada
+     * @param texto Archivo de texto a crear
+     * @return Cantidad de Sudokus convertidos
+     * @throws IOException Si el binario no se puede leer; en ese caso el archivo de
+     *                     texto no se crea ni se modifica
+     */
+    public static int binarioATexto(Path binario, Path texto) throws IOException {
+        return escribirYReemplazar(texto, temporal -> escribirTexto(binario, temporal));
+    }
+    
+    private static int escribirTexto(Path binario, Path texto) throws IOException {
+        try (LectorSudokusBinario lector = new LectorSudokusBinario(binario);
+             Writer escritor = Files.newBufferedWriter(texto, StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < lector.obtenerCantidad(); i++) {
+                escritor.write(lector.leerSudoku(i).aCadena());
+                escritor.write('\n');
+            }
+            return lector.obtenerCantidad();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package modelo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Corpus de Sudokus difíciles con el que se comparan los motores. El incluido en la
+ * aplicación reúne puzzles conocidos por exigir mucha búsqueda (AI Escargot, Easter
+ * Monster, los de Inkala, los primeros de top95, ...). También se puede leer uno
+ * propio con el mismo formato: una grilla de 81 caracteres por línea, con '.' o '0'
+ * en las celdas vacías, y comentarios en las líneas que empiezan con '#'.
+ */
+public final class CorpusDificil {
+    /** Recurso del corpus incluido, relativo a la raíz del classpath */
+    public static final String RECURSO = "/corpus/dificiles.txt";
+    
+    private CorpusDificil() {
+    }
+    
+    /**
+     * @return Los Sudokus del corpus incluido en la aplicación, en orden
+     * @throws IOException si el recurso no está o no se puede leer
+     */
+    public static List<GrillaSudoku> cargar() throws IOException {
+        InputStream entrada = CorpusDificil.class.getResourceAsStream(RECURSO);
+        if (entrada == null) {
+            throw new IOException("No se encontró el recurso " + RECURSO);
+        }
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            return leer(lector, RECURSO);
+        }
+    }
+    
+    /**
+     * @param archivo Archivo con un Sudoku por línea
+     * @return Los Sudokus del archivo, en orden
+     * @throws IOException si el archivo no se puede leer o alguna línea no es un Sudoku
+     */
+    public static List<GrillaSudoku> leer(Path archivo) throws IOException {
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            return leer(lector, archivo.toString());
+        }
+    }
+    
+    private static List<GrillaSudoku> leer(BufferedReader lector, String origen) throws IOException {
+        List<GrillaSudoku> sudokus = new ArrayList<>();
+        String linea;
+        int numeroLinea = 0;
+        while ((linea = lector.readLine()) != null) {
+            numeroLinea++;
+            linea = linea.trim();
+            if (linea.isEmpty() || linea.startsWith("#")) {
+                continue;
+            }
+            try {
+                sudokus.add(GrillaSudoku.desdeCadena(linea));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Línea " + numeroLinea + " inválida en " + origen + ": " + e.getMessage(), e);
+            }
+        }
+        return sudokus;
+    }
+}
@@ -0,0 +1,176 @@
+package modelo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detecta regresiones de rendimiento comparando distribuciones de muestras.
+ * 
+ * Para cada operación y cantidad de valores prefijados aplica el test U de
+ * Mann-Whitney (unilateral: ¿las muestras actuales son más lentas?), que no supone
+ * normalidad y es robusto ante los valores extremos típicos de los tiempos de
+ * backtracking. Solo se informa una regresión si la diferencia es estadísticamente
+ * significativa y además la mediana empeoró más que el umbral configurado.
+ */
+public class DetectorRegresiones {
+    private final double umbral;
+    private final double alfa;
+    
+    /**
+     * @param umbral Empeoramiento relativo mínimo de la mediana para considerar regresión (0.10 = 10%)
+     * @param alfa Nivel de significancia del test (por ejemplo 0.01)
+     */
+    public DetectorRegresiones(double umbral, double alfa) {
+        if (umbral < 0) {
+            throw new IllegalArgumentException("El umbral no puede ser negativo");
+        }
+        if (alfa <= 0 || alfa >= 1) {
+            throw new IllegalArgumentException("El nivel de significancia debe estar entre 0 y 1");
+        }
+        this.umbral = umbral;
+        this.alfa = alfa;
+    }
+    
+    /**
+     * Compara las muestras actuales contra la línea base, agrupando por operación y cantidad.
+     * Los grupos que no existen en la línea base se ignoran.
+     * @param base Muestras de la línea base
+     * @param actual Muestras de la ejecución actual
+     * @return Un resultado por cada grupo presente en ambas
+     */
+    public List<ResultadoRegresion> comparar(List<MuestraRendimiento> base, List<MuestraRendimiento> actual) {
+        Map<String, List<Double>> gruposBase = agrupar(base);
+        Map<String, List<Double>> gruposActual = agrupar(actual);
+        
+        List<ResultadoRegresion> resultados = new ArrayList<>();
+        for (Map.Entry<String, List<Double>> grupo : gruposActual.entrySet()) {
+            List<Double> muestrasBase = gruposBase.get(grupo.getKey());
+            if (muestrasBase == null) {
+                continue;
+            }
+            double[] a = aArreglo(muestrasBase);
+            double[] b = aArreglo(grupo.getValue());
+            double medianaBase = mediana(a);
+            double medianaActual = mediana(b);
+            double pValor = pValorMannWhitney(a, b);
+            boolean regresion = pValor < alfa && medianaActual > medianaBase * (1.0 + umbral);
+            
+            String[] clave = grupo.getKey().split(":");
+            resultados.add(new ResultadoRegresion(clave[0], Integer.parseInt(clave[1]),
+                    medianaBase, medianaActual, pValor, regresion));
+        }
+        return resultados;
+    }
+    
+    /**
+     * Mediana de un conjunto de valores
+     * @param valores Los valores (no se modifican)
+     * @return La mediana, o 0 si no hay valores
+     */
+    public static double mediana(double[] valores) {
+        if (valores.length == 0) {
+            return 0.0;
+        }
+        double[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        int medio = ordenados.length / 2;
+        if (ordenados.length % 2 == 0) {
+            return (ordenados[medio - 1] + ordenados[medio]) / 2.0;
+        }
+        return ordenados[medio];
+    }
+    
+    /**
+     * p-valor unilateral del test U de Mann-Whitney para la hipótesis alternativa
+     * "los valores de b tienden a ser mayores que los de a". Usa la aproximación
+     * normal con corrección por empates y por continuidad.
+     * @param a Muestras de referencia
+     * @param b Muestras a contrastar
+     * @return El p-valor, o 1 si alguna muestra está vacía
+     */
+    public static double pValorMannWhitney(double[] a, double[] b) {
+        int n1 = a.length;
+        int n2 = b.length;
+        if (n1 == 0 || n2 == 0) {
+            return 1.0;
+        }
+        int n = n1 + n2;
+        double[] valores = new double[n];
+        boolean[] esB = new boolean[n];
+        Integer[] orden = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            valores[i] = i < n1 ? a[i] : b[i - n1];
+            esB[i] = i >= n1;
+            orden[i] = i;
+        }
+        Arrays.sort(orden, (x, y) -> Double.compare(valores[x], valores[y]));
+        
+        // Rangos promedio para los empates
+        double sumaRangosB = 0;
+        double correccionEmpates = 0;
+        int i = 0;
+        while (i < n) {
+            int j = i;
+            while (j + 1 < n && valores[orden[j + 1]] == valores[orden[i]]) {
+                j++;
+            }
+            double rangoPromedio = (i + j) / 2.0 + 1.0;
+            for (int k = i; k <= j; k++) {
+                if (esB[orden[k]]) {
+                    sumaRangosB += rangoPromedio;
+                }
+            }
+            double empatados = j - i + 1;
+            correccionEmpates += empatados * empatados * empatados - empatados;
+            i = j + 1;
+        }
+        
+        double u = sumaRangosB - n2 * (n2 + 1) / 2.0;
+        double media = n1 * (double) n2 / 2.0;
+        double varianza = n1 * (double) n2 / 12.0 * ((n + 1) - correccionEmpates / ((double) n * (n - 1)));
+        if (varianza <= 0) {
+            return 1.0;
+        }
+        double z = (u - media - 0.5) / Math.sqrt(varianza);
+        return 1.0 - distribucionNormal(z);
+    }
+    
+    /**
+     * Función de distribución acumulada de la normal estándar
+     */
+    private static double distribucionNormal(double z) {
+        return 0.5 * (1.0 + erf(z / Math.sqrt(2.0)));
+    }
+    
+    /**
+     * Función de error (aproximación 7.1.26 de Abramowitz y Stegun, error menor a 1.5e-7)
+     */
+    private static double erf(double x) {
+        double signo = Math.signum(x);
+        x = Math.abs(x);
+        double t = 1.0 / (1.0 + 0.3275911 * x);
+        double y = 1.0 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t
+                + 0.254829592) * t * Math.exp(-x * x);
+        return signo * y;
+    }
+    
+    private static Map<String, List<Double>> agrupar(List<MuestraRendimiento> muestras) {
+        Map<String, List<Double>> grupos = new LinkedHashMap<>();
+        for (MuestraRendimiento muestra : muestras) {
+            String clave = muestra.obtenerSerie() + ":" + muestra.obtenerCantidadPrefijados();
+            grupos.computeIfAbsent(clave, k -> new ArrayList<>()).add(muestra.obtenerTiempoMs());
+        }
+        return grupos;
+    }
+    
+    private static double[] aArreglo(List<Double> valores) {
+        double[] arreglo = new double[valores.size()];
+        for (int i = 0; i < arreglo.length; i++) {
+            arreglo[i] = valores.get(i);
+        }
+        return arreglo;
+    }
+}
@@ -0,0 +1,34 @@
+package modelo;
+
+/**
+ * Sudoku que avanza por la {@link TuberiaCorpus}, junto con su solución una vez resuelto
+ */
+public class EntradaCorpus {
+    private final long indice;
+    private final GrillaSudoku sudoku;
+    private final GrillaSudoku solucion;
+    
+    public EntradaCorpus(long indice, GrillaSudoku sudoku, GrillaSudoku solucion) {
+        this.indice = indice;
+        this.sudoku = sudoku;
+        this.solucion = solucion;
+    }
+    
+    /**
+     * @return Número de Sudoku a partir del cual se derivó su semilla de generación
+     */
+    public long obtenerIndice() {
+        return indice;
+    }
+    
+    public GrillaSudoku obtenerSudoku() {
+        return sudoku;
+    }
+    
+    /**
+     * @return La solución, o null si el Sudoku todavía no pasó por la etapa de resolución
+     */
+    public GrillaSudoku obtenerSolucion() {
+        return solucion;
+    }
+}
@@ -0,0 +1,130 @@
+package modelo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Escribe Sudokus en el formato binario descrito en {@link FormatoBinario}.
+ * Los registros se escriben a medida que se agregan; el índice de desplazamientos
+ * y la cantidad de registros se completan al cerrar el escritor.
+ */
+public class EscritorSudokusBinario implements Closeable {
+    private static final int TAMANO_BUFFER = 1 << 16;
+    
+    private final FileChannel canal;
+    private final boolean conSoluciones;
+    private final boolean conConteos;
+    private final ByteBuffer buffer;
+    private long[] desplazamientos;
+    private int cantidad;
+    private long posicion;
+    
+    /**
+     * Crea el archivo, reemplazándolo si ya existía
+     * @param archivo Ruta del archivo a escribir
+     * @param conSoluciones true si cada registro lleva la solución del Sudoku
+     * @param conConteos true si cada registro lleva su cantidad de soluciones
+     */
+    public EscritorSudokusBinario(Path archivo, boolean conSoluciones, boolean conConteos) throws IOException {
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.conSoluciones = conSoluciones;
+        this.conConteos = conConteos;
+        this.buffer = ByteBuffer.allocate(TAMANO_BUFFER);
+        this.desplazamientos = new long[1024];
+        this.cantidad = 0;
+        
+        // La cabecera se reescribe al cerrar con la cantidad y el índice definitivos
+        escribirCabecera(0, 0);
+        this.posicion = FormatoBinario.TAMANO_CABECERA;
+    }
+    
+    /**
+     * Agrega un Sudoku sin solución ni conteo
+     */
+    public void agregar(GrillaSudoku sudoku) throws IOException {
+        agregar(sudoku, null, 0);
+    }
+    
+    /**
+     * Agrega un Sudoku
+     * @param sudoku El Sudoku con sus valores prefijados
+     * @param solucion La solución; obligatoria si el archivo lleva soluciones y se ignora si no
+     * @param cantidadSoluciones La cantidad de soluciones; se ignora si el archivo no lleva conteos
+     */
+    public void agregar(GrillaSudoku sudoku, GrillaSudoku solucion, int cantidadSoluciones) throws IOException {
+        if (conSoluciones && solucion == null) {
+            throw new IllegalArgumentException("El archivo lleva soluciones y no se indicó la del Sudoku");
+        }
+        if (buffer.remaining() < FormatoBinario.TAMANO_MAXIMO_REGISTRO) {
+            vaciar();
+        }
+        if (cantidad == desplazamientos.length) {
+            desplazamientos = Arrays.copyOf(desplazamientos, cantidad * 2);
+        }
+        desplazamientos[cantidad++] = posicion + buffer.position();
+        
+        FormatoBinario.codificarPrefijados(sudoku, buffer);
+        if (conSoluciones) {
+            FormatoBinario.codificarCompleta(solucion, buffer);
+        }
+        if (conConteos) {
+            buffer.putInt(cantidadSoluciones);
+        }
+    }
+    
+    /**
+     * @return Cantidad de registros agregados hasta el momento
+     */
+    public int obtenerCantidad() {
+        return cantidad;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            vaciar();
+            long posicionIndice = posicion;
+            for (int i = 0; i < cantidad; i++) {
+                if (buffer.remaining() < FormatoBinario.TAMANO_ENTRADA_INDICE) {
+                    vaciar();
+                }
+                buffer.putLong(desplazamientos[i]);
+            }
+            vaciar();
+            escribirCabecera(cantidad, posicionIndice);
+        } finally {
+            canal.close();
+        }
+    }
+    
+    private void vaciar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            posicion += canal.write(buffer, posicion);
+        }
+        buffer.clear();
+    }
+    
+    private void escribirCabecera(int cantidadRegistros, long posicionIndice) throws IOException {
+        ByteBuffer cabecera = ByteBuffer.allocate(FormatoBinario.TAMANO_CABECERA);
+        cabecera.put(FormatoBinario.FIRMA);
+        cabecera.put(FormatoBinario.VERSION);
+        cabecera.put((byte) FormatoBinario.TAMANO);
+        cabecera.put((byte) FormatoBinario.TAMANO_CAJA);
+        cabecera.put((byte) ((conSoluciones ? FormatoBinario.BANDERA_SOLUCIONES : 0)
+                | (conConteos ? FormatoBinario.BANDERA_CONTEOS : 0)));
+        cabecera.putInt(FormatoBinario.POSICION_CANTIDAD, cantidadRegistros);
+        cabecera.putLong(FormatoBinario.POSICION_INDICE, posicionIndice);
+        cabecera.position(0);
+        cabecera.limit(FormatoBinario.TAMANO_CABECERA);
+        while (cabecera.hasRemaining()) {
+            canal.write(cabecera, cabecera.position());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package modelo;
+
+import java.util.Arrays;
+
+/**
+ * Acumula latencias individuales y calcula su promedio y percentiles.
+ * No es segura para hilos: debe alimentarse desde un único hilo.
+ */
+public class EstadisticasLatencia {
+    private long[] latenciasNanos;
+    private int cantidad;
+    private long sumaNanos;
+    private boolean ordenadas;
+    
+    public EstadisticasLatencia() {
+        this.latenciasNanos = new long[1024];
+    }
+    
+    /**
+     * Registra una latencia
+     * @param nanos Duración medida en nanosegundos
+     */
+    public void registrar(long nanos) {
+        if (cantidad == latenciasNanos.length) {
+            latenciasNanos = Arrays.copyOf(latenciasNanos, cantidad * 2);
+        }
+        latenciasNanos[cantidad++] = nanos;
+        sumaNanos += nanos;
+        ordenadas = false;
+    }
+    
+    /**
+     * @return Cantidad de latencias registradas
+     */
+    public int obtenerCantidad() {
+        return cantidad;
+    }
+    
+    /**
+     * @return Latencia promedio en milisegundos, o 0 si no hay registros
+     */
+    public double obtenerPromedioMs() {
+        return cantidad == 0 ? 0.0 : sumaNanos / (double) cantidad / 1_000_000.0;
+    }
+    
+    /**
+     * Obtiene un percentil por el método del rango más cercano
+     * @param percentil Percentil entre 0 y 100, por ejemplo 99 para el p99
+     * @return La latencia del percentil en milisegundos, o 0 si no hay registros
+     */
+    public double obtenerPercentilMs(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 100");
+        }
+        if (cantidad == 0) {
+            return 0.0;
+        }
+        if (!ordenadas) {
+            Arrays.sort(latenciasNanos, 0, cantidad);
+            ordenadas = true;
+        }
+        int rango = (int) Math.ceil(percentil / 100.0 * cantidad);
+        return latenciasNanos[Math.max(rango, 1) - 1] / 1_000_000.0;
+    }
+    
+    /**
+     * @return Latencia máxima en milisegundos, o 0 si no hay registros
+     */
+    public double obtenerMaximoMs() {
+        return obtenerPercentilMs(100);
+    }
+}
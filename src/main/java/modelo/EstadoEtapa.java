@@ -0,0 +1,60 @@
+package modelo;
+
+import java.util.Locale;
+
+/**
+ * Instantánea del avance de una {@link EtapaTuberia}
+ */
+public class EstadoEtapa {
+    private final String nombre;
+    private final long procesados;
+    private final int lotesEnProceso;
+    private final int lotesEnBuffer;
+    private final double throughput;
+    
+    public EstadoEtapa(String nombre, long procesados, int lotesEnProceso, int lotesEnBuffer, double throughput) {
+        this.nombre = nombre;
+        this.procesados = procesados;
+        this.lotesEnProceso = lotesEnProceso;
+        this.lotesEnBuffer = lotesEnBuffer;
+        this.throughput = throughput;
+    }
+    
+    public String obtenerNombre() {
+        return nombre;
+    }
+    
+    /**
+     * @return Cantidad de elementos procesados por la etapa, incluidos los descartados
+     */
+    public long obtenerProcesados() {
+        return procesados;
+    }
+    
+    /**
+     * @return Lotes recibidos que la etapa todavía está procesando o esperando publicar
+     */
+    public int obtenerLotesEnProceso() {
+        return lotesEnProceso;
+    }
+    
+    /**
+     * @return Lotes publicados que la etapa siguiente todavía no consumió
+     */
+    public int obtenerLotesEnBuffer() {
+        return lotesEnBuffer;
+    }
+    
+    /**
+     * @return Elementos procesados por segundo desde que la etapa recibió su primer lote
+     */
+    public double obtenerThroughput() {
+        return throughput;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-10s %10d procesados %10.1f/s  en proceso %3d  en buffer %3d",
+                nombre, procesados, throughput, lotesEnProceso, lotesEnBuffer);
+    }
+}
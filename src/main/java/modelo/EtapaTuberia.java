@@ -0,0 +1,143 @@
+package modelo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Etapa de una tubería reactiva que aplica una función a cada elemento de los lotes
+ * que recibe y publica los resultados como un nuevo lote. Si la función devuelve
+ * null el elemento se descarta.
+ * 
+ * La etapa procesa hasta {@code paralelismo} lotes a la vez y nunca pide a la etapa
+ * anterior más lotes de los que puede tener en curso. Si la etapa siguiente es más
+ * lenta, su buffer se llena, la publicación bloquea a los hilos de esta etapa y
+ * esta deja de pedir lotes: la contrapresión se propaga hasta el origen.
+ * 
+ * @param <E> Tipo de los elementos de entrada
+ * @param <S> Tipo de los elementos de salida
+ */
+public class EtapaTuberia<E, S> extends SubmissionPublisher<List<S>> implements Flow.Processor<List<E>, List<S>> {
+    private final String nombre;
+    private final Function<E, S> funcion;
+    private final int paralelismo;
+    private final ExecutorService trabajadores;
+    private final AtomicInteger lotesEnProceso;
+    private final AtomicLong elementosProcesados;
+    private final AtomicBoolean cerrada;
+    private volatile boolean entradaCompleta;
+    private volatile long inicioNanos;
+    private volatile long finNanos;
+    private Flow.Subscription suscripcion;
+    
+    /**
+     * @param nombre Nombre de la etapa para los reportes
+     * @param funcion Función a aplicar a cada elemento; debe poder ejecutarse en paralelo
+     * @param paralelismo Cantidad de hilos de la etapa
+     * @param capacidadBuffer Cantidad máxima de lotes publicados pendientes de consumir por la etapa siguiente
+     * @param entrega Ejecutor con el que se entregan los lotes a la etapa siguiente
+     */
+    public EtapaTuberia(String nombre, Function<E, S> funcion, int paralelismo, int capacidadBuffer, Executor entrega) {
+        super(entrega, capacidadBuffer);
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("El paralelismo debe ser al menos 1");
+        }
+        this.nombre = nombre;
+        this.funcion = funcion;
+        this.paralelismo = paralelismo;
+        this.trabajadores = Executors.newFixedThreadPool(paralelismo);
+        this.lotesEnProceso = new AtomicInteger(0);
+        this.elementosProcesados = new AtomicLong(0);
+        this.cerrada = new AtomicBoolean(false);
+    }
+    
+    @Override
+    public void onSubscribe(Flow.Subscription suscripcion) {
+        this.suscripcion = suscripcion;
+        suscripcion.request(paralelismo);
+    }
+    
+    @Override
+    public void onNext(List<E> lote) {
+        if (inicioNanos == 0) {
+            inicioNanos = System.nanoTime();
+        }
+        lotesEnProceso.incrementAndGet();
+        trabajadores.execute(() -> procesar(lote));
+    }
+    
+    private void procesar(List<E> lote) {
+        try {
+            List<S> salida = new ArrayList<>(lote.size());
+            for (E elemento : lote) {
+                S resultado = funcion.apply(elemento);
+                if (resultado != null) {
+                    salida.add(resultado);
+                }
+            }
+            elementosProcesados.addAndGet(lote.size());
+            if (!salida.isEmpty()) {
+                submit(salida); // Bloquea mientras el buffer de la etapa siguiente esté lleno
+            }
+            suscripcion.request(1);
+        } catch (RuntimeException e) {
+            fallar(e);
+        } finally {
+            if (lotesEnProceso.decrementAndGet() == 0 && entradaCompleta) {
+                cerrar();
+            }
+        }
+    }
+    
+    @Override
+    public void onError(Throwable error) {
+        fallar(error);
+    }
+    
+    @Override
+    public void onComplete() {
+        entradaCompleta = true;
+        if (lotesEnProceso.get() == 0) {
+            cerrar();
+        }
+    }
+    
+    private void cerrar() {
+        if (cerrada.compareAndSet(false, true)) {
+            finNanos = System.nanoTime();
+            close();
+            trabajadores.shutdown();
+        }
+    }
+    
+    private void fallar(Throwable error) {
+        if (cerrada.compareAndSet(false, true)) {
+            finNanos = System.nanoTime();
+            if (suscripcion != null) {
+                suscripcion.cancel();
+            }
+            closeExceptionally(error);
+            trabajadores.shutdownNow();
+        }
+    }
+    
+    /**
+     * @return Instantánea del avance de la etapa; puede consultarse mientras la tubería corre
+     */
+    public EstadoEtapa obtenerEstado() {
+        long inicio = inicioNanos;
+        long fin = cerrada.get() ? finNanos : System.nanoTime();
+        double segundos = inicio == 0 ? 0.0 : (fin - inicio) / 1_000_000_000.0;
+        long procesados = elementosProcesados.get();
+        return new EstadoEtapa(nombre, procesados, lotesEnProceso.get(), estimateMaximumLag(),
+                segundos > 0 ? procesados / segundos : 0.0);
+    }
+}
@@ -0,0 +1,14 @@
+package modelo;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR emitido por cada operación de conteo de soluciones
+ */
+@Name("sudoku.Conteo")
+@Label("Conteo de soluciones")
+@Description("Conteo de todas las soluciones de una grilla")
+public class EventoConteo extends EventoSudoku {
+}
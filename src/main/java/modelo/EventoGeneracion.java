@@ -0,0 +1,14 @@
+package modelo;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR emitido por cada operación de generación
+ */
+@Name("sudoku.Generacion")
+@Label("Generación")
+@Description("Generación de un Sudoku con una cantidad de valores prefijados")
+public class EventoGeneracion extends EventoSudoku {
+}
@@ -0,0 +1,14 @@
+package modelo;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR emitido por cada operación de resolución
+ */
+@Name("sudoku.Resolucion")
+@Label("Resolución")
+@Description("Resolución de un Sudoku")
+public class EventoResolucion extends EventoSudoku {
+}
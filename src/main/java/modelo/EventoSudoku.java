@@ -0,0 +1,35 @@
+package modelo;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Base de los eventos de Java Flight Recorder emitidos por las operaciones del modelo.
+ * 
+ * Los eventos solo se registran si hay una grabación activa que los habilite, y solo
+ * cuando la operación supera el umbral configurado. El umbral por defecto es 0 ms y se
+ * puede cambiar por evento, por ejemplo:
+ * <pre>
+ * java -XX:StartFlightRecording:settings=src/main/resources/sudoku.jfc,filename=sudoku.jfr ...
+ * java -XX:StartFlightRecording:sudoku.Resolucion#threshold=50ms,filename=sudoku.jfr ...
+ * </pre>
+ */
+@Category({"Sudoku"})
+@StackTrace(false)
+@Threshold("0 ms")
+public abstract class EventoSudoku extends Event {
+    @Label("Motor")
+    String motor;
+    
+    @Label("Valores prefijados")
+    int cantidadPrefijados;
+    
+    @Label("Resultado")
+    String resultado;
+    
+    @Label("Nodos")
+    long nodos;
+}
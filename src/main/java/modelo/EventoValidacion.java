@@ -0,0 +1,14 @@
+package modelo;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR emitido por cada operación de validación
+ */
+@Name("sudoku.Validacion")
+@Label("Validación")
+@Description("Validación de las reglas sobre una grilla completa o parcial")
+public class EventoValidacion extends EventoSudoku {
+}
@@ -0,0 +1,123 @@
+package modelo;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Exporta las muestras de una comparación de motores a CSV o JSON,
+ * para seguir la evolución del rendimiento fuera de la interfaz gráfica
+ */
+public class ExportadorResultados {
+    
+    private ExportadorResultados() {
+    }
+    
+    /**
+     * Escribe una fila por muestra: motor,prefijados,indice,tiempo_ms,nodos,completa.
+     * Una muestra sin completar alcanzó el plazo y su tiempo es solo una cota inferior
+     * @param comparacion La comparación a exportar
+     * @param destino Destino de la exportación (no se cierra)
+     */
+    public static void exportarCsv(ComparacionMotores comparacion, Writer destino) throws IOException {
+        destino.write("motor,prefijados,indice,tiempo_ms,nodos,completa\n");
+        for (MuestraRendimiento muestra : comparacion.obtenerMuestras()) {
+            destino.write(String.format(Locale.ROOT, "%s,%d,%d,%.6f,%d,%b\n",
+                    escaparCsv(muestra.obtenerSerie()),
+                    muestra.obtenerCantidadPrefijados(),
+                    muestra.obtenerIndiceSudoku(),
+                    muestra.obtenerTiempoMs(),
+                    muestra.obtenerNodos(),
+                    muestra.estaCompleta()));
+        }
+        destino.flush();
+    }
+    
+    /**
+     * Escribe un objeto JSON con la semilla de las entradas, los motores, un resumen
+     * de tiempo promedio y aceleración por motor y cantidad, y todas las muestras
+     * @param comparacion La comparación a exportar
+     * @param destino Destino de la exportación (no se cierra)
+     */
+    public static void exportarJson(ComparacionMotores comparacion, Writer destino) throws IOException {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"semilla\": ").append(comparacion.obtenerSemilla()).append(",\n");
+        
+        json.append("  \"motores\": [");
+        List<String> motores = comparacion.obtenerMotores();
+        for (int i = 0; i < motores.size(); i++) {
+            json.append(i > 0 ? ", " : "").append(cadenaJson(motores.get(i)));
+        }
+        json.append("],\n");
+        
+        json.append("  \"resumen\": [");
+        boolean primero = true;
+        for (Integer cantidad : comparacion.obtenerCantidades()) {
+            for (String motor : motores) {
+                json.append(primero ? "\n" : ",\n");
+                primero = false;
+                json.append(String.format(Locale.ROOT,
+                        "    {\"motor\": %s, \"prefijados\": %d, \"tiempoPromedioMs\": %.6f, \"aceleracion\": %.4f, "
+                                + "\"sinTerminar\": %d}",
+                        cadenaJson(motor), cantidad,
+                        comparacion.tiempoPromedio(motor, cantidad),
+                        comparacion.aceleracion(motor, cantidad),
+                        comparacion.contarSinTerminar(motor, cantidad)));
+            }
+        }
+        json.append("\n  ],\n");
+        
+        json.append("  \"muestras\": [");
+        primero = true;
+        for (MuestraRendimiento muestra : comparacion.obtenerMuestras()) {
+            json.append(primero ? "\n" : ",\n");
+            primero = false;
+            json.append(String.format(Locale.ROOT,
+                    "    {\"motor\": %s, \"prefijados\": %d, \"indice\": %d, \"tiempoMs\": %.6f, \"nodos\": %d, "
+                            + "\"completa\": %b}",
+                    cadenaJson(muestra.obtenerSerie()),
+                    muestra.obtenerCantidadPrefijados(),
+                    muestra.obtenerIndiceSudoku(),
+                    muestra.obtenerTiempoMs(),
+                    muestra.obtenerNodos(),
+                    muestra.estaCompleta()));
+        }
+        json.append("\n  ]\n}\n");
+        
+        destino.write(json.toString());
+        destino.flush();
+    }
+    
+    private static String escaparCsv(String valor) {
+        if (valor.contains(",") || valor.contains("\"") || valor.contains("\n")) {
+            return "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+    
+    /**
+     * Escribe un texto como cadena JSON, con comillas y caracteres de control escapados
+     * @param valor El texto a escribir
+     * @return La cadena JSON
+     */
+    public static String cadenaJson(String valor) {
+        StringBuilder resultado = new StringBuilder("\"");
+        for (char c : valor.toCharArray()) {
+            switch (c) {
+                case '"': resultado.append("\\\""); break;
+                case '\\': resultado.append("\\\\"); break;
+                case '\n': resultado.append("\\n"); break;
+                case '\r': resultado.append("\\r"); break;
+                case '\t': resultado.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        resultado.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        resultado.append(c);
+                    }
+            }
+        }
+        return resultado.append('"').toString();
+    }
+}
@@ -0,0 +1,136 @@
+package modelo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Constantes y codificación del formato binario de Sudokus compartidas por
+ * {@link EscritorSudokusBinario} y {@link LectorSudokusBinario}.
+ * 
+ * Estructura del archivo:
+ * <pre>
+ * cabecera (32 bytes): "SDKB", versión, tamaño, tamaño de caja, banderas,
+ *                      cantidad de registros, desplazamiento del índice
+ * registros:           mapa de 81 bits de celdas prefijadas (11 bytes),
+ *                      dígitos prefijados a 4 bits cada uno,
+ *                      [solución completa a 4 bits por celda (41 bytes)],
+ *                      [cantidad de soluciones (4 bytes)]
+ * índice:              desplazamiento de cada registro (8 bytes cada uno)
+ * </pre>
+ * Un Sudoku de 25 prefijados ocupa 24 bytes, frente a los 82 de su línea de texto.
+ */
+final class FormatoBinario {
+    static final byte[] FIRMA = {'S', 'D', 'K', 'B'};
+    static final byte VERSION = 1;
+    static final int TAMANO_CABECERA = 32;
+    static final int POSICION_CANTIDAD = 8;
+    static final int POSICION_INDICE = 16;
+    static final int TAMANO_ENTRADA_INDICE = Long.BYTES;
+    
+    static final int BANDERA_SOLUCIONES = 1;
+    static final int BANDERA_CONTEOS = 1 << 1;
+    
+    static final int TAMANO = 9;
+    static final int TAMANO_CAJA = 3;
+    static final int CELDAS = TAMANO * TAMANO;
+    static final int BYTES_MAPA = (CELDAS + 7) / 8;
+    static final int BYTES_SOLUCION = (CELDAS + 1) / 2;
+    /** Tamaño máximo de un registro: todas las celdas prefijadas, con solución y conteo */
+    static final int TAMANO_MAXIMO_REGISTRO = BYTES_MAPA + BYTES_SOLUCION + BYTES_SOLUCION + Integer.BYTES;
+    
+    private FormatoBinario() {
+    }
+    
+    /**
+     * Escribe el mapa de celdas prefijadas seguido de sus dígitos empaquetados
+     */
+    static void codificarPrefijados(GrillaSudoku grilla, ByteBuffer destino) {
+        int posicionMapa = destino.position();
+        for (int i = 0; i < BYTES_MAPA; i++) {
+            destino.put((byte) 0);
+        }
+        int nibbles = 0;
+        int pendiente = 0;
+        for (int celda = 0; celda < CELDAS; celda++) {
+            int valor = grilla.obtenerValor(celda / TAMANO, celda % TAMANO);
+            if (valor == 0) {
+                continue;
+            }
+            int indiceMapa = posicionMapa + celda / 8;
+            destino.put(indiceMapa, (byte) (destino.get(indiceMapa) | (1 << (celda % 8))));
+            if (nibbles++ % 2 == 0) {
+                pendiente = valor << 4;
+            } else {
+                destino.put((byte) (pendiente | valor));
+            }
+        }
+        if (nibbles % 2 == 1) {
+            destino.put((byte) pendiente);
+        }
+    }
+    
+    /**
+     * Lee un mapa de celdas prefijadas y sus dígitos sobre una grilla nueva
+     */
+    static GrillaSudoku decodificarPrefijados(ByteBuffer origen) throws IOException {
+        GrillaSudoku grilla = new GrillaSudoku();
+        int posicionMapa = origen.position();
+        origen.position(posicionMapa + BYTES_MAPA);
+        int nibbles = 0;
+        int actual = 0;
+        for (int celda = 0; celda < CELDAS; celda++) {
+            if ((origen.get(posicionMapa + celda / 8) & (1 << (celda % 8))) == 0) {
+                continue;
+            }
+            int valor;
+            if (nibbles++ % 2 == 0) {
+                actual = origen.get() & 0xFF;
+                valor = actual >>> 4;
+            } else {
+                valor = actual & 0x0F;
+            }
+            grilla.asignarCelda(celda, validarDigito(valor));
+        }
+        return grilla;
+    }
+    
+    /**
+     * Escribe las 81 celdas de la grilla a 4 bits cada una
+     */
+    static void codificarCompleta(GrillaSudoku grilla, ByteBuffer destino) {
+        for (int celda = 0; celda < CELDAS; celda += 2) {
+            int alto = grilla.obtenerValor(celda / TAMANO, celda % TAMANO);
+            int bajo = celda + 1 < CELDAS ? grilla.obtenerValor((celda + 1) / TAMANO, (celda + 1) % TAMANO) : 0;
+            destino.put((byte) (alto << 4 | bajo));
+        }
+    }
+    
+    /**
+     * Lee 81 celdas empaquetadas a 4 bits sobre una grilla nueva
+     */
+    static GrillaSudoku decodificarCompleta(ByteBuffer origen) throws IOException {
+        GrillaSudoku grilla = new GrillaSudoku();
+        for (int celda = 0; celda < CELDAS; celda += 2) {
+            int par = origen.get() & 0xFF;
+            grilla.asignarCelda(celda, validarDigitoOVacio(par >>> 4));
+            if (celda + 1 < CELDAS) {
+                grilla.asignarCelda(celda + 1, validarDigitoOVacio(par & 0x0F));
+            }
+        }
+        return grilla;
+    }
+    
+    private static int validarDigito(int valor) throws IOException {
+        if (valor < 1 || valor > 9) {
+            throw new IOException("Registro corrupto: dígito prefijado " + valor);
+        }
+        return valor;
+    }
+    
+    private static int validarDigitoOVacio(int valor) throws IOException {
+        if (valor > 9) {
+            throw new IOException("Registro corrupto: dígito " + valor);
+        }
+        return valor;
+    }
+}
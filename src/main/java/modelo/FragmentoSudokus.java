@@ -0,0 +1,49 @@
+package modelo;
+
+import java.io.IOException;
+
+/**
+ * Región de un {@link ArchivoSudokus} que comienza y termina en un límite de línea
+ */
+public class FragmentoSudokus {
+    private final ArchivoSudokus archivo;
+    private final int indice;
+    private final long inicio;
+    private final long fin;
+    
+    FragmentoSudokus(ArchivoSudokus archivo, int indice, long inicio, long fin) {
+        this.archivo = archivo;
+        this.indice = indice;
+        this.inicio = inicio;
+        this.fin = fin;
+    }
+    
+    /**
+     * @return Posición del fragmento dentro del archivo, empezando en 0
+     */
+    public int obtenerIndice() {
+        return indice;
+    }
+    
+    /**
+     * @return Desplazamiento en bytes del primer byte del fragmento
+     */
+    public long obtenerInicio() {
+        return inicio;
+    }
+    
+    /**
+     * @return Desplazamiento en bytes siguiente al último byte del fragmento
+     */
+    public long obtenerFin() {
+        return fin;
+    }
+    
+    /**
+     * Mapea el fragmento en memoria para leer sus Sudokus
+     * @return Un lector posicionado al comienzo del fragmento
+     */
+    public LectorSudokus abrir() throws IOException {
+        return archivo.mapear(inicio, fin);
+    }
+}
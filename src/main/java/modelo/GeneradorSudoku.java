@@ -14,7 +14,19 @@ public class GeneradorSudoku {
     private ValidadorSudoku validador;
     
     public GeneradorSudoku() {
-        this.aleatorio = new Random();
+        this(new Random());
+    }
+    
+    /**
+     * Constructor con semilla fija: la misma semilla genera siempre la misma secuencia de Sudokus
+     * @param semilla Semilla del generador aleatorio
+     */
+    public GeneradorSudoku(long semilla) {
+        this(new Random(semilla));
+    }
+    
+    private GeneradorSudoku(Random aleatorio) {
+        this.aleatorio = aleatorio;
         this.validador = new ValidadorSudoku();
         this.resolvedor = new ResolvedorSudoku(validador);
     }
@@ -45,8 +57,22 @@ public class GeneradorSudoku {
             throw new IllegalArgumentException("El número de valores prefijados debe estar entre 17 y 81");
         }
         
+        EventoGeneracion evento = new EventoGeneracion();
+        evento.begin();
+        long[] nodosResolucion = new long[1];
+        if (evento.isEnabled()) {
+            resolvedor.establecerListenerMetricas(metricas -> nodosResolucion[0] = metricas.obtenerNodos());
+        }
+        
         // Generar un Sudoku resuelto
-        GrillaSudoku resuelto = generarSudokuResuelto();
+        GrillaSudoku resuelto;
+        try {
+            resuelto = generarSudokuResuelto();
+        } finally {
+            if (evento.isEnabled()) {
+                resolvedor.establecerListenerMetricas(null);
+            }
+        }
         
         // Crear una lista de todas las posiciones
         List<int[]> posiciones = new ArrayList<>();
@@ -68,6 +94,13 @@ public class GeneradorSudoku {
             puzzle.establecerValor(posicion[0], posicion[1], 0);
         }
         
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.cantidadPrefijados = cantidadPrefijados;
+            evento.resultado = "generado";
+            evento.nodos = nodosResolucion[0];
+            evento.commit();
+        }
         return puzzle;
     }
     
@@ -70,6 +70,14 @@ public class GrillaSudoku {
         grilla[fila][columna] = valor;
     }
     
+    /**
+     * Establece el valor de una celda por su índice (fila * 9 + columna) sin validar
+     * los argumentos. Lo usan los lectores que ya validaron el valor al interpretarlo.
+     */
+    void asignarCelda(int celda, int valor) {
+        grilla[celda / TAMANO][celda % TAMANO] = valor;
+    }
+    
     /**
      * Verifica si una celda está vacía
      * @param fila La fila
@@ -131,6 +139,43 @@ public class GrillaSudoku {
         return contador;
     }
     
+    /**
+     * Crea una grilla a partir de su representación en una línea de 81 caracteres,
+     * fila por fila. Las celdas vacías se indican con '0' o '.'
+     * @param texto Los 81 caracteres de la grilla
+     * @return La grilla correspondiente
+     */
+    public static GrillaSudoku desdeCadena(CharSequence texto) {
+        if (texto == null || texto.length() != TAMANO * TAMANO) {
+            throw new IllegalArgumentException("Se esperaban 81 caracteres");
+        }
+        GrillaSudoku grilla = new GrillaSudoku();
+        for (int i = 0; i < TAMANO * TAMANO; i++) {
+            char caracter = texto.charAt(i);
+            if (caracter >= '1' && caracter <= '9') {
+                grilla.grilla[i / TAMANO][i % TAMANO] = caracter - '0';
+            } else if (caracter != '0' && caracter != '.') {
+                throw new IllegalArgumentException("Carácter inválido en la posición " + i + ": '" + caracter + "'");
+            }
+        }
+        return grilla;
+    }
+    
+    /**
+     * Obtiene la representación de la grilla en una línea de 81 caracteres,
+     * con '.' en las celdas vacías
+     * @return El texto de la grilla
+     */
+    public String aCadena() {
+        StringBuilder texto = new StringBuilder(TAMANO * TAMANO);
+        for (int i = 0; i < TAMANO; i++) {
+            for (int j = 0; j < TAMANO; j++) {
+                texto.append(grilla[i][j] == 0 ? '.' : (char) ('0' + grilla[i][j]));
+            }
+        }
+        return texto.toString();
+    }
+    
     @Override
     public String toString() {
         StringBuilder constructor = new StringBuilder();
@@ -0,0 +1,303 @@
+package modelo;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Acceso directo a la k-ésima solución de un Sudoku sin enumerar las anteriores.
+ *
+ * Las soluciones se ordenan como las recorre uno de los resolvedores, de modo que el
+ * índice k coincide con {@link interfaces.ISudokuSolver#obtenerSolucion(int)} tras
+ * preparar las soluciones con ese motor: en cada nodo se ramifica sobre la celda con
+ * menos candidatos ({@link ResolvedorSudokuMRV}) o sobre la primera celda vacía por
+ * filas ({@link ResolvedorSudoku}), y los valores se prueban de menor a mayor.
+ * Para llegar a la solución k se desciende desde la raíz contando las
+ * soluciones de cada rama: las ramas con menos soluciones que k se saltean enteras
+ * y se resta su tamaño, hasta completar la grilla.
+ *
+ * Los conteos se memorizan en un árbol que copia la parte cara del árbol de búsqueda:
+ * se guarda cada nodo cuyo subárbol costó al menos {@link #COSTO_MEMORIZADO} visitas
+ * contarlo. Al descender, las ramas memorizadas se saltean sin contar y las que no lo
+ * están son baratas por construcción, así que una consulta cuesta a lo sumo unos
+ * miles de visitas por nivel. El primer conteo completo ({@link #contarSoluciones})
+ * arma la memoria entera; conviene hacerlo antes de la primera consulta. Solo se
+ * guardan conteos, nunca soluciones, y la cantidad de nodos memorizados es como
+ * mucho la cantidad de visitas del conteo dividida por {@link #COSTO_MEMORIZADO}
+ * por nivel.
+ *
+ * Las consultas se serializan: una instancia puede usarse desde varios hilos, pero
+ * atiende una consulta a la vez.
+ */
+public class IndiceSoluciones {
+    private static final int TAMANO = 9;
+    private static final int CELDAS = TAMANO * TAMANO;
+    
+    /** Visitas a partir de las cuales se memoriza el conteo de un subárbol */
+    private static final int COSTO_MEMORIZADO = 4096;
+    private static final long DESCONOCIDO = -1;
+    /** Cantidad máxima de conteos memorizados */
+    private static final int MAXIMO_MEMORIZADOS = 1_000_000;
+    
+    private final MascarasSudoku mascaras = new MascarasSudoku();
+    private final boolean celdaMasRestringida;
+    private final boolean consistente;
+    
+    /** Memoria de la raíz; su conteo se conoce desde el primer conteo completo */
+    private Nodo raiz;
+    private int cantidadMemorizada;
+    /** El nodo que dejó el último llamado a {@link #contar}, o null si su subárbol fue barato */
+    private Nodo ultimoContado;
+    private TokenCancelacion token;
+    private long visitados;
+    
+    private IndiceSoluciones(GrillaSudoku grilla, boolean celdaMasRestringida) {
+        this.celdaMasRestringida = celdaMasRestringida;
+        this.consistente = mascaras.cargar(grilla);
+    }
+    
+    /**
+     * Crea un índice en el orden de {@link ResolvedorSudokuMRV}, el de ramas más cortas
+     * @param grilla El Sudoku cuyas soluciones se indexan; se copia, por lo que
+     *               cambios posteriores en la grilla no afectan al índice
+     */
+    public static IndiceSoluciones enOrdenMRV(GrillaSudoku grilla) {
+        return new IndiceSoluciones(grilla, true);
+    }
+    
+    /**
+     * Crea un índice en el orden de {@link ResolvedorSudoku}, que llena las celdas por filas
+     * @param grilla El Sudoku cuyas soluciones se indexan; se copia, por lo que
+     *               cambios posteriores en la grilla no afectan al índice
+     */
+    public static IndiceSoluciones enOrdenDeFilas(GrillaSudoku grilla) {
+        return new IndiceSoluciones(grilla, false);
+    }
+    
+    /**
+     * Cuenta todas las soluciones y memoriza los conteos de los subárboles, de modo que
+     * las consultas posteriores ya no cuentan los subárboles caros
+     * @param token Token de cancelación, o null para no interrumpir el conteo
+     * @return La cantidad de soluciones
+     * @throws CancellationException si el token se activa antes de terminar
+     */
+    public synchronized long contarSoluciones(TokenCancelacion token) {
+        if (!consistente) {
+            return 0;
+        }
+        iniciarConsulta(token);
+        return contar(obtenerRaiz());
+    }
+    
+    /**
+     * Obtiene la solución de índice dado en el orden canónico
+     * @param indice Índice de la solución (base cero)
+     * @param token Token de cancelación, o null para no interrumpir la búsqueda
+     * @return Una nueva grilla con la solución, o null si hay menos de {@code indice + 1} soluciones
+     * @throws CancellationException si el token se activa antes de terminar
+     */
+    public synchronized GrillaSudoku obtenerSolucion(long indice, TokenCancelacion token) {
+        if (indice < 0 || !consistente) {
+            return null;
+        }
+        iniciarConsulta(token);
+        int[] asignadas = new int[CELDAS];
+        int profundidad = 0;
+        long restante = indice;
+        Nodo nodo = obtenerRaiz();
+        try {
+            while (true) {
+                int celda = elegirCelda();
+                if (celda == -1) {
+                    // restante es 0: la única solución de este nodo es la buscada
+                    GrillaSudoku solucion = new GrillaSudoku();
+                    for (int i = 0; i < CELDAS; i++) {
+                        solucion.asignarCelda(i, mascaras.celdas[i]);
+                    }
+                    return solucion;
+                }
+                if (celda == -2) {
+                    return null;
+                }
+                int candidatos = mascaras.candidatos(celda);
+                int elegido = 0;
+                Nodo siguiente = null;
+                while (candidatos != 0) {
+                    int bit = candidatos & -candidatos;
+                    candidatos ^= bit;
+                    mascaras.asignar(celda, bit);
+                    long cantidad;
+                    try {
+                        cantidad = contar(nodo != null ? nodo.hijo(bit) : null);
+                    } catch (CancellationException e) {
+                        mascaras.desasignar(celda, bit);
+                        throw e;
+                    }
+                    Nodo hijo = ultimoContado;
+                    if (hijo != null && nodo != null) {
+                        nodo.agregarHijo(bit, hijo);
+                    }
+                    if (restante < cantidad) {
+                        elegido = bit;
+                        siguiente = hijo;
+                        break;
+                    }
+                    restante -= cantidad;
+                    mascaras.desasignar(celda, bit);
+                }
+                if (elegido == 0) {
+                    return null; // Hay menos soluciones que el índice pedido
+                }
+                asignadas[profundidad++] = celda;
+                nodo = siguiente;
+            }
+        } finally {
+            // Deshace el camino descendido para dejar el estado en la raíz
+            while (profundidad > 0) {
+                int celda = asignadas[--profundidad];
+                mascaras.desasignar(celda, 1 << mascaras.celdas[celda]);
+            }
+        }
+    }
+    
+    /**
+     * @return Cantidad de conteos de subárboles memorizados
+     */
+    public synchronized int obtenerCantidadMemorizada() {
+        return cantidadMemorizada;
+    }
+    
+    private void iniciarConsulta(TokenCancelacion token) {
+        this.token = token;
+        this.visitados = 0;
+    }
+    
+    /**
+     * La raíz se memoriza siempre, aunque sea barata, para que las consultas anteriores
+     * al primer conteo completo también guarden los subárboles caros que cuentan
+     */
+    private Nodo obtenerRaiz() {
+        if (raiz == null) {
+            raiz = new Nodo(DESCONOCIDO, null);
+            cantidadMemorizada++;
+        }
+        return raiz;
+    }
+    
+    /**
+     * Cuenta las soluciones del nodo actual. Deja en {@link #ultimoContado} el nodo
+     * memorizado, con los hijos que también lo merecieron, si el subárbol ya lo estaba
+     * o si contarlo costó lo suficiente; si no, lo deja en null.
+     * @param memorizado Conteos ya memorizados del nodo actual, o null si no hay
+     */
+    private long contar(Nodo memorizado) {
+        if (memorizado != null && memorizado.soluciones != DESCONOCIDO) {
+            ultimoContado = memorizado;
+            return memorizado.soluciones;
+        }
+        long inicio = visitados;
+        if (++visitados % SesionBusqueda.INTERVALO_CONSULTA == 0 && token != null && token.debeDetenerse()) {
+            throw new CancellationException("Búsqueda cancelada");
+        }
+        int celda = elegirCelda();
+        if (celda < 0) {
+            ultimoContado = null;
+            return celda == -1 ? 1 : 0;
+        }
+        
+        long total = 0;
+        Nodo nodo = memorizado;
+        int candidatos = mascaras.candidatos(celda);
+        while (candidatos != 0) {
+            int bit = candidatos & -candidatos;
+            candidatos ^= bit;
+            mascaras.asignar(celda, bit);
+            try {
+                total += contar(nodo != null ? nodo.hijo(bit) : null);
+            } finally {
+                mascaras.desasignar(celda, bit);
+            }
+            if (ultimoContado != null) {
+                if (nodo == null) {
+                    // Un hijo caro hace caro al padre: se memoriza desde ya para colgarlo
+                    nodo = new Nodo(DESCONOCIDO, null);
+                }
+                nodo.agregarHijo(bit, ultimoContado);
+            }
+        }
+        if (nodo == null && visitados - inicio >= COSTO_MEMORIZADO) {
+            nodo = new Nodo(DESCONOCIDO, null);
+        }
+        if (nodo != null && nodo != memorizado) {
+            if (cantidadMemorizada >= MAXIMO_MEMORIZADOS) {
+                ultimoContado = null;
+                return total;
+            }
+            cantidadMemorizada++;
+        }
+        if (nodo != null) {
+            nodo.soluciones = total;
+        }
+        ultimoContado = nodo;
+        return total;
+    }
+    
+    /**
+     * Elige la celda sobre la que ramificar, con el mismo criterio y desempate que el resolvedor del orden elegido
+     * @return El índice de la celda, -1 si no quedan celdas vacías o -2 si la celda no tiene candidatos
+     */
+    private int elegirCelda() {
+        if (!celdaMasRestringida) {
+            for (int celda = 0; celda < CELDAS; celda++) {
+                if (mascaras.celdas[celda] == 0) {
+                    return mascaras.candidatos(celda) == 0 ? -2 : celda;
+                }
+            }
+            return -1;
+        }
+        int mejor = -1;
+        int menosCandidatos = TAMANO + 1;
+        for (int celda = 0; celda < CELDAS; celda++) {
+            if (mascaras.celdas[celda] != 0) {
+                continue;
+            }
+            int cantidad = Integer.bitCount(mascaras.candidatos(celda));
+            if (cantidad < menosCandidatos) {
+                if (cantidad == 0) {
+                    return -2;
+                }
+                menosCandidatos = cantidad;
+                mejor = celda;
+                if (cantidad == 1) {
+                    break;
+                }
+            }
+        }
+        return mejor;
+    }
+    
+    /**
+     * Conteo memorizado de un subárbol. Los hijos se indexan por valor y son null si
+     * contarlos es barato: un subárbol cuesta más que cualquiera de sus ramas, así que
+     * los nodos memorizados cuelgan siempre de otro memorizado.
+     */
+    private static final class Nodo {
+        /** Cantidad de soluciones, o {@link #DESCONOCIDO} mientras no se contó todo el subárbol */
+        long soluciones;
+        private Nodo[] hijos;
+        
+        Nodo(long soluciones, Nodo[] hijos) {
+            this.soluciones = soluciones;
+            this.hijos = hijos;
+        }
+        
+        Nodo hijo(int bit) {
+            return hijos == null ? null : hijos[Integer.numberOfTrailingZeros(bit) - 1];
+        }
+        
+        void agregarHijo(int bit, Nodo hijo) {
+            if (hijos == null) {
+                hijos = new Nodo[TAMANO];
+            }
+            hijos[Integer.numberOfTrailingZeros(bit) - 1] = hijo;
+        }
+    }
+}
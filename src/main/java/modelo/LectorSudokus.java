@@ -0,0 +1,107 @@
+package modelo;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lee Sudokus de 81 caracteres por línea directamente desde un buffer, normalmente
+ * un fragmento de archivo mapeado en memoria. Cada registro se carga sobre una grilla
+ * reutilizada por el llamador, sin crear cadenas ni objetos por celda.
+ * 
+ * Las celdas vacías se indican con '0' o '.'; se ignoran las líneas vacías, los
+ * '\r' y los espacios al comienzo o al final de la línea.
+ */
+public class LectorSudokus {
+    /** No quedan registros en el buffer */
+    public static final int FIN = 0;
+    /** Se cargó un Sudoku en la grilla */
+    public static final int VALIDO = 1;
+    /** La línea leída no es un Sudoku; el contenido de la grilla queda indefinido */
+    public static final int INVALIDO = 2;
+    
+    private static final int CELDAS = 81;
+    
+    private final ByteBuffer buffer;
+    private final int limite;
+    private int posicion;
+    private int inicioRegistro;
+    
+    /**
+     * @param buffer Buffer a leer desde la posición 0 hasta su límite
+     */
+    public LectorSudokus(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.limite = buffer.limit();
+        this.posicion = 0;
+    }
+    
+    /**
+     * Lee el siguiente registro sobre la grilla dada
+     * @param destino Grilla en la que se cargan los 81 valores
+     * @return {@link #VALIDO}, {@link #INVALIDO} o {@link #FIN}
+     */
+    public int siguiente(GrillaSudoku destino) {
+        while (posicion < limite && esSeparador(buffer.get(posicion))) {
+            posicion++;
+        }
+        if (posicion >= limite) {
+            return FIN;
+        }
+        inicioRegistro = posicion;
+        
+        int celdas = 0;
+        boolean valido = true;
+        while (posicion < limite) {
+            byte caracter = buffer.get(posicion++);
+            if (caracter == '\n') {
+                break;
+            }
+            if (caracter == '\r') {
+                continue;
+            }
+            if (caracter == ' ' || caracter == '\t') {
+                valido &= celdas == CELDAS; // Solo se admiten espacios al final
+                continue;
+            }
+            if (celdas == CELDAS) {
+                valido = false;
+                continue;
+            }
+            if (caracter >= '1' && caracter <= '9') {
+                destino.asignarCelda(celdas, caracter - '0');
+            } else if (caracter == '0' || caracter == '.') {
+                destino.asignarCelda(celdas, 0);
+            } else {
+                valido = false;
+            }
+            celdas++;
+        }
+        return valido && celdas == CELDAS ? VALIDO : INVALIDO;
+    }
+    
+    /**
+     * @return Desplazamiento en bytes, desde el comienzo del buffer, del último registro leído
+     */
+    public int obtenerInicioRegistro() {
+        return inicioRegistro;
+    }
+    
+    /**
+     * Copia el texto del último registro leído, para informar por qué es inválido.
+     * Crea objetos, por lo que solo conviene llamarlo ante un registro {@link #INVALIDO}.
+     * @return La línea del registro en UTF-8, sin espacios en los extremos
+     */
+    public String obtenerRegistro() {
+        int fin = posicion;
+        if (fin > inicioRegistro && buffer.get(fin - 1) == '\n') {
+            fin--;
+        }
+        byte[] bytes = new byte[fin - inicioRegistro];
+        buffer.get(inicioRegistro, bytes);
+        return new String(bytes, StandardCharsets.UTF_8).strip();
+    }
+    
+    private static boolean esSeparador(byte caracter) {
+        return caracter == '\n' || caracter == '\r' || caracter == ' ' || caracter == '\t';
+    }
+}
@@ -0,0 +1,162 @@
+package modelo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lee Sudokus del formato binario descrito en {@link FormatoBinario}.
+ * Cualquier registro se obtiene por su número con dos lecturas posicionales
+ * (la entrada del índice y el registro), sin recorrer los anteriores.
+ * Las lecturas no modifican el estado del lector, por lo que puede compartirse entre hilos.
+ */
+public class LectorSudokusBinario implements Closeable {
+    private final FileChannel canal;
+    private final int cantidad;
+    private final boolean conSoluciones;
+    private final boolean conConteos;
+    private final long posicionIndice;
+    
+    /**
+     * Abre el archivo y valida su cabecera
+     * @param archivo Ruta del archivo
+     * @throws IOException Si el archivo no es un archivo binario de Sudokus válido
+     */
+    public LectorSudokusBinario(Path archivo) throws IOException {
+        this.canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        try {
+            ByteBuffer cabecera = leer(0, FormatoBinario.TAMANO_CABECERA);
+            byte[] firma = new byte[FormatoBinario.FIRMA.length];
+            cabecera.get(firma);
+            if (!Arrays.equals(firma, FormatoBinario.FIRMA)) {
+                throw new IOException("No es un archivo binario de Sudokus: " + archivo);
+            }
+            byte version = cabecera.get();
+            if (version != FormatoBinario.VERSION) {
+                throw new IOException("Versión de formato no soportada: " + version);
+            }
+            int tamano = cabecera.get();
+            int tamanoCaja = cabecera.get();
+            if (tamano != FormatoBinario.TAMANO || tamanoCaja != FormatoBinario.TAMANO_CAJA) {
+                throw new IOException("Tamaño de tablero no soportado: " + tamano + "x" + tamano);
+            }
+            int banderas = cabecera.get();
+            this.conSoluciones = (banderas & FormatoBinario.BANDERA_SOLUCIONES) != 0;
+            this.conConteos = (banderas & FormatoBinario.BANDERA_CONTEOS) != 0;
+            this.cantidad = cabecera.getInt(FormatoBinario.POSICION_CANTIDAD);
+            this.posicionIndice = cabecera.getLong(FormatoBinario.POSICION_INDICE);
+            if (cantidad < 0 || posicionIndice < FormatoBinario.TAMANO_CABECERA
+                    || posicionIndice + (long) cantidad * FormatoBinario.TAMANO_ENTRADA_INDICE > canal.size()) {
+                throw new IOException("Cabecera inconsistente o archivo incompleto: " + archivo);
+            }
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Indica si un archivo comienza con la firma del formato binario
+     * @param archivo Ruta del archivo
+     * @return true si el archivo parece estar en formato binario
+     */
+    public static boolean esBinario(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            ByteBuffer firma = ByteBuffer.allocate(FormatoBinario.FIRMA.length);
+            canal.read(firma, 0);
+            return Arrays.equals(firma.array(), FormatoBinario.FIRMA);
+        }
+    }
+    
+    /**
+     * @return Cantidad de Sudokus del archivo
+     */
+    public int obtenerCantidad() {
+        return cantidad;
+    }
+    
+    /**
+     * @return true si los registros llevan la solución de cada Sudoku
+     */
+    public boolean tieneSoluciones() {
+        return conSoluciones;
+    }
+    
+    /**
+     * @return true si los registros llevan la cantidad de soluciones de cada Sudoku
+     */
+    public boolean tieneConteos() {
+        return conConteos;
+    }
+    
+    /**
+     * Lee un Sudoku con sus valores prefijados
+     * @param indice Número de registro, empezando en 0
+     */
+    public GrillaSudoku leerSudoku(int indice) throws IOException {
+        return FormatoBinario.decodificarPrefijados(leerRegistro(indice));
+    }
+    
+    /**
+     * Lee la solución guardada de un Sudoku
+     * @param indice Número de registro, empezando en 0
+     * @return La solución, o null si el archivo no lleva soluciones
+     */
+    public GrillaSudoku leerSolucion(int indice) throws IOException {
+        if (!conSoluciones) {
+            return null;
+        }
+        ByteBuffer registro = leerRegistro(indice);
+        FormatoBinario.decodificarPrefijados(registro);
+        return FormatoBinario.decodificarCompleta(registro);
+    }
+    
+    /**
+     * Lee la cantidad de soluciones guardada de un Sudoku
+     * @param indice Número de registro, empezando en 0
+     * @return La cantidad de soluciones, o -1 si el archivo no lleva conteos
+     */
+    public int leerCantidadSoluciones(int indice) throws IOException {
+        if (!conConteos) {
+            return -1;
+        }
+        ByteBuffer registro = leerRegistro(indice);
+        return registro.getInt(registro.limit() - Integer.BYTES);
+    }
+    
+    private ByteBuffer leerRegistro(int indice) throws IOException {
+        if (indice < 0 || indice >= cantidad) {
+            throw new IndexOutOfBoundsException("Registro " + indice + " fuera de rango (0-" + (cantidad - 1) + ")");
+        }
+        // El registro termina donde empieza el siguiente, o el índice si es el último
+        int entradas = indice + 1 < cantidad ? 2 : 1;
+        ByteBuffer entrada = leer(posicionIndice + (long) indice * FormatoBinario.TAMANO_ENTRADA_INDICE,
+                entradas * FormatoBinario.TAMANO_ENTRADA_INDICE);
+        long inicio = entrada.getLong();
+        long fin = entradas == 2 ? entrada.getLong() : posicionIndice;
+        if (fin < inicio || fin - inicio > FormatoBinario.TAMANO_MAXIMO_REGISTRO) {
+            throw new IOException("Índice corrupto en el registro " + indice);
+        }
+        return leer(inicio, (int) (fin - inicio));
+    }
+    
+    private ByteBuffer leer(long posicion, int largo) throws IOException {
+        ByteBuffer destino = ByteBuffer.allocate(largo);
+        while (destino.hasRemaining()) {
+            if (canal.read(destino, posicion + destino.position()) < 0) {
+                throw new IOException("Fin de archivo inesperado en la posición " + (posicion + destino.position()));
+            }
+        }
+        destino.flip();
+        return destino;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
@@ -0,0 +1,103 @@
+package modelo;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Muestras de rendimiento de referencia guardadas en un archivo de texto.
+ * El archivo empieza con líneas de metadatos "# clave=valor" (motor, semilla, ...)
+ * seguidas de un CSV con una fila por muestra: operacion,prefijados,indice,tiempo_ms,nodos
+ */
+public class LineaBase {
+    private static final String ENCABEZADO = "operacion,prefijados,indice,tiempo_ms,nodos";
+    
+    private final Map<String, String> metadatos;
+    private final List<MuestraRendimiento> muestras;
+    
+    public LineaBase(Map<String, String> metadatos, List<MuestraRendimiento> muestras) {
+        this.metadatos = new LinkedHashMap<>(metadatos);
+        this.muestras = new ArrayList<>(muestras);
+    }
+    
+    public Map<String, String> obtenerMetadatos() {
+        return Collections.unmodifiableMap(metadatos);
+    }
+    
+    public List<MuestraRendimiento> obtenerMuestras() {
+        return Collections.unmodifiableList(muestras);
+    }
+    
+    /**
+     * Guarda la línea base en un archivo, reemplazándolo si existe
+     * @param archivo Ruta del archivo
+     */
+    public void guardar(Path archivo) throws IOException {
+        try (BufferedWriter escritor = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> entrada : metadatos.entrySet()) {
+                escritor.write("# " + entrada.getKey() + "=" + entrada.getValue() + "\n");
+            }
+            escritor.write(ENCABEZADO + "\n");
+            for (MuestraRendimiento muestra : muestras) {
+                escritor.write(String.format(Locale.ROOT, "%s,%d,%d,%.6f,%d\n",
+                        muestra.obtenerSerie(),
+                        muestra.obtenerCantidadPrefijados(),
+                        muestra.obtenerIndiceSudoku(),
+                        muestra.obtenerTiempoMs(),
+                        muestra.obtenerNodos()));
+            }
+        }
+    }
+    
+    /**
+     * Lee una línea base guardada con {@link #guardar(Path)}
+     * @param archivo Ruta del archivo
+     * @return La línea base leída
+     * @throws IOException si el archivo no existe o tiene un formato inválido
+     */
+    public static LineaBase cargar(Path archivo) throws IOException {
+        Map<String, String> metadatos = new LinkedHashMap<>();
+        List<MuestraRendimiento> muestras = new ArrayList<>();
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            int numeroLinea = 0;
+            while ((linea = lector.readLine()) != null) {
+                numeroLinea++;
+                if (linea.isBlank() || linea.equals(ENCABEZADO)) {
+                    continue;
+                }
+                if (linea.startsWith("#")) {
+                    int igual = linea.indexOf('=');
+                    if (igual > 0) {
+                        metadatos.put(linea.substring(1, igual).trim(), linea.substring(igual + 1).trim());
+                    }
+                    continue;
+                }
+                String[] campos = linea.split(",");
+                if (campos.length != 5) {
+                    throw new IOException("Línea " + numeroLinea + " inválida en " + archivo + ": " + linea);
+                }
+                try {
+                    muestras.add(new MuestraRendimiento(
+                            campos[0],
+                            Integer.parseInt(campos[1]),
+                            Integer.parseInt(campos[2]),
+                            Double.parseDouble(campos[3]),
+                            Long.parseLong(campos[4])));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Línea " + numeroLinea + " inválida en " + archivo + ": " + linea, e);
+                }
+            }
+        }
+        return new LineaBase(metadatos, muestras);
+    }
+}
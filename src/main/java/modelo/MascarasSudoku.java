@@ -0,0 +1,94 @@
+package modelo;
+
+/**
+ * Representación de una grilla con máscaras de bits que usan los motores de
+ * búsqueda: el valor de cada celda y, por cada fila, columna y caja, los valores
+ * ya usados. El bit {@code 1 << v} indica el valor v, de modo que los candidatos
+ * de una celda se obtienen con unas pocas operaciones de bits.
+ */
+final class MascarasSudoku {
+    static final int TAMANO = 9;
+    static final int CELDAS = TAMANO * TAMANO;
+    /** Máscara con los bits de los valores 1 a 9 */
+    static final int TODOS = 0x3FE;
+    
+    final int[] celdas = new int[CELDAS];
+    final int[] filas = new int[TAMANO];
+    final int[] columnas = new int[TAMANO];
+    final int[] cajas = new int[TAMANO];
+    
+    /**
+     * Carga la grilla, reemplazando el contenido anterior
+     * @return false si los valores prefijados ya están en conflicto entre sí
+     */
+    boolean cargar(GrillaSudoku grilla) {
+        for (int i = 0; i < TAMANO; i++) {
+            filas[i] = 0;
+            columnas[i] = 0;
+            cajas[i] = 0;
+        }
+        for (int fila = 0; fila < TAMANO; fila++) {
+            for (int columna = 0; columna < TAMANO; columna++) {
+                int valor = grilla.obtenerValor(fila, columna);
+                celdas[fila * TAMANO + columna] = valor;
+                if (valor != 0) {
+                    int bit = 1 << valor;
+                    int caja = caja(fila, columna);
+                    if ((filas[fila] & bit) != 0 || (columnas[columna] & bit) != 0 || (cajas[caja] & bit) != 0) {
+                        return false;
+                    }
+                    filas[fila] |= bit;
+                    columnas[columna] |= bit;
+                    cajas[caja] |= bit;
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Copia los valores de las celdas en la grilla
+     */
+    void volcar(GrillaSudoku grilla) {
+        for (int celda = 0; celda < CELDAS; celda++) {
+            grilla.establecerValor(celda / TAMANO, celda % TAMANO, celdas[celda]);
+        }
+    }
+    
+    /**
+     * @return Máscara de los valores que se pueden colocar en la celda
+     */
+    int candidatos(int celda) {
+        int fila = celda / TAMANO;
+        int columna = celda % TAMANO;
+        return TODOS & ~(filas[fila] | columnas[columna] | cajas[caja(fila, columna)]);
+    }
+    
+    /**
+     * @param bit Bit del valor a colocar en la celda vacía
+     */
+    void asignar(int celda, int bit) {
+        int fila = celda / TAMANO;
+        int columna = celda % TAMANO;
+        celdas[celda] = Integer.numberOfTrailingZeros(bit);
+        filas[fila] |= bit;
+        columnas[columna] |= bit;
+        cajas[caja(fila, columna)] |= bit;
+    }
+    
+    /**
+     * @param bit Bit del valor que se quita de la celda
+     */
+    void desasignar(int celda, int bit) {
+        int fila = celda / TAMANO;
+        int columna = celda % TAMANO;
+        celdas[celda] = 0;
+        filas[fila] &= ~bit;
+        columnas[columna] &= ~bit;
+        cajas[caja(fila, columna)] &= ~bit;
+    }
+    
+    static int caja(int fila, int columna) {
+        return (fila / 3) * 3 + columna / 3;
+    }
+}
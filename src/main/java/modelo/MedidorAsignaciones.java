@@ -0,0 +1,50 @@
+package modelo;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Mide los bytes asignados en el heap por el hilo actual, usando los contadores
+ * por hilo de la JVM (com.sun.management.ThreadMXBean). Leer el contador no
+ * asigna memoria, así que se puede usar alrededor de operaciones individuales.
+ */
+public class MedidorAsignaciones {
+    private static final com.sun.management.ThreadMXBean HILOS = inicializar();
+    
+    private MedidorAsignaciones() {
+    }
+    
+    private static com.sun.management.ThreadMXBean inicializar() {
+        ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+        if (!(hilos instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean hilosSun = (com.sun.management.ThreadMXBean) hilos;
+        if (!hilosSun.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!hilosSun.isThreadAllocatedMemoryEnabled()) {
+            hilosSun.setThreadAllocatedMemoryEnabled(true);
+        }
+        return hilosSun;
+    }
+    
+    /**
+     * @return true si la JVM permite medir asignaciones por hilo
+     */
+    public static boolean estaDisponible() {
+        return HILOS != null;
+    }
+    
+    /**
+     * Bytes asignados por el hilo actual desde que comenzó. Solo tiene sentido
+     * la diferencia entre dos lecturas hechas desde el mismo hilo.
+     * @return Bytes asignados acumulados, o 0 si la medición no está disponible
+     */
+    public static long bytesAsignadosHiloActual() {
+        if (HILOS == null) {
+            return 0;
+        }
+        return HILOS.getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,61 @@
+package modelo;
+
+/**
+ * Contadores de trabajo algorítmico realizado por una búsqueda
+ */
+public class MetricasBusqueda {
+    private final long nodos;
+    private final long retrocesos;
+    private final long verificaciones;
+    private final int profundidadMaxima;
+    private final long eliminaciones;
+    
+    public MetricasBusqueda(long nodos, long retrocesos, long verificaciones, int profundidadMaxima, long eliminaciones) {
+        this.nodos = nodos;
+        this.retrocesos = retrocesos;
+        this.verificaciones = verificaciones;
+        this.profundidadMaxima = profundidadMaxima;
+        this.eliminaciones = eliminaciones;
+    }
+    
+    /**
+     * @return Cantidad de nodos del árbol de búsqueda expandidos
+     */
+    public long obtenerNodos() {
+        return nodos;
+    }
+    
+    /**
+     * @return Cantidad de asignaciones deshechas al retroceder
+     */
+    public long obtenerRetrocesos() {
+        return retrocesos;
+    }
+    
+    /**
+     * @return Cantidad de llamadas a esColocacionValida (o verificaciones de candidato equivalentes)
+     */
+    public long obtenerVerificaciones() {
+        return verificaciones;
+    }
+    
+    /**
+     * @return Máxima cantidad de asignaciones simultáneas alcanzada en la búsqueda
+     */
+    public int obtenerProfundidadMaxima() {
+        return profundidadMaxima;
+    }
+    
+    /**
+     * @return Cantidad de candidatos eliminados por propagación de restricciones
+     */
+    public long obtenerEliminaciones() {
+        return eliminaciones;
+    }
+    
+    @Override
+    public String toString() {
+        return "nodos=" + nodos + ", retrocesos=" + retrocesos + ", verificaciones=" + verificaciones
+                + ", profundidadMaxima=" + profundidadMaxima + ", eliminaciones=" + eliminaciones;
+    }
+}
@@ -0,0 +1,70 @@
+package modelo;
+
+/**
+ * Una medición individual: un Sudoku procesado por un motor u operación
+ */
+public class MuestraRendimiento {
+    private final String serie;
+    private final int cantidadPrefijados;
+    private final int indiceSudoku;
+    private final double tiempoMs;
+    private final long nodos;
+    private final boolean completa;
+    
+    /**
+     * Crea la muestra de una medición que terminó
+     * @param serie Motor u operación medida
+     * @param cantidadPrefijados Cantidad de valores prefijados del Sudoku
+     * @param indiceSudoku Índice del Sudoku dentro de las entradas de esa cantidad
+     * @param tiempoMs Tiempo medido en milisegundos
+     * @param nodos Nodos expandidos por la búsqueda
+     */
+    public MuestraRendimiento(String serie, int cantidadPrefijados, int indiceSudoku, double tiempoMs, long nodos) {
+        this(serie, cantidadPrefijados, indiceSudoku, tiempoMs, nodos, true);
+    }
+    
+    /**
+     * @param serie Motor u operación medida
+     * @param cantidadPrefijados Cantidad de valores prefijados del Sudoku
+     * @param indiceSudoku Índice del Sudoku dentro de las entradas de esa cantidad
+     * @param tiempoMs Tiempo medido en milisegundos
+     * @param nodos Nodos expandidos por la búsqueda
+     * @param completa false si la búsqueda alcanzó el plazo sin terminar
+     */
+    public MuestraRendimiento(String serie, int cantidadPrefijados, int indiceSudoku, double tiempoMs, long nodos,
+                              boolean completa) {
+        this.serie = serie;
+        this.cantidadPrefijados = cantidadPrefijados;
+        this.indiceSudoku = indiceSudoku;
+        this.tiempoMs = tiempoMs;
+        this.nodos = nodos;
+        this.completa = completa;
+    }
+    
+    public String obtenerSerie() {
+        return serie;
+    }
+    
+    public int obtenerCantidadPrefijados() {
+        return cantidadPrefijados;
+    }
+    
+    public int obtenerIndiceSudoku() {
+        return indiceSudoku;
+    }
+    
+    public double obtenerTiempoMs() {
+        return tiempoMs;
+    }
+    
+    public long obtenerNodos() {
+        return nodos;
+    }
+    
+    /**
+     * @return false si la medición se cortó por plazo: su tiempo es solo una cota inferior
+     */
+    public boolean estaCompleta() {
+        return completa;
+    }
+}
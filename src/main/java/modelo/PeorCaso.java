@@ -0,0 +1,40 @@
+package modelo;
+
+/**
+ * Sudoku encontrado por {@link BuscadorPeorCaso}, con lo que le costó al motor resolverlo
+ */
+public class PeorCaso {
+    private final GrillaSudoku sudoku;
+    private final long nodos;
+    private final double tiempoMs;
+    private final boolean completa;
+    
+    /**
+     * @param sudoku Sudoku de solución única
+     * @param nodos Nodos que visitó el motor al resolverlo
+     * @param tiempoMs Tiempo de resolución en milisegundos
+     * @param completa false si la resolución alcanzó el plazo sin terminar
+     */
+    public PeorCaso(GrillaSudoku sudoku, long nodos, double tiempoMs, boolean completa) {
+        this.sudoku = sudoku;
+        this.nodos = nodos;
+        this.tiempoMs = tiempoMs;
+        this.completa = completa;
+    }
+    
+    public GrillaSudoku obtenerSudoku() {
+        return sudoku;
+    }
+    
+    public long obtenerNodos() {
+        return nodos;
+    }
+    
+    public double obtenerTiempoMs() {
+        return tiempoMs;
+    }
+    
+    public boolean estaCompleta() {
+        return completa;
+    }
+}
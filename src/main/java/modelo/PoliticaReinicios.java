@@ -0,0 +1,108 @@
+package modelo;
+
+import java.util.Locale;
+
+/**
+ * Presupuesto de nodos de cada intento de una búsqueda con reinicios. Cuando un
+ * intento agota su presupuesto la búsqueda vuelve a empezar con otro orden
+ * aleatorio, y el presupuesto del intento siguiente lo da la política.
+ *
+ * Con ordenes aleatorios, el tiempo de una búsqueda por backtracking tiene cola
+ * pesada: la mayoría de los intentos terminan rápido y unos pocos tardan órdenes
+ * de magnitud más. Cortar los intentos largos y reintentar evita quedar atrapado
+ * en uno de ellos. Ambas políticas hacen crecer el presupuesto sin cota, por lo
+ * que la búsqueda sigue siendo completa.
+ */
+public final class PoliticaReinicios {
+    private static final int SIN_REINICIOS = 0;
+    private static final int LUBY = 1;
+    private static final int GEOMETRICA = 2;
+    
+    private final int tipo;
+    private final long nodosBase;
+    private final double factor;
+    
+    private PoliticaReinicios(int tipo, long nodosBase, double factor) {
+        this.tipo = tipo;
+        this.nodosBase = nodosBase;
+        this.factor = factor;
+    }
+    
+    /**
+     * Un único intento sin presupuesto
+     */
+    public static PoliticaReinicios sinReinicios() {
+        return new PoliticaReinicios(SIN_REINICIOS, Long.MAX_VALUE, 1);
+    }
+    
+    /**
+     * Presupuestos según la secuencia de Luby (1, 1, 2, 1, 1, 2, 4, 1, ...) multiplicada
+     * por la base. Su tiempo esperado está a un factor logarítmico del de la mejor
+     * política fija, sin conocer la distribución de los tiempos.
+     * @param nodosBase Nodos del presupuesto unitario
+     */
+    public static PoliticaReinicios luby(long nodosBase) {
+        if (nodosBase < 1) {
+            throw new IllegalArgumentException("El presupuesto base debe ser al menos 1 nodo");
+        }
+        return new PoliticaReinicios(LUBY, nodosBase, 1);
+    }
+    
+    /**
+     * Presupuestos que crecen geométricamente: base, base·factor, base·factor², ...
+     * @param nodosBase Nodos del primer intento
+     * @param factor Crecimiento entre un intento y el siguiente, mayor que 1
+     */
+    public static PoliticaReinicios geometrica(long nodosBase, double factor) {
+        if (nodosBase < 1 || !(factor > 1)) {
+            throw new IllegalArgumentException("El presupuesto base debe ser al menos 1 nodo y el factor mayor que 1");
+        }
+        return new PoliticaReinicios(GEOMETRICA, nodosBase, factor);
+    }
+    
+    /**
+     * @param intento Número de intento, desde 0
+     * @return Nodos que puede explorar el intento
+     */
+    public long presupuesto(int intento) {
+        switch (tipo) {
+            case LUBY:
+                return saturar(nodosBase, terminoLuby(intento + 1));
+            case GEOMETRICA:
+                double nodos = nodosBase * Math.pow(factor, intento);
+                return nodos >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) nodos;
+            default:
+                return Long.MAX_VALUE;
+        }
+    }
+    
+    /**
+     * Término i-ésimo (desde 1) de la secuencia de Luby
+     */
+    static long terminoLuby(int i) {
+        // Si i = 2^k - 1 el término es 2^(k-1); si no, se repite la secuencia desde el principio
+        while (true) {
+            int k = 32 - Integer.numberOfLeadingZeros(i);
+            if (i == (1 << k) - 1) {
+                return 1L << (k - 1);
+            }
+            i -= (1 << (k - 1)) - 1;
+        }
+    }
+    
+    private static long saturar(long a, long b) {
+        return b > Long.MAX_VALUE / a ? Long.MAX_VALUE : a * b;
+    }
+    
+    @Override
+    public String toString() {
+        switch (tipo) {
+            case LUBY:
+                return "luby:" + nodosBase;
+            case GEOMETRICA:
+                return String.format(Locale.ROOT, "geometrica:%d:%s", nodosBase, factor);
+            default:
+                return "ninguna";
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package modelo;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Estado guardado de un conteo de soluciones interrumpido, a partir del cual se
+ * puede reanudar.
+ *
+ * Los resolvedores recorren las ramas en un orden fijo, por lo que el camino de
+ * valores asignados desde la raíz hasta el nodo en curso determina qué subárboles
+ * ya se contaron: todos los que quedan antes en el recorrido. Junto con el camino
+ * se guardan las soluciones de esos subárboles y las métricas acumuladas.
+ *
+ * El archivo tiene una línea "clave=valor" por campo. Se escribe en un archivo
+ * temporal que luego reemplaza al anterior, de modo que una interrupción durante
+ * la escritura no deja un punto de control a medio escribir.
+ */
+public final class PuntoControlConteo {
+    private final String motor;
+    private final String sudoku;
+    private final int limite;
+    private final boolean porOrbitas;
+    private final int[] camino;
+    private final int contadas;
+    private final long nodos;
+    private final double tiempoMs;
+    
+    private PuntoControlConteo(String motor, String sudoku, int limite, boolean porOrbitas,
+                               int[] camino, int contadas, long nodos, double tiempoMs) {
+        this.motor = motor;
+        this.sudoku = sudoku;
+        this.limite = limite;
+        this.porOrbitas = porOrbitas;
+        this.camino = camino;
+        this.contadas = contadas;
+        this.nodos = nodos;
+        this.tiempoMs = tiempoMs;
+    }
+    
+    /**
+     * Crea el punto de control inicial de un conteo, sin nada contado
+     * @param porOrbitas true si el conteo cuenta una solución por órbita de simetría
+     */
+    static PuntoControlConteo inicial(String motor, GrillaSudoku grilla, int limite, boolean porOrbitas) {
+        return new PuntoControlConteo(motor, grilla.aCadena(), limite, porOrbitas, new int[0], 0, 0, 0);
+    }
+    
+    /**
+     * @return Un punto de control del mismo conteo con el avance dado
+     */
+    PuntoControlConteo conAvance(int[] camino, int contadas, long nodos, double tiempoMs) {
+        return new PuntoControlConteo(motor, sudoku, limite, porOrbitas, camino.clone(), contadas, nodos, tiempoMs);
+    }
+    
+    /**
+     * @return true si ambos puntos de control pertenecen al mismo conteo: mismo motor,
+     *         grilla, límite y forma de contar
+     */
+    boolean mismoConteo(PuntoControlConteo otro) {
+        return motor.equals(otro.motor) && sudoku.equals(otro.sudoku) && limite == otro.limite
+                && porOrbitas == otro.porOrbitas;
+    }
+    
+    /**
+     * @return true si el conteo cuenta una solución por órbita de simetría
+     */
+    boolean esPorOrbitas() {
+        return porOrbitas;
+    }
+    
+    public String obtenerMotor() {
+        return motor;
+    }
+    
+    public GrillaSudoku obtenerGrilla() {
+        return GrillaSudoku.desdeCadena(sudoku);
+    }
+    
+    /**
+     * @return Valor asignado en cada nivel del camino hasta el nodo en que se reanuda
+     */
+    int[] obtenerCamino() {
+        return camino.clone();
+    }
+    
+    /**
+     * @return Soluciones contadas hasta el punto de control; si el conteo es por
+     *         órbitas, cada una representa a toda su órbita
+     */
+    public int obtenerContadas() {
+        return contadas;
+    }
+    
+    public long obtenerNodos() {
+        return nodos;
+    }
+    
+    public double obtenerTiempoMs() {
+        return tiempoMs;
+    }
+    
+    /**
+     * Guarda el punto de control, reemplazando atómicamente el archivo si existe
+     * @param archivo Ruta del archivo; se crean los directorios que falten
+     */
+    public void guardar(Path archivo) throws IOException {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        Files.createDirectories(directorio);
+        Path temporal = Files.createTempFile(directorio, archivo.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter escritor = Files.newBufferedWriter(temporal, StandardCharsets.UTF_8)) {
+                escritor.write("motor=" + motor + "\n");
+                escritor.write("sudoku=" + sudoku + "\n");
+                escritor.write("limite=" + limite + "\n");
+                escritor.write("orbitas=" + porOrbitas + "\n");
+                escritor.write("camino=" + Arrays.stream(camino).mapToObj(Integer::toString)
+                        .collect(Collectors.joining(",")) + "\n");
+                escritor.write("contadas=" + contadas + "\n");
+                escritor.write("nodos=" + nodos + "\n");
+                escritor.write(String.format(Locale.ROOT, "tiempo_ms=%.3f\n", tiempoMs));
+            }
+            try {
+                Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+    
+    /**
+     * Lee un punto de control guardado con {@link #guardar(Path)}
+     * @param archivo Ruta del archivo
+     * @return El punto de control leído
+     * @throws IOException si el archivo no existe o tiene un formato inválido
+     */
+    public static PuntoControlConteo cargar(Path archivo) throws IOException {
+        Map<String, String> campos = new LinkedHashMap<>();
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                int igual = linea.indexOf('=');
+                if (igual > 0) {
+                    campos.put(linea.substring(0, igual), linea.substring(igual + 1));
+                }
+            }
+        }
+        try {
+            String textoCamino = obtenerCampo(campos, "camino", archivo);
+            int[] camino = textoCamino.isEmpty() ? new int[0]
+                    : Arrays.stream(textoCamino.split(",")).mapToInt(Integer::parseInt).toArray();
+            String sudoku = obtenerCampo(campos, "sudoku", archivo);
+            GrillaSudoku.desdeCadena(sudoku); // Valida el formato
+            return new PuntoControlConteo(
+                    obtenerCampo(campos, "motor", archivo),
+                    sudoku,
+                    Integer.parseInt(obtenerCampo(campos, "limite", archivo)),
+                    Boolean.parseBoolean(obtenerCampo(campos, "orbitas", archivo)),
+                    camino,
+                    Integer.parseInt(obtenerCampo(campos, "contadas", archivo)),
+                    Long.parseLong(obtenerCampo(campos, "nodos", archivo)),
+                    Double.parseDouble(obtenerCampo(campos, "tiempo_ms", archivo)));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Punto de control inválido en " + archivo + ": " + e.getMessage(), e);
+        }
+    }
+    
+    private static String obtenerCampo(Map<String, String> campos, String clave, Path archivo) throws IOException {
+        String valor = campos.get(clave);
+        if (valor == null) {
+            throw new IOException("Falta el campo " + clave + " en el punto de control " + archivo);
+        }
+        return valor;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "PuntoControlConteo[%s, %d contadas, %d nodos, profundidad %d]",
+                motor, contadas, nodos, camino.length);
+    }
+}
@@ -0,0 +1,80 @@
+package modelo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Archivo en el que un conteo guarda sus puntos de control, con el punto de
+ * control desde el que se reanuda, si lo hay
+ */
+final class RegistroPuntosControl {
+    private final Path archivo;
+    private final long intervaloNanos;
+    private final PuntoControlConteo inicial;
+    private final PuntoControlConteo desde;
+    
+    private RegistroPuntosControl(Path archivo, long intervaloNanos, PuntoControlConteo inicial,
+                                  PuntoControlConteo desde) {
+        this.archivo = archivo;
+        this.intervaloNanos = intervaloNanos;
+        this.inicial = inicial;
+        this.desde = desde;
+    }
+    
+    /**
+     * Abre el archivo de puntos de control de un conteo. Un punto de control de otro
+     * conteo (otra grilla, motor o límite), o uno que no se puede leer, se ignora y se
+     * reemplaza con el primero que se guarde: el conteo empieza de cero.
+     * @param inicial Punto de control inicial del conteo que comienza
+     */
+    static RegistroPuntosControl abrir(Path archivo, long intervaloMs, PuntoControlConteo inicial) {
+        PuntoControlConteo desde = null;
+        if (Files.exists(archivo)) {
+            try {
+                PuntoControlConteo guardado = PuntoControlConteo.cargar(archivo);
+                if (guardado.mismoConteo(inicial)) {
+                    desde = guardado;
+                }
+            } catch (IOException e) {
+                // Dañado o de un formato anterior: no hay avance que reanudar
+            }
+        }
+        return new RegistroPuntosControl(archivo, intervaloMs * 1_000_000, inicial, desde);
+    }
+    
+    long obtenerIntervaloNanos() {
+        return intervaloNanos;
+    }
+    
+    PuntoControlConteo obtenerInicial() {
+        return inicial;
+    }
+    
+    /**
+     * @return El punto de control desde el que se reanuda, o null si el conteo empieza de cero
+     */
+    PuntoControlConteo obtenerDesde() {
+        return desde;
+    }
+    
+    void guardar(PuntoControlConteo punto) {
+        try {
+            punto.guardar(archivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Elimina el archivo al terminar el conteo: ya no hay nada que reanudar
+     */
+    void eliminar() {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
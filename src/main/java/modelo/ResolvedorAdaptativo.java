@@ -0,0 +1,138 @@
+package modelo;
+
+import interfaces.IListenerMetricas;
+import interfaces.ISudokuSolver;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Resolvedor que delega cada operación en el motor que un {@link SelectorMotores}
+ * estima más rápido para la grilla. A diferencia de {@link ResolvedorPortafolio}
+ * usa un único hilo por operación: elegir cuesta una pasada sobre la grilla.
+ *
+ * Las soluciones preparadas son las del motor elegido en la última preparación.
+ */
+public class ResolvedorAdaptativo implements ISudokuSolver {
+    private final SelectorMotores selector;
+    private final List<String> nombres;
+    private final List<ISudokuSolver> motores;
+    private final AtomicLongArray elecciones;
+    private volatile ISudokuSolver fuentePreparadas;
+    
+    /**
+     * @param selector Modelo con el que se elige el motor
+     * @param motores Fábricas de los motores por nombre; deben incluir todos los
+     *                motores del selector
+     */
+    public ResolvedorAdaptativo(SelectorMotores selector, Map<String, Supplier<ISudokuSolver>> motores) {
+        this.selector = selector;
+        this.nombres = selector.obtenerMotores();
+        this.motores = new ArrayList<>();
+        for (String nombre : nombres) {
+            Supplier<ISudokuSolver> fabrica = motores.get(nombre);
+            if (fabrica == null) {
+                throw new IllegalArgumentException("El selector usa un motor desconocido: " + nombre
+                        + ". Disponibles: " + motores.keySet());
+            }
+            this.motores.add(fabrica.get());
+        }
+        this.elecciones = new AtomicLongArray(nombres.size());
+    }
+    
+    private ISudokuSolver elegir(GrillaSudoku grilla) {
+        int motor = nombres.indexOf(selector.elegir(grilla));
+        elecciones.incrementAndGet(motor);
+        return motores.get(motor);
+    }
+    
+    @Override
+    public boolean resolver(GrillaSudoku grilla) {
+        return elegir(grilla).resolver(grilla);
+    }
+    
+    @Override
+    public ResultadoBusqueda resolver(GrillaSudoku grilla, TokenCancelacion token) {
+        return elegir(grilla).resolver(grilla, token);
+    }
+    
+    @Override
+    public int contarSoluciones(GrillaSudoku grilla) {
+        return elegir(grilla).contarSoluciones(grilla);
+    }
+    
+    @Override
+    public int contarSoluciones(GrillaSudoku grilla, int limite) {
+        return elegir(grilla).contarSoluciones(grilla, limite);
+    }
+    
+    @Override
+    public ResultadoBusqueda contarSoluciones(GrillaSudoku grilla, int limite, TokenCancelacion token) {
+        return elegir(grilla).contarSoluciones(grilla, limite, token);
+    }
+    
+    @Override
+    public int prepararSoluciones(GrillaSudoku grilla) {
+        return prepararSoluciones(grilla, null).obtenerSoluciones();
+    }
+    
+    @Override
+    public ResultadoBusqueda prepararSoluciones(GrillaSudoku grilla, TokenCancelacion token) {
+        ISudokuSolver motor = elegir(grilla);
+        fuentePreparadas = motor;
+        return motor.prepararSoluciones(grilla, token);
+    }
+    
+    @Override
+    public ResultadoBusqueda contarYPrepararSoluciones(GrillaSudoku grilla, int maximoPreparadas,
+                                                       TokenCancelacion token, IntConsumer progreso) {
+        ISudokuSolver motor = elegir(grilla);
+        fuentePreparadas = motor;
+        return motor.contarYPrepararSoluciones(grilla, maximoPreparadas, token, progreso);
+    }
+    
+    /**
+     * La elección depende solo de la grilla, por lo que al reanudar con el mismo
+     * modelo se elige el mismo motor y su punto de control sigue siendo válido
+     */
+    @Override
+    public ResultadoBusqueda contarReanudable(GrillaSudoku grilla, int limite, int maximoPreparadas,
+                                              TokenCancelacion token, IntConsumer progreso,
+                                              Path archivo, long intervaloMs) {
+        ISudokuSolver motor = elegir(grilla);
+        if (maximoPreparadas >= 0) {
+            fuentePreparadas = motor;
+        }
+        return motor.contarReanudable(grilla, limite, maximoPreparadas, token, progreso, archivo, intervaloMs);
+    }
+    
+    @Override
+    public GrillaSudoku obtenerSolucion(int indice) {
+        ISudokuSolver fuente = fuentePreparadas;
+        return fuente == null ? null : fuente.obtenerSolucion(indice);
+    }
+    
+    @Override
+    public void establecerListenerMetricas(IListenerMetricas listener) {
+        for (ISudokuSolver motor : motores) {
+            motor.establecerListenerMetricas(listener);
+        }
+    }
+    
+    /**
+     * @return Operaciones delegadas en cada motor
+     */
+    public Map<String, Long> obtenerElecciones() {
+        Map<String, Long> resultado = new LinkedHashMap<>();
+        for (int motor = 0; motor < nombres.size(); motor++) {
+            resultado.put(nombres.get(motor), elecciones.get(motor));
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,746 @@
+package modelo;
+
+import interfaces.IListenerMetricas;
+import interfaces.ISudokuSolver;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Resolvedor por búsqueda dirigida por conflictos (CDCL). El Sudoku se codifica en
+ * cláusulas sobre 729 variables "la celda c tiene el valor v":
+ * <ul>
+ * <li>cada celda tiene algún valor, y cada fila, columna y caja tiene cada valor
+ *     en alguna celda (cláusulas de 9 literales);</li>
+ * <li>dos celdas que se ven no tienen el mismo valor, y una celda no tiene dos
+ *     valores (cláusulas binarias).</li>
+ * </ul>
+ * La propagación con dos literales vigilados deduce los singles desnudos y ocultos.
+ * Cuando una rama llega a un conflicto se analiza su causa hasta el primer punto
+ * de implicación único, se aprende la cláusula que lo prohíbe (un "nogood") y se
+ * retrocede directamente al nivel en que esa cláusula vuelve a deducir algo, en
+ * lugar de al nivel anterior. Las cláusulas aprendidas podan el resto de la
+ * búsqueda, que así no repite combinaciones que ya fallaron.
+ *
+ * La base de cláusulas aprendidas tiene un tamaño máximo: al superarlo se descarta
+ * la mitad, empezando por las de mayor LBD (cantidad de niveles distintos entre sus
+ * literales) y, entre ellas, las que menos participaron en conflictos recientes.
+ * Las que son razón de una asignación en curso no se descartan.
+ *
+ * Las decisiones eligen la celda con menos valores posibles y, en ella, el valor
+ * de mayor actividad (VSIDS). La búsqueda se reinicia según una
+ * {@link PoliticaReinicios} medida en conflictos, conservando lo aprendido.
+ *
+ * Aprender solo sirve para encontrar una solución: los conteos y las soluciones
+ * preparadas se delegan en un {@link ResolvedorSudokuMRV}.
+ */
+public class ResolvedorConflictos implements ISudokuSolver {
+    private static final int TAMANO = 9;
+    private static final int CELDAS = TAMANO * TAMANO;
+    private static final int VARIABLES = CELDAS * TAMANO;
+    private static final int LITERALES = 2 * VARIABLES;
+    private static final int SIN_RAZON = -1;
+    private static final double DECAIMIENTO_VARIABLES = 0.95;
+    private static final double DECAIMIENTO_CLAUSULAS = 0.999;
+    /** Las cláusulas con LBD hasta este valor ("glue") se descartan en último lugar */
+    private static final int LBD_GLUE = 2;
+    private static final int[][] CLAUSULAS_PROBLEMA = codificar();
+    
+    private final int maximoAprendidas;
+    private final PoliticaReinicios politica;
+    private final ThreadLocal<Sesion> sesiones;
+    private final ResolvedorSudokuMRV conteo;
+    private volatile IListenerMetricas listenerMetricas;
+    
+    /**
+     * Estado de búsqueda de un hilo. Las cláusulas del problema se copian una vez
+     * por hilo: la propagación reordena sus literales, pero cualquier orden es la
+     * misma cláusula, así que se reutilizan entre resoluciones.
+     */
+    private static class Sesion extends SesionBusqueda {
+        private int[][] clausulas = new int[CLAUSULAS_PROBLEMA.length * 2][];
+        private boolean[] aprendida = new boolean[clausulas.length];
+        private double[] actividadClausula = new double[clausulas.length];
+        private int[] lbd = new int[clausulas.length];
+        private int cantidadClausulas;
+        private int[] libres = new int[16];
+        private int cantidadLibres;
+        private int cantidadAprendidas;
+        
+        private final int[][] vigilantes = new int[LITERALES][];
+        private final int[] cantidadVigilantes = new int[LITERALES];
+        
+        /** 0 sin asignar, 1 verdadera, -1 falsa */
+        private final byte[] valor = new byte[VARIABLES];
+        private final int[] nivel = new int[VARIABLES];
+        private final int[] razon = new int[VARIABLES];
+        private final int[] traza = new int[VARIABLES];
+        private int largoTraza;
+        private int cabeza;
+        private final int[] inicioNivel = new int[VARIABLES + 1];
+        private int nivelActual;
+        
+        private final double[] actividadVariable = new double[VARIABLES];
+        private double incrementoVariable;
+        private double incrementoClausula;
+        
+        private final boolean[] visto = new boolean[VARIABLES];
+        private final int[] nueva = new int[VARIABLES];
+        private final boolean[] nivelVisto = new boolean[VARIABLES + 1];
+        
+        private long conflictos;
+        private long aprendidasTotales;
+        private long descartadas;
+        private long saltos;
+        private int maximoVivas;
+        private long eliminaciones;
+        
+        private Sesion() {
+            for (int i = 0; i < CLAUSULAS_PROBLEMA.length; i++) {
+                clausulas[i] = CLAUSULAS_PROBLEMA[i].clone();
+            }
+            cantidadClausulas = CLAUSULAS_PROBLEMA.length;
+            for (int literal = 0; literal < LITERALES; literal++) {
+                vigilantes[literal] = new int[8];
+            }
+        }
+    }
+    
+    /**
+     * Crea el motor con hasta 2000 cláusulas aprendidas y reinicios de Luby cada 100 conflictos
+     */
+    public ResolvedorConflictos() {
+        this(2000, PoliticaReinicios.luby(100));
+    }
+    
+    /**
+     * @param maximoAprendidas Cantidad máxima de cláusulas aprendidas que se conservan
+     * @param politica Reinicios, con presupuestos medidos en conflictos
+     */
+    public ResolvedorConflictos(int maximoAprendidas, PoliticaReinicios politica) {
+        if (maximoAprendidas < 1) {
+            throw new IllegalArgumentException("Debe poder conservarse al menos una cláusula aprendida");
+        }
+        this.maximoAprendidas = maximoAprendidas;
+        this.politica = politica;
+        this.sesiones = ThreadLocal.withInitial(Sesion::new);
+        this.conteo = new ResolvedorSudokuMRV();
+    }
+    
+    @Override
+    public boolean resolver(GrillaSudoku grilla) {
+        return resolver(grilla, null).obtenerSoluciones() == 1;
+    }
+    
+    @Override
+    public ResultadoBusqueda resolver(GrillaSudoku grilla, TokenCancelacion token) {
+        EventoResolucion evento = new EventoResolucion();
+        evento.begin();
+        int prefijados = evento.isEnabled() ? grilla.contarCeldasCompletas() : 0;
+        
+        Sesion sesion = sesiones.get();
+        sesion.iniciar(listenerMetricas != null || evento.isEnabled(), 1, token);
+        preparar(sesion);
+        boolean resuelto = cargar(grilla, sesion) && buscar(sesion);
+        IListenerMetricas listener = listenerMetricas;
+        if (listener != null) {
+            listener.alFinalizarBusqueda(sesion.obtenerMetricas(sesion.eliminaciones));
+        }
+        if (resuelto) {
+            sesion.contadorSoluciones = 1;
+            for (int celda = 0; celda < CELDAS; celda++) {
+                for (int valor = 1; valor <= TAMANO; valor++) {
+                    if (sesion.valor[variable(celda, valor)] == 1) {
+                        grilla.establecerValor(celda / TAMANO, celda % TAMANO, valor);
+                    }
+                }
+            }
+        }
+        
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.motor = CatalogoMotores.CONFLICTOS;
+            evento.cantidadPrefijados = prefijados;
+            evento.resultado = resuelto ? "resuelto tras " + sesion.conflictos + " conflictos"
+                    : sesion.detenida ? "cancelado" : "sin solución";
+            evento.nodos = sesion.nodos;
+            evento.commit();
+        }
+        return sesion.obtenerResultado();
+    }
+    
+    @Override
+    public int contarSoluciones(GrillaSudoku grilla) {
+        return conteo.contarSoluciones(grilla);
+    }
+    
+    @Override
+    public int contarSoluciones(GrillaSudoku grilla, int limite) {
+        return conteo.contarSoluciones(grilla, limite);
+    }
+    
+    @Override
+    public ResultadoBusqueda contarSoluciones(GrillaSudoku grilla, int limite, TokenCancelacion token) {
+        return conteo.contarSoluciones(grilla, limite, token);
+    }
+    
+    @Override
+    public int prepararSoluciones(GrillaSudoku grilla) {
+        return conteo.prepararSoluciones(grilla);
+    }
+    
+    @Override
+    public ResultadoBusqueda prepararSoluciones(GrillaSudoku grilla, TokenCancelacion token) {
+        return conteo.prepararSoluciones(grilla, token);
+    }
+    
+    @Override
+    public ResultadoBusqueda contarYPrepararSoluciones(GrillaSudoku grilla, int maximoPreparadas,
+                                                       TokenCancelacion token, IntConsumer progreso) {
+        return conteo.contarYPrepararSoluciones(grilla, maximoPreparadas, token, progreso);
+    }
+    
+    @Override
+    public ResultadoBusqueda contarReanudable(GrillaSudoku grilla, int limite, int maximoPreparadas,
+                                              TokenCancelacion token, IntConsumer progreso,
+                                              Path archivo, long intervaloMs) {
+        return conteo.contarReanudable(grilla, limite, maximoPreparadas, token, progreso, archivo, intervaloMs);
+    }
+    
+    @Override
+    public GrillaSudoku obtenerSolucion(int indice) {
+        return conteo.obtenerSolucion(indice);
+    }
+    
+    @Override
+    public void establecerListenerMetricas(IListenerMetricas listener) {
+        this.listenerMetricas = listener;
+        conteo.establecerListenerMetricas(listener);
+    }
+    
+    /**
+     * @return Conflictos, cláusulas aprendidas, cláusulas descartadas, retrocesos de más
+     *         de un nivel y máximo de aprendidas conservadas a la vez en la última
+     *         resolución del hilo actual
+     */
+    long[] obtenerEstadisticasUltimaResolucion() {
+        Sesion sesion = sesiones.get();
+        return new long[] {sesion.conflictos, sesion.aprendidasTotales, sesion.descartadas, sesion.saltos,
+                sesion.maximoVivas};
+    }
+    
+    // ---- Codificación ----
+    
+    private static int variable(int celda, int valor) {
+        return celda * TAMANO + valor - 1;
+    }
+    
+    private static int positivo(int variable) {
+        return 2 * variable;
+    }
+    
+    private static int[][] codificar() {
+        List<int[]> clausulas = new ArrayList<>();
+        for (int celda = 0; celda < CELDAS; celda++) {
+            int[] algunValor = new int[TAMANO];
+            for (int valor = 1; valor <= TAMANO; valor++) {
+                algunValor[valor - 1] = positivo(variable(celda, valor));
+            }
+            clausulas.add(algunValor);
+        }
+        for (int unidad = 0; unidad < 3 * TAMANO; unidad++) {
+            int[] celdas = celdasDeUnidad(unidad);
+            for (int valor = 1; valor <= TAMANO; valor++) {
+                int[] algunaCelda = new int[TAMANO];
+                for (int i = 0; i < TAMANO; i++) {
+                    algunaCelda[i] = positivo(variable(celdas[i], valor));
+                }
+                clausulas.add(algunaCelda);
+            }
+        }
+        // Binarias: cada par de variables incompatibles, una sola vez
+        for (int a = 0; a < VARIABLES; a++) {
+            for (int b = a + 1; b < VARIABLES; b++) {
+                int celdaA = a / TAMANO;
+                int celdaB = b / TAMANO;
+                boolean mismaCelda = celdaA == celdaB;
+                boolean mismoValorVecinas = a % TAMANO == b % TAMANO && vecinas(celdaA, celdaB);
+                if (mismaCelda || mismoValorVecinas) {
+                    clausulas.add(new int[] {positivo(a) + 1, positivo(b) + 1});
+                }
+            }
+        }
+        return clausulas.toArray(new int[0][]);
+    }
+    
+    private static int[] celdasDeUnidad(int unidad) {
+        int[] celdas = new int[TAMANO];
+        int indice = unidad % TAMANO;
+        for (int i = 0; i < TAMANO; i++) {
+            if (unidad < TAMANO) {
+                celdas[i] = indice * TAMANO + i;
+            } else if (unidad < 2 * TAMANO) {
+                celdas[i] = i * TAMANO + indice;
+            } else {
+                celdas[i] = ((indice / 3) * 3 + i / 3) * TAMANO + (indice % 3) * 3 + i % 3;
+            }
+        }
+        return celdas;
+    }
+    
+    private static boolean vecinas(int a, int b) {
+        int filaA = a / TAMANO;
+        int columnaA = a % TAMANO;
+        int filaB = b / TAMANO;
+        int columnaB = b % TAMANO;
+        return filaA == filaB || columnaA == columnaB
+                || (filaA / 3 == filaB / 3 && columnaA / 3 == columnaB / 3);
+    }
+    
+    // ---- Búsqueda ----
+    
+    /**
+     * Deja la sesión sin asignaciones ni cláusulas aprendidas: lo aprendido depende
+     * de los prefijados, por lo que no vale para otra grilla
+     */
+    private static void preparar(Sesion sesion) {
+        int problema = CLAUSULAS_PROBLEMA.length;
+        Arrays.fill(sesion.clausulas, problema, sesion.cantidadClausulas, null);
+        sesion.cantidadClausulas = problema;
+        sesion.cantidadLibres = 0;
+        sesion.cantidadAprendidas = 0;
+        Arrays.fill(sesion.cantidadVigilantes, 0);
+        for (int i = 0; i < problema; i++) {
+            vigilar(sesion, sesion.clausulas[i][0], i);
+            vigilar(sesion, sesion.clausulas[i][1], i);
+        }
+        Arrays.fill(sesion.valor, (byte) 0);
+        Arrays.fill(sesion.razon, SIN_RAZON);
+        Arrays.fill(sesion.actividadVariable, 0);
+        sesion.largoTraza = 0;
+        sesion.cabeza = 0;
+        sesion.nivelActual = 0;
+        sesion.incrementoVariable = 1;
+        sesion.incrementoClausula = 1;
+        sesion.conflictos = 0;
+        sesion.aprendidasTotales = 0;
+        sesion.descartadas = 0;
+        sesion.saltos = 0;
+        sesion.maximoVivas = 0;
+        sesion.eliminaciones = 0;
+    }
+    
+    /**
+     * Asigna los prefijados en el nivel 0
+     * @return false si dos prefijados se contradicen
+     */
+    private static boolean cargar(GrillaSudoku grilla, Sesion sesion) {
+        for (int fila = 0; fila < TAMANO; fila++) {
+            for (int columna = 0; columna < TAMANO; columna++) {
+                int valor = grilla.obtenerValor(fila, columna);
+                if (valor != 0) {
+                    asignar(sesion, positivo(variable(fila * TAMANO + columna, valor)), SIN_RAZON);
+                }
+            }
+        }
+        return propagar(sesion) < 0;
+    }
+    
+    private boolean buscar(Sesion sesion) {
+        int intento = 0;
+        long conflictosIntento = 0;
+        long presupuesto = politica.presupuesto(intento);
+        if (consultarToken(sesion)) {
+            return false;
+        }
+        if (sesion.instrumentado) {
+            sesion.registrarNodo(0); // La raíz, como en los motores recursivos
+        }
+        while (true) {
+            int conflicto = propagar(sesion);
+            if (conflicto >= 0) {
+                sesion.conflictos++;
+                conflictosIntento++;
+                if (sesion.debeDetenerse()) {
+                    return false;
+                }
+                if (sesion.nivelActual == 0) {
+                    return false; // El conflicto no depende de ninguna decisión: no hay solución
+                }
+                aprender(sesion, conflicto);
+                sesion.incrementoVariable /= DECAIMIENTO_VARIABLES;
+                sesion.incrementoClausula /= DECAIMIENTO_CLAUSULAS;
+                continue;
+            }
+            if (conflictosIntento >= presupuesto) {
+                retroceder(sesion, 0);
+                presupuesto = politica.presupuesto(++intento);
+                conflictosIntento = 0;
+                if (consultarToken(sesion)) {
+                    return false;
+                }
+                continue;
+            }
+            if (sesion.debeDetenerse()) {
+                return false;
+            }
+            int decision = decidir(sesion);
+            if (decision < 0) {
+                return true;
+            }
+            sesion.nivelActual++;
+            sesion.inicioNivel[sesion.nivelActual] = sesion.largoTraza;
+            if (sesion.instrumentado) {
+                sesion.registrarNodo(sesion.nivelActual);
+            }
+            asignar(sesion, decision, SIN_RAZON);
+        }
+    }
+    
+    /**
+     * Consulta el token sin esperar al intervalo de {@link SesionBusqueda#debeDetenerse()}:
+     * aprendiendo, los Sudokus difíciles se resuelven en menos nodos que ese intervalo
+     */
+    private static boolean consultarToken(Sesion sesion) {
+        if (sesion.token != null && !sesion.detenida) {
+            sesion.detenida = sesion.token.debeDetenerse();
+        }
+        return sesion.detenida;
+    }
+    
+    /**
+     * @return 1 si el literal es verdadero, -1 si es falso, 0 si su variable no está asignada
+     */
+    private static int valorLiteral(Sesion sesion, int literal) {
+        int valor = sesion.valor[literal >> 1];
+        return (literal & 1) == 0 ? valor : -valor;
+    }
+    
+    private static void asignar(Sesion sesion, int literal, int razon) {
+        int variable = literal >> 1;
+        sesion.valor[variable] = (byte) ((literal & 1) == 0 ? 1 : -1);
+        sesion.nivel[variable] = sesion.nivelActual;
+        sesion.razon[variable] = razon;
+        sesion.traza[sesion.largoTraza++] = literal;
+    }
+    
+    private static void vigilar(Sesion sesion, int literal, int clausula) {
+        int cantidad = sesion.cantidadVigilantes[literal];
+        if (cantidad == sesion.vigilantes[literal].length) {
+            sesion.vigilantes[literal] = Arrays.copyOf(sesion.vigilantes[literal], cantidad * 2);
+        }
+        sesion.vigilantes[literal][cantidad] = clausula;
+        sesion.cantidadVigilantes[literal] = cantidad + 1;
+    }
+    
+    /**
+     * Propaga las asignaciones pendientes con dos literales vigilados por cláusula
+     * @return La cláusula en conflicto, o -1 si no hubo conflicto
+     */
+    private static int propagar(Sesion sesion) {
+        while (sesion.cabeza < sesion.largoTraza) {
+            int falso = sesion.traza[sesion.cabeza++] ^ 1;
+            int[] lista = sesion.vigilantes[falso];
+            int cantidad = sesion.cantidadVigilantes[falso];
+            int leidos = 0;
+            int conservados = 0;
+            while (leidos < cantidad) {
+                int indice = lista[leidos++];
+                int[] clausula = sesion.clausulas[indice];
+                if (sesion.instrumentado) {
+                    sesion.verificaciones++;
+                }
+                if (clausula[0] == falso) {
+                    clausula[0] = clausula[1];
+                    clausula[1] = falso;
+                }
+                if (valorLiteral(sesion, clausula[0]) == 1) {
+                    lista[conservados++] = indice;
+                    continue;
+                }
+                boolean movida = false;
+                for (int k = 2; k < clausula.length; k++) {
+                    if (valorLiteral(sesion, clausula[k]) != -1) {
+                        clausula[1] = clausula[k];
+                        clausula[k] = falso;
+                        vigilar(sesion, clausula[1], indice);
+                        movida = true;
+                        break;
+                    }
+                }
+                if (movida) {
+                    continue;
+                }
+                lista[conservados++] = indice;
+                if (valorLiteral(sesion, clausula[0]) == -1) {
+                    while (leidos < cantidad) {
+                        lista[conservados++] = lista[leidos++];
+                    }
+                    sesion.cantidadVigilantes[falso] = conservados;
+                    sesion.cabeza = sesion.largoTraza;
+                    return indice;
+                }
+                if ((clausula[0] & 1) != 0) {
+                    sesion.eliminaciones++;
+                }
+                asignar(sesion, clausula[0], indice);
+            }
+            sesion.cantidadVigilantes[falso] = conservados;
+        }
+        return -1;
+    }
+    
+    /**
+     * Analiza el conflicto hasta el primer punto de implicación único, aprende la
+     * cláusula resultante y retrocede al nivel en que esa cláusula deduce su literal
+     */
+    private void aprender(Sesion sesion, int conflicto) {
+        int largo = 1; // La posición 0 queda para el literal que se deducirá
+        int pendientesNivelActual = 0;
+        int literal = -1;
+        int posicionTraza = sesion.largoTraza - 1;
+        int indice = conflicto;
+        do {
+            if (sesion.aprendida[indice]) {
+                aumentarActividadClausula(sesion, indice);
+            }
+            int[] clausula = sesion.clausulas[indice];
+            for (int k = literal == -1 ? 0 : 1; k < clausula.length; k++) {
+                int otro = clausula[k];
+                int variable = otro >> 1;
+                if (!sesion.visto[variable] && sesion.nivel[variable] > 0) {
+                    sesion.visto[variable] = true;
+                    aumentarActividadVariable(sesion, variable);
+                    if (sesion.nivel[variable] >= sesion.nivelActual) {
+                        pendientesNivelActual++;
+                    } else {
+                        sesion.nueva[largo++] = otro;
+                    }
+                }
+            }
+            while (!sesion.visto[sesion.traza[posicionTraza] >> 1]) {
+                posicionTraza--;
+            }
+            literal = sesion.traza[posicionTraza--];
+            indice = sesion.razon[literal >> 1];
+            sesion.visto[literal >> 1] = false;
+            pendientesNivelActual--;
+        } while (pendientesNivelActual > 0);
+        sesion.nueva[0] = literal ^ 1;
+        
+        // Nivel al que se salta: el mayor entre los demás literales, que se vigila en la posición 1
+        int nivelSalto = 0;
+        for (int k = 1; k < largo; k++) {
+            int variable = sesion.nueva[k] >> 1;
+            sesion.visto[variable] = false;
+            if (sesion.nivel[variable] > nivelSalto) {
+                nivelSalto = sesion.nivel[variable];
+                int auxiliar = sesion.nueva[1];
+                sesion.nueva[1] = sesion.nueva[k];
+                sesion.nueva[k] = auxiliar;
+            }
+        }
+        int lbd = contarNiveles(sesion, largo);
+        if (sesion.nivelActual - nivelSalto > 1) {
+            sesion.saltos++;
+        }
+        if (sesion.instrumentado) {
+            sesion.retrocesos += sesion.nivelActual - nivelSalto;
+        }
+        retroceder(sesion, nivelSalto);
+        
+        if (largo == 1) {
+            asignar(sesion, sesion.nueva[0], SIN_RAZON);
+            return;
+        }
+        if (sesion.cantidadAprendidas >= maximoAprendidas) {
+            descartar(sesion);
+        }
+        int nuevaIndice = agregarClausula(sesion, Arrays.copyOf(sesion.nueva, largo), lbd);
+        asignar(sesion, sesion.nueva[0], nuevaIndice);
+    }
+    
+    private static int contarNiveles(Sesion sesion, int largo) {
+        int niveles = 0;
+        for (int k = 0; k < largo; k++) {
+            int nivel = sesion.nivel[sesion.nueva[k] >> 1];
+            if (!sesion.nivelVisto[nivel]) {
+                sesion.nivelVisto[nivel] = true;
+                niveles++;
+            }
+        }
+        for (int k = 0; k < largo; k++) {
+            sesion.nivelVisto[sesion.nivel[sesion.nueva[k] >> 1]] = false;
+        }
+        return niveles;
+    }
+    
+    private static int agregarClausula(Sesion sesion, int[] literales, int lbd) {
+        int indice;
+        if (sesion.cantidadLibres > 0) {
+            indice = sesion.libres[--sesion.cantidadLibres];
+        } else {
+            if (sesion.cantidadClausulas == sesion.clausulas.length) {
+                int capacidad = sesion.clausulas.length * 2;
+                sesion.clausulas = Arrays.copyOf(sesion.clausulas, capacidad);
+                sesion.aprendida = Arrays.copyOf(sesion.aprendida, capacidad);
+                sesion.actividadClausula = Arrays.copyOf(sesion.actividadClausula, capacidad);
+                sesion.lbd = Arrays.copyOf(sesion.lbd, capacidad);
+            }
+            indice = sesion.cantidadClausulas++;
+        }
+        sesion.clausulas[indice] = literales;
+        sesion.aprendida[indice] = true;
+        sesion.actividadClausula[indice] = sesion.incrementoClausula;
+        sesion.lbd[indice] = lbd;
+        vigilar(sesion, literales[0], indice);
+        vigilar(sesion, literales[1], indice);
+        sesion.cantidadAprendidas++;
+        sesion.aprendidasTotales++;
+        sesion.maximoVivas = Math.max(sesion.maximoVivas, sesion.cantidadAprendidas);
+        return indice;
+    }
+    
+    /**
+     * Descarta la mitad de las cláusulas aprendidas: primero las de mayor LBD y, a
+     * igual LBD, las de menor actividad. Las glue y las que son razón de una
+     * asignación en curso se conservan.
+     */
+    private void descartar(Sesion sesion) {
+        List<Integer> candidatas = new ArrayList<>();
+        for (int indice = CLAUSULAS_PROBLEMA.length; indice < sesion.cantidadClausulas; indice++) {
+            int[] clausula = sesion.clausulas[indice];
+            if (clausula == null || sesion.lbd[indice] <= LBD_GLUE) {
+                continue;
+            }
+            int variable = clausula[0] >> 1;
+            boolean esRazon = sesion.valor[variable] != 0 && sesion.razon[variable] == indice;
+            if (!esRazon) {
+                candidatas.add(indice);
+            }
+        }
+        if (candidatas.size() < maximoAprendidas / 2) {
+            // Demasiadas glue para respetar el máximo: también se descartan, por actividad
+            for (int indice = CLAUSULAS_PROBLEMA.length; indice < sesion.cantidadClausulas; indice++) {
+                int[] clausula = sesion.clausulas[indice];
+                if (clausula != null && sesion.lbd[indice] <= LBD_GLUE) {
+                    int variable = clausula[0] >> 1;
+                    if (sesion.valor[variable] == 0 || sesion.razon[variable] != indice) {
+                        candidatas.add(indice);
+                    }
+                }
+            }
+        }
+        candidatas.sort((a, b) -> sesion.lbd[a] != sesion.lbd[b] ? Integer.compare(sesion.lbd[b], sesion.lbd[a])
+                : Double.compare(sesion.actividadClausula[a], sesion.actividadClausula[b]));
+        int aDescartar = Math.min(candidatas.size(), Math.max(1, sesion.cantidadAprendidas - maximoAprendidas / 2));
+        for (int i = 0; i < aDescartar; i++) {
+            eliminarClausula(sesion, candidatas.get(i));
+        }
+    }
+    
+    private static void eliminarClausula(Sesion sesion, int indice) {
+        int[] clausula = sesion.clausulas[indice];
+        for (int vigilado = 0; vigilado < 2; vigilado++) {
+            int literal = clausula[vigilado];
+            int[] lista = sesion.vigilantes[literal];
+            int cantidad = sesion.cantidadVigilantes[literal];
+            for (int i = 0; i < cantidad; i++) {
+                if (lista[i] == indice) {
+                    lista[i] = lista[cantidad - 1];
+                    sesion.cantidadVigilantes[literal] = cantidad - 1;
+                    break;
+                }
+            }
+        }
+        sesion.clausulas[indice] = null;
+        sesion.aprendida[indice] = false;
+        if (sesion.cantidadLibres == sesion.libres.length) {
+            sesion.libres = Arrays.copyOf(sesion.libres, sesion.libres.length * 2);
+        }
+        sesion.libres[sesion.cantidadLibres++] = indice;
+        sesion.cantidadAprendidas--;
+        sesion.descartadas++;
+    }
+    
+    private static void retroceder(Sesion sesion, int nivel) {
+        if (sesion.nivelActual <= nivel) {
+            return;
+        }
+        int inicio = sesion.inicioNivel[nivel + 1];
+        for (int i = sesion.largoTraza - 1; i >= inicio; i--) {
+            int variable = sesion.traza[i] >> 1;
+            sesion.valor[variable] = 0;
+            sesion.razon[variable] = SIN_RAZON;
+        }
+        sesion.largoTraza = inicio;
+        sesion.cabeza = inicio;
+        sesion.nivelActual = nivel;
+    }
+    
+    /**
+     * Elige la celda sin valor con menos valores posibles y, en ella, el valor
+     * de mayor actividad
+     * @return El literal a asignar, o -1 si todas las celdas tienen valor
+     */
+    private static int decidir(Sesion sesion) {
+        int mejorCelda = -1;
+        int menosPosibles = TAMANO + 1;
+        double mejorActividad = -1;
+        int mejorVariable = -1;
+        for (int celda = 0; celda < CELDAS; celda++) {
+            int posibles = 0;
+            boolean asignada = false;
+            double actividadCelda = -1;
+            int variableCelda = -1;
+            for (int valor = 1; valor <= TAMANO; valor++) {
+                int variable = variable(celda, valor);
+                byte estado = sesion.valor[variable];
+                if (estado == 1) {
+                    asignada = true;
+                    break;
+                }
+                if (estado == 0) {
+                    posibles++;
+                    if (sesion.actividadVariable[variable] > actividadCelda) {
+                        actividadCelda = sesion.actividadVariable[variable];
+                        variableCelda = variable;
+                    }
+                }
+            }
+            if (asignada) {
+                continue;
+            }
+            if (posibles < menosPosibles || (posibles == menosPosibles && actividadCelda > mejorActividad)) {
+                menosPosibles = posibles;
+                mejorActividad = actividadCelda;
+                mejorCelda = celda;
+                mejorVariable = variableCelda;
+            }
+        }
+        return mejorCelda < 0 ? -1 : positivo(mejorVariable);
+    }
+    
+    private static void aumentarActividadVariable(Sesion sesion, int variable) {
+        sesion.actividadVariable[variable] += sesion.incrementoVariable;
+        if (sesion.actividadVariable[variable] > 1e100) {
+            for (int i = 0; i < VARIABLES; i++) {
+                sesion.actividadVariable[i] *= 1e-100;
+            }
+            sesion.incrementoVariable *= 1e-100;
+        }
+    }
+    
+    private static void aumentarActividadClausula(Sesion sesion, int indice) {
+        sesion.actividadClausula[indice] += sesion.incrementoClausula;
+        if (sesion.actividadClausula[indice] > 1e20) {
+            for (int i = CLAUSULAS_PROBLEMA.length; i < sesion.cantidadClausulas; i++) {
+                sesion.actividadClausula[i] *= 1e-20;
+            }
+            sesion.incrementoClausula *= 1e-20;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package modelo;
+
+import interfaces.IListenerMetricas;
+import interfaces.ISudokuSolver;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Resolvedor que corre varios motores a la vez sobre la misma grilla y se queda con
+ * el primero que termina. Cada motor tiene entradas en las que es mucho más lento
+ * que los demás; corriéndolos en paralelo, el tiempo de cada operación es el del
+ * motor más rápido para esa grilla, lo que recorta la cola de latencias altas a
+ * cambio de ocupar un núcleo por motor mientras dura la carrera.
+ *
+ * Cuando un motor termina, los demás se cancelan y se espera a que se detengan
+ * (lo hacen en pocos nodos), de modo que ninguno sigue ocupando un núcleo ni
+ * reemplaza sus soluciones preparadas después de que la operación devolvió.
+ * Se registra qué motor ganó cada carrera, por cantidad de prefijados.
+ *
+ * Los resultados, incluidas las métricas notificadas al listener, son los del
+ * motor ganador.
+ */
+public class ResolvedorPortafolio implements ISudokuSolver {
+    private static final int TAMANO = 9;
+    private static final int CELDAS = TAMANO * TAMANO;
+    private static final long ESPERA_MS = 10;
+    
+    // Hilos compartidos por todos los portafolios: se reutilizan entre carreras y,
+    // como son daemon, no impiden que la aplicación termine
+    private static final ExecutorService HILOS = Executors.newCachedThreadPool(tarea -> {
+        Thread hilo = new Thread(tarea, "portafolio");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    
+    private final List<String> nombres;
+    private final List<ISudokuSolver> motores;
+    private final AtomicLongArray victorias;
+    private final ThreadLocal<MetricasBusqueda> ultimasMetricas;
+    private volatile ISudokuSolver fuentePreparadas;
+    private volatile IListenerMetricas listenerMetricas;
+    
+    /**
+     * Resultado de un motor en una carrera
+     */
+    private static class Llegada {
+        private final int motor;
+        private final ResultadoBusqueda resultado;
+        private final GrillaSudoku grilla;
+        private final MetricasBusqueda metricas;
+        
+        private Llegada(int motor, ResultadoBusqueda resultado, GrillaSudoku grilla, MetricasBusqueda metricas) {
+            this.motor = motor;
+            this.resultado = resultado;
+            this.grilla = grilla;
+            this.metricas = metricas;
+        }
+    }
+    
+    /**
+     * Operación que corre cada motor sobre su propia copia de la grilla
+     */
+    private interface Operacion {
+        ResultadoBusqueda ejecutar(ISudokuSolver motor, GrillaSudoku grilla, TokenCancelacion token);
+    }
+    
+    /**
+     * Crea un portafolio con los motores dados
+     * @param motores Mapa ordenado de nombre a fábrica del motor, como
+     *                {@link CatalogoMotores#motoresDisponibles()}; se crea una
+     *                instancia de cada uno
+     */
+    public ResolvedorPortafolio(Map<String, Supplier<ISudokuSolver>> motores) {
+        if (motores.isEmpty()) {
+            throw new IllegalArgumentException("El portafolio necesita al menos un motor");
+        }
+        this.nombres = List.copyOf(motores.keySet());
+        this.motores = new ArrayList<>();
+        for (Supplier<ISudokuSolver> fabrica : motores.values()) {
+            this.motores.add(fabrica.get());
+        }
+        this.victorias = new AtomicLongArray((CELDAS + 1) * nombres.size());
+        this.ultimasMetricas = new ThreadLocal<>();
+    }
+    
+    @Override
+    public boolean resolver(GrillaSudoku grilla) {
+        return resolver(grilla, null).obtenerSoluciones() == 1;
+    }
+    
+    @Override
+    public ResultadoBusqueda resolver(GrillaSudoku grilla, TokenCancelacion token) {
+        Llegada ganadora = correr(grilla, token, ISudokuSolver::resolver);
+        if (ganadora.resultado.obtenerSoluciones() == 1) {
+            for (int celda = 0; celda < CELDAS; celda++) {
+                int fila = celda / TAMANO;
+                int columna = celda % TAMANO;
+                grilla.establecerValor(fila, columna, ganadora.grilla.obtenerValor(fila, columna));
+            }
+        }
+        return ganadora.resultado;
+    }
+    
+    @Override
+    public int contarSoluciones(GrillaSudoku grilla) {
+        return contarSoluciones(grilla, Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public int contarSoluciones(GrillaSudoku grilla, int limite) {
+        return contarSoluciones(grilla, limite, null).obtenerSoluciones();
+    }
+    
+    @Override
+    public ResultadoBusqueda contarSoluciones(GrillaSudoku grilla, int limite, TokenCancelacion token) {
+        return correr(grilla, token, (motor, copia, hijo) -> motor.contarSoluciones(copia, limite, hijo)).resultado;
+    }
+    
+    @Override
+    public int prepararSoluciones(GrillaSudoku grilla) {
+        return prepararSoluciones(grilla, null).obtenerSoluciones();
+    }
+    
+    @Override
+    public ResultadoBusqueda prepararSoluciones(GrillaSudoku grilla, TokenCancelacion token) {
+        Llegada ganadora = correr(grilla, token, ISudokuSolver::prepararSoluciones);
+        fuentePreparadas = motores.get(ganadora.motor);
+        return ganadora.resultado;
+    }
+    
+    @Override
+    public ResultadoBusqueda contarYPrepararSoluciones(GrillaSudoku grilla, int maximoPreparadas,
+                                                       TokenCancelacion token, IntConsumer progreso) {
+        if (maximoPreparadas < 0) {
+            throw new IllegalArgumentException("La cantidad de soluciones a preparar no puede ser negativa");
+        }
+        // El progreso de motores distintos no es comparable: no se reporta durante la carrera
+        Llegada ganadora = correr(grilla, token,
+                (motor, copia, hijo) -> motor.contarYPrepararSoluciones(copia, maximoPreparadas, hijo, null));
+        fuentePreparadas = motores.get(ganadora.motor);
+        if (progreso != null) {
+            progreso.accept(ganadora.resultado.obtenerSoluciones());
+        }
+        return ganadora.resultado;
+    }
+    
+    /**
+     * Un punto de control describe el recorrido de un único motor, por lo que el
+     * conteo reanudable no se corre en carrera: lo hace siempre el primer motor
+     */
+    @Override
+    public ResultadoBusqueda contarReanudable(GrillaSudoku grilla, int limite, int maximoPreparadas,
+                                              TokenCancelacion token, IntConsumer progreso,
+                                              Path archivo, long intervaloMs) {
+        ISudokuSolver motor = motores.get(0);
+        ResultadoBusqueda resultado = motor.contarReanudable(grilla, limite, maximoPreparadas, token,
+                progreso, archivo, intervaloMs);
+        if (maximoPreparadas >= 0) {
+            fuentePreparadas = motor;
+        }
+        return resultado;
+    }
+    
+    @Override
+    public GrillaSudoku obtenerSolucion(int indice) {
+        ISudokuSolver fuente = fuentePreparadas;
+        return fuente == null ? null : fuente.obtenerSolucion(indice);
+    }
+    
+    @Override
+    public void establecerListenerMetricas(IListenerMetricas listener) {
+        this.listenerMetricas = listener;
+        // Los motores guardan sus métricas en el hilo de la carrera; solo se notifican las del ganador
+        IListenerMetricas captura = listener == null ? null : ultimasMetricas::set;
+        for (ISudokuSolver motor : motores) {
+            motor.establecerListenerMetricas(captura);
+        }
+    }
+    
+    /**
+     * @return Nombres de los motores del portafolio, en orden
+     */
+    public List<String> obtenerMotores() {
+        return nombres;
+    }
+    
+    /**
+     * @return Carreras ganadas por cada motor, agrupadas por cantidad de prefijados de
+     *         la grilla; solo aparecen las cantidades con al menos una carrera terminada
+     */
+    public Map<Integer, Map<String, Long>> obtenerVictoriasPorPrefijados() {
+        Map<Integer, Map<String, Long>> resultado = new TreeMap<>();
+        for (int prefijados = 0; prefijados <= CELDAS; prefijados++) {
+            Map<String, Long> porMotor = new LinkedHashMap<>();
+            long total = 0;
+            for (int motor = 0; motor < nombres.size(); motor++) {
+                long ganadas = victorias.get(prefijados * nombres.size() + motor);
+                porMotor.put(nombres.get(motor), ganadas);
+                total += ganadas;
+            }
+            if (total > 0) {
+                resultado.put(prefijados, porMotor);
+            }
+        }
+        return resultado;
+    }
+    
+    /**
+     * Corre la operación con todos los motores y devuelve la primera llegada con la
+     * búsqueda completa. Si el token se activa antes, devuelve la llegada con más
+     * soluciones entre las incompletas.
+     */
+    private Llegada correr(GrillaSudoku grilla, TokenCancelacion token, Operacion operacion) {
+        boolean medir = listenerMetricas != null;
+        CompletionService<Llegada> carrera = new ExecutorCompletionService<>(HILOS);
+        List<TokenCancelacion> tokens = new ArrayList<>();
+        for (int i = 0; i < motores.size(); i++) {
+            int motor = i;
+            TokenCancelacion hijo = new TokenCancelacion();
+            GrillaSudoku copia = grilla.clonar();
+            tokens.add(hijo);
+            carrera.submit(() -> {
+                ultimasMetricas.remove();
+                ResultadoBusqueda resultado = operacion.ejecutar(motores.get(motor), copia, hijo);
+                return new Llegada(motor, resultado, copia, medir ? ultimasMetricas.get() : null);
+            });
+        }
+        
+        Llegada ganadora = null;
+        Llegada mejorIncompleta = null;
+        RuntimeException falla = null;
+        boolean interrumpido = false;
+        int pendientes = motores.size();
+        while (pendientes > 0) {
+            Future<Llegada> terminada;
+            try {
+                terminada = carrera.poll(ESPERA_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                interrumpido = true;
+                tokens.forEach(TokenCancelacion::cancelar);
+                continue;
+            }
+            if (terminada == null) {
+                if (token != null && token.debeDetenerse()) {
+                    tokens.forEach(TokenCancelacion::cancelar);
+                }
+                continue;
+            }
+            pendientes--;
+            Llegada llegada;
+            try {
+                llegada = terminada.get();
+            } catch (ExecutionException e) {
+                if (falla == null) {
+                    falla = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                            : new IllegalStateException(e.getCause());
+                }
+                tokens.forEach(TokenCancelacion::cancelar);
+                continue;
+            } catch (InterruptedException e) {
+                // No ocurre: la tarea ya terminó
+                interrumpido = true;
+                continue;
+            }
+            if (llegada.resultado.estaCompleta()) {
+                if (ganadora == null) {
+                    ganadora = llegada;
+                    tokens.forEach(TokenCancelacion::cancelar);
+                }
+            } else if (mejorIncompleta == null
+                    || llegada.resultado.obtenerSoluciones() > mejorIncompleta.resultado.obtenerSoluciones()) {
+                mejorIncompleta = llegada;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+        if (falla != null && ganadora == null) {
+            throw falla;
+        }
+        
+        Llegada resultado = ganadora != null ? ganadora : mejorIncompleta;
+        if (ganadora != null) {
+            victorias.incrementAndGet(grilla.contarCeldasCompletas() * nombres.size() + ganadora.motor);
+        }
+        IListenerMetricas listener = listenerMetricas;
+        if (listener != null && resultado.metricas != null) {
+            listener.alFinalizarBusqueda(resultado.metricas);
+        }
+        return resultado;
+    }
+}
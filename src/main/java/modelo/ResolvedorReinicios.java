@@ -0,0 +1,341 @@
+package modelo;
+
+import interfaces.IListenerMetricas;
+import interfaces.ISudokuSolver;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * Resolvedor por backtracking con órdenes aleatorizados y reinicios. Elige la celda
+ * con menos candidatos (MRV) desempatando al azar, prueba los valores en el orden
+ * configurado y, cuando un intento agota el presupuesto de nodos que le da la
+ * {@link PoliticaReinicios}, vuelve a empezar con otro orden aleatorio.
+ *
+ * Los reinicios solo ayudan a encontrar una solución: contar exige recorrer el
+ * árbol completo, así que los conteos y las soluciones preparadas se delegan en
+ * un {@link ResolvedorSudokuMRV}.
+ *
+ * El generador aleatorio se reinicia con la semilla en cada operación, por lo que
+ * resolver dos veces la misma grilla recorre los mismos nodos.
+ */
+public class ResolvedorReinicios implements ISudokuSolver {
+    private static final int TAMANO = 9;
+    private static final int CELDAS = TAMANO * TAMANO;
+    private static final int[][] VECINAS = calcularVecinas();
+    
+    /**
+     * Orden en que se prueban los candidatos de una celda
+     */
+    public enum OrdenValores {
+        /** De menor a mayor, como los demás motores */
+        CRECIENTE,
+        /** Al azar */
+        ALEATORIO,
+        /**
+         * Primero el valor que quita menos candidatos a las celdas vecinas vacías
+         * (LCV, "least constraining value"); los empates, al azar
+         */
+        MENOS_RESTRICTIVO
+    }
+    
+    private final PoliticaReinicios politica;
+    private final OrdenValores orden;
+    private final long semilla;
+    private final ThreadLocal<Sesion> sesiones;
+    private final ResolvedorSudokuMRV conteo;
+    private volatile IListenerMetricas listenerMetricas;
+    
+    /**
+     * Estado de búsqueda de un hilo: máscaras como en {@link ResolvedorSudokuMRV},
+     * el generador aleatorio y el presupuesto del intento en curso
+     */
+    private static class Sesion extends SesionBusqueda {
+        private final MascarasSudoku mascaras = new MascarasSudoku();
+        /** Valores a probar en cada nivel, en orden */
+        private final int[][] valores = new int[CELDAS][TAMANO];
+        private final int[] puntajes = new int[TAMANO + 1];
+        private SplittableRandom aleatorio;
+        private long limiteNodos;
+        private boolean agotado;
+        private int reinicios;
+    }
+    
+    /**
+     * Crea el motor con reinicios de Luby de base 256 nodos, orden de valores aleatorio
+     * y semilla fija. La base supera los nodos de una resolución típica, por lo que
+     * los Sudokus fáciles no llegan a reiniciarse; con orden menos restrictivo hay
+     * entradas en las que todos los intentos recorren casi el mismo árbol y los
+     * reinicios no acortan la cola.
+     */
+    public ResolvedorReinicios() {
+        this(PoliticaReinicios.luby(256), OrdenValores.ALEATORIO, 20240601L);
+    }
+    
+    /**
+     * @param politica Presupuesto de nodos de cada intento
+     * @param orden Orden en que se prueban los valores de cada celda
+     * @param semilla Semilla de los desempates y órdenes aleatorios
+     */
+    public ResolvedorReinicios(PoliticaReinicios politica, OrdenValores orden, long semilla) {
+        this.politica = politica;
+        this.orden = orden;
+        this.semilla = semilla;
+        this.sesiones = ThreadLocal.withInitial(Sesion::new);
+        this.conteo = new ResolvedorSudokuMRV();
+    }
+    
+    @Override
+    public boolean resolver(GrillaSudoku grilla) {
+        return resolver(grilla, null).obtenerSoluciones() == 1;
+    }
+    
+    @Override
+    public ResultadoBusqueda resolver(GrillaSudoku grilla, TokenCancelacion token) {
+        EventoResolucion evento = new EventoResolucion();
+        evento.begin();
+        int prefijados = evento.isEnabled() ? grilla.contarCeldasCompletas() : 0;
+        
+        Sesion sesion = sesiones.get();
+        sesion.iniciar(listenerMetricas != null || evento.isEnabled(), 1, token);
+        sesion.aleatorio = new SplittableRandom(semilla);
+        sesion.reinicios = 0;
+        boolean resuelto = false;
+        if (sesion.mascaras.cargar(grilla)) {
+            for (int intento = 0; !resuelto && !sesion.detenida; intento++) {
+                long presupuesto = politica.presupuesto(intento);
+                sesion.limiteNodos = presupuesto > Long.MAX_VALUE - sesion.visitados
+                        ? Long.MAX_VALUE : sesion.visitados + presupuesto;
+                sesion.agotado = false;
+                resuelto = resolverRecursivo(sesion, 0);
+                if (!sesion.agotado) {
+                    break; // Resuelta, sin solución o cancelada: no hay nada que reintentar
+                }
+                // Al agotarse el intento cada asignación ya se deshizo al retroceder
+                sesion.reinicios++;
+            }
+        }
+        IListenerMetricas listener = listenerMetricas;
+        if (listener != null) {
+            listener.alFinalizarBusqueda(sesion.obtenerMetricas(0));
+        }
+        if (resuelto) {
+            sesion.contadorSoluciones = 1;
+            sesion.mascaras.volcar(grilla);
+        }
+        
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.motor = CatalogoMotores.REINICIOS;
+            evento.cantidadPrefijados = prefijados;
+            evento.resultado = resuelto ? "resuelto tras " + sesion.reinicios + " reinicios"
+                    : sesion.detenida ? "cancelado" : "sin solución";
+            evento.nodos = sesion.nodos;
+            evento.commit();
+        }
+        return sesion.obtenerResultado();
+    }
+    
+    @Override
+    public int contarSoluciones(GrillaSudoku grilla) {
+        return conteo.contarSoluciones(grilla);
+    }
+    
+    @Override
+    public int contarSoluciones(GrillaSudoku grilla, int limite) {
+        return conteo.contarSoluciones(grilla, limite);
+    }
+    
+    @Override
+    public ResultadoBusqueda contarSoluciones(GrillaSudoku grilla, int limite, TokenCancelacion token) {
+        return conteo.contarSoluciones(grilla, limite, token);
+    }
+    
+    @Override
+    public int prepararSoluciones(GrillaSudoku grilla) {
+        return conteo.prepararSoluciones(grilla);
+    }
+    
+    @Override
+    public ResultadoBusqueda prepararSoluciones(GrillaSudoku grilla, TokenCancelacion token) {
+        return conteo.prepararSoluciones(grilla, token);
+    }
+    
+    @Override
+    public ResultadoBusqueda contarYPrepararSoluciones(GrillaSudoku grilla, int maximoPreparadas,
+                                                       TokenCancelacion token, IntConsumer progreso) {
+        return conteo.contarYPrepararSoluciones(grilla, maximoPreparadas, token, progreso);
+    }
+    
+    @Override
+    public ResultadoBusqueda contarReanudable(GrillaSudoku grilla, int limite, int maximoPreparadas,
+                                              TokenCancelacion token, IntConsumer progreso,
+                                              Path archivo, long intervaloMs) {
+        return conteo.contarReanudable(grilla, limite, maximoPreparadas, token, progreso, archivo, intervaloMs);
+    }
+    
+    @Override
+    public GrillaSudoku obtenerSolucion(int indice) {
+        return conteo.obtenerSolucion(indice);
+    }
+    
+    @Override
+    public void establecerListenerMetricas(IListenerMetricas listener) {
+        this.listenerMetricas = listener;
+        conteo.establecerListenerMetricas(listener);
+    }
+    
+    /**
+     * @return Reinicios de la última resolución del hilo actual
+     */
+    int obtenerReiniciosUltimaResolucion() {
+        return sesiones.get().reinicios;
+    }
+    
+    private boolean resolverRecursivo(Sesion sesion, int profundidad) {
+        if (sesion.debeDetenerse()) {
+            return false;
+        }
+        if (sesion.visitados > sesion.limiteNodos) {
+            sesion.agotado = true;
+            return false;
+        }
+        if (sesion.instrumentado) {
+            sesion.registrarNodo(profundidad);
+        }
+        int celda = elegirCelda(sesion);
+        if (celda == -1) {
+            return true;
+        }
+        if (celda == -2) {
+            return false;
+        }
+        
+        int[] valores = sesion.valores[profundidad];
+        int cantidad = ordenarValores(sesion, celda, valores);
+        for (int i = 0; i < cantidad; i++) {
+            int bit = 1 << valores[i];
+            sesion.mascaras.asignar(celda, bit);
+            if (resolverRecursivo(sesion, profundidad + 1)) {
+                return true;
+            }
+            desasignar(sesion, celda, bit);
+            if (sesion.detenida || sesion.agotado) {
+                return false;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Elige la celda vacía con menos candidatos; entre las empatadas, una al azar
+     * con igual probabilidad (muestreo de reservorio)
+     * @return El índice de la celda, -1 si no quedan celdas vacías o -2 si alguna celda no tiene candidatos
+     */
+    private static int elegirCelda(Sesion sesion) {
+        int mejor = -1;
+        int menosCandidatos = TAMANO + 1;
+        int empatadas = 0;
+        for (int celda = 0; celda < CELDAS; celda++) {
+            if (sesion.mascaras.celdas[celda] != 0) {
+                continue;
+            }
+            if (sesion.instrumentado) {
+                sesion.verificaciones++;
+            }
+            int cantidad = Integer.bitCount(sesion.mascaras.candidatos(celda));
+            if (cantidad < menosCandidatos) {
+                if (cantidad == 0) {
+                    return -2;
+                }
+                if (cantidad == 1) {
+                    // Una celda forzada se asigna igual en cualquier orden: no hace falta sortearla
+                    return celda;
+                }
+                menosCandidatos = cantidad;
+                mejor = celda;
+                empatadas = 1;
+            } else if (cantidad == menosCandidatos && sesion.aleatorio.nextInt(++empatadas) == 0) {
+                mejor = celda;
+            }
+        }
+        return mejor;
+    }
+    
+    /**
+     * Escribe los candidatos de la celda en el orden configurado
+     * @return Cantidad de candidatos
+     */
+    private int ordenarValores(Sesion sesion, int celda, int[] valores) {
+        int cantidad = 0;
+        for (int resto = sesion.mascaras.candidatos(celda); resto != 0; resto &= resto - 1) {
+            valores[cantidad++] = Integer.numberOfTrailingZeros(resto);
+        }
+        if (orden == OrdenValores.CRECIENTE) {
+            return cantidad;
+        }
+        for (int i = cantidad - 1; i > 0; i--) {
+            int j = sesion.aleatorio.nextInt(i + 1);
+            int auxiliar = valores[i];
+            valores[i] = valores[j];
+            valores[j] = auxiliar;
+        }
+        if (orden == OrdenValores.MENOS_RESTRICTIVO) {
+            int[] puntajes = sesion.puntajes;
+            for (int i = 0; i < cantidad; i++) {
+                puntajes[valores[i]] = 0;
+            }
+            for (int vecina : VECINAS[celda]) {
+                if (sesion.mascaras.celdas[vecina] == 0) {
+                    int candidatosVecina = sesion.mascaras.candidatos(vecina);
+                    for (int i = 0; i < cantidad; i++) {
+                        if ((candidatosVecina & (1 << valores[i])) != 0) {
+                            puntajes[valores[i]]++;
+                        }
+                    }
+                }
+            }
+            // Inserción estable: conserva el orden aleatorio entre valores con igual puntaje
+            for (int i = 1; i < cantidad; i++) {
+                int valor = valores[i];
+                int j = i - 1;
+                while (j >= 0 && puntajes[valores[j]] > puntajes[valor]) {
+                    valores[j + 1] = valores[j];
+                    j--;
+                }
+                valores[j + 1] = valor;
+            }
+        }
+        return cantidad;
+    }
+    
+    /**
+     * @return Para cada celda, las 20 celdas que comparten con ella fila, columna o caja
+     */
+    private static int[][] calcularVecinas() {
+        int[][] vecinas = new int[CELDAS][20];
+        for (int celda = 0; celda < CELDAS; celda++) {
+            int cantidad = 0;
+            for (int otra = 0; otra < CELDAS; otra++) {
+                int fila = celda / TAMANO;
+                int columna = celda % TAMANO;
+                int filaOtra = otra / TAMANO;
+                int columnaOtra = otra % TAMANO;
+                if (otra != celda && (fila == filaOtra || columna == columnaOtra
+                        || MascarasSudoku.caja(fila, columna) == MascarasSudoku.caja(filaOtra, columnaOtra))) {
+                    vecinas[celda][cantidad++] = otra;
+                }
+            }
+        }
+        return vecinas;
+    }
+    
+    private static void desasignar(Sesion sesion, int celda, int bit) {
+        sesion.mascaras.desasignar(celda, bit);
+        if (sesion.instrumentado) {
+            sesion.retrocesos++;
+        }
+    }
+    
+}
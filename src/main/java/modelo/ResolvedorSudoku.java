@@ -1,50 +1,162 @@
 package modelo;
 
+import interfaces.IListenerMetricas;
 import interfaces.ISudokuSolver;
 import interfaces.ISudokuValidator;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.IntConsumer;
 
 /**
- * Implementación del algoritmo de backtracking para resolver Sudoku
+ * Implementación del algoritmo de backtracking para resolver Sudoku.
+ * La instancia solo guarda su configuración; el estado de cada búsqueda vive en una
+ * {@link SesionBusqueda} por hilo, por lo que puede compartirse entre hilos.
  */
 public class ResolvedorSudoku implements ISudokuSolver {
-    private ISudokuValidator validador;
-    private int contadorSoluciones;
-    private boolean detenerConteo;
-    private List<GrillaSudoku> solucionesGeneradas;
+    private final ISudokuValidator validador;
+    private final ThreadLocal<SesionBusqueda> sesiones;
+    private volatile List<GrillaSudoku> solucionesPreparadas;
     
+    // Instrumentación: los contadores solo se actualizan si hay un listener registrado
+    // o si la operación en curso está siendo registrada por JFR
+    private volatile IListenerMetricas listenerMetricas;
     
     public ResolvedorSudoku(ISudokuValidator validador) {
         this.validador = validador;
-        this.contadorSoluciones = 0;
-        this.detenerConteo = false;
-        this.solucionesGeneradas = new ArrayList<>();
+        this.sesiones = ThreadLocal.withInitial(SesionBusqueda::new);
+        this.solucionesPreparadas = List.of();
     }
     
     @Override
     public boolean resolver(GrillaSudoku grilla) {
-        detenerConteo = true;
-        return resolverRecursivo(grilla);
+        return resolver(grilla, null).obtenerSoluciones() == 1;
+    }
+    
+    @Override
+    public ResultadoBusqueda resolver(GrillaSudoku grilla, TokenCancelacion token) {
+        EventoResolucion evento = new EventoResolucion();
+        evento.begin();
+        int prefijados = evento.isEnabled() ? grilla.contarCeldasCompletas() : 0;
+        
+        SesionBusqueda sesion = iniciarOperacion(evento.isEnabled(), 1, token);
+        // Al retroceder se deshace cada asignación, por lo que si no se resuelve la grilla queda intacta
+        boolean resuelto = resolverRecursivo(grilla, sesion, 0);
+        finalizarOperacion(sesion);
+        if (resuelto) {
+            sesion.contadorSoluciones = 1;
+        }
+        
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.motor = "Backtracking";
+            evento.cantidadPrefijados = prefijados;
+            evento.resultado = resuelto ? "resuelto" : sesion.detenida ? "cancelado" : "sin solución";
+            evento.nodos = sesion.nodos;
+            evento.commit();
+        }
+        return sesion.obtenerResultado();
     }
     
     @Override
     public int contarSoluciones(GrillaSudoku grilla) {
-        contadorSoluciones = 0;
-        detenerConteo = false;
-        contarSolucionesRecursivo(new GrillaSudoku(grilla));
-        return contadorSoluciones;
+        return contarSoluciones(grilla, Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public int contarSoluciones(GrillaSudoku grilla, int limite) {
+        return contarSoluciones(grilla, limite, null).obtenerSoluciones();
+    }
+    
+    @Override
+    public ResultadoBusqueda contarSoluciones(GrillaSudoku grilla, int limite, TokenCancelacion token) {
+        return contar(grilla, limite, -1, token, null, null);
     }
     
     /**
      * Calcula y almacena todas las soluciones posibles para la grilla dada.
-     * Devuelve la cantidad de soluciones encontradas.
+     * Devuelve la cantidad de soluciones encontradas. Las soluciones quedan
+     * disponibles para todos los hilos hasta la siguiente preparación.
      */
     public int prepararSoluciones(GrillaSudoku grilla) {
-        solucionesGeneradas.clear();
-        generarSoluciones(new GrillaSudoku(grilla));
-        return solucionesGeneradas.size();
+        return prepararSoluciones(grilla, null).obtenerSoluciones();
+    }
+    
+    @Override
+    public ResultadoBusqueda prepararSoluciones(GrillaSudoku grilla, TokenCancelacion token) {
+        return contar(grilla, Integer.MAX_VALUE, Integer.MAX_VALUE, token, null, null);
+    }
+    
+    @Override
+    public ResultadoBusqueda contarYPrepararSoluciones(GrillaSudoku grilla, int maximoPreparadas,
+                                                       TokenCancelacion token, IntConsumer progreso) {
+        if (maximoPreparadas < 0) {
+            throw new IllegalArgumentException("La cantidad de soluciones a preparar no puede ser negativa");
+        }
+        return contar(grilla, Integer.MAX_VALUE, maximoPreparadas, token, progreso, null);
+    }
+    
+    @Override
+    public ResultadoBusqueda contarReanudable(GrillaSudoku grilla, int limite, int maximoPreparadas,
+                                              TokenCancelacion token, IntConsumer progreso,
+                                              Path archivo, long intervaloMs) {
+        if (maximoPreparadas < -1) {
+            throw new IllegalArgumentException("La cantidad de soluciones a preparar no puede ser negativa");
+        }
+        RegistroPuntosControl registro = RegistroPuntosControl.abrir(archivo, intervaloMs,
+                PuntoControlConteo.inicial(CatalogoMotores.BACKTRACKING, grilla, limite, maximoPreparadas < 0));
+        if (registro.obtenerDesde() != null && maximoPreparadas > 0) {
+            // Las soluciones a preparar son las primeras del recorrido, que quedaron antes
+            // del punto de control: se buscan aparte y el conteo se reanuda sin guardar más
+            contar(grilla, Math.min(limite, maximoPreparadas), maximoPreparadas, token, null, null);
+            return contar(grilla, limite, -1, token, progreso, registro);
+        }
+        return contar(grilla, limite, maximoPreparadas, token, progreso, registro);
+    }
+    
+    /**
+     * Cuenta las soluciones y, si se pide, guarda las primeras como soluciones preparadas
+     * @param maximoPreparadas Soluciones a guardar, o -1 para no reemplazar las preparadas
+     * @param registro Puntos de control del conteo, o null para no guardarlos
+     */
+    private ResultadoBusqueda contar(GrillaSudoku grilla, int limite, int maximoPreparadas,
+                                     TokenCancelacion token, IntConsumer progreso,
+                                     RegistroPuntosControl registro) {
+        EventoConteo evento = new EventoConteo();
+        evento.begin();
+        
+        SesionBusqueda sesion = iniciarOperacion(evento.isEnabled(), limite, token);
+        sesion.progreso = progreso;
+        if (maximoPreparadas >= 0) {
+            sesion.soluciones = new ArrayList<>();
+            sesion.maximoSoluciones = maximoPreparadas;
+        } else if (registro == null || registro.obtenerInicial().esPorOrbitas()) {
+            // Sin soluciones que guardar alcanza con contar una por órbita
+            sesion.romperSimetria(grilla, 0);
+        }
+        if (registro != null) {
+            sesion.usarPuntosControl(registro);
+        }
+        contarSolucionesRecursivo(new GrillaSudoku(grilla), sesion, 0);
+        sesion.cerrarPuntosControl();
+        sesion.escalarConteo(limite);
+        finalizarOperacion(sesion);
+        if (sesion.soluciones != null) {
+            solucionesPreparadas = Collections.unmodifiableList(sesion.soluciones);
+            sesion.soluciones = null;
+        }
+        
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.motor = "Backtracking";
+            evento.cantidadPrefijados = grilla.contarCeldasCompletas();
+            evento.resultado = sesion.contadorSoluciones + (sesion.detenida ? "+" : "") + " soluciones";
+            evento.nodos = sesion.nodos;
+            evento.commit();
+        }
+        return sesion.obtenerResultado();
     }
     
     /**
@@ -53,16 +165,28 @@ public class ResolvedorSudoku implements ISudokuSolver {
      * @return una copia de la solución solicitada o null si el índice es inválido
      */
     public GrillaSudoku obtenerSolucion(int indice) {
-        if (indice < 0 || indice >= solucionesGeneradas.size()) {
+        List<GrillaSudoku> soluciones = solucionesPreparadas;
+        if (indice < 0 || indice >= soluciones.size()) {
             return null;
         }
-        return solucionesGeneradas.get(indice).clonar();
+        return soluciones.get(indice).clonar();
+    }
+    
+    @Override
+    public void establecerListenerMetricas(IListenerMetricas listener) {
+        this.listenerMetricas = listener;
     }
     
     /**
      * Método recursivo para resolver el Sudoku usando backtracking
      */
-    private boolean resolverRecursivo(GrillaSudoku grilla) {
+    private boolean resolverRecursivo(GrillaSudoku grilla, SesionBusqueda sesion, int profundidad) {
+        if (sesion.debeDetenerse()) {
+            return false;
+        }
+        if (sesion.instrumentado) {
+            sesion.registrarNodo(profundidad);
+        }
         int[] siguienteVacio = encontrarSiguienteVacio(grilla);
         
         // Si no hay celdas vacías, el Sudoku está resuelto
@@ -75,16 +199,25 @@ public class ResolvedorSudoku implements ISudokuSolver {
         
         // Intentar cada valor del 1 al 9
         for (int valor = 1; valor <= 9; valor++) {
+            if (sesion.instrumentado) {
+                sesion.verificaciones++;
+            }
             if (validador.esColocacionValida(grilla, fila, columna, valor)) {
                 grilla.establecerValor(fila, columna, valor);
                 
                 // Recursión
-                if (resolverRecursivo(grilla)) {
+                if (resolverRecursivo(grilla, sesion, profundidad + 1)) {
                     return true;
                 }
                 
                 // Backtrack: deshacer el cambio
                 grilla.establecerValor(fila, columna, 0);
+                if (sesion.instrumentado) {
+                    sesion.retrocesos++;
+                }
+                if (sesion.detenida) {
+                    return false;
+                }
             }
         }
         
@@ -92,36 +225,26 @@ public class ResolvedorSudoku implements ISudokuSolver {
     }
     
     /**
-     * Genera todas las soluciones posibles almacenándolas internamente
+     * Método recursivo para contar las soluciones hasta el límite de la sesión
      */
-    private void generarSoluciones(GrillaSudoku grilla) {
-        int[] siguienteVacio = encontrarSiguienteVacio(grilla);
-        if (siguienteVacio == null) {
-            solucionesGeneradas.add(grilla.clonar());
+    private void contarSolucionesRecursivo(GrillaSudoku grilla, SesionBusqueda sesion, int profundidad) {
+        if (sesion.debeDetenerse(profundidad)) {
             return;
         }
-        
-        int fila = siguienteVacio[0];
-        int columna = siguienteVacio[1];
-        
-        for (int valor = 1; valor <= 9; valor++) {
-            if (validador.esColocacionValida(grilla, fila, columna, valor)) {
-                grilla.establecerValor(fila, columna, valor);
-                generarSoluciones(grilla);
-                grilla.establecerValor(fila, columna, 0);
-            }
+        if (sesion.instrumentado) {
+            sesion.registrarNodo(profundidad);
         }
-    }
-    
-    /**
-     * Método recursivo para contar todas las soluciones
-     */
-    private void contarSolucionesRecursivo(GrillaSudoku grilla) {
         int[] siguienteVacio = encontrarSiguienteVacio(grilla);
         
         // Si no hay celdas vacías, encontramos una solución
         if (siguienteVacio == null) {
-            contadorSoluciones++;
+            sesion.contadorSoluciones++;
+            if (sesion.debeGuardarSolucion()) {
+                sesion.soluciones.add(grilla.clonar());
+            }
+            return;
+        }
+        if (sesion.contadorSoluciones >= sesion.limiteConteo) {
             return;
         }
         
@@ -130,16 +253,33 @@ public class ResolvedorSudoku implements ISudokuSolver {
         
         // Intentar cada valor del 1 al 9
         for (int valor = 1; valor <= 9; valor++) {
-            if (validador.esColocacionValida(grilla, fila, columna, valor)) {
+            if (sesion.instrumentado) {
+                sesion.verificaciones++;
+            }
+            if (sesion.saltear(profundidad, valor)) {
+                continue;
+            }
+            SimetriaDigitos simetria = sesion.simetria;
+            if (validador.esColocacionValida(grilla, fila, columna, valor)
+                    && (simetria == null || simetria.admite(fila, columna, valor))) {
+                sesion.camino[profundidad] = valor;
                 grilla.establecerValor(fila, columna, valor);
+                if (simetria != null) {
+                    simetria.colocar(fila, columna, valor);
+                }
                 
-                contarSolucionesRecursivo(grilla);
+                contarSolucionesRecursivo(grilla, sesion, profundidad + 1);
                 
                 // Backtrack: deshacer el cambio
                 grilla.establecerValor(fila, columna, 0);
+                if (simetria != null) {
+                    simetria.quitar(fila, valor);
+                }
+                if (sesion.instrumentado) {
+                    sesion.retrocesos++;
+                }
                 
-                // Si solo queremos saber si hay más de una solución, podemos optimizar
-                if (detenerConteo && contadorSoluciones > 1) {
+                if (sesion.contadorSoluciones >= sesion.limiteConteo || sesion.detenida) {
                     return;
                 }
             }
@@ -161,5 +301,27 @@ public class ResolvedorSudoku implements ISudokuSolver {
         }
         return null;
     }
+    
+    /**
+     * Obtiene la sesión del hilo actual y la reinicia para la operación que comienza
+     * @param eventoHabilitado true si hay una grabación JFR interesada en la operación
+     * @param limiteConteo Límite de soluciones de la operación
+     * @param token Token de cancelación de la operación, o null
+     */
+    private SesionBusqueda iniciarOperacion(boolean eventoHabilitado, int limiteConteo, TokenCancelacion token) {
+        SesionBusqueda sesion = sesiones.get();
+        sesion.iniciar(listenerMetricas != null || eventoHabilitado, limiteConteo, token);
+        return sesion;
+    }
+    
+    /**
+     * Notifica las métricas acumuladas al listener registrado, si lo hay.
+     * Este backtracking no propaga restricciones, por lo que no reporta eliminaciones.
+     */
+    private void finalizarOperacion(SesionBusqueda sesion) {
+        IListenerMetricas listener = listenerMetricas;
+        if (listener != null) {
+            listener.alFinalizarBusqueda(sesion.obtenerMetricas(0));
+        }
+    }
 }
-
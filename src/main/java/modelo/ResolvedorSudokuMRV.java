@@ -0,0 +1,324 @@
+package modelo;
+
+import interfaces.IListenerMetricas;
+import interfaces.ISudokuSolver;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Resolvedor por backtracking que elige siempre la celda vacía con menos candidatos
+ * (heurística MRV, "minimum remaining values"). Los valores usados en cada fila,
+ * columna y caja se mantienen como máscaras de bits, por lo que calcular los
+ * candidatos de una celda no requiere recorrer la grilla.
+ * 
+ * Las máscaras y los contadores de cada búsqueda viven en una sesión por hilo,
+ * por lo que una misma instancia puede compartirse entre hilos.
+ */
+public class ResolvedorSudokuMRV implements ISudokuSolver {
+    private static final int TAMANO = 9;
+    private static final int CELDAS = TAMANO * TAMANO;
+    
+    private final ThreadLocal<Sesion> sesiones;
+    private volatile List<GrillaSudoku> solucionesPreparadas;
+    
+    // Instrumentación: los contadores solo se actualizan si hay un listener registrado
+    // o si la operación en curso está siendo registrada por JFR
+    private volatile IListenerMetricas listenerMetricas;
+    
+    /**
+     * Estado de búsqueda de un hilo: la grilla y las máscaras de valores usados
+     */
+    private static class Sesion extends SesionBusqueda {
+        private final MascarasSudoku mascaras = new MascarasSudoku();
+    }
+    
+    public ResolvedorSudokuMRV() {
+        this.sesiones = ThreadLocal.withInitial(Sesion::new);
+        this.solucionesPreparadas = List.of();
+    }
+    
+    @Override
+    public boolean resolver(GrillaSudoku grilla) {
+        return resolver(grilla, null).obtenerSoluciones() == 1;
+    }
+    
+    @Override
+    public ResultadoBusqueda resolver(GrillaSudoku grilla, TokenCancelacion token) {
+        EventoResolucion evento = new EventoResolucion();
+        evento.begin();
+        int prefijados = evento.isEnabled() ? grilla.contarCeldasCompletas() : 0;
+        
+        Sesion sesion = iniciarOperacion(evento.isEnabled(), 1, token);
+        boolean resuelto = sesion.mascaras.cargar(grilla) && resolverRecursivo(sesion, 0);
+        finalizarOperacion(sesion);
+        if (resuelto) {
+            sesion.contadorSoluciones = 1;
+            sesion.mascaras.volcar(grilla);
+        }
+        
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.motor = "MRV";
+            evento.cantidadPrefijados = prefijados;
+            evento.resultado = resuelto ? "resuelto" : sesion.detenida ? "cancelado" : "sin solución";
+            evento.nodos = sesion.nodos;
+            evento.commit();
+        }
+        return sesion.obtenerResultado();
+    }
+    
+    @Override
+    public int contarSoluciones(GrillaSudoku grilla) {
+        return contarSoluciones(grilla, Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public int contarSoluciones(GrillaSudoku grilla, int limite) {
+        return contarSoluciones(grilla, limite, null).obtenerSoluciones();
+    }
+    
+    @Override
+    public ResultadoBusqueda contarSoluciones(GrillaSudoku grilla, int limite, TokenCancelacion token) {
+        return contar(grilla, limite, -1, token, null, null);
+    }
+    
+    @Override
+    public int prepararSoluciones(GrillaSudoku grilla) {
+        return prepararSoluciones(grilla, null).obtenerSoluciones();
+    }
+    
+    @Override
+    public ResultadoBusqueda prepararSoluciones(GrillaSudoku grilla, TokenCancelacion token) {
+        return contar(grilla, Integer.MAX_VALUE, Integer.MAX_VALUE, token, null, null);
+    }
+    
+    @Override
+    public ResultadoBusqueda contarYPrepararSoluciones(GrillaSudoku grilla, int maximoPreparadas,
+                                                       TokenCancelacion token, IntConsumer progreso) {
+        if (maximoPreparadas < 0) {
+            throw new IllegalArgumentException("La cantidad de soluciones a preparar no puede ser negativa");
+        }
+        return contar(grilla, Integer.MAX_VALUE, maximoPreparadas, token, progreso, null);
+    }
+    
+    @Override
+    public ResultadoBusqueda contarReanudable(GrillaSudoku grilla, int limite, int maximoPreparadas,
+                                              TokenCancelacion token, IntConsumer progreso,
+                                              Path archivo, long intervaloMs) {
+        if (maximoPreparadas < -1) {
+            throw new IllegalArgumentException("La cantidad de soluciones a preparar no puede ser negativa");
+        }
+        RegistroPuntosControl registro = RegistroPuntosControl.abrir(archivo, intervaloMs,
+                PuntoControlConteo.inicial(CatalogoMotores.MRV, grilla, limite, maximoPreparadas < 0));
+        if (registro.obtenerDesde() != null && maximoPreparadas > 0) {
+            // Las soluciones a preparar son las primeras del recorrido, que quedaron antes
+            // del punto de control: se buscan aparte y el conteo se reanuda sin guardar más
+            contar(grilla, Math.min(limite, maximoPreparadas), maximoPreparadas, token, null, null);
+            return contar(grilla, limite, -1, token, progreso, registro);
+        }
+        return contar(grilla, limite, maximoPreparadas, token, progreso, registro);
+    }
+    
+    /**
+     * Cuenta las soluciones y, si se pide, guarda las primeras como soluciones preparadas
+     * @param maximoPreparadas Soluciones a guardar, o -1 para no reemplazar las preparadas
+     * @param registro Puntos de control del conteo, o null para no guardarlos
+     */
+    private ResultadoBusqueda contar(GrillaSudoku grilla, int limite, int maximoPreparadas,
+                                     TokenCancelacion token, IntConsumer progreso,
+                                     RegistroPuntosControl registro) {
+        EventoConteo evento = new EventoConteo();
+        evento.begin();
+        
+        Sesion sesion = iniciarOperacion(evento.isEnabled(), limite, token);
+        sesion.progreso = progreso;
+        if (maximoPreparadas >= 0) {
+            sesion.soluciones = new ArrayList<>();
+            sesion.maximoSoluciones = maximoPreparadas;
+        } else if (registro == null || registro.obtenerInicial().esPorOrbitas()) {
+            // Sin soluciones que guardar alcanza con contar una por órbita
+            sesion.romperSimetria(grilla, SimetriaDigitos.filaConMasPrefijados(grilla));
+        }
+        if (registro != null) {
+            sesion.usarPuntosControl(registro);
+        }
+        if (sesion.mascaras.cargar(grilla)) {
+            contarSolucionesRecursivo(sesion, 0);
+        }
+        sesion.cerrarPuntosControl();
+        sesion.escalarConteo(limite);
+        finalizarOperacion(sesion);
+        if (sesion.soluciones != null) {
+            solucionesPreparadas = Collections.unmodifiableList(sesion.soluciones);
+            sesion.soluciones = null;
+        }
+        
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.motor = "MRV";
+            evento.cantidadPrefijados = grilla.contarCeldasCompletas();
+            evento.resultado = sesion.contadorSoluciones + (sesion.detenida ? "+" : "") + " soluciones";
+            evento.nodos = sesion.nodos;
+            evento.commit();
+        }
+        return sesion.obtenerResultado();
+    }
+    
+    @Override
+    public GrillaSudoku obtenerSolucion(int indice) {
+        List<GrillaSudoku> soluciones = solucionesPreparadas;
+        if (indice < 0 || indice >= soluciones.size()) {
+            return null;
+        }
+        return soluciones.get(indice).clonar();
+    }
+    
+    @Override
+    public void establecerListenerMetricas(IListenerMetricas listener) {
+        this.listenerMetricas = listener;
+    }
+    
+    private static GrillaSudoku aGrilla(Sesion sesion) {
+        GrillaSudoku grilla = new GrillaSudoku();
+        sesion.mascaras.volcar(grilla);
+        return grilla;
+    }
+    
+    private boolean resolverRecursivo(Sesion sesion, int profundidad) {
+        if (sesion.debeDetenerse()) {
+            return false;
+        }
+        if (sesion.instrumentado) {
+            sesion.registrarNodo(profundidad);
+        }
+        int celda = elegirCelda(sesion);
+        if (celda == -1) {
+            return true;
+        }
+        if (celda == -2) {
+            return false;
+        }
+        
+        int candidatos = sesion.mascaras.candidatos(celda);
+        while (candidatos != 0) {
+            int bit = candidatos & -candidatos;
+            candidatos ^= bit;
+            sesion.mascaras.asignar(celda, bit);
+            if (resolverRecursivo(sesion, profundidad + 1)) {
+                return true;
+            }
+            desasignar(sesion, celda, bit);
+            if (sesion.detenida) {
+                return false;
+            }
+        }
+        return false;
+    }
+    
+    private void contarSolucionesRecursivo(Sesion sesion, int profundidad) {
+        if (sesion.debeDetenerse(profundidad)) {
+            return;
+        }
+        if (sesion.instrumentado) {
+            sesion.registrarNodo(profundidad);
+        }
+        int celda = elegirCelda(sesion);
+        if (celda == -1) {
+            sesion.contadorSoluciones++;
+            if (sesion.debeGuardarSolucion()) {
+                sesion.soluciones.add(aGrilla(sesion));
+            }
+            return;
+        }
+        if (celda == -2) {
+            return;
+        }
+        
+        int candidatos = sesion.mascaras.candidatos(celda);
+        while (candidatos != 0 && sesion.contadorSoluciones < sesion.limiteConteo && !sesion.detenida) {
+            int bit = candidatos & -candidatos;
+            candidatos ^= bit;
+            SimetriaDigitos simetria = sesion.simetria;
+            int fila = celda / TAMANO;
+            int valor = Integer.numberOfTrailingZeros(bit);
+            if (sesion.saltear(profundidad, valor)
+                    || (simetria != null && !simetria.admite(fila, celda % TAMANO, valor))) {
+                continue;
+            }
+            if (simetria != null) {
+                simetria.colocar(fila, celda % TAMANO, valor);
+            }
+            sesion.camino[profundidad] = valor;
+            sesion.mascaras.asignar(celda, bit);
+            contarSolucionesRecursivo(sesion, profundidad + 1);
+            desasignar(sesion, celda, bit);
+            if (simetria != null) {
+                simetria.quitar(fila, valor);
+            }
+        }
+    }
+    
+    /**
+     * Elige la celda vacía con menos candidatos
+     * @return El índice de la celda, -1 si no quedan celdas vacías o -2 si alguna celda no tiene candidatos
+     */
+    private static int elegirCelda(Sesion sesion) {
+        int mejor = -1;
+        int menosCandidatos = TAMANO + 1;
+        for (int celda = 0; celda < CELDAS; celda++) {
+            if (sesion.mascaras.celdas[celda] != 0) {
+                continue;
+            }
+            if (sesion.instrumentado) {
+                sesion.verificaciones++;
+            }
+            int cantidad = Integer.bitCount(sesion.mascaras.candidatos(celda));
+            if (cantidad < menosCandidatos) {
+                if (cantidad == 0) {
+                    return -2;
+                }
+                menosCandidatos = cantidad;
+                mejor = celda;
+                if (cantidad == 1) {
+                    break;
+                }
+            }
+        }
+        return mejor;
+    }
+    
+    private static void desasignar(Sesion sesion, int celda, int bit) {
+        sesion.mascaras.desasignar(celda, bit);
+        if (sesion.instrumentado) {
+            sesion.retrocesos++;
+        }
+    }
+    
+    /**
+     * Obtiene la sesión del hilo actual y la reinicia para la operación que comienza
+     * @param eventoHabilitado true si hay una grabación JFR interesada en la operación
+     * @param limiteConteo Límite de soluciones de la operación
+     * @param token Token de cancelación de la operación, o null
+     */
+    private Sesion iniciarOperacion(boolean eventoHabilitado, int limiteConteo, TokenCancelacion token) {
+        Sesion sesion = sesiones.get();
+        sesion.iniciar(listenerMetricas != null || eventoHabilitado, limiteConteo, token);
+        return sesion;
+    }
+    
+    /**
+     * Notifica las métricas acumuladas al listener registrado, si lo hay.
+     * Cada cálculo de candidatos de una celda cuenta como una verificación;
+     * no hay propagación, por lo que no se reportan eliminaciones.
+     */
+    private void finalizarOperacion(Sesion sesion) {
+        IListenerMetricas listener = listenerMetricas;
+        if (listener != null) {
+            listener.alFinalizarBusqueda(sesion.obtenerMetricas(0));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package modelo;
+
+/**
+ * Resultado de una búsqueda que puede detenerse antes de terminar: las soluciones
+ * encontradas hasta el momento, el trabajo realizado y si la búsqueda llegó al final
+ */
+public class ResultadoBusqueda {
+    private final int soluciones;
+    private final long nodos;
+    private final boolean completa;
+    private final double tiempoMs;
+    
+    public ResultadoBusqueda(int soluciones, long nodos, boolean completa, double tiempoMs) {
+        this.soluciones = soluciones;
+        this.nodos = nodos;
+        this.completa = completa;
+        this.tiempoMs = tiempoMs;
+    }
+    
+    /**
+     * @return Soluciones encontradas; si la búsqueda no terminó es una cota inferior
+     */
+    public int obtenerSoluciones() {
+        return soluciones;
+    }
+    
+    /**
+     * @return Cantidad de nodos del árbol de búsqueda explorados
+     */
+    public long obtenerNodos() {
+        return nodos;
+    }
+    
+    /**
+     * @return true si la búsqueda recorrió todo lo necesario (o llegó al límite de
+     * soluciones), false si se detuvo por cancelación o por plazo vencido
+     */
+    public boolean estaCompleta() {
+        return completa;
+    }
+    
+    /**
+     * @return Duración de la búsqueda en milisegundos
+     */
+    public double obtenerTiempoMs() {
+        return tiempoMs;
+    }
+    
+    @Override
+    public String toString() {
+        return soluciones + (completa ? "" : "+") + " soluciones, " + nodos + " nodos";
+    }
+}
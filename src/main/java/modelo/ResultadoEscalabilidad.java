@@ -0,0 +1,67 @@
+package modelo;
+
+/**
+ * Resultado de medir el resolvedor con una cantidad de hilos trabajadores dada
+ */
+public class ResultadoEscalabilidad {
+    private final int hilos;
+    private final int resoluciones;
+    private final double tiempoTotalMs;
+    private final double latenciaPromedioMs;
+    private final double latenciaMaximaMs;
+    
+    public ResultadoEscalabilidad(int hilos, int resoluciones, double tiempoTotalMs,
+                                  double latenciaPromedioMs, double latenciaMaximaMs) {
+        this.hilos = hilos;
+        this.resoluciones = resoluciones;
+        this.tiempoTotalMs = tiempoTotalMs;
+        this.latenciaPromedioMs = latenciaPromedioMs;
+        this.latenciaMaximaMs = latenciaMaximaMs;
+    }
+    
+    /**
+     * @return Cantidad de hilos trabajadores utilizados
+     */
+    public int obtenerHilos() {
+        return hilos;
+    }
+    
+    /**
+     * @return Cantidad total de Sudokus resueltos entre todos los hilos
+     */
+    public int obtenerResoluciones() {
+        return resoluciones;
+    }
+    
+    /**
+     * @return Tiempo de reloj desde que arrancan los hilos hasta que termina el último
+     */
+    public double obtenerTiempoTotalMs() {
+        return tiempoTotalMs;
+    }
+    
+    /**
+     * Throughput agregado de todos los hilos
+     * @return Resoluciones por segundo
+     */
+    public double obtenerThroughput() {
+        if (tiempoTotalMs <= 0) {
+            return 0.0;
+        }
+        return resoluciones / (tiempoTotalMs / 1000.0);
+    }
+    
+    /**
+     * @return Latencia promedio de una resolución individual en milisegundos
+     */
+    public double obtenerLatenciaPromedioMs() {
+        return latenciaPromedioMs;
+    }
+    
+    /**
+     * @return Latencia de la resolución individual más lenta en milisegundos
+     */
+    public double obtenerLatenciaMaximaMs() {
+        return latenciaMaximaMs;
+    }
+}
@@ -0,0 +1,121 @@
+package modelo;
+
+/**
+ * Resultado de medir el resolvedor para una cantidad de valores prefijados:
+ * tiempo promedio junto con el trabajo algorítmico promedio por resolución,
+ * y latencia y bytes asignados promedio de generar, resolver y contar
+ */
+public class ResultadoMedicion {
+    private final int cantidadPrefijados;
+    private final int ejecuciones;
+    private final double tiempoPromedioMs;
+    private final double nodosPromedio;
+    private final double retrocesosPromedio;
+    private final double verificacionesPromedio;
+    private final int profundidadMaxima;
+    private final double eliminacionesPromedio;
+    private final double bytesResolucionPromedio;
+    private final double tiempoGeneracionPromedioMs;
+    private final double bytesGeneracionPromedio;
+    private final double tiempoConteoPromedioMs;
+    private final double bytesConteoPromedio;
+    
+    public ResultadoMedicion(int cantidadPrefijados, int ejecuciones, double tiempoPromedioMs,
+                             double nodosPromedio, double retrocesosPromedio, double verificacionesPromedio,
+                             int profundidadMaxima, double eliminacionesPromedio, double bytesResolucionPromedio,
+                             double tiempoGeneracionPromedioMs, double bytesGeneracionPromedio,
+                             double tiempoConteoPromedioMs, double bytesConteoPromedio) {
+        this.cantidadPrefijados = cantidadPrefijados;
+        this.ejecuciones = ejecuciones;
+        this.tiempoPromedioMs = tiempoPromedioMs;
+        this.nodosPromedio = nodosPromedio;
+        this.retrocesosPromedio = retrocesosPromedio;
+        this.verificacionesPromedio = verificacionesPromedio;
+        this.profundidadMaxima = profundidadMaxima;
+        this.eliminacionesPromedio = eliminacionesPromedio;
+        this.bytesResolucionPromedio = bytesResolucionPromedio;
+        this.tiempoGeneracionPromedioMs = tiempoGeneracionPromedioMs;
+        this.bytesGeneracionPromedio = bytesGeneracionPromedio;
+        this.tiempoConteoPromedioMs = tiempoConteoPromedioMs;
+        this.bytesConteoPromedio = bytesConteoPromedio;
+    }
+    
+    public int obtenerCantidadPrefijados() {
+        return cantidadPrefijados;
+    }
+    
+    public int obtenerEjecuciones() {
+        return ejecuciones;
+    }
+    
+    public double obtenerTiempoPromedioMs() {
+        return tiempoPromedioMs;
+    }
+    
+    public double obtenerNodosPromedio() {
+        return nodosPromedio;
+    }
+    
+    public double obtenerRetrocesosPromedio() {
+        return retrocesosPromedio;
+    }
+    
+    public double obtenerVerificacionesPromedio() {
+        return verificacionesPromedio;
+    }
+    
+    /**
+     * @return La mayor profundidad alcanzada entre todas las ejecuciones
+     */
+    public int obtenerProfundidadMaxima() {
+        return profundidadMaxima;
+    }
+    
+    public double obtenerEliminacionesPromedio() {
+        return eliminacionesPromedio;
+    }
+    
+    /**
+     * @return Bytes asignados en el heap por resolución
+     */
+    public double obtenerBytesResolucionPromedio() {
+        return bytesResolucionPromedio;
+    }
+    
+    public double obtenerTiempoGeneracionPromedioMs() {
+        return tiempoGeneracionPromedioMs;
+    }
+    
+    /**
+     * @return Bytes asignados en el heap por cada Sudoku generado
+     */
+    public double obtenerBytesGeneracionPromedio() {
+        return bytesGeneracionPromedio;
+    }
+    
+    /**
+     * @return Tiempo promedio de la verificación de unicidad (conteo limitado) en milisegundos
+     */
+    public double obtenerTiempoConteoPromedioMs() {
+        return tiempoConteoPromedioMs;
+    }
+    
+    /**
+     * @return Bytes asignados en el heap por cada verificación de unicidad
+     */
+    public double obtenerBytesConteoPromedio() {
+        return bytesConteoPromedio;
+    }
+    
+    /**
+     * Costo promedio de cada nodo expandido. Permite distinguir mejoras por menos
+     * trabajo algorítmico (menos nodos) de mejoras en factores constantes (menos ns por nodo).
+     * @return Nanosegundos por nodo, o 0 si no se expandieron nodos
+     */
+    public double obtenerNanosegundosPorNodo() {
+        if (nodosPromedio <= 0) {
+            return 0.0;
+        }
+        return tiempoPromedioMs * 1_000_000.0 / nodosPromedio;
+    }
+}
@@ -0,0 +1,61 @@
+package modelo;
+
+/**
+ * Resultado de comparar las muestras actuales de una operación y cantidad de
+ * valores prefijados contra las de la línea base
+ */
+public class ResultadoRegresion {
+    private final String operacion;
+    private final int cantidadPrefijados;
+    private final double medianaBaseMs;
+    private final double medianaActualMs;
+    private final double pValor;
+    private final boolean regresion;
+    
+    public ResultadoRegresion(String operacion, int cantidadPrefijados, double medianaBaseMs,
+                              double medianaActualMs, double pValor, boolean regresion) {
+        this.operacion = operacion;
+        this.cantidadPrefijados = cantidadPrefijados;
+        this.medianaBaseMs = medianaBaseMs;
+        this.medianaActualMs = medianaActualMs;
+        this.pValor = pValor;
+        this.regresion = regresion;
+    }
+    
+    public String obtenerOperacion() {
+        return operacion;
+    }
+    
+    public int obtenerCantidadPrefijados() {
+        return cantidadPrefijados;
+    }
+    
+    public double obtenerMedianaBaseMs() {
+        return medianaBaseMs;
+    }
+    
+    public double obtenerMedianaActualMs() {
+        return medianaActualMs;
+    }
+    
+    /**
+     * @return Variación relativa de la mediana (0.25 significa un 25% más lento)
+     */
+    public double obtenerVariacion() {
+        if (medianaBaseMs <= 0) {
+            return 0.0;
+        }
+        return medianaActualMs / medianaBaseMs - 1.0;
+    }
+    
+    /**
+     * @return Probabilidad de observar una diferencia así de grande si ambas distribuciones fueran iguales
+     */
+    public double obtenerPValor() {
+        return pValor;
+    }
+    
+    public boolean esRegresion() {
+        return regresion;
+    }
+}
@@ -0,0 +1,249 @@
+package modelo;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Modelo que elige, para cada Sudoku, el motor que se espera que lo resuelva más
+ * rápido. Guarda los Sudokus de entrenamiento, cada uno con sus características
+ * ({@link CaracteristicasSudoku}) y el tiempo que tardó cada motor. Para elegir,
+ * toma los ejemplos más cercanos en características y se queda con el motor de
+ * menor tiempo promedio entre ellos (vecinos más cercanos).
+ *
+ * Se entrena fuera de línea con {@link AnalizadorPerformance#entrenarSelector} y se
+ * guarda en un archivo de texto: líneas de metadatos "# clave=valor" seguidas de un
+ * CSV con una fila por Sudoku: prefijados,singles,bivalores,candidatos,ms de cada motor
+ */
+public class SelectorMotores {
+    /**
+     * Archivo en el que se guarda el modelo que usa {@link CatalogoMotores#ADAPTATIVO}
+     */
+    public static final Path ARCHIVO_POR_DEFECTO =
+            Paths.get(System.getProperty("user.home"), ".sudoku", "selector-motores.csv");
+    
+    private static final int VECINOS = 7;
+    private static final String COLUMNAS = "prefijados,singles,bivalores,candidatos";
+    
+    private final List<String> motores;
+    private final String motorPorDefecto;
+    private final List<CaracteristicasSudoku> ejemplos;
+    private final List<double[]> tiempos;
+    
+    private SelectorMotores(List<String> motores, String motorPorDefecto,
+                            List<CaracteristicasSudoku> ejemplos, List<double[]> tiempos) {
+        this.motores = List.copyOf(motores);
+        this.motorPorDefecto = motorPorDefecto;
+        this.ejemplos = ejemplos;
+        this.tiempos = tiempos;
+    }
+    
+    /**
+     * Crea un selector sin entrenar, que elige siempre el mismo motor
+     */
+    public static SelectorMotores sinEntrenar(String motor) {
+        return new SelectorMotores(List.of(motor), motor, List.of(), List.of());
+    }
+    
+    /**
+     * Crea un selector a partir de mediciones
+     * @param motores Nombres de los motores medidos; el primero se elige si no hay ejemplos
+     * @param grillas Sudokus medidos
+     * @param tiemposMs Para cada Sudoku, el tiempo en milisegundos de cada motor, en el orden de motores
+     */
+    static SelectorMotores entrenar(List<String> motores, List<GrillaSudoku> grillas, List<double[]> tiemposMs) {
+        if (motores.isEmpty() || grillas.size() != tiemposMs.size()) {
+            throw new IllegalArgumentException("Se necesita al menos un motor y un tiempo por motor para cada Sudoku");
+        }
+        List<CaracteristicasSudoku> ejemplos = new ArrayList<>();
+        List<double[]> tiempos = new ArrayList<>();
+        for (int i = 0; i < grillas.size(); i++) {
+            if (tiemposMs.get(i).length != motores.size()) {
+                throw new IllegalArgumentException("Se necesita un tiempo por motor para cada Sudoku");
+            }
+            ejemplos.add(CaracteristicasSudoku.calcular(grillas.get(i)));
+            tiempos.add(tiemposMs.get(i).clone());
+        }
+        return new SelectorMotores(motores, motores.get(0), ejemplos, tiempos);
+    }
+    
+    /**
+     * @return Nombres de los motores entre los que elige el selector
+     */
+    public List<String> obtenerMotores() {
+        return motores;
+    }
+    
+    /**
+     * @return Cantidad de Sudokus de entrenamiento
+     */
+    public int obtenerCantidadEjemplos() {
+        return ejemplos.size();
+    }
+    
+    /**
+     * @return Veces que cada motor fue el más rápido en los Sudokus de entrenamiento
+     */
+    public int[] obtenerVictoriasEntrenamiento() {
+        int[] victorias = new int[motores.size()];
+        for (double[] tiemposEjemplo : tiempos) {
+            victorias[indiceMinimo(tiemposEjemplo)]++;
+        }
+        return victorias;
+    }
+    
+    /**
+     * Elige el motor con menor tiempo esperado para la grilla
+     * @return Nombre del motor elegido
+     */
+    public String elegir(GrillaSudoku grilla) {
+        return elegir(CaracteristicasSudoku.calcular(grilla));
+    }
+    
+    /**
+     * Elige el motor con menor tiempo promedio entre los ejemplos más cercanos
+     * @return Nombre del motor elegido
+     */
+    public String elegir(CaracteristicasSudoku caracteristicas) {
+        if (ejemplos.isEmpty()) {
+            return motorPorDefecto;
+        }
+        // Los k ejemplos más cercanos, ordenados por distancia, por inserción: k es chico
+        int k = Math.min(VECINOS, ejemplos.size());
+        int[] cercanos = new int[k];
+        double[] distancias = new double[k];
+        int encontrados = 0;
+        for (int i = 0; i < ejemplos.size(); i++) {
+            double distancia = caracteristicas.distancia(ejemplos.get(i));
+            if (encontrados == k && distancia >= distancias[k - 1]) {
+                continue;
+            }
+            int posicion = encontrados < k ? encontrados++ : k - 1;
+            while (posicion > 0 && distancias[posicion - 1] > distancia) {
+                distancias[posicion] = distancias[posicion - 1];
+                cercanos[posicion] = cercanos[posicion - 1];
+                posicion--;
+            }
+            distancias[posicion] = distancia;
+            cercanos[posicion] = i;
+        }
+        
+        // El promedio, y no la mediana, para que pesen los casos lentos: son los que se quiere evitar
+        double[] sumas = new double[motores.size()];
+        for (int vecino : cercanos) {
+            double[] tiemposVecino = tiempos.get(vecino);
+            for (int motor = 0; motor < sumas.length; motor++) {
+                sumas[motor] += tiemposVecino[motor];
+            }
+        }
+        return motores.get(indiceMinimo(sumas));
+    }
+    
+    private static int indiceMinimo(double[] valores) {
+        int minimo = 0;
+        for (int i = 1; i < valores.length; i++) {
+            if (valores[i] < valores[minimo]) {
+                minimo = i;
+            }
+        }
+        return minimo;
+    }
+    
+    /**
+     * Guarda el modelo en un archivo, reemplazándolo si existe
+     * @param archivo Ruta del archivo; se crean los directorios que falten
+     */
+    public void guardar(Path archivo) throws IOException {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        Files.createDirectories(directorio);
+        try (BufferedWriter escritor = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            escritor.write("# motores=" + String.join(";", motores) + "\n");
+            escritor.write("# por_defecto=" + motorPorDefecto + "\n");
+            StringBuilder encabezado = new StringBuilder(COLUMNAS);
+            for (String motor : motores) {
+                encabezado.append(',').append(motor).append("_ms");
+            }
+            escritor.write(encabezado + "\n");
+            for (int i = 0; i < ejemplos.size(); i++) {
+                CaracteristicasSudoku ejemplo = ejemplos.get(i);
+                StringBuilder fila = new StringBuilder(String.format(Locale.ROOT, "%d,%d,%d,%.4f",
+                        ejemplo.obtenerPrefijados(), ejemplo.obtenerSingles(),
+                        ejemplo.obtenerBivalores(), ejemplo.obtenerPromedioCandidatos()));
+                for (double tiempo : tiempos.get(i)) {
+                    fila.append(String.format(Locale.ROOT, ",%.6f", tiempo));
+                }
+                escritor.write(fila + "\n");
+            }
+        }
+    }
+    
+    /**
+     * Lee un modelo guardado con {@link #guardar(Path)}
+     * @param archivo Ruta del archivo
+     * @return El modelo leído
+     * @throws IOException si el archivo no existe o tiene un formato inválido
+     */
+    public static SelectorMotores cargar(Path archivo) throws IOException {
+        List<String> motores = null;
+        String motorPorDefecto = null;
+        List<CaracteristicasSudoku> ejemplos = new ArrayList<>();
+        List<double[]> tiempos = new ArrayList<>();
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            int numeroLinea = 0;
+            while ((linea = lector.readLine()) != null) {
+                numeroLinea++;
+                if (linea.isBlank() || linea.startsWith(COLUMNAS)) {
+                    continue;
+                }
+                if (linea.startsWith("#")) {
+                    int igual = linea.indexOf('=');
+                    String clave = igual > 0 ? linea.substring(1, igual).trim() : "";
+                    if (clave.equals("motores")) {
+                        motores = List.of(linea.substring(igual + 1).trim().split(";"));
+                    } else if (clave.equals("por_defecto")) {
+                        motorPorDefecto = linea.substring(igual + 1).trim();
+                    }
+                    continue;
+                }
+                if (motores == null) {
+                    throw new IOException("Falta la línea \"# motores=\" antes de los datos en " + archivo);
+                }
+                String[] campos = linea.split(",");
+                if (campos.length != 4 + motores.size()) {
+                    throw new IOException("Línea " + numeroLinea + " inválida en " + archivo + ": " + linea);
+                }
+                try {
+                    ejemplos.add(new CaracteristicasSudoku(
+                            Integer.parseInt(campos[0]),
+                            Integer.parseInt(campos[1]),
+                            Integer.parseInt(campos[2]),
+                            Double.parseDouble(campos[3])));
+                    double[] tiemposEjemplo = new double[motores.size()];
+                    for (int motor = 0; motor < tiemposEjemplo.length; motor++) {
+                        tiemposEjemplo[motor] = Double.parseDouble(campos[4 + motor]);
+                    }
+                    tiempos.add(tiemposEjemplo);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Línea " + numeroLinea + " inválida en " + archivo + ": " + linea, e);
+                }
+            }
+        }
+        if (motores == null) {
+            throw new IOException("Falta la línea \"# motores=\" en " + archivo);
+        }
+        if (motorPorDefecto == null || !motores.contains(motorPorDefecto)) {
+            motorPorDefecto = motores.get(0);
+        }
+        return new SelectorMotores(motores, motorPorDefecto,
+                Collections.unmodifiableList(ejemplos), Collections.unmodifiableList(tiempos));
+    }
+}
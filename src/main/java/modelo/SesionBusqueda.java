@@ -0,0 +1,225 @@
+package modelo;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Estado mutable de una operación de búsqueda: el límite y la cantidad de soluciones
+ * encontradas, las soluciones a recolectar, el token de cancelación y los contadores
+ * de instrumentación.
+ * 
+ * Los resolvedores guardan una sesión por hilo y la reinician al comenzar cada
+ * operación, por lo que una misma instancia de resolvedor puede atender llamadas
+ * concurrentes sin que una operación dependa de las anteriores.
+ */
+class SesionBusqueda {
+    /** Cantidad de nodos entre dos consultas al token y avisos de progreso (potencia de dos) */
+    static final int INTERVALO_CONSULTA = 1024;
+    private static final int CELDAS = 81;
+    
+    boolean instrumentado;
+    int contadorSoluciones;
+    int limiteConteo;
+    List<GrillaSudoku> soluciones;
+    int maximoSoluciones;
+    /** Simetría que se rompe al contar, o null si se recorren todas las soluciones */
+    SimetriaDigitos simetria;
+    
+    TokenCancelacion token;
+    IntConsumer progreso;
+    long visitados;
+    boolean detenida;
+    long inicioNanos;
+    
+    /** Valor asignado en cada nivel de la rama en curso, para los puntos de control */
+    final int[] camino = new int[CELDAS];
+    RegistroPuntosControl puntosControl;
+    /** Camino del punto de control desde el que se reanuda, mientras no se lo alcance */
+    int[] reanudacion;
+    long proximoPuntoControl;
+    int profundidadDetencion;
+    
+    long nodos;
+    long retrocesos;
+    long verificaciones;
+    int profundidadMaxima;
+    
+    /**
+     * Deja la sesión lista para una nueva operación
+     * @param instrumentado true si la operación debe actualizar los contadores
+     * @param limiteConteo Cantidad de soluciones a partir de la cual se detiene el conteo
+     * @param token Token a consultar durante la búsqueda, o null si no puede cancelarse
+     */
+    void iniciar(boolean instrumentado, int limiteConteo, TokenCancelacion token) {
+        this.instrumentado = instrumentado;
+        this.contadorSoluciones = 0;
+        this.limiteConteo = limiteConteo;
+        this.soluciones = null;
+        this.maximoSoluciones = 0;
+        this.simetria = null;
+        this.token = token;
+        this.progreso = null;
+        this.visitados = 0;
+        this.detenida = false;
+        this.inicioNanos = System.nanoTime();
+        this.puntosControl = null;
+        this.reanudacion = null;
+        this.profundidadDetencion = -1;
+        this.nodos = 0;
+        this.retrocesos = 0;
+        this.verificaciones = 0;
+        this.profundidadMaxima = 0;
+    }
+    
+    void registrarNodo(int profundidad) {
+        nodos++;
+        if (profundidad > profundidadMaxima) {
+            profundidadMaxima = profundidad;
+        }
+    }
+    
+    /**
+     * Se llama al entrar en cada nodo. Cuenta el nodo y cada {@link #INTERVALO_CONSULTA}
+     * nodos avisa el progreso y consulta el token; una vez detenida, la búsqueda queda detenida.
+     * @return true si la búsqueda debe abandonarse
+     */
+    boolean debeDetenerse() {
+        visitados++;
+        if ((visitados & (INTERVALO_CONSULTA - 1)) == 0) {
+            if (progreso != null) {
+                progreso.accept(contadorSoluciones);
+            }
+            if (token != null && !detenida) {
+                detenida = token.debeDetenerse();
+            }
+        }
+        return detenida;
+    }
+    
+    /**
+     * Cuenta solo representantes de la simetría de la grilla, si tiene alguna. Solo
+     * sirve para contar: las soluciones no representantes no se visitan.
+     * @param filaCanonica Fila en la que se ordenan los dígitos libres
+     */
+    void romperSimetria(GrillaSudoku grilla, int filaCanonica) {
+        simetria = SimetriaDigitos.detectar(grilla, filaCanonica);
+        if (simetria != null) {
+            limiteConteo = simetria.limiteRepresentantes(limiteConteo);
+        }
+    }
+    
+    /**
+     * Convierte la cantidad de representantes contadas en la cantidad de soluciones
+     * @param limite Límite de soluciones pedido para la operación
+     */
+    void escalarConteo(int limite) {
+        if (simetria != null) {
+            contadorSoluciones = simetria.escalar(contadorSoluciones, limite);
+        }
+    }
+    
+    /**
+     * Hace que el conteo guarde puntos de control periódicos y, si el registro tiene
+     * uno anterior, retoma sus contadores y el camino a recorrer hasta él
+     */
+    void usarPuntosControl(RegistroPuntosControl registro) {
+        puntosControl = registro;
+        proximoPuntoControl = System.nanoTime() + registro.obtenerIntervaloNanos();
+        PuntoControlConteo desde = registro.obtenerDesde();
+        if (desde != null) {
+            contadorSoluciones = desde.obtenerContadas();
+            visitados = desde.obtenerNodos();
+            inicioNanos -= (long) (desde.obtenerTiempoMs() * 1_000_000);
+            reanudacion = desde.obtenerCamino();
+        }
+    }
+    
+    /**
+     * Variante de {@link #debeDetenerse()} para los conteos, que conocen la profundidad
+     * del nodo y pueden guardar puntos de control en él
+     */
+    boolean debeDetenerse(int profundidad) {
+        if (reanudacion != null && profundidad == reanudacion.length) {
+            // Se alcanzó el nodo del punto de control: de acá en adelante nada está contado
+            reanudacion = null;
+        }
+        boolean detener = debeDetenerse();
+        // Mientras se desciende hacia el nodo reanudado, los contadores incluyen subárboles
+        // que quedan por debajo del nodo actual: no sirve como punto de control
+        if (puntosControl != null && reanudacion == null) {
+            if (detener) {
+                if (profundidadDetencion < 0) {
+                    profundidadDetencion = profundidad;
+                }
+            } else if ((visitados & (INTERVALO_CONSULTA - 1)) == 0 && System.nanoTime() >= proximoPuntoControl) {
+                puntosControl.guardar(crearPuntoControl(profundidad));
+                proximoPuntoControl = System.nanoTime() + puntosControl.obtenerIntervaloNanos();
+            }
+        }
+        return detener;
+    }
+    
+    /**
+     * Al reanudar, indica qué ramas ya están contadas. Las ramas se prueban en orden
+     * creciente de valor: en cada nivel del camino guardado se saltean las anteriores.
+     * @return true si la rama del valor dado en el nivel dado ya está contada
+     */
+    boolean saltear(int profundidad, int valor) {
+        if (reanudacion == null) {
+            return false;
+        }
+        if (valor < reanudacion[profundidad]) {
+            return true;
+        }
+        if (valor > reanudacion[profundidad]) {
+            // El valor guardado no era válido en este nodo: se siguió de largo
+            reanudacion = null;
+        }
+        return false;
+    }
+    
+    /**
+     * Al terminar el conteo elimina el archivo de puntos de control, o si se detuvo
+     * guarda el punto de control del nodo en que se detuvo
+     */
+    void cerrarPuntosControl() {
+        if (puntosControl == null) {
+            return;
+        }
+        if (!detenida) {
+            puntosControl.eliminar();
+        } else if (profundidadDetencion >= 0) {
+            puntosControl.guardar(crearPuntoControl(profundidadDetencion));
+        }
+        // Si se detuvo antes de alcanzar el nodo reanudado, queda el punto de control anterior
+    }
+    
+    private PuntoControlConteo crearPuntoControl(int profundidad) {
+        return puntosControl.obtenerInicial().conAvance(Arrays.copyOf(camino, profundidad),
+                contadorSoluciones, visitados, (System.nanoTime() - inicioNanos) / 1_000_000.0);
+    }
+    
+    /**
+     * @return true si la solución recién contada debe guardarse en la lista de soluciones
+     */
+    boolean debeGuardarSolucion() {
+        return soluciones != null && soluciones.size() < maximoSoluciones;
+    }
+    
+    /**
+     * @return El resultado parcial o completo de la operación
+     */
+    ResultadoBusqueda obtenerResultado() {
+        return new ResultadoBusqueda(contadorSoluciones, visitados, !detenida,
+                (System.nanoTime() - inicioNanos) / 1_000_000.0);
+    }
+    
+    /**
+     * @param eliminaciones Candidatos descartados por propagación, si el motor propaga
+     * @return Las métricas acumuladas en la operación
+     */
+    MetricasBusqueda obtenerMetricas(long eliminaciones) {
+        return new MetricasBusqueda(nodos, retrocesos, verificaciones, profundidadMaxima, eliminaciones);
+    }
+}
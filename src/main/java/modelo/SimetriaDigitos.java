@@ -0,0 +1,124 @@
+package modelo;
+
+import java.util.Arrays;
+
+/**
+ * Ruptura de la simetría de renombre de dígitos para contar soluciones.
+ *
+ * Los dígitos que no aparecen en ningún prefijado ("libres") son intercambiables:
+ * cualquier permutación de ellos transforma una solución en otra solución distinta.
+ * Como en cada solución los dígitos libres ocupan columnas distintas de una fila
+ * dada, de cada órbita de soluciones exactamente una tiene los dígitos libres en
+ * orden creciente de columna en esa fila. Alcanza con contar esas soluciones
+ * representantes y multiplicar por la cantidad de permutaciones, |libres|!.
+ *
+ * La instancia lleva la columna en que se colocó cada dígito libre en la fila
+ * canónica, por lo que pertenece a una única búsqueda.
+ */
+class SimetriaDigitos {
+    private static final int TAMANO = 9;
+    
+    private final int libres;
+    private final int filaCanonica;
+    private final long factor;
+    private final int[] columnas = new int[TAMANO + 1];
+    
+    private SimetriaDigitos(int libres, int filaCanonica) {
+        this.libres = libres;
+        this.filaCanonica = filaCanonica;
+        long permutaciones = 1;
+        for (int i = 2; i <= Integer.bitCount(libres); i++) {
+            permutaciones *= i;
+        }
+        this.factor = permutaciones;
+        Arrays.fill(columnas, -1);
+    }
+    
+    /**
+     * Detecta los dígitos libres de la grilla
+     * @param filaCanonica Fila en la que se exige el orden creciente; conviene que sea
+     *                     una que la búsqueda complete temprano, para podar antes
+     * @return La simetría a romper, o null si hay menos de dos dígitos libres
+     */
+    static SimetriaDigitos detectar(GrillaSudoku grilla, int filaCanonica) {
+        int usados = 0;
+        for (int fila = 0; fila < TAMANO; fila++) {
+            for (int columna = 0; columna < TAMANO; columna++) {
+                usados |= 1 << grilla.obtenerValor(fila, columna);
+            }
+        }
+        int libres = 0x3FE & ~usados;
+        return Integer.bitCount(libres) < 2 ? null : new SimetriaDigitos(libres, filaCanonica);
+    }
+    
+    /**
+     * @return La fila con más prefijados (la primera si hay empate), que un
+     *         resolvedor MRV tiende a completar antes
+     */
+    static int filaConMasPrefijados(GrillaSudoku grilla) {
+        int mejor = 0;
+        int masPrefijados = -1;
+        for (int fila = 0; fila < TAMANO; fila++) {
+            int prefijados = 0;
+            for (int columna = 0; columna < TAMANO; columna++) {
+                if (!grilla.estaVacio(fila, columna)) {
+                    prefijados++;
+                }
+            }
+            if (prefijados > masPrefijados) {
+                masPrefijados = prefijados;
+                mejor = fila;
+            }
+        }
+        return mejor;
+    }
+    
+    /**
+     * @return Cantidad de soluciones representantes a buscar para alcanzar el límite dado
+     */
+    int limiteRepresentantes(int limite) {
+        return (int) ((limite + factor - 1) / factor);
+    }
+    
+    /**
+     * @return El total de soluciones que representan las representantes contadas, sin pasar del límite
+     */
+    int escalar(int representantes, int limite) {
+        return (int) Math.min(representantes * factor, limite);
+    }
+    
+    /**
+     * @return false si colocar el valor en la celda deja los dígitos libres de la fila
+     *         canónica fuera de orden, con lo que la rama no contiene representantes
+     */
+    boolean admite(int fila, int columna, int valor) {
+        if (fila != filaCanonica || (libres & (1 << valor)) == 0) {
+            return true;
+        }
+        for (int digito = 1; digito <= TAMANO; digito++) {
+            int otra = columnas[digito];
+            if (otra >= 0 && (digito < valor ? otra > columna : otra < columna)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Registra un valor admitido, antes de descender
+     */
+    void colocar(int fila, int columna, int valor) {
+        if (fila == filaCanonica && (libres & (1 << valor)) != 0) {
+            columnas[valor] = columna;
+        }
+    }
+    
+    /**
+     * Deshace {@link #colocar(int, int, int)} al retroceder
+     */
+    void quitar(int fila, int valor) {
+        if (fila == filaCanonica && (libres & (1 << valor)) != 0) {
+            columnas[valor] = -1;
+        }
+    }
+}
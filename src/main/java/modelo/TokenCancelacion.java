@@ -0,0 +1,68 @@
+package modelo;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Señal para detener una búsqueda en curso, ya sea a pedido de otro hilo o al
+ * vencer un plazo. Los resolvedores la consultan cada cierta cantidad de nodos,
+ * por lo que la búsqueda se detiene poco después de la cancelación y no paga el
+ * costo de leer el reloj en cada nodo.
+ */
+public final class TokenCancelacion {
+    private static final long SIN_PLAZO = Long.MAX_VALUE;
+    
+    private final long inicioNanos;
+    private final long plazoNanos;
+    private volatile boolean cancelado;
+    
+    /**
+     * Crea un token sin plazo, que solo se activa con {@link #cancelar()}
+     */
+    public TokenCancelacion() {
+        this(SIN_PLAZO);
+    }
+    
+    private TokenCancelacion(long duracionNanos) {
+        this.inicioNanos = System.nanoTime();
+        this.plazoNanos = duracionNanos;
+    }
+    
+    /**
+     * Crea un token que se activa solo al cumplirse el tiempo dado desde ahora
+     * @param milisegundos Tiempo disponible para la búsqueda
+     */
+    public static TokenCancelacion conPlazo(long milisegundos) {
+        if (milisegundos < 0) {
+            throw new IllegalArgumentException("El plazo no puede ser negativo");
+        }
+        return new TokenCancelacion(TimeUnit.MILLISECONDS.toNanos(milisegundos));
+    }
+    
+    /**
+     * Pide que la búsqueda se detenga. Puede llamarse desde cualquier hilo.
+     */
+    public void cancelar() {
+        cancelado = true;
+    }
+    
+    /**
+     * @return true si se llamó a {@link #cancelar()}
+     */
+    public boolean estaCancelado() {
+        return cancelado;
+    }
+    
+    /**
+     * @return true si el token tiene plazo y ya se cumplió
+     */
+    public boolean vencio() {
+        return plazoNanos != SIN_PLAZO && System.nanoTime() - inicioNanos >= plazoNanos;
+    }
+    
+    /**
+     * @return true si la búsqueda debe detenerse, por cancelación o por plazo vencido
+     */
+    public boolean debeDetenerse() {
+        return cancelado || vencio();
+    }
+}
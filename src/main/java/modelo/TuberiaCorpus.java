@@ -0,0 +1,187 @@
+package modelo;
+
+import interfaces.ISudokuSolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
+
+/**
+ * Tubería generar → resolver → validar para construir corpus de Sudokus de solución
+ * única, basada en {@link java.util.concurrent.Flow}.
+ * 
+ * Los Sudokus viajan en lotes. Cada etapa tiene su propia cantidad de hilos y un
+ * buffer acotado hacia la siguiente, de modo que una etapa rápida (la generación)
+ * se frena cuando una lenta (la verificación de unicidad) no da abasto, en lugar de
+ * acumular Sudokus en memoria.
+ */
+public class TuberiaCorpus {
+    public static final String ETAPA_GENERAR = "generar";
+    public static final String ETAPA_RESOLVER = "resolver";
+    public static final String ETAPA_VALIDAR = "validar";
+    
+    private final int cantidadPrefijados;
+    private final long semilla;
+    private final int tamanoLote;
+    private final int capacidadBuffer;
+    private final int hilosGenerar;
+    private final int hilosResolver;
+    private final int hilosValidar;
+    private final ISudokuSolver resolvedor;
+    private final ValidadorSudoku validador;
+    private volatile List<EtapaTuberia<?, ?>> etapas;
+    
+    /**
+     * @param cantidadPrefijados Valores prefijados de cada Sudoku generado
+     * @param semilla Semilla base; el Sudoku número i se genera con la semilla {@code semilla + i}
+     * @param tamanoLote Cantidad de Sudokus por lote
+     * @param capacidadBuffer Cantidad máxima de lotes en espera entre dos etapas
+     * @param hilosGenerar Hilos de la etapa de generación
+     * @param hilosResolver Hilos de la etapa de resolución
+     * @param hilosValidar Hilos de la etapa de validación y verificación de unicidad
+     */
+    public TuberiaCorpus(int cantidadPrefijados, long semilla, int tamanoLote, int capacidadBuffer,
+                         int hilosGenerar, int hilosResolver, int hilosValidar) {
+        if (tamanoLote < 1 || capacidadBuffer < 1) {
+            throw new IllegalArgumentException("El tamaño de lote y la capacidad de los buffers deben ser al menos 1");
+        }
+        this.cantidadPrefijados = cantidadPrefijados;
+        this.semilla = semilla;
+        this.tamanoLote = tamanoLote;
+        this.capacidadBuffer = capacidadBuffer;
+        this.hilosGenerar = hilosGenerar;
+        this.hilosResolver = hilosResolver;
+        this.hilosValidar = hilosValidar;
+        this.resolvedor = new ResolvedorSudokuMRV();
+        this.validador = new ValidadorSudoku();
+        this.etapas = List.of();
+    }
+    
+    /**
+     * Genera la cantidad de Sudokus indicada y entrega los que tienen solución única.
+     * Bloquea hasta que la tubería termina.
+     * @param cantidad Cantidad de Sudokus a generar
+     * @param destino Recibe cada Sudoku aceptado con su solución, desde un único hilo a la vez
+     * @return El estado final de cada etapa
+     */
+    public List<EstadoEtapa> ejecutar(int cantidad, Consumer<EntradaCorpus> destino) throws InterruptedException {
+        ExecutorService entrega = Executors.newCachedThreadPool();
+        SubmissionPublisher<List<Long>> origen = new SubmissionPublisher<>(entrega, capacidadBuffer);
+        EtapaTuberia<Long, EntradaCorpus> generar =
+                new EtapaTuberia<>(ETAPA_GENERAR, this::generar, hilosGenerar, capacidadBuffer, entrega);
+        EtapaTuberia<EntradaCorpus, EntradaCorpus> resolver =
+                new EtapaTuberia<>(ETAPA_RESOLVER, this::resolver, hilosResolver, capacidadBuffer, entrega);
+        EtapaTuberia<EntradaCorpus, EntradaCorpus> validar =
+                new EtapaTuberia<>(ETAPA_VALIDAR, this::validar, hilosValidar, capacidadBuffer, entrega);
+        etapas = List.of(generar, resolver, validar);
+        
+        CompletableFuture<Void> terminado = new CompletableFuture<>();
+        origen.subscribe(generar);
+        generar.subscribe(resolver);
+        resolver.subscribe(validar);
+        validar.subscribe(new Sumidero(destino, terminado));
+        
+        try {
+            for (long inicio = 0; inicio < cantidad; inicio += tamanoLote) {
+                List<Long> lote = new ArrayList<>(tamanoLote);
+                for (long i = inicio; i < Math.min(inicio + tamanoLote, cantidad); i++) {
+                    lote.add(i);
+                }
+                if (terminado.isDone()) {
+                    break; // Alguna etapa falló
+                }
+                origen.submit(lote); // Bloquea mientras la etapa de generación no pida más
+            }
+            origen.close();
+            terminado.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló la tubería: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            origen.close();
+            entrega.shutdown();
+        }
+        return obtenerEstado();
+    }
+    
+    /**
+     * @return El estado de cada etapa; puede consultarse desde otro hilo mientras la tubería corre
+     */
+    public List<EstadoEtapa> obtenerEstado() {
+        List<EstadoEtapa> estado = new ArrayList<>();
+        for (EtapaTuberia<?, ?> etapa : etapas) {
+            estado.add(etapa.obtenerEstado());
+        }
+        return estado;
+    }
+    
+    private EntradaCorpus generar(Long indice) {
+        GrillaSudoku sudoku = new GeneradorSudoku(semilla + indice).generarSudoku(cantidadPrefijados);
+        return new EntradaCorpus(indice, sudoku, null);
+    }
+    
+    private EntradaCorpus resolver(EntradaCorpus entrada) {
+        GrillaSudoku solucion = entrada.obtenerSudoku().clonar();
+        if (!resolvedor.resolver(solucion)) {
+            return null;
+        }
+        return new EntradaCorpus(entrada.obtenerIndice(), entrada.obtenerSudoku(), solucion);
+    }
+    
+    private EntradaCorpus validar(EntradaCorpus entrada) {
+        if (!validador.esGrillaValida(entrada.obtenerSolucion())
+                || resolvedor.contarSoluciones(entrada.obtenerSudoku(), 2) != 1) {
+            return null;
+        }
+        return entrada;
+    }
+    
+    /**
+     * Último suscriptor: pide un lote a la vez, por lo que un destino lento también
+     * frena a toda la tubería
+     */
+    private static class Sumidero implements Flow.Subscriber<List<EntradaCorpus>> {
+        private final Consumer<EntradaCorpus> destino;
+        private final CompletableFuture<Void> terminado;
+        private Flow.Subscription suscripcion;
+        
+        Sumidero(Consumer<EntradaCorpus> destino, CompletableFuture<Void> terminado) {
+            this.destino = destino;
+            this.terminado = terminado;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription suscripcion) {
+            this.suscripcion = suscripcion;
+            suscripcion.request(1);
+        }
+        
+        @Override
+        public void onNext(List<EntradaCorpus> lote) {
+            try {
+                for (EntradaCorpus entrada : lote) {
+                    destino.accept(entrada);
+                }
+                suscripcion.request(1);
+            } catch (RuntimeException e) {
+                suscripcion.cancel();
+                terminado.completeExceptionally(e);
+            }
+        }
+        
+        @Override
+        public void onError(Throwable error) {
+            terminado.completeExceptionally(error);
+        }
+        
+        @Override
+        public void onComplete() {
+            terminado.complete(null);
+        }
+    }
+}
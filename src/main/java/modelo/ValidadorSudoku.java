@@ -44,16 +44,33 @@ public class ValidadorSudoku implements ISudokuValidator {
     
     @Override
     public boolean esGrillaValida(GrillaSudoku grilla) {
+        EventoValidacion evento = new EventoValidacion();
+        evento.begin();
+        
         // Verificar que no haya conflictos
-        for (int i = 0; i < grilla.obtenerTamano(); i++) {
+        boolean valida = true;
+        long verificadas = 0;
+        for (int i = 0; i < grilla.obtenerTamano() && valida; i++) {
             for (int j = 0; j < grilla.obtenerTamano(); j++) {
                 int valor = grilla.obtenerValor(i, j);
-                if (valor != 0 && !esColocacionValida(grilla, i, j, valor)) {
-                    return false;
+                if (valor != 0) {
+                    verificadas++;
+                    if (!esColocacionValida(grilla, i, j, valor)) {
+                        valida = false;
+                        break;
+                    }
                 }
             }
         }
-        return true;
+        
+        evento.end();
+        if (evento.shouldCommit()) {
+            evento.cantidadPrefijados = grilla.contarCeldasCompletas();
+            evento.resultado = valida ? "válida" : "con conflictos";
+            evento.nodos = verificadas;
+            evento.commit();
+        }
+        return valida;
     }
     
     @Override
@@ -0,0 +1,556 @@
+package servicio;
+
+import modelo.GrillaSudoku;
+import modelo.TokenCancelacion;
+import modelo.ValidadorSudoku;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Coordinador de un conteo de soluciones repartido entre procesos trabajadores.
+ *
+ * La parte superior del árbol de búsqueda se divide en subproblemas: se ramifica
+ * sobre la celda con menos candidatos, de a un nivel, hasta tener la cantidad de
+ * partes pedida. Cada parte es a su vez un Sudoku (el original con algunas celdas
+ * más asignadas) y las soluciones del original son la suma de las de sus partes.
+ *
+ * Los trabajadores ({@link TrabajadorConteo}) se conectan por TCP, en la misma
+ * máquina o en otras, y piden partes mientras haya. Protocolo, una línea por mensaje:
+ * <pre>
+ * coordinador → trabajador:  TAREA id tope sudoku   |   CANCELAR id   |   FIN
+ * trabajador → coordinador:  RESULTADO id soluciones nodos
+ * </pre>
+ * Si la conexión con un trabajador se corta, su parte en curso vuelve a la cola y
+ * la toma otro. Cada parte se cuenta hasta un tope de soluciones, el menor entre el
+ * límite del conteo y el tope por parte del coordinador; una parte que lo alcanza
+ * sin que el conteo llegue a su límite se divide en partes más chicas que se vuelven
+ * a contar, de modo que lo descartado por parte está acotado por el tope. Cuando un
+ * conteo termina, las partes que siguen en curso se cancelan con CANCELAR; el
+ * trabajador responde igual, con lo que llegó a contar, y la respuesta se ignora.
+ *
+ * El protocolo no autentica a los trabajadores: por defecto se escucha solo en la
+ * interfaz local.
+ */
+public class CoordinadorConteo {
+    private static final String TAREA = "TAREA";
+    private static final String RESULTADO = "RESULTADO";
+    private static final String CANCELAR = "CANCELAR";
+    private static final String FIN = "FIN";
+    /** Tope de soluciones por parte si no se indica otro */
+    public static final int TOPE_POR_PARTE = 1 << 22;
+    private static final int TAMANO = 9;
+    /** Reinicios permitidos de trabajadores locales, por cada trabajador lanzado */
+    private static final int REINICIOS_POR_TRABAJADOR = 3;
+    /** Espera máxima entre intentos de aceptar trabajadores cuando fallan seguidos */
+    private static final long ESPERA_MAXIMA_ACEPTAR_MS = 1000;
+    
+    private final String direccion;
+    private final int puertoSolicitado;
+    private final int topePorParte;
+    private final BlockingQueue<Parte> pendientes;
+    private final Set<Conexion> conexiones;
+    private final AtomicInteger conectados;
+    private final AtomicInteger reasignaciones;
+    private final List<Process> procesosLocales;
+    
+    private ServerSocket servidor;
+    private ExecutorService ejecutorConexiones;
+    private volatile boolean detenido;
+    private String motorLocal;
+    private int reiniciosDisponibles;
+    private volatile long nodosUltimoConteo;
+    private volatile Consumer<String> avisos;
+    
+    /**
+     * @param direccion Dirección en la que escuchar; "localhost" para aceptar solo
+     *                  trabajadores locales, o "0.0.0.0" para todas las interfaces
+     * @param puerto Puerto en el que escuchar, o 0 para elegir uno libre
+     */
+    public CoordinadorConteo(String direccion, int puerto) {
+        this(direccion, puerto, TOPE_POR_PARTE);
+    }
+    
+    /**
+     * @param direccion Dirección en la que escuchar
+     * @param puerto Puerto en el que escuchar, o 0 para elegir uno libre
+     * @param topePorParte Soluciones a partir de las cuales una parte se divide en lugar
+     *                     de seguir contándola
+     */
+    public CoordinadorConteo(String direccion, int puerto, int topePorParte) {
+        if (topePorParte < 1) {
+            throw new IllegalArgumentException("El tope por parte debe ser al menos 1");
+        }
+        this.direccion = direccion;
+        this.puertoSolicitado = puerto;
+        this.topePorParte = topePorParte;
+        this.pendientes = new LinkedBlockingQueue<>();
+        this.conexiones = ConcurrentHashMap.newKeySet();
+        this.conectados = new AtomicInteger();
+        this.reasignaciones = new AtomicInteger();
+        this.procesosLocales = new ArrayList<>();
+    }
+    
+    /**
+     * @param avisos Callback opcional para los errores que no interrumpen el conteo,
+     *               como un trabajador que no se pudo aceptar, o null para ignorarlos
+     */
+    public void establecerAvisos(Consumer<String> avisos) {
+        this.avisos = avisos;
+    }
+    
+    /**
+     * Comienza a aceptar trabajadores
+     */
+    public void iniciar() throws IOException {
+        servidor = new ServerSocket();
+        servidor.bind(new InetSocketAddress(InetAddress.getByName(direccion), puertoSolicitado));
+        ejecutorConexiones = Executors.newVirtualThreadPerTaskExecutor();
+        ejecutorConexiones.execute(this::aceptar);
+    }
+    
+    /**
+     * Despide a los trabajadores conectados, deja de aceptar nuevos y termina los procesos locales
+     */
+    public void detener() {
+        detenido = true;
+        if (servidor != null) {
+            try {
+                servidor.close();
+            } catch (IOException e) {
+                // Ya no importa: se está deteniendo
+            }
+            ejecutorConexiones.shutdown();
+            try {
+                ejecutorConexiones.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ejecutorConexiones.shutdownNow();
+        }
+        synchronized (procesosLocales) {
+            for (Process proceso : procesosLocales) {
+                proceso.destroy();
+            }
+        }
+    }
+    
+    /**
+     * @return Puerto en el que escucha el coordinador
+     */
+    public int obtenerPuerto() {
+        return servidor.getLocalPort();
+    }
+    
+    /**
+     * @return Cantidad de trabajadores conectados en este momento
+     */
+    public int obtenerConectados() {
+        return conectados.get();
+    }
+    
+    /**
+     * @return Cantidad de partes que volvieron a la cola porque su trabajador se desconectó
+     */
+    public int obtenerReasignaciones() {
+        return reasignaciones.get();
+    }
+    
+    /**
+     * @return Nodos explorados por los trabajadores en el último conteo
+     */
+    public long obtenerNodosUltimoConteo() {
+        return nodosUltimoConteo;
+    }
+    
+    /**
+     * Lanza procesos trabajadores en esta máquina, con el mismo classpath que el
+     * proceso actual. Mientras haya un conteo en curso, los que terminen se
+     * reemplazan, hasta {@value #REINICIOS_POR_TRABAJADOR} veces por trabajador.
+     * @param cantidad Cantidad de procesos
+     * @param motor Motor con el que cuentan los trabajadores
+     */
+    public void lanzarTrabajadoresLocales(int cantidad, String motor) throws IOException {
+        synchronized (procesosLocales) {
+            motorLocal = motor;
+            reiniciosDisponibles += cantidad * REINICIOS_POR_TRABAJADOR;
+            for (int i = 0; i < cantidad; i++) {
+                procesosLocales.add(lanzarTrabajadorLocal());
+            }
+        }
+    }
+    
+    private Process lanzarTrabajadorLocal() throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), "SudokuApp",
+                "trabajador", "--coordinador", "localhost:" + obtenerPuerto(), "--motor", motorLocal)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+    
+    /**
+     * Cuenta las soluciones de la grilla repartiendo el trabajo entre los trabajadores
+     * conectados. Un conteo a la vez: los trabajadores que se conecten durante el
+     * conteo se suman a él.
+     * @param grilla La grilla de Sudoku
+     * @param limite Cantidad a partir de la cual se deja de contar
+     * @param partes Cantidad aproximada de partes en que dividir el árbol
+     * @param token Token de cancelación, o null para no interrumpir el conteo
+     * @return La cantidad de soluciones, como mucho el límite
+     * @throws CancellationException si el token se activa antes de terminar
+     * @throws IllegalStateException si todos los trabajadores locales terminaron y no
+     *         quedan reinicios ni trabajadores conectados
+     */
+    public synchronized long contar(GrillaSudoku grilla, long limite, int partes, TokenCancelacion token)
+            throws InterruptedException {
+        ValidadorSudoku validador = new ValidadorSudoku();
+        if (validador.tieneConflictos(grilla)) {
+            return 0;
+        }
+        Conteo conteo = new Conteo(limite);
+        conteo.agregarTodas(dividir(grilla, partes, validador));
+        try {
+            while (!conteo.esperar(100)) {
+                if (token != null && token.debeDetenerse()) {
+                    throw new CancellationException("Conteo distribuido cancelado");
+                }
+                reemplazarTrabajadoresTerminados();
+            }
+        } finally {
+            conteo.terminar();
+            pendientes.clear();
+            // Las partes en curso ya no sirven: se liberan los trabajadores para el próximo conteo
+            for (Conexion conexion : conexiones) {
+                conexion.cancelar(conteo);
+            }
+            nodosUltimoConteo = conteo.nodos;
+        }
+        return Math.min(conteo.total, limite);
+    }
+    
+    private void reemplazarTrabajadoresTerminados() {
+        synchronized (procesosLocales) {
+            boolean alguno = false;
+            for (int i = 0; i < procesosLocales.size(); i++) {
+                if (procesosLocales.get(i).isAlive()) {
+                    alguno = true;
+                } else if (reiniciosDisponibles > 0) {
+                    try {
+                        procesosLocales.set(i, lanzarTrabajadorLocal());
+                        reiniciosDisponibles--;
+                        alguno = true;
+                    } catch (IOException e) {
+                        reiniciosDisponibles = 0;
+                    }
+                }
+            }
+            if (!procesosLocales.isEmpty() && !alguno && conectados.get() == 0) {
+                throw new IllegalStateException("Todos los trabajadores locales terminaron");
+            }
+        }
+    }
+    
+    /**
+     * Divide el árbol de búsqueda en partes: mientras falten partes, ramifica la
+     * parte más antigua sobre su celda con menos candidatos
+     * @return Grillas cuyas soluciones, sumadas, son las de la grilla dada
+     */
+    static List<GrillaSudoku> dividir(GrillaSudoku grilla, int partes, ValidadorSudoku validador) {
+        Queue<GrillaSudoku> cola = new ArrayDeque<>();
+        List<GrillaSudoku> indivisibles = new ArrayList<>();
+        cola.add(grilla.clonar());
+        while (!cola.isEmpty() && cola.size() + indivisibles.size() < partes) {
+            GrillaSudoku actual = cola.remove();
+            List<GrillaSudoku> hijas = ramificar(actual, validador);
+            if (hijas == null) {
+                indivisibles.add(actual);
+            } else {
+                cola.addAll(hijas);
+            }
+        }
+        indivisibles.addAll(cola);
+        return indivisibles;
+    }
+    
+    /**
+     * @return Una grilla por cada candidato de la celda vacía con menos candidatos,
+     *         o null si la grilla está completa
+     */
+    private static List<GrillaSudoku> ramificar(GrillaSudoku grilla, ValidadorSudoku validador) {
+        int mejorFila = -1;
+        int mejorColumna = -1;
+        int menosCandidatos = TAMANO + 1;
+        for (int fila = 0; fila < TAMANO; fila++) {
+            for (int columna = 0; columna < TAMANO; columna++) {
+                if (!grilla.estaVacio(fila, columna)) {
+                    continue;
+                }
+                int candidatos = 0;
+                for (int valor = 1; valor <= TAMANO; valor++) {
+                    if (validador.esColocacionValida(grilla, fila, columna, valor)) {
+                        candidatos++;
+                    }
+                }
+                if (candidatos < menosCandidatos) {
+                    menosCandidatos = candidatos;
+                    mejorFila = fila;
+                    mejorColumna = columna;
+                }
+            }
+        }
+        if (mejorFila < 0) {
+            return null;
+        }
+        // Una celda sin candidatos da una lista vacía: la parte no tiene soluciones
+        List<GrillaSudoku> hijas = new ArrayList<>();
+        for (int valor = 1; valor <= TAMANO; valor++) {
+            if (validador.esColocacionValida(grilla, mejorFila, mejorColumna, valor)) {
+                GrillaSudoku hija = grilla.clonar();
+                hija.establecerValor(mejorFila, mejorColumna, valor);
+                hijas.add(hija);
+            }
+        }
+        return hijas;
+    }
+    
+    /**
+     * Acepta trabajadores hasta que el coordinador se detiene. Si aceptar falla varias
+     * veces seguidas (por ejemplo, sin descriptores de archivo libres) se espera cada
+     * vez el doble, hasta {@link #ESPERA_MAXIMA_ACEPTAR_MS}, y se avisa solo del primer error.
+     */
+    private void aceptar() {
+        long esperaMs = 0;
+        while (!detenido) {
+            try {
+                Socket conexion = servidor.accept();
+                ejecutorConexiones.execute(() -> atender(conexion));
+                esperaMs = 0;
+            } catch (IOException e) {
+                if (detenido) {
+                    return;
+                }
+                Consumer<String> destino = avisos;
+                if (esperaMs == 0 && destino != null) {
+                    destino.accept("Error al aceptar un trabajador: " + e.getMessage());
+                }
+                esperaMs = Math.min(Math.max(1, esperaMs * 2), ESPERA_MAXIMA_ACEPTAR_MS);
+                try {
+                    Thread.sleep(esperaMs);
+                } catch (InterruptedException interrupcion) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Atiende a un trabajador: le envía partes de a una mientras esté conectado
+     */
+    private void atender(Socket socket) {
+        conectados.incrementAndGet();
+        Conexion conexion = null;
+        try (socket;
+             BufferedReader lector = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter escritor = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            conexion = new Conexion(escritor);
+            conexiones.add(conexion);
+            while (!detenido) {
+                Parte parte = pendientes.poll(100, TimeUnit.MILLISECONDS);
+                if (parte == null || parte.conteo.terminado) {
+                    continue;
+                }
+                conexion.enviar(parte);
+                if (parte.conteo.terminado) {
+                    conexion.cancelar(parte.conteo); // Terminó mientras se enviaba
+                }
+                String respuesta = lector.readLine();
+                if (respuesta == null) {
+                    throw new SocketException("El trabajador cerró la conexión");
+                }
+                String[] campos = respuesta.split(" ");
+                if (campos.length != 4 || !campos[0].equals(RESULTADO) || Integer.parseInt(campos[1]) != parte.id) {
+                    throw new SocketException("Respuesta inválida del trabajador: " + respuesta);
+                }
+                conexion.terminarParte();
+                parte.conteo.registrar(parte, Integer.parseInt(campos[2]), Long.parseLong(campos[3]));
+            }
+            conexion.escribir(FIN);
+        } catch (IOException | NumberFormatException e) {
+            // El trabajador murió o respondió algo inválido: su parte la cuenta otro
+            Parte enCurso = conexion != null ? conexion.terminarParte() : null;
+            if (enCurso != null && !enCurso.conteo.terminado) {
+                reasignaciones.incrementAndGet();
+                pendientes.add(enCurso);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (conexion != null) {
+                conexiones.remove(conexion);
+            }
+            conectados.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Conexión con un trabajador y la parte que está contando. La escritura se
+     * sincroniza porque las cancelaciones las manda el hilo del conteo.
+     */
+    private static class Conexion {
+        private final BufferedWriter escritor;
+        private Parte enCurso;
+        
+        Conexion(BufferedWriter escritor) {
+            this.escritor = escritor;
+        }
+        
+        synchronized void enviar(Parte parte) throws IOException {
+            enCurso = parte;
+            escribir(TAREA + " " + parte.id + " " + parte.conteo.topeParte + " " + parte.grilla.aCadena());
+        }
+        
+        /**
+         * @return La parte que estaba en curso, o null si no había
+         */
+        synchronized Parte terminarParte() {
+            Parte parte = enCurso;
+            enCurso = null;
+            return parte;
+        }
+        
+        /**
+         * Pide al trabajador que abandone su parte si es del conteo dado
+         */
+        synchronized void cancelar(Conteo conteo) {
+            if (enCurso != null && enCurso.conteo == conteo) {
+                try {
+                    escribir(CANCELAR + " " + enCurso.id);
+                } catch (IOException e) {
+                    // La conexión se cortó: quien la atiende lo va a notar al leer
+                }
+            }
+        }
+        
+        synchronized void escribir(String mensaje) throws IOException {
+            escritor.write(mensaje + "\n");
+            escritor.flush();
+        }
+    }
+    
+    /**
+     * Un subproblema del conteo
+     */
+    private static class Parte {
+        private final Conteo conteo;
+        private final int id;
+        private final GrillaSudoku grilla;
+        
+        Parte(Conteo conteo, int id, GrillaSudoku grilla) {
+            this.conteo = conteo;
+            this.id = id;
+            this.grilla = grilla;
+        }
+    }
+    
+    /**
+     * Estado de un conteo en curso: las partes sin terminar y la suma de las terminadas
+     */
+    private class Conteo {
+        private final long limite;
+        private final int topeParte;
+        private int siguienteId;
+        private int sinTerminar;
+        private long total;
+        private long nodos;
+        private volatile boolean terminado;
+        
+        Conteo(long limite) {
+            this.limite = limite;
+            this.topeParte = (int) Math.min(topePorParte, limite);
+        }
+        
+        /**
+         * Agrega las partes iniciales de una vez: si se agregaran de a una, una parte
+         * sin soluciones podría registrarse antes que la siguiente y dar el conteo por terminado
+         */
+        synchronized void agregarTodas(List<GrillaSudoku> grillas) {
+            for (GrillaSudoku grilla : grillas) {
+                agregar(grilla);
+            }
+            if (sinTerminar == 0) {
+                terminar();
+            }
+        }
+        
+        synchronized void agregar(GrillaSudoku grilla) {
+            sinTerminar++;
+            pendientes.add(new Parte(this, siguienteId++, grilla));
+        }
+        
+        /**
+         * Suma el resultado de una parte. Si la parte llegó al tope sin que el conteo
+         * llegue a su límite, la divide y encola sus partes en su lugar.
+         */
+        synchronized void registrar(Parte parte, int soluciones, long nodosParte) {
+            if (terminado) {
+                return;
+            }
+            nodos += nodosParte;
+            if (soluciones >= topeParte && total + soluciones < limite) {
+                List<GrillaSudoku> hijas = ramificar(parte.grilla, new ValidadorSudoku());
+                if (hijas != null) {
+                    for (GrillaSudoku hija : hijas) {
+                        agregar(hija);
+                    }
+                    sinTerminar--;
+                    return;
+                }
+            }
+            total += soluciones;
+            sinTerminar--;
+            if (sinTerminar == 0 || total >= limite) {
+                terminar();
+            }
+        }
+        
+        synchronized void terminar() {
+            terminado = true;
+            notifyAll();
+        }
+        
+        /**
+         * @return true si el conteo terminó
+         */
+        synchronized boolean esperar(long milisegundos) throws InterruptedException {
+            if (!terminado && sinTerminar > 0) {
+                wait(milisegundos);
+            }
+            return terminado || sinTerminar == 0;
+        }
+    }
+}
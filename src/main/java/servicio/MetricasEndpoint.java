@@ -0,0 +1,118 @@
+package servicio;
+
+import modelo.EstadisticasLatencia;
+
+import java.util.Locale;
+
+/**
+ * Métricas de un endpoint del servicio: contadores por resultado y latencias de
+ * las últimas solicitudes exitosas. Las latencias se guardan en un buffer circular
+ * para que la memoria no crezca mientras el servicio está en ejecución.
+ */
+public class MetricasEndpoint {
+    private static final int CAPACIDAD_LATENCIAS = 10_000;
+    
+    private final long[] latenciasNanos;
+    private int siguiente;
+    private int guardadas;
+    private long exitosas;
+    private long invalidas;
+    private long rechazadas;
+    private long agotadas;
+    private long fallidas;
+    
+    public MetricasEndpoint() {
+        this.latenciasNanos = new long[CAPACIDAD_LATENCIAS];
+    }
+    
+    /**
+     * Registra una solicitud respondida correctamente
+     * @param nanos Latencia de la solicitud, desde que se recibió hasta que se respondió
+     */
+    public synchronized void registrarExito(long nanos) {
+        exitosas++;
+        latenciasNanos[siguiente] = nanos;
+        siguiente = (siguiente + 1) % latenciasNanos.length;
+        guardadas = Math.min(guardadas + 1, latenciasNanos.length);
+    }
+    
+    /**
+     * Registra una solicitud con parámetros inválidos
+     */
+    public synchronized void registrarInvalida() {
+        invalidas++;
+    }
+    
+    /**
+     * Registra una solicitud rechazada porque la cola de cálculo estaba llena
+     */
+    public synchronized void registrarRechazada() {
+        rechazadas++;
+    }
+    
+    /**
+     * Registra una solicitud que superó el tiempo límite
+     */
+    public synchronized void registrarAgotada() {
+        agotadas++;
+    }
+    
+    /**
+     * Registra una solicitud cuyo cálculo terminó con un error inesperado
+     */
+    public synchronized void registrarFallida() {
+        fallidas++;
+    }
+    
+    public synchronized long obtenerExitosas() {
+        return exitosas;
+    }
+    
+    public synchronized long obtenerRechazadas() {
+        return rechazadas;
+    }
+    
+    public synchronized long obtenerAgotadas() {
+        return agotadas;
+    }
+    
+    /**
+     * @return Estadísticas de las últimas latencias registradas
+     */
+    public synchronized EstadisticasLatencia obtenerLatencias() {
+        EstadisticasLatencia estadisticas = new EstadisticasLatencia();
+        for (int i = 0; i < guardadas; i++) {
+            estadisticas.registrar(latenciasNanos[i]);
+        }
+        return estadisticas;
+    }
+    
+    /**
+     * @return Las métricas como objeto JSON
+     */
+    public String aJson() {
+        EstadisticasLatencia latencias;
+        long exitosasActuales;
+        long invalidasActuales;
+        long rechazadasActuales;
+        long agotadasActuales;
+        long fallidasActuales;
+        synchronized (this) {
+            latencias = obtenerLatencias();
+            exitosasActuales = exitosas;
+            invalidasActuales = invalidas;
+            rechazadasActuales = rechazadas;
+            agotadasActuales = agotadas;
+            fallidasActuales = fallidas;
+        }
+        return String.format(Locale.ROOT,
+                "{\"exitosas\": %d, \"invalidas\": %d, \"rechazadas\": %d, \"agotadas\": %d, \"fallidas\": %d, "
+                        + "\"promedioMs\": %.4f, \"p50Ms\": %.4f, \"p90Ms\": %.4f, \"p99Ms\": %.4f, \"maximoMs\": %.4f}",
+                exitosasActuales, invalidasActuales, rechazadasActuales, agotadasActuales, fallidasActuales,
+                latencias.obtenerPromedioMs(),
+                latencias.obtenerPercentilMs(50),
+                latencias.obtenerPercentilMs(90),
+                latencias.obtenerPercentilMs(99),
+                latencias.obtenerMaximoMs());
+    }
+}
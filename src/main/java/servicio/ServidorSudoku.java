@@ -0,0 +1,426 @@
+package servicio;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import interfaces.ISudokuSolver;
+import modelo.CatalogoMotores;
+import modelo.ExportadorResultados;
+import modelo.GeneradorSudoku;
+import modelo.GrillaSudoku;
+import modelo.ResolvedorPortafolio;
+import modelo.ResultadoBusqueda;
+import modelo.TokenCancelacion;
+import modelo.ValidadorSudoku;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Servicio HTTP local que expone los motores del modelo.
+ *
+ * Endpoints (parámetros por query string o en el cuerpo como formulario; el Sudoku
+ * también puede enviarse como cuerpo de texto de 81 caracteres; un cuerpo de más de
+ * 1 KB se rechaza con 413):
+ * <pre>
+ * /resolver?sudoku=...[&amp;motor=MRV]
+ * /contar?sudoku=...[&amp;limite=2][&amp;motor=MRV]
+ * /validar?sudoku=...
+ * /generar?prefijados=30[&amp;semilla=s]
+ * /metricas
+ * </pre>
+ * Con motor=Portafolio los motores corren en carrera y /metricas informa cuál ganó
+ * cada carrera, por cantidad de prefijados. Cada motor se crea con su primera
+ * solicitud: si no se puede crear (por ejemplo, el adaptativo con un modelo dañado)
+ * esa solicitud recibe 500 y los demás motores siguen atendiendo.
+ * Cada solicitud se atiende en un hilo virtual, que solo interpreta parámetros y
+ * espera. El cálculo se delega a un pool acotado de hilos de plataforma, uno por
+ * núcleo por defecto, con una cola limitada: si la cola está llena se responde 503
+ * y si el cálculo no termina a tiempo se responde 504. El plazo se aplica también a
+ * la búsqueda, que se abandona al vencer para liberar el hilo de cálculo.
+ */
+public class ServidorSudoku {
+    public static final String RESOLVER = "resolver";
+    public static final String CONTAR = "contar";
+    public static final String VALIDAR = "validar";
+    public static final String GENERAR = "generar";
+    
+    private static final int LIMITE_CONTEO_POR_DEFECTO = 2;
+    /** Un Sudoku ocupa 81 caracteres: sobra lugar para los demás parámetros del formulario */
+    private static final int TAMANO_MAXIMO_CUERPO = 1024;
+    
+    private final int puertoSolicitado;
+    private final int hilosCalculo;
+    private final int capacidadCola;
+    private final long tiempoLimiteMs;
+    private final Map<String, MetricasEndpoint> metricas;
+    private final Map<String, ISudokuSolver> resolvedores;
+    private final ThreadLocal<GeneradorSudoku> generadores;
+    private final ValidadorSudoku validador;
+    
+    private HttpServer servidor;
+    private ExecutorService ejecutorSolicitudes;
+    private ThreadPoolExecutor ejecutorCalculo;
+    
+    /**
+     * @param puerto Puerto en el que escuchar, o 0 para elegir uno libre
+     * @param hilosCalculo Cantidad de hilos de plataforma que resuelven en paralelo
+     * @param capacidadCola Cantidad de cálculos que pueden esperar un hilo libre
+     * @param tiempoLimiteMs Tiempo máximo de espera de cada solicitud por su cálculo
+     */
+    public ServidorSudoku(int puerto, int hilosCalculo, int capacidadCola, long tiempoLimiteMs) {
+        if (hilosCalculo < 1 || capacidadCola < 1 || tiempoLimiteMs < 1) {
+            throw new IllegalArgumentException("Los hilos, la cola y el tiempo límite deben ser al menos 1");
+        }
+        this.puertoSolicitado = puerto;
+        this.hilosCalculo = hilosCalculo;
+        this.capacidadCola = capacidadCola;
+        this.tiempoLimiteMs = tiempoLimiteMs;
+        this.metricas = new LinkedHashMap<>();
+        for (String endpoint : new String[] {RESOLVER, CONTAR, VALIDAR, GENERAR}) {
+            metricas.put(endpoint, new MetricasEndpoint());
+        }
+        this.resolvedores = new ConcurrentHashMap<>();
+        this.generadores = ThreadLocal.withInitial(GeneradorSudoku::new);
+        this.validador = new ValidadorSudoku();
+    }
+    
+    /**
+     * Comienza a escuchar solicitudes
+     */
+    public void iniciar() throws IOException {
+        ejecutorCalculo = new ThreadPoolExecutor(hilosCalculo, hilosCalculo, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola));
+        ejecutorSolicitudes = Executors.newVirtualThreadPerTaskExecutor();
+        
+        servidor = HttpServer.create(new InetSocketAddress("localhost", puertoSolicitado), 0);
+        servidor.setExecutor(ejecutorSolicitudes);
+        servidor.createContext("/" + RESOLVER, intercambio -> atender(intercambio, RESOLVER, this::resolver));
+        servidor.createContext("/" + CONTAR, intercambio -> atender(intercambio, CONTAR, this::contar));
+        servidor.createContext("/" + VALIDAR, intercambio -> atender(intercambio, VALIDAR, this::validar));
+        servidor.createContext("/" + GENERAR, intercambio -> atender(intercambio, GENERAR, this::generar));
+        servidor.createContext("/metricas", this::responderMetricas);
+        servidor.start();
+    }
+    
+    /**
+     * Deja de aceptar solicitudes y libera los hilos
+     */
+    public void detener() {
+        if (servidor != null) {
+            servidor.stop(0);
+            ejecutorSolicitudes.shutdownNow();
+            ejecutorCalculo.shutdownNow();
+        }
+    }
+    
+    /**
+     * @return Puerto en el que escucha el servidor
+     */
+    public int obtenerPuerto() {
+        return servidor.getAddress().getPort();
+    }
+    
+    /**
+     * @param endpoint Nombre del endpoint, por ejemplo {@link #RESOLVER}
+     * @return Las métricas del endpoint
+     */
+    public MetricasEndpoint obtenerMetricas(String endpoint) {
+        return metricas.get(endpoint);
+    }
+    
+    /**
+     * Interpreta los parámetros de la solicitud y prepara el cálculo a delegar.
+     * Las búsquedas del cálculo deben consultar el token recibido.
+     */
+    private interface Operacion {
+        Callable<String> preparar(Map<String, String> parametros, TokenCancelacion token);
+    }
+    
+    private void atender(HttpExchange intercambio, String endpoint, Operacion operacion) throws IOException {
+        long inicio = System.nanoTime();
+        MetricasEndpoint metricasEndpoint = metricas.get(endpoint);
+        TokenCancelacion token = TokenCancelacion.conPlazo(tiempoLimiteMs);
+        try {
+            String cuerpo = leerCuerpo(intercambio);
+            if (cuerpo == null) {
+                metricasEndpoint.registrarInvalida();
+                responder(intercambio, 413, error("El cuerpo supera los " + TAMANO_MAXIMO_CUERPO + " bytes"));
+                return;
+            }
+            Callable<String> calculo;
+            try {
+                calculo = operacion.preparar(leerParametros(intercambio, cuerpo), token);
+            } catch (IllegalArgumentException e) {
+                metricasEndpoint.registrarInvalida();
+                responder(intercambio, 400, error(e.getMessage()));
+                return;
+            } catch (IllegalStateException e) {
+                metricasEndpoint.registrarFallida();
+                responder(intercambio, 500, error(e.getMessage()));
+                return;
+            }
+            
+            Future<String> futuro;
+            try {
+                futuro = ejecutorCalculo.submit(calculo);
+            } catch (RejectedExecutionException e) {
+                metricasEndpoint.registrarRechazada();
+                responder(intercambio, 503, error("Servicio saturado, reintente más tarde"));
+                return;
+            }
+            
+            String respuesta;
+            try {
+                respuesta = futuro.get(tiempoLimiteMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                token.cancelar();
+                futuro.cancel(true);
+                metricasEndpoint.registrarAgotada();
+                responder(intercambio, 504, error("Se superó el tiempo límite de " + tiempoLimiteMs + " ms"));
+                return;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof TimeoutException) {
+                    // La búsqueda vio vencer el plazo antes que la espera
+                    metricasEndpoint.registrarAgotada();
+                    responder(intercambio, 504, error("Se superó el tiempo límite de " + tiempoLimiteMs + " ms"));
+                    return;
+                }
+                metricasEndpoint.registrarFallida();
+                responder(intercambio, 500, error(String.valueOf(e.getCause().getMessage())));
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                token.cancelar();
+                futuro.cancel(true);
+                responder(intercambio, 503, error("Servicio detenido"));
+                return;
+            }
+            // Como en los demás casos, la métrica se registra antes de que el cliente vea la respuesta
+            metricasEndpoint.registrarExito(System.nanoTime() - inicio);
+            responder(intercambio, 200, respuesta);
+        } finally {
+            intercambio.close();
+        }
+    }
+    
+    private Callable<String> resolver(Map<String, String> parametros, TokenCancelacion token) {
+        GrillaSudoku sudoku = leerSudoku(parametros);
+        String motor = parametros.getOrDefault("motor", CatalogoMotores.MRV);
+        ISudokuSolver resolvedor = obtenerResolvedor(motor);
+        return () -> {
+            ResultadoBusqueda resultado = resolvedor.resolver(sudoku, token);
+            if (!resultado.estaCompleta()) {
+                throw new TimeoutException();
+            }
+            boolean resuelto = resultado.obtenerSoluciones() == 1;
+            return "{\"resuelto\": " + resuelto
+                    + ", \"solucion\": " + (resuelto ? ExportadorResultados.cadenaJson(sudoku.aCadena()) : "null")
+                    + ", \"motor\": " + ExportadorResultados.cadenaJson(motor) + "}";
+        };
+    }
+    
+    private Callable<String> contar(Map<String, String> parametros, TokenCancelacion token) {
+        GrillaSudoku sudoku = leerSudoku(parametros);
+        int limite = leerEntero(parametros, "limite", LIMITE_CONTEO_POR_DEFECTO);
+        if (limite < 1) {
+            throw new IllegalArgumentException("El límite debe ser al menos 1");
+        }
+        String motor = parametros.getOrDefault("motor", CatalogoMotores.MRV);
+        ISudokuSolver resolvedor = obtenerResolvedor(motor);
+        return () -> {
+            ResultadoBusqueda resultado = resolvedor.contarSoluciones(sudoku, limite, token);
+            if (!resultado.estaCompleta()) {
+                throw new TimeoutException();
+            }
+            return "{\"soluciones\": " + resultado.obtenerSoluciones() + ", \"limite\": " + limite + "}";
+        };
+    }
+    
+    private Callable<String> validar(Map<String, String> parametros, TokenCancelacion token) {
+        GrillaSudoku sudoku = leerSudoku(parametros);
+        return () -> "{\"valida\": " + validador.esGrillaValida(sudoku) + "}";
+    }
+    
+    private Callable<String> generar(Map<String, String> parametros, TokenCancelacion token) {
+        int prefijados = leerEntero(parametros, "prefijados", 30);
+        if (prefijados < 17 || prefijados > 81) {
+            throw new IllegalArgumentException("El número de valores prefijados debe estar entre 17 y 81");
+        }
+        Long semillaFija = parametros.containsKey("semilla") ? leerLargo(parametros, "semilla") : null;
+        return () -> {
+            GeneradorSudoku generador = semillaFija == null ? generadores.get() : new GeneradorSudoku(semillaFija);
+            GrillaSudoku sudoku = generador.generarSudoku(prefijados);
+            return "{\"sudoku\": " + ExportadorResultados.cadenaJson(sudoku.aCadena())
+                    + ", \"prefijados\": " + prefijados + "}";
+        };
+    }
+    
+    private void responderMetricas(HttpExchange intercambio) throws IOException {
+        try {
+            StringBuilder json = new StringBuilder("{");
+            boolean primero = true;
+            for (Map.Entry<String, MetricasEndpoint> entrada : metricas.entrySet()) {
+                json.append(primero ? "\n  " : ",\n  ");
+                primero = false;
+                json.append(ExportadorResultados.cadenaJson(entrada.getKey())).append(": ")
+                        .append(entrada.getValue().aJson());
+            }
+            json.append(String.format(Locale.ROOT, ",\n  \"calculo\": {\"hilos\": %d, \"activos\": %d, \"enCola\": %d}",
+                    hilosCalculo, ejecutorCalculo.getActiveCount(), ejecutorCalculo.getQueue().size()));
+            json.append(",\n  \"portafolio\": ").append(victoriasJson(
+                    (ResolvedorPortafolio) resolvedores.get(CatalogoMotores.PORTAFOLIO))).append("\n}");
+            responder(intercambio, 200, json.toString());
+        } finally {
+            intercambio.close();
+        }
+    }
+    
+    /**
+     * @return Carreras ganadas por cada motor del portafolio, por cantidad de prefijados
+     */
+    private static String victoriasJson(ResolvedorPortafolio portafolio) {
+        StringBuilder json = new StringBuilder("{");
+        if (portafolio == null) {
+            return json.append('}').toString();
+        }
+        boolean primeraCantidad = true;
+        for (Map.Entry<Integer, Map<String, Long>> porPrefijados
+                : portafolio.obtenerVictoriasPorPrefijados().entrySet()) {
+            json.append(primeraCantidad ? "" : ", ").append('"').append(porPrefijados.getKey()).append("\": {");
+            boolean primero = true;
+            for (Map.Entry<String, Long> porMotor : porPrefijados.getValue().entrySet()) {
+                json.append(primero ? "" : ", ").append(ExportadorResultados.cadenaJson(porMotor.getKey()))
+                        .append(": ").append(porMotor.getValue());
+                primero = false;
+            }
+            json.append('}');
+            primeraCantidad = false;
+        }
+        return json.append('}').toString();
+    }
+    
+    /**
+     * @return La instancia compartida del motor, que se crea en el primer uso
+     * @throws IllegalArgumentException si el motor no existe
+     * @throws IllegalStateException si el motor existe pero no se pudo crear
+     */
+    private ISudokuSolver obtenerResolvedor(String motor) {
+        if (!CatalogoMotores.nombres().contains(motor)) {
+            throw new IllegalArgumentException("Motor desconocido: " + motor
+                    + ". Disponibles: " + CatalogoMotores.nombres());
+        }
+        try {
+            return resolvedores.computeIfAbsent(motor, CatalogoMotores::crear);
+        } catch (UncheckedIOException e) {
+            // No se guarda nada: la próxima solicitud vuelve a intentarlo, por si se corrigió el modelo
+            throw new IllegalStateException("No se pudo crear el motor " + motor + ": "
+                    + e.getCause().getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("No se pudo crear el motor " + motor + ": " + e.getMessage(), e);
+        }
+    }
+    
+    private static GrillaSudoku leerSudoku(Map<String, String> parametros) {
+        String sudoku = parametros.get("sudoku");
+        if (sudoku == null) {
+            throw new IllegalArgumentException("Falta el parámetro sudoku");
+        }
+        return GrillaSudoku.desdeCadena(sudoku.strip());
+    }
+    
+    private static long leerLargo(Map<String, String> parametros, String nombre) {
+        String valor = parametros.get(nombre);
+        try {
+            return Long.parseLong(valor.strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El parámetro " + nombre + " debe ser un número entero: " + valor);
+        }
+    }
+    
+    private static int leerEntero(Map<String, String> parametros, String nombre, int porDefecto) {
+        String valor = parametros.get(nombre);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            return Integer.parseInt(valor.strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El parámetro " + nombre + " debe ser un número entero: " + valor);
+        }
+    }
+    
+    /**
+     * Lee el cuerpo sin pasar de TAMANO_MAXIMO_CUERPO bytes.
+     *
+     * @return El cuerpo sin espacios en los extremos, o null si es más largo que el máximo
+     */
+    private static String leerCuerpo(HttpExchange intercambio) throws IOException {
+        byte[] bytes = intercambio.getRequestBody().readNBytes(TAMANO_MAXIMO_CUERPO + 1);
+        if (bytes.length > TAMANO_MAXIMO_CUERPO) {
+            return null;
+        }
+        return new String(bytes, StandardCharsets.UTF_8).strip();
+    }
+    
+    /**
+     * Reúne los parámetros de la query string y del cuerpo. Un cuerpo sin '=' se
+     * interpreta como el Sudoku en texto.
+     */
+    private static Map<String, String> leerParametros(HttpExchange intercambio, String cuerpo) {
+        Map<String, String> parametros = new HashMap<>();
+        agregarParametros(intercambio.getRequestURI().getRawQuery(), parametros);
+        if (!cuerpo.isEmpty()) {
+            if (cuerpo.contains("=")) {
+                agregarParametros(cuerpo, parametros);
+            } else {
+                parametros.put("sudoku", cuerpo);
+            }
+        }
+        return parametros;
+    }
+    
+    private static void agregarParametros(String texto, Map<String, String> parametros) {
+        if (texto == null || texto.isEmpty()) {
+            return;
+        }
+        for (String par : texto.split("&")) {
+            int igual = par.indexOf('=');
+            String nombre = igual < 0 ? par : par.substring(0, igual);
+            String valor = igual < 0 ? "" : par.substring(igual + 1);
+            parametros.put(URLDecoder.decode(nombre, StandardCharsets.UTF_8),
+                    URLDecoder.decode(valor, StandardCharsets.UTF_8));
+        }
+    }
+    
+    private static String error(String mensaje) {
+        return "{\"error\": " + ExportadorResultados.cadenaJson(mensaje) + "}";
+    }
+    
+    private static void responder(HttpExchange intercambio, int estado, String json) throws IOException {
+        byte[] cuerpo = json.getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        intercambio.sendResponseHeaders(estado, cuerpo.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(cuerpo);
+        }
+    }
+}
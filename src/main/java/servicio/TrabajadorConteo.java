@@ -0,0 +1,117 @@
+package servicio;
+
+import interfaces.ISudokuSolver;
+import modelo.GrillaSudoku;
+import modelo.ResultadoBusqueda;
+import modelo.TokenCancelacion;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Proceso trabajador de un conteo distribuido: se conecta a un
+ * {@link CoordinadorConteo} y cuenta con su motor las partes que este le envía,
+ * hasta que el coordinador lo despide o se cierra la conexión.
+ *
+ * Cada parte se cuenta en un hilo aparte mientras se siguen leyendo los mensajes
+ * del coordinador, para poder abandonarla si este la cancela.
+ */
+public class TrabajadorConteo {
+    private final ISudokuSolver resolvedor;
+    
+    public TrabajadorConteo(ISudokuSolver resolvedor) {
+        this.resolvedor = resolvedor;
+    }
+    
+    /**
+     * Atiende al coordinador hasta que lo despide
+     * @param host Máquina del coordinador
+     * @param puerto Puerto del coordinador
+     * @return Cantidad de partes contadas, incluidas las canceladas
+     * @throws IOException si no se puede conectar o la conexión se corta
+     */
+    public int ejecutar(String host, int puerto) throws IOException {
+        int contadas = 0;
+        ExecutorService contador = Executors.newSingleThreadExecutor();
+        Future<?> enCurso = null;
+        TokenCancelacion token = null;
+        String idEnCurso = null;
+        try (Socket conexion = new Socket(host, puerto);
+             BufferedReader lector = new BufferedReader(new InputStreamReader(conexion.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter escritor = new BufferedWriter(new OutputStreamWriter(conexion.getOutputStream(), StandardCharsets.UTF_8))) {
+            String mensaje;
+            while ((mensaje = lector.readLine()) != null && !mensaje.equals("FIN")) {
+                String[] campos = mensaje.split(" ");
+                if (campos.length == 2 && campos[0].equals("CANCELAR")) {
+                    // Puede llegar después de la respuesta: entonces no hay nada que cancelar
+                    if (campos[1].equals(idEnCurso)) {
+                        token.cancelar();
+                    }
+                    continue;
+                }
+                if (campos.length != 4 || !campos[0].equals("TAREA")) {
+                    throw new IOException("Mensaje inválido del coordinador: " + mensaje);
+                }
+                esperar(enCurso);
+                String id = campos[1];
+                int tope = Integer.parseInt(campos[2]);
+                GrillaSudoku grilla = GrillaSudoku.desdeCadena(campos[3]);
+                TokenCancelacion tokenParte = new TokenCancelacion();
+                token = tokenParte;
+                idEnCurso = id;
+                enCurso = contador.submit(() -> {
+                    ResultadoBusqueda resultado = resolvedor.contarSoluciones(grilla, tope, tokenParte);
+                    try {
+                        synchronized (escritor) {
+                            escritor.write("RESULTADO " + id + " " + resultado.obtenerSoluciones()
+                                    + " " + resultado.obtenerNodos() + "\n");
+                            escritor.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                contadas++;
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Mensaje inválido del coordinador: " + e.getMessage(), e);
+        } finally {
+            if (token != null) {
+                token.cancelar();
+            }
+            contador.shutdown();
+        }
+        return contadas;
+    }
+    
+    /**
+     * Espera a que termine la parte anterior: el coordinador manda la siguiente
+     * cuando recibe su resultado, pero el hilo que la contó puede no haber terminado
+     */
+    private static void esperar(Future<?> parte) throws IOException {
+        if (parte == null) {
+            return;
+        }
+        try {
+            parte.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException("Falló el conteo de una parte", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Trabajador interrumpido", e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package vista;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Canal entre un hilo de análisis y una {@link VistaPerformance}.
+ * 
+ * El hilo de análisis puede reportar progreso y publicar resultados parciales
+ * tantas veces como quiera sin tocar la cola de eventos de Swing: el progreso se
+ * sobrescribe (solo interesa el último) y los resultados se encolan. Un timer de
+ * Swing aplica lo acumulado a la vista a una frecuencia fija, de modo que miles
+ * de ejecuciones generan como mucho unas pocas decenas de repintados por segundo.
+ */
+public class PublicadorProgreso {
+    private static final int CUADROS_POR_SEGUNDO = 20;
+    
+    private final VistaPerformance vista;
+    private final AtomicReference<Progreso> ultimoProgreso;
+    private final ConcurrentLinkedQueue<Runnable> actualizacionesPendientes;
+    private final Timer timer;
+    
+    public PublicadorProgreso(VistaPerformance vista) {
+        this.vista = vista;
+        this.ultimoProgreso = new AtomicReference<>();
+        this.actualizacionesPendientes = new ConcurrentLinkedQueue<>();
+        this.timer = new Timer(1000 / CUADROS_POR_SEGUNDO, e -> aplicarPendientes());
+        this.timer.setCoalesce(true);
+    }
+    
+    /**
+     * Comienza a aplicar las actualizaciones a la vista. Se puede llamar desde cualquier hilo.
+     */
+    public void iniciar() {
+        SwingUtilities.invokeLater(timer::start);
+    }
+    
+    /**
+     * Registra el progreso actual; reemplaza al anterior si todavía no se mostró.
+     * Se puede llamar desde cualquier hilo.
+     */
+    public void reportarProgreso(int valor, int maximo, String mensaje) {
+        ultimoProgreso.set(new Progreso(valor, maximo, mensaje));
+    }
+    
+    /**
+     * Encola una actualización de la vista (por ejemplo, agregar un resultado parcial)
+     * que se ejecutará en el hilo de Swing en el próximo cuadro. Se puede llamar desde cualquier hilo.
+     */
+    public void publicar(Runnable actualizacionVista) {
+        actualizacionesPendientes.add(actualizacionVista);
+    }
+    
+    /**
+     * Aplica todo lo pendiente, detiene el timer y luego ejecuta la acción final
+     * en el hilo de Swing. Se puede llamar desde cualquier hilo.
+     * @param alTerminar Acción a ejecutar después del último cuadro, o null
+     */
+    public void finalizar(Runnable alTerminar) {
+        SwingUtilities.invokeLater(() -> {
+            timer.stop();
+            aplicarPendientes();
+            if (alTerminar != null) {
+                alTerminar.run();
+            }
+        });
+    }
+    
+    private void aplicarPendientes() {
+        Progreso progreso = ultimoProgreso.getAndSet(null);
+        if (progreso != null) {
+            vista.actualizarProgreso(progreso.valor, progreso.maximo, progreso.mensaje);
+        }
+        Runnable actualizacion;
+        while ((actualizacion = actualizacionesPendientes.poll()) != null) {
+            actualizacion.run();
+        }
+    }
+    
+    private static class Progreso {
+        private final int valor;
+        private final int maximo;
+        private final String mensaje;
+        
+        private Progreso(int valor, int maximo, String mensaje) {
+            this.valor = valor;
+            this.maximo = maximo;
+            this.mensaje = mensaje;
+        }
+    }
+}
@@ -1,18 +1,30 @@
 package vista;
 
+import modelo.ComparacionMotores;
+import modelo.ResultadoEscalabilidad;
+import modelo.ResultadoMedicion;
+
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
+import org.jfree.chart.axis.NumberAxis;
 import org.jfree.chart.labels.CategoryItemLabelGenerator;
 import org.jfree.chart.labels.StandardCategoryItemLabelGenerator;
 import org.jfree.chart.plot.CategoryPlot;
 import org.jfree.chart.plot.PlotOrientation;
+import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.category.CategoryItemRenderer;
+import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.data.category.DefaultCategoryDataset;
+import org.jfree.data.xy.XYSeries;
+import org.jfree.data.xy.XYSeriesCollection;
 import java.text.DecimalFormat;
 
 import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.awt.event.ActionListener;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -27,6 +39,12 @@ public class VistaPerformance extends JDialog {
     private ChartPanel chartPanel;
     private JLabel etiquetaProgreso;
     private JProgressBar barraProgreso;
+    private DefaultTableModel modeloMetricas;
+    private JTable tablaMetricas;
+    private JScrollPane panelMetricas;
+    private JButton botonExportarCsv;
+    private JButton botonExportarJson;
+    private JPanel panelExportacion;
     
     public VistaPerformance(JFrame parent) {
         super(parent, "Análisis de Performance", true);
@@ -67,6 +85,26 @@ public class VistaPerformance extends JDialog {
         barraProgreso = new JProgressBar(0, 100);
         barraProgreso.setStringPainted(true);
         barraProgreso.setValue(0);
+        
+        modeloMetricas = new DefaultTableModel(new Object[]{
+            "Prefijados", "Tiempo (ms)", "Nodos", "Retrocesos", "Verificaciones",
+            "Prof. máx.", "Eliminaciones", "ns/nodo", "KB/resolución",
+            "Generar (ms)", "KB/generación", "Unicidad (ms)", "KB/unicidad"
+        }, 0) {
+            @Override
+            public boolean isCellEditable(int fila, int columna) {
+                return false;
+            }
+        };
+        tablaMetricas = new JTable(modeloMetricas);
+        panelMetricas = new JScrollPane(tablaMetricas);
+        panelMetricas.setPreferredSize(new Dimension(1000, 180));
+        
+        botonExportarCsv = new JButton("Exportar CSV");
+        botonExportarJson = new JButton("Exportar JSON");
+        panelExportacion = new JPanel(new FlowLayout());
+        panelExportacion.add(botonExportarCsv);
+        panelExportacion.add(botonExportarJson);
     }
     
     private void organizarComponentes() {
@@ -84,8 +122,20 @@ public class VistaPerformance extends JDialog {
         setLocationRelativeTo(getParent());
     }
     
+    /**
+     * Ejecuta la acción inmediatamente si ya se está en el hilo de Swing,
+     * o la encola en él en caso contrario
+     */
+    private static void enHiloSwing(Runnable accion) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            accion.run();
+        } else {
+            SwingUtilities.invokeLater(accion);
+        }
+    }
+    
     public void actualizarProgreso(int valor, int maximo, String mensaje) {
-        SwingUtilities.invokeLater(() -> {
+        enHiloSwing(() -> {
             barraProgreso.setMaximum(maximo);
             barraProgreso.setValue(valor);
             etiquetaProgreso.setText(mensaje);
@@ -93,7 +143,7 @@ public class VistaPerformance extends JDialog {
     }
     
     public void mostrarResultados(Map<Integer, Double> resultados) {
-        SwingUtilities.invokeLater(() -> {
+        enHiloSwing(() -> {
             dataset.clear();
             
             // Ordenar las cantidades de menor a mayor
@@ -112,12 +162,233 @@ public class VistaPerformance extends JDialog {
         });
     }
     
+    /**
+     * Muestra el tiempo promedio en el gráfico y, debajo, una tabla con las métricas
+     * de búsqueda promedio de cada cantidad de valores prefijados.
+     * @param resultados Resultados indexados por cantidad de valores prefijados
+     */
+    public void mostrarResultadosDetallados(Map<Integer, ResultadoMedicion> resultados) {
+        enHiloSwing(() -> {
+            dataset.clear();
+            modeloMetricas.setRowCount(0);
+            
+            List<Integer> cantidadesOrdenadas = new ArrayList<>(resultados.keySet());
+            Collections.sort(cantidadesOrdenadas);
+            
+            tablaMetricas.setModel(modeloMetricas);
+            for (Integer cantidad : cantidadesOrdenadas) {
+                ResultadoMedicion resultado = resultados.get(cantidad);
+                dataset.addValue(resultado.obtenerTiempoPromedioMs(), "Tiempo Promedio",
+                    String.valueOf(cantidad));
+                modeloMetricas.addRow(filaMetricas(resultado));
+            }
+            
+            if (panelMetricas.getParent() == null) {
+                add(panelMetricas, BorderLayout.SOUTH);
+                pack();
+            }
+            
+            barraProgreso.setValue(barraProgreso.getMaximum());
+            etiquetaProgreso.setText("Análisis completado. " + resultados.size() + " puntos analizados.");
+            
+            chartPanel.repaint();
+        });
+    }
+    
+    /**
+     * Agrega al gráfico y a la tabla el resultado de una cantidad de valores prefijados
+     * apenas termina de medirse, sin esperar al resto del análisis.
+     * @param resultado Resultado de la cantidad recién medida
+     */
+    public void agregarResultadoParcial(ResultadoMedicion resultado) {
+        enHiloSwing(() -> {
+            if (panelMetricas.getParent() == null) {
+                dataset.clear();
+                modeloMetricas.setRowCount(0);
+                tablaMetricas.setModel(modeloMetricas);
+                add(panelMetricas, BorderLayout.SOUTH);
+                pack();
+            }
+            
+            int cantidad = resultado.obtenerCantidadPrefijados();
+            dataset.addValue(resultado.obtenerTiempoPromedioMs(), "Tiempo Promedio", String.valueOf(cantidad));
+            
+            // Mantener las filas ordenadas por cantidad, reemplazando si ya existía
+            int posicion = 0;
+            while (posicion < modeloMetricas.getRowCount()
+                    && (Integer) modeloMetricas.getValueAt(posicion, 0) < cantidad) {
+                posicion++;
+            }
+            if (posicion < modeloMetricas.getRowCount() && (Integer) modeloMetricas.getValueAt(posicion, 0) == cantidad) {
+                modeloMetricas.removeRow(posicion);
+            }
+            modeloMetricas.insertRow(posicion, filaMetricas(resultado));
+        });
+    }
+    
+    private static Object[] filaMetricas(ResultadoMedicion resultado) {
+        DecimalFormat formato = new DecimalFormat("#,##0.##");
+        return new Object[]{
+            resultado.obtenerCantidadPrefijados(),
+            formato.format(resultado.obtenerTiempoPromedioMs()),
+            formato.format(resultado.obtenerNodosPromedio()),
+            formato.format(resultado.obtenerRetrocesosPromedio()),
+            formato.format(resultado.obtenerVerificacionesPromedio()),
+            resultado.obtenerProfundidadMaxima(),
+            formato.format(resultado.obtenerEliminacionesPromedio()),
+            formato.format(resultado.obtenerNanosegundosPorNodo()),
+            formato.format(resultado.obtenerBytesResolucionPromedio() / 1024.0),
+            formato.format(resultado.obtenerTiempoGeneracionPromedioMs()),
+            formato.format(resultado.obtenerBytesGeneracionPromedio() / 1024.0),
+            formato.format(resultado.obtenerTiempoConteoPromedioMs()),
+            formato.format(resultado.obtenerBytesConteoPromedio() / 1024.0)
+        };
+    }
+    
+    /**
+     * Muestra una serie de barras por motor con el tiempo promedio de cada cantidad de
+     * valores prefijados, y una tabla con la aceleración de cada motor respecto del primero.
+     * Habilita los botones de exportación de las muestras.
+     * @param comparacion Resultados de la comparación de motores
+     */
+    public void mostrarComparacion(ComparacionMotores comparacion) {
+        enHiloSwing(() -> {
+            dataset.clear();
+            List<String> motores = comparacion.obtenerMotores();
+            
+            List<Object> columnas = new ArrayList<>();
+            columnas.add("Prefijados");
+            for (String motor : motores) {
+                columnas.add(motor + " (ms)");
+            }
+            for (int i = 1; i < motores.size(); i++) {
+                columnas.add("Aceleración " + motores.get(i));
+            }
+            DefaultTableModel modeloComparacion = new DefaultTableModel(columnas.toArray(), 0) {
+                @Override
+                public boolean isCellEditable(int fila, int columna) {
+                    return false;
+                }
+            };
+            
+            DecimalFormat formato = new DecimalFormat("#,##0.##");
+            for (Integer cantidad : comparacion.obtenerCantidades()) {
+                List<Object> fila = new ArrayList<>();
+                fila.add(cantidad);
+                for (String motor : motores) {
+                    double tiempo = comparacion.tiempoPromedio(motor, cantidad);
+                    dataset.addValue(tiempo, motor, String.valueOf(cantidad));
+                    fila.add(formato.format(tiempo));
+                }
+                for (int i = 1; i < motores.size(); i++) {
+                    fila.add(formato.format(comparacion.aceleracion(motores.get(i), cantidad)) + "x");
+                }
+                modeloComparacion.addRow(fila.toArray());
+            }
+            tablaMetricas.setModel(modeloComparacion);
+            chart.setTitle("Tiempo Promedio de Resolución por Motor");
+            
+            if (panelMetricas.getParent() == null) {
+                JPanel panelSur = new JPanel(new BorderLayout());
+                panelSur.add(panelMetricas, BorderLayout.CENTER);
+                panelSur.add(panelExportacion, BorderLayout.SOUTH);
+                add(panelSur, BorderLayout.SOUTH);
+                pack();
+            }
+            
+            barraProgreso.setValue(barraProgreso.getMaximum());
+            etiquetaProgreso.setText("Comparación completada. " + motores.size() + " motores, "
+                    + comparacion.obtenerMuestras().size() + " muestras.");
+        });
+    }
+    
+    /**
+     * Pide al usuario un archivo de destino para una exportación
+     * @param extension Extensión sugerida (sin punto)
+     * @return El archivo elegido, o null si el usuario canceló
+     */
+    public File elegirArchivoDestino(String extension) {
+        JFileChooser selector = new JFileChooser();
+        selector.setSelectedFile(new File("comparacion-motores." + extension));
+        if (selector.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return null;
+        }
+        return selector.getSelectedFile();
+    }
+    
+    public void agregarListenerExportarCsv(ActionListener listener) {
+        botonExportarCsv.addActionListener(listener);
+    }
+    
+    public void agregarListenerExportarJson(ActionListener listener) {
+        botonExportarJson.addActionListener(listener);
+    }
+    
     public void ocultarProgreso() {
-        SwingUtilities.invokeLater(() -> {
+        enHiloSwing(() -> {
             remove(barraProgreso.getParent());
             revalidate();
             repaint();
         });
     }
+    
+    /**
+     * Reemplaza el gráfico por una curva de escalabilidad: throughput medido contra
+     * el escalado lineal ideal, y la latencia promedio por resolución en un segundo eje.
+     * @param motor Nombre del motor medido, para el título
+     * @param resultados Resultados indexados por cantidad de hilos
+     */
+    public void mostrarEscalabilidad(String motor, Map<Integer, ResultadoEscalabilidad> resultados) {
+        enHiloSwing(() -> {
+            List<Integer> nivelesOrdenados = new ArrayList<>(resultados.keySet());
+            Collections.sort(nivelesOrdenados);
+            
+            XYSeries throughput = new XYSeries("Throughput medido");
+            XYSeries ideal = new XYSeries("Escalado lineal ideal");
+            XYSeries latencia = new XYSeries("Latencia promedio");
+            
+            double throughputPorHiloBase = 0.0;
+            if (!nivelesOrdenados.isEmpty()) {
+                ResultadoEscalabilidad base = resultados.get(nivelesOrdenados.get(0));
+                throughputPorHiloBase = base.obtenerThroughput() / base.obtenerHilos();
+            }
+            
+            for (Integer hilos : nivelesOrdenados) {
+                ResultadoEscalabilidad resultado = resultados.get(hilos);
+                throughput.add(hilos.doubleValue(), resultado.obtenerThroughput());
+                ideal.add(hilos.doubleValue(), throughputPorHiloBase * hilos);
+                latencia.add(hilos.doubleValue(), resultado.obtenerLatenciaPromedioMs());
+            }
+            
+            XYSeriesCollection datosThroughput = new XYSeriesCollection();
+            datosThroughput.addSeries(throughput);
+            datosThroughput.addSeries(ideal);
+            
+            JFreeChart graficoEscalabilidad = ChartFactory.createXYLineChart(
+                "Escalabilidad de " + motor + " por Cantidad de Hilos",
+                "Hilos trabajadores",
+                "Throughput (resoluciones/s)",
+                datosThroughput,
+                PlotOrientation.VERTICAL,
+                true,
+                true,
+                false
+            );
+            
+            XYPlot plot = graficoEscalabilidad.getXYPlot();
+            plot.setRenderer(0, new XYLineAndShapeRenderer(true, true));
+            ((NumberAxis) plot.getDomainAxis()).setStandardTickUnits(NumberAxis.createIntegerTickUnits());
+            
+            plot.setDataset(1, new XYSeriesCollection(latencia));
+            plot.setRangeAxis(1, new NumberAxis("Latencia promedio (ms)"));
+            plot.mapDatasetToRangeAxis(1, 1);
+            plot.setRenderer(1, new XYLineAndShapeRenderer(true, true));
+            
+            chart = graficoEscalabilidad;
+            chartPanel.setChart(chart);
+            
+            barraProgreso.setValue(barraProgreso.getMaximum());
+            etiquetaProgreso.setText("Análisis completado. " + resultados.size() + " niveles de paralelismo medidos.");
+        });
+    }
 }
-
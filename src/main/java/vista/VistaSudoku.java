@@ -24,8 +24,11 @@ public class VistaSudoku extends JFrame {
     private JButton botonValidar;
     private JButton botonContarSoluciones;
     private JButton botonAnalisisPerformance;
+    private JButton botonEscalabilidad;
+    private JButton botonCompararMotores;
     private JButton botonSolucionAnterior;
     private JButton botonSolucionSiguiente;
+    private JButton botonIrASolucion;
     private JSpinner spinnerPrefijados;
     private JLabel etiquetaEstado;
     private JLabel etiquetaInfoSolucion;
@@ -99,8 +102,11 @@ public class VistaSudoku extends JFrame {
         botonValidar = new JButton("Validar");
         botonContarSoluciones = new JButton("Contar Soluciones");
         botonAnalisisPerformance = new JButton("Análisis de Performance");
+        botonEscalabilidad = new JButton("Escalabilidad Multinúcleo");
+        botonCompararMotores = new JButton("Comparar Motores");
         botonSolucionAnterior = new JButton("← Anterior");
         botonSolucionSiguiente = new JButton("Siguiente →");
+        botonIrASolucion = new JButton("Ir a...");
         
         spinnerPrefijados = new JSpinner(new SpinnerNumberModel(30, 17, 81, 1));
         spinnerPrefijados.setPreferredSize(new Dimension(80, 25));
@@ -135,6 +141,7 @@ public class VistaSudoku extends JFrame {
         
         botonSolucionAnterior.setEnabled(false);
         botonSolucionSiguiente.setEnabled(false);
+        botonIrASolucion.setEnabled(false);
         actualizarNavegacionSoluciones(0, 0);
     }
     
@@ -163,12 +170,15 @@ public class VistaSudoku extends JFrame {
         panelControles.add(botonGenerar);
         panelControles.add(botonContarSoluciones);
         panelControles.add(botonAnalisisPerformance);
+        panelControles.add(botonEscalabilidad);
+        panelControles.add(botonCompararMotores);
         
         // Panel de navegación de soluciones
         JPanel panelSoluciones = new JPanel(new FlowLayout());
         panelSoluciones.add(botonSolucionAnterior);
         panelSoluciones.add(etiquetaInfoSolucion);
         panelSoluciones.add(botonSolucionSiguiente);
+        panelSoluciones.add(botonIrASolucion);
         
         // Panel de estado
         JPanel panelEstado = new JPanel(new FlowLayout());
@@ -258,6 +268,7 @@ public class VistaSudoku extends JFrame {
         boolean haySoluciones = total > 0;
         botonSolucionAnterior.setEnabled(haySoluciones && indiceActual > 0);
         botonSolucionSiguiente.setEnabled(haySoluciones && indiceActual < total - 1);
+        botonIrASolucion.setEnabled(total > 1);
         
         if (haySoluciones) {
             establecerInfoSolucion("Solución " + (indiceActual + 1) + " de " + total);
@@ -312,6 +323,14 @@ public class VistaSudoku extends JFrame {
         botonAnalisisPerformance.addActionListener(listener);
     }
     
+    public void agregarListenerEscalabilidad(ActionListener listener) {
+        botonEscalabilidad.addActionListener(listener);
+    }
+    
+    public void agregarListenerCompararMotores(ActionListener listener) {
+        botonCompararMotores.addActionListener(listener);
+    }
+    
     public void agregarListenerSolucionAnterior(ActionListener listener) {
         botonSolucionAnterior.addActionListener(listener);
     }
@@ -320,6 +339,44 @@ public class VistaSudoku extends JFrame {
         botonSolucionSiguiente.addActionListener(listener);
     }
     
+    public void agregarListenerIrASolucion(ActionListener listener) {
+        botonIrASolucion.addActionListener(listener);
+    }
+    
+    /**
+     * Pide al usuario el motor a medir
+     * @param motores Nombres de los motores disponibles; el primero se ofrece por defecto
+     * @return El nombre elegido, o null si el usuario canceló
+     */
+    public String solicitarMotor(java.util.List<String> motores) {
+        return (String) JOptionPane.showInputDialog(this, "Motor a medir:", "Escalabilidad",
+                JOptionPane.QUESTION_MESSAGE, null, motores.toArray(), motores.get(0));
+    }
+    
+    /**
+     * Pide al usuario el número de solución a mostrar
+     * @param total Cantidad de soluciones disponibles
+     * @return El número elegido (base uno), o -1 si el usuario canceló o escribió un valor inválido
+     */
+    public int solicitarNumeroSolucion(int total) {
+        String texto = JOptionPane.showInputDialog(this,
+                "Número de solución (1 a " + total + "):", "Ir a solución", JOptionPane.QUESTION_MESSAGE);
+        if (texto == null) {
+            return -1;
+        }
+        try {
+            int numero = Integer.parseInt(texto.trim().replace(".", "").replace(",", ""));
+            if (numero >= 1 && numero <= total) {
+                return numero;
+            }
+        } catch (NumberFormatException e) {
+            // Se informa igual que un número fuera de rango
+        }
+        JOptionPane.showMessageDialog(this, "Ingrese un número entre 1 y " + total + ".",
+                "Número inválido", JOptionPane.WARNING_MESSAGE);
+        return -1;
+    }
+    
     /**
      * Confirma el valor de una celda, validando y normalizando el texto
      */
@@ -0,0 +1,207 @@
+package consola;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests unitarios para la clase ModoLote
+ */
+public class ModoLoteTest {
+    private static final String SUDOKU =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    private static final String SOLUCION =
+            "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+    private static final String CONFLICTO = "55" + ".".repeat(79);
+    
+    @TempDir
+    Path directorio;
+    
+    private ByteArrayOutputStream salida;
+    private ByteArrayOutputStream informe;
+    
+    @BeforeEach
+    public void setUp() {
+        salida = new ByteArrayOutputStream();
+        informe = new ByteArrayOutputStream();
+    }
+    
+    private int ejecutar(String entrada, String... argumentos) {
+        ModoLote modo = new ModoLote(
+                new ByteArrayInputStream(entrada.getBytes(StandardCharsets.UTF_8)),
+                salida,
+                new PrintStream(informe, true, StandardCharsets.UTF_8));
+        return modo.ejecutar(argumentos);
+    }
+    
+    private String[] lineasSalida() {
+        return salida.toString(StandardCharsets.UTF_8).split("\n");
+    }
+    
+    @Test
+    public void testResolverMantieneElOrdenDeEntrada() {
+        StringBuilder entrada = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            entrada.append(i % 2 == 0 ? SUDOKU : CONFLICTO).append('\n');
+        }
+        
+        int codigo = ejecutar(entrada.toString(), "--hilos", "4", "--ventana", "3");
+        
+        assertEquals(ModoLote.EXITO, codigo);
+        String[] lineas = lineasSalida();
+        assertEquals(50, lineas.length);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i % 2 == 0 ? SOLUCION : "sin solución", lineas[i]);
+        }
+        assertTrue(informe.toString(StandardCharsets.UTF_8).contains("Throughput"));
+    }
+    
+    @Test
+    public void testArchivoMapeadoPorFragmentos() throws IOException {
+        StringBuilder entrada = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            entrada.append(i % 4 == 3 ? "x" : i % 2 == 0 ? SUDOKU : CONFLICTO).append('\n');
+        }
+        Path archivo = directorio.resolve("entrada.txt");
+        Path resultados = directorio.resolve("salida.txt");
+        Files.writeString(archivo, entrada);
+        
+        int codigo = ejecutar("", "--entrada", archivo.toString(), "--salida", resultados.toString(),
+                "--hilos", "3", "--fragmento", "300");
+        
+        assertEquals(ModoLote.CON_ERRORES_DE_ENTRADA, codigo);
+        List<String> lineas = Files.readAllLines(resultados);
+        assertEquals(40, lineas.size());
+        for (int i = 0; i < 40; i++) {
+            String esperada = i % 4 == 3 ? "error: Se esperaban 81 caracteres" : i % 2 == 0 ? SOLUCION : "sin solución";
+            assertEquals(esperada, lineas.get(i));
+        }
+    }
+    
+    @Test
+    public void testErroresIgualesEnAmbasLecturas() throws IOException {
+        String entrada = SUDOKU + "\n" + "x" + SUDOKU.substring(1) + "\n" + "  abc  \n";
+        Path archivo = directorio.resolve("errores.txt");
+        Path resultados = directorio.resolve("errores-salida.txt");
+        Files.writeString(archivo, entrada);
+        
+        ejecutar(entrada);
+        ejecutar("", "--entrada", archivo.toString(), "--salida", resultados.toString());
+        
+        List<String> esperadas = List.of(SOLUCION,
+                "error: Carácter inválido en la posición 0: 'x'", "error: Se esperaban 81 caracteres");
+        assertEquals(esperadas, List.of(lineasSalida()));
+        assertEquals(esperadas, Files.readAllLines(resultados));
+    }
+    
+    @Test
+    public void testPresupuestoPorSudoku() {
+        // Casi vacía y sin simetría de dígitos: su conteo no termina en el presupuesto
+        String casiVacia = "12345678" + ".".repeat(73);
+        String entrada = casiVacia + "\n" + SUDOKU + "\n";
+        
+        int codigo = ejecutar(entrada, "--operacion", "contar", "--presupuesto", "20", "--hilos", "2");
+        
+        assertEquals(ModoLote.CON_TIEMPO_AGOTADO, codigo);
+        String[] lineas = lineasSalida();
+        assertTrue(lineas[0].startsWith("tiempo agotado: al menos "), lineas[0]);
+        assertEquals("1", lineas[1]);
+        assertTrue(informe.toString(StandardCharsets.UTF_8).contains("1 con tiempo agotado"));
+        
+        // Con registros inválidos además de tiempo agotado, el error de entrada tiene prioridad
+        salida.reset();
+        assertNotEquals(ModoLote.CON_ERRORES_DE_ENTRADA, ModoLote.CON_TIEMPO_AGOTADO);
+        assertEquals(ModoLote.CON_ERRORES_DE_ENTRADA,
+                ejecutar(entrada + "abc\n", "--operacion", "contar", "--presupuesto", "20", "--hilos", "2"));
+    }
+    
+    @Test
+    public void testConteoReanudadoDesdePuntosDeControl() throws IOException {
+        // El mismo Sudoku dos veces: cada línea tiene su propio punto de control
+        String sudoku = SOLUCION.replaceAll("[1-5]", ".");
+        String entrada = sudoku + "\n" + sudoku + "\n";
+        Path puntos = directorio.resolve("puntos");
+        
+        int codigo = ejecutar(entrada, "--operacion", "contar", "--motor", "Backtracking",
+                "--presupuesto", "5", "--puntos-control", puntos.toString());
+        
+        assertEquals(ModoLote.CON_TIEMPO_AGOTADO, codigo);
+        assertTrue(lineasSalida()[0].startsWith("tiempo agotado: al menos "));
+        Path ilegible;
+        try (Stream<Path> archivos = Files.list(puntos)) {
+            List<Path> guardados = archivos.sorted().collect(Collectors.toList());
+            assertEquals(2, guardados.size());
+            ilegible = guardados.get(0);
+        }
+        
+        // Un punto de control ilegible se descarta con un aviso, sin abortar el lote
+        Files.writeString(ilegible, "formato anterior\n");
+        salida.reset();
+        codigo = ejecutar(entrada, "--operacion", "contar", "--motor", "Backtracking",
+                "--puntos-control", puntos.toString());
+        
+        assertEquals(ModoLote.EXITO, codigo);
+        assertArrayEquals(new String[] {"787200", "787200"}, lineasSalida());
+        assertTrue(informe.toString(StandardCharsets.UTF_8).contains("Aviso: se descarta el punto de control ilegible"));
+        try (Stream<Path> archivos = Files.list(puntos)) {
+            assertEquals(0, archivos.count());
+        }
+    }
+    
+    @Test
+    public void testContarYValidar() {
+        String entrada = SUDOKU + "\n\n" + ".".repeat(81) + "\n";
+        
+        assertEquals(ModoLote.EXITO, ejecutar(entrada, "--operacion", "contar", "--limite", "5"));
+        assertArrayEquals(new String[] {"1", "5"}, lineasSalida());
+        
+        salida.reset();
+        assertEquals(ModoLote.EXITO, ejecutar(SUDOKU + "\n" + CONFLICTO + "\n", "--operacion", "validar"));
+        assertArrayEquals(new String[] {"válida", "inválida"}, lineasSalida());
+        
+        salida.reset();
+        assertEquals(ModoLote.EXITO, ejecutar(SUDOKU + "\n" + CONFLICTO + "\n", "--operacion", "contar-exacto"));
+        assertArrayEquals(new String[] {"1", "0"}, lineasSalida());
+    }
+    
+    @Test
+    public void testConteoExactoImposibleNoDetieneElLote() {
+        // Un prefijado por banda: los estados superan el máximo en la cuarta fila
+        String disperso = "1" + ".".repeat(30) + "2" + ".".repeat(30) + "3" + ".".repeat(18);
+        
+        int codigo = ejecutar(disperso + "\n" + SUDOKU + "\n", "--operacion", "contar-exacto", "--hilos", "1");
+        
+        assertEquals(ModoLote.CON_TIEMPO_AGOTADO, codigo);
+        String[] lineas = lineasSalida();
+        assertTrue(lineas[0].startsWith("sin conteo exacto: "), lineas[0]);
+        assertEquals("1", lineas[1]);
+    }
+    
+    @Test
+    public void testLineaMalformada() {
+        int codigo = ejecutar(SUDOKU + "\nabc\n", "--hilos", "1");
+        
+        assertEquals(ModoLote.CON_ERRORES_DE_ENTRADA, codigo);
+        String[] lineas = lineasSalida();
+        assertEquals(SOLUCION, lineas[0]);
+        assertTrue(lineas[1].startsWith("error:"));
+    }
+    
+    @Test
+    public void testOperacionDesconocida() {
+        assertEquals(ModoLote.ERROR, ejecutar("", "--operacion", "borrar"));
+        assertEquals(ModoLote.ERROR, ejecutar("", "--motor", "Inexistente"));
+    }
+}
@@ -0,0 +1,161 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import interfaces.ISudokuSolver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Tests unitarios para la clase AnalizadorPerformance
+ */
+public class AnalizadorPerformanceTest {
+    private AnalizadorPerformance analizador;
+    
+    @BeforeEach
+    public void setUp() {
+        analizador = new AnalizadorPerformance();
+    }
+    
+    @Test
+    public void testNivelesHilosPorDefecto() {
+        List<Integer> niveles = analizador.nivelesHilosPorDefecto();
+        
+        assertEquals(1, niveles.get(0));
+        assertEquals(Runtime.getRuntime().availableProcessors(), niveles.get(niveles.size() - 1));
+        for (int i = 1; i < niveles.size(); i++) {
+            assertTrue(niveles.get(i) > niveles.get(i - 1));
+        }
+    }
+    
+    @Test
+    public void testMedirRendimientoReportaMetricas() {
+        ResultadoMedicion resultado = analizador.medirRendimiento(30, 3, null);
+        
+        assertEquals(30, resultado.obtenerCantidadPrefijados());
+        assertEquals(3, resultado.obtenerEjecuciones());
+        assertTrue(resultado.obtenerNodosPromedio() >= 52); // Al menos un nodo por celda vacía
+        assertTrue(resultado.obtenerVerificacionesPromedio() > 0);
+        assertTrue(resultado.obtenerProfundidadMaxima() >= 51);
+        assertTrue(resultado.obtenerTiempoGeneracionPromedioMs() > 0);
+        assertTrue(resultado.obtenerTiempoConteoPromedioMs() > 0);
+    }
+    
+    @Test
+    public void testMedirRendimientoReportaAsignaciones() {
+        assumeTrue(MedidorAsignaciones.estaDisponible());
+        ResultadoMedicion resultado = analizador.medirRendimiento(30, 3, null);
+        
+        // Cada Sudoku generado asigna al menos su grilla de 9x9 y las posiciones a vaciar
+        assertTrue(resultado.obtenerBytesGeneracionPromedio() > 81 * 4);
+        assertTrue(resultado.obtenerBytesResolucionPromedio() > 0);
+        assertTrue(resultado.obtenerBytesConteoPromedio() > 0);
+    }
+    
+    @Test
+    public void testAnalizarEscalabilidad() {
+        AtomicInteger progreso = new AtomicInteger(0);
+        List<Integer> niveles = new ArrayList<>(List.of(1, 2));
+        
+        Map<Integer, ResultadoEscalabilidad> resultados =
+                analizador.analizarEscalabilidad(40, 6, niveles, incremento -> progreso.incrementAndGet());
+        
+        assertEquals(2, resultados.size());
+        assertEquals(12, progreso.get());
+        for (Integer hilos : niveles) {
+            ResultadoEscalabilidad resultado = resultados.get(hilos);
+            assertEquals(hilos, resultado.obtenerHilos());
+            assertEquals(6, resultado.obtenerResoluciones());
+            assertTrue(resultado.obtenerLatenciaMaximaMs() >= resultado.obtenerLatenciaPromedioMs());
+        }
+    }
+    
+    @Test
+    public void testAnalizarEscalabilidadEntregaResultadosParciales() {
+        List<Integer> tamanosParciales = new ArrayList<>();
+        AtomicInteger motoresCreados = new AtomicInteger(0);
+        Supplier<ISudokuSolver> motor = () -> {
+            motoresCreados.incrementAndGet();
+            return CatalogoMotores.crear(CatalogoMotores.MRV);
+        };
+        
+        Map<Integer, ResultadoEscalabilidad> resultados = analizador.analizarEscalabilidad(
+                motor, 40, 4, List.of(1, 2), null, parciales -> tamanosParciales.add(parciales.size()));
+        
+        assertEquals(List.of(1, 2), tamanosParciales);
+        assertEquals(2, motoresCreados.get());
+        assertEquals(2, resultados.size());
+    }
+    
+    @Test
+    public void testCompararMotoresUsaLasMismasEntradas() {
+        ComparacionMotores comparacion = analizador.compararMotores(
+                CatalogoMotores.motoresDisponibles(), List.of(30, 40), 3, 99, null);
+        
+        assertEquals(List.of(CatalogoMotores.BACKTRACKING, CatalogoMotores.MRV, CatalogoMotores.REINICIOS,
+                CatalogoMotores.CONFLICTOS), comparacion.obtenerMotores());
+        assertEquals(List.of(30, 40), comparacion.obtenerCantidades());
+        assertEquals(2 * 3 * 4, comparacion.obtenerMuestras().size());
+        for (MuestraRendimiento muestra : comparacion.obtenerMuestras()) {
+            assertTrue(muestra.obtenerNodos() > 0);
+        }
+        
+        // La misma semilla produce las mismas entradas, y por lo tanto los mismos nodos
+        ComparacionMotores repetida = analizador.compararMotores(
+                CatalogoMotores.motoresDisponibles(), List.of(30, 40), 3, 99, null);
+        for (int i = 0; i < comparacion.obtenerMuestras().size(); i++) {
+            assertEquals(comparacion.obtenerMuestras().get(i).obtenerNodos(),
+                    repetida.obtenerMuestras().get(i).obtenerNodos());
+        }
+    }
+    
+    @Test
+    public void testCompararMotoresSobreCorpus() throws Exception {
+        List<GrillaSudoku> corpus = CorpusDificil.cargar().subList(0, 3);
+        Map<String, Supplier<ISudokuSolver>> motores = new LinkedHashMap<>();
+        motores.put(CatalogoMotores.MRV, ResolvedorSudokuMRV::new);
+        motores.put(CatalogoMotores.CONFLICTOS, ResolvedorConflictos::new);
+        
+        ComparacionMotores comparacion = analizador.compararMotores(motores, corpus, 2, 0, 10_000, null);
+        
+        assertEquals(3 * 2 * 2, comparacion.obtenerMuestras().size());
+        for (MuestraRendimiento muestra : comparacion.obtenerMuestras()) {
+            GrillaSudoku sudoku = corpus.get(muestra.obtenerIndiceSudoku());
+            assertEquals(sudoku.contarCeldasCompletas(), muestra.obtenerCantidadPrefijados());
+            assertTrue(muestra.obtenerNodos() > 0);
+            assertTrue(muestra.estaCompleta());
+        }
+    }
+    
+    @Test
+    public void testCompararMotoresRegistraLasResolucionesSinTerminar() {
+        // Difícil para la fuerza bruta en orden de filas: tarda segundos sin plazo
+        GrillaSudoku sudoku = GrillaSudoku.desdeCadena(
+                "..............3.85..1.2.......5.7.....4...1...9.......5......73..2.1........4...9");
+        Map<String, Supplier<ISudokuSolver>> motores = new LinkedHashMap<>();
+        motores.put(CatalogoMotores.BACKTRACKING, () -> CatalogoMotores.crear(CatalogoMotores.BACKTRACKING));
+        motores.put(CatalogoMotores.MRV, ResolvedorSudokuMRV::new);
+        
+        ComparacionMotores comparacion = analizador.compararMotores(motores, List.of(sudoku), 1, 0, 50, null);
+        
+        MuestraRendimiento backtracking = comparacion.obtenerMuestras().get(0);
+        assertEquals(CatalogoMotores.BACKTRACKING, backtracking.obtenerSerie());
+        assertFalse(backtracking.estaCompleta());
+        assertEquals(1, comparacion.contarSinTerminar(CatalogoMotores.BACKTRACKING, 17));
+        assertEquals(0.0, comparacion.aceleracion(CatalogoMotores.MRV, 17), 1e-9);
+    }
+    
+    @Test
+    public void testMedirEscalabilidadHilosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> analizador.medirEscalabilidad(
+                () -> CatalogoMotores.crear(CatalogoMotores.MRV), new ArrayList<>(), 0, null));
+    }
+}
@@ -0,0 +1,73 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests unitarios para las clases ArchivoSudokus y LectorSudokus
+ */
+public class ArchivoSudokusTest {
+    private static final String SUDOKU =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    
+    @TempDir
+    Path directorio;
+    
+    private static List<String> leerTodos(LectorSudokus lector) {
+        List<String> leidos = new ArrayList<>();
+        GrillaSudoku grilla = new GrillaSudoku();
+        int estado;
+        while ((estado = lector.siguiente(grilla)) != LectorSudokus.FIN) {
+            leidos.add(estado == LectorSudokus.VALIDO ? grilla.aCadena() : "inválido");
+        }
+        return leidos;
+    }
+    
+    @Test
+    public void testLectorSudokus() {
+        String contenido = "\n  " + SUDOKU.replace('.', '0') + " \r\n\r\n" + SUDOKU + "\nabc\n" + SUDOKU + "1\n" + SUDOKU;
+        LectorSudokus lector = new LectorSudokus(ByteBuffer.wrap(contenido.getBytes(StandardCharsets.US_ASCII)));
+        
+        assertEquals(List.of(SUDOKU, SUDOKU, "inválido", "inválido", SUDOKU), leerTodos(lector));
+    }
+    
+    @Test
+    public void testDividirRespetaLosFinesDeLinea() throws IOException {
+        StringBuilder contenido = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            contenido.append(SUDOKU).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Path ruta = directorio.resolve("sudokus.txt");
+        Files.writeString(ruta, contenido, StandardCharsets.US_ASCII);
+        
+        try (ArchivoSudokus archivo = new ArchivoSudokus(ruta)) {
+            List<FragmentoSudokus> fragmentos = archivo.dividir(500);
+            
+            assertTrue(fragmentos.size() > 1);
+            assertEquals(0, fragmentos.get(0).obtenerInicio());
+            assertEquals(archivo.obtenerTamano(), fragmentos.get(fragmentos.size() - 1).obtenerFin());
+            int total = 0;
+            for (int i = 0; i < fragmentos.size(); i++) {
+                FragmentoSudokus fragmento = fragmentos.get(i);
+                assertEquals(i, fragmento.obtenerIndice());
+                if (i > 0) {
+                    assertEquals(fragmentos.get(i - 1).obtenerFin(), fragmento.obtenerInicio());
+                }
+                for (String leido : leerTodos(fragmento.abrir())) {
+                    assertEquals(SUDOKU, leido);
+                    total++;
+                }
+            }
+            assertEquals(100, total);
+        }
+    }
+}
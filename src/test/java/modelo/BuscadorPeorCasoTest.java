@@ -0,0 +1,70 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Tests unitarios para la clase BuscadorPeorCaso
+ */
+public class BuscadorPeorCasoTest {
+    private static BuscadorPeorCaso crearBuscador() {
+        return new BuscadorPeorCaso(CatalogoMotores.MRV, new ResolvedorSudokuMRV(),
+                BuscadorPeorCaso.Objetivo.NODOS, 42, 10_000);
+    }
+    
+    @Test
+    public void testEncuentraSudokusDeSolucionUnicaOrdenados() {
+        List<PeorCaso> peores = crearBuscador().buscar(4, 30, 3, null);
+        
+        assertEquals(3, peores.size());
+        ResolvedorSudokuMRV verificador = new ResolvedorSudokuMRV();
+        for (int i = 0; i < peores.size(); i++) {
+            PeorCaso caso = peores.get(i);
+            assertEquals(1, verificador.contarSoluciones(caso.obtenerSudoku(), 2));
+            assertTrue(caso.estaCompleta());
+            if (i > 0) {
+                assertTrue(peores.get(i - 1).obtenerNodos() >= caso.obtenerNodos());
+            }
+        }
+    }
+    
+    @Test
+    public void testLasMutacionesNoEmpeoranElPuntoDePartida() {
+        // Con un solo ascenso y la misma semilla, ambos parten del mismo Sudoku mínimo
+        PeorCaso inicial = crearBuscador().buscar(1, 0, 1, null).get(0);
+        PeorCaso ascendido = crearBuscador().buscar(1, 100, 1, null).get(0);
+        
+        assertTrue(ascendido.obtenerNodos() >= inicial.obtenerNodos());
+        assertEquals(ascendido.obtenerSudoku().aCadena(), crearBuscador().buscar(1, 100, 1, null).get(0)
+                .obtenerSudoku().aCadena());
+    }
+    
+    @Test
+    public void testGuardarSeLeeComoCorpus(@TempDir Path directorio) throws Exception {
+        BuscadorPeorCaso buscador = crearBuscador();
+        List<PeorCaso> peores = buscador.buscar(2, 10, 2, null);
+        Path archivo = directorio.resolve("peores").resolve("peores-MRV.txt");
+        
+        buscador.guardar(peores, archivo);
+        List<GrillaSudoku> leidos = CorpusDificil.leer(archivo);
+        
+        assertTrue(Files.readString(archivo).startsWith("# motor=MRV\n# objetivo=nodos\n"));
+        assertEquals(peores.size(), leidos.size());
+        for (int i = 0; i < leidos.size(); i++) {
+            assertEquals(peores.get(i).obtenerSudoku().aCadena(), leidos.get(i).aCadena());
+        }
+    }
+    
+    @Test
+    public void testArgumentosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> crearBuscador().buscar(0, 10, 1, null));
+        assertThrows(IllegalArgumentException.class, () -> crearBuscador().buscar(1, 10, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> new BuscadorPeorCaso(CatalogoMotores.MRV,
+                new ResolvedorSudokuMRV(), BuscadorPeorCaso.Objetivo.TIEMPO, 1, 0));
+    }
+}
@@ -0,0 +1,83 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Tests unitarios para la clase ContadorExacto
+ */
+public class ContadorExactoTest {
+    
+    private static final String RESUELTO =
+            "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+    
+    /**
+     * @return La grilla resuelta con las filas indicadas vaciadas
+     */
+    private static GrillaSudoku sinFilas(int... filas) {
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena(RESUELTO);
+        for (int fila : filas) {
+            for (int columna = 0; columna < 9; columna++) {
+                grilla.establecerValor(fila, columna, 0);
+            }
+        }
+        return grilla;
+    }
+    
+    @Test
+    public void testGrillaResueltaTieneUnaSolucion() {
+        assertEquals(BigInteger.ONE, new ContadorExacto().contar(GrillaSudoku.desdeCadena(RESUELTO)));
+    }
+    
+    @Test
+    public void testCoincideConElResolvedor() {
+        ContadorExacto contador = new ContadorExacto();
+        ResolvedorSudokuMRV resolvedor = new ResolvedorSudokuMRV();
+        GrillaSudoku[] grillas = {
+            new GeneradorSudoku(21).generarSudoku(28),
+            new GeneradorSudoku(5).generarSudoku(24),
+            sinFilas(0, 4, 8),
+            sinFilas(1, 2, 3, 4),
+        };
+        for (GrillaSudoku grilla : grillas) {
+            int esperado = resolvedor.contarSoluciones(grilla, Integer.MAX_VALUE);
+            assertTrue(esperado > 1, "Se esperaban varias soluciones: " + esperado);
+            assertEquals(BigInteger.valueOf(esperado), contador.contar(grilla), grilla.aCadena());
+        }
+    }
+    
+    @Test
+    public void testPrefijadosEnConflictoNoTienenSoluciones() {
+        GrillaSudoku grilla = new GrillaSudoku();
+        grilla.establecerValor(0, 0, 5);
+        grilla.establecerValor(8, 0, 5);
+        assertEquals(BigInteger.ZERO, new ContadorExacto().contar(grilla));
+    }
+    
+    @Test
+    public void testConteoQueNoEntraEnUnInt() {
+        // Solo la primera banda: 72 por los 108.374.976 que publicaron Felgenhauer y Jarvis
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena("123456789456789123789123456" + ".".repeat(54));
+        BigInteger conteo = new ContadorExacto().contar(grilla);
+        
+        assertEquals(new BigInteger("7802998272"), conteo);
+        assertTrue(conteo.compareTo(BigInteger.valueOf(Integer.MAX_VALUE)) > 0);
+    }
+    
+    @Test
+    public void testDemasiadosEstados() {
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena("123456789456789123789123456" + ".".repeat(54));
+        assertThrows(IllegalArgumentException.class, () -> new ContadorExacto(1000).contar(grilla));
+    }
+    
+    @Test
+    public void testCancelacion() {
+        TokenCancelacion token = new TokenCancelacion();
+        token.cancelar();
+        GrillaSudoku grilla = new GeneradorSudoku(5).generarSudoku(20);
+        assertThrows(CancellationException.class, () -> new ContadorExacto().contar(grilla, token));
+    }
+}
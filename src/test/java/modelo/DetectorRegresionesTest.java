@@ -0,0 +1,99 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests unitarios para la clase DetectorRegresiones
+ */
+public class DetectorRegresionesTest {
+    private DetectorRegresiones detector;
+    
+    @BeforeEach
+    public void setUp() {
+        detector = new DetectorRegresiones(0.10, 0.01);
+    }
+    
+    @Test
+    public void testMediana() {
+        assertEquals(2.0, DetectorRegresiones.mediana(new double[]{3, 1, 2}), 1e-9);
+        assertEquals(2.5, DetectorRegresiones.mediana(new double[]{4, 1, 3, 2}), 1e-9);
+        assertEquals(0.0, DetectorRegresiones.mediana(new double[]{}), 1e-9);
+    }
+    
+    @Test
+    public void testPValorMannWhitney() {
+        double[] a = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        double[] b = {11, 12, 13, 14, 15, 16, 17, 18, 19, 20};
+        
+        // b claramente mayor que a: p-valor muy chico; al revés, cercano a 1
+        assertTrue(DetectorRegresiones.pValorMannWhitney(a, b) < 0.001);
+        assertTrue(DetectorRegresiones.pValorMannWhitney(b, a) > 0.999);
+        
+        // Distribuciones idénticas (todo empatado): sin evidencia de diferencia
+        double[] iguales = {5, 5, 5, 5, 5};
+        assertEquals(1.0, DetectorRegresiones.pValorMannWhitney(iguales, iguales), 1e-9);
+    }
+    
+    @Test
+    public void testDetectaRegresion() {
+        List<MuestraRendimiento> base = muestras("resolver", 30, 1.0, 20);
+        List<MuestraRendimiento> actual = muestras("resolver", 30, 1.5, 20);
+        
+        List<ResultadoRegresion> resultados = detector.comparar(base, actual);
+        
+        assertEquals(1, resultados.size());
+        ResultadoRegresion resultado = resultados.get(0);
+        assertEquals("resolver", resultado.obtenerOperacion());
+        assertEquals(30, resultado.obtenerCantidadPrefijados());
+        assertTrue(resultado.esRegresion());
+        assertEquals(0.5, resultado.obtenerVariacion(), 0.05);
+    }
+    
+    @Test
+    public void testVariacionMenorAlUmbralNoEsRegresion() {
+        // Significativa pero de solo un 5%: por debajo del umbral del 10%
+        List<MuestraRendimiento> base = muestras("resolver", 30, 1.0, 40);
+        List<MuestraRendimiento> actual = muestras("resolver", 30, 1.05, 40);
+        
+        assertFalse(detector.comparar(base, actual).get(0).esRegresion());
+    }
+    
+    @Test
+    public void testMejoraNoEsRegresion() {
+        List<MuestraRendimiento> base = muestras("generar", 17, 2.0, 20);
+        List<MuestraRendimiento> actual = muestras("generar", 17, 1.0, 20);
+        
+        assertFalse(detector.comparar(base, actual).get(0).esRegresion());
+    }
+    
+    @Test
+    public void testIgnoraGruposSinLineaBase() {
+        List<MuestraRendimiento> base = muestras("resolver", 30, 1.0, 10);
+        List<MuestraRendimiento> actual = muestras("resolver", 40, 5.0, 10);
+        
+        assertTrue(detector.comparar(base, actual).isEmpty());
+    }
+    
+    @Test
+    public void testParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new DetectorRegresiones(-0.1, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new DetectorRegresiones(0.1, 0));
+    }
+    
+    /**
+     * Muestras alrededor de un valor central con una dispersión pequeña y determinística
+     */
+    private List<MuestraRendimiento> muestras(String operacion, int prefijados, double centro, int cantidad) {
+        List<MuestraRendimiento> lista = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            double ruido = ((i * 7) % 11 - 5) / 500.0;
+            lista.add(new MuestraRendimiento(operacion, prefijados, i, centro * (1 + ruido), 0));
+        }
+        return lista;
+    }
+}
@@ -0,0 +1,44 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para la clase EstadisticasLatencia
+ */
+public class EstadisticasLatenciaTest {
+    private EstadisticasLatencia estadisticas;
+    
+    @BeforeEach
+    public void setUp() {
+        estadisticas = new EstadisticasLatencia();
+    }
+    
+    @Test
+    public void testSinRegistros() {
+        assertEquals(0, estadisticas.obtenerCantidad());
+        assertEquals(0.0, estadisticas.obtenerPromedioMs());
+        assertEquals(0.0, estadisticas.obtenerPercentilMs(99));
+    }
+    
+    @Test
+    public void testPromedioYPercentiles() {
+        // Se registran en orden inverso: 100 ms, 99 ms, ..., 1 ms
+        for (int ms = 100; ms >= 1; ms--) {
+            estadisticas.registrar(ms * 1_000_000L);
+        }
+        
+        assertEquals(100, estadisticas.obtenerCantidad());
+        assertEquals(50.5, estadisticas.obtenerPromedioMs(), 1e-9);
+        assertEquals(1.0, estadisticas.obtenerPercentilMs(0), 1e-9);
+        assertEquals(50.0, estadisticas.obtenerPercentilMs(50), 1e-9);
+        assertEquals(99.0, estadisticas.obtenerPercentilMs(99), 1e-9);
+        assertEquals(100.0, estadisticas.obtenerMaximoMs(), 1e-9);
+    }
+    
+    @Test
+    public void testPercentilInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> estadisticas.obtenerPercentilMs(101));
+    }
+}
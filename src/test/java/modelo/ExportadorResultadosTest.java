@@ -0,0 +1,65 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.util.List;
+
+/**
+ * Tests unitarios para la clase ExportadorResultados
+ */
+public class ExportadorResultadosTest {
+    private ComparacionMotores comparacion;
+    
+    @BeforeEach
+    public void setUp() {
+        comparacion = new ComparacionMotores(List.of("Backtracking", "MRV"), 42);
+        comparacion.agregarMuestra(new MuestraRendimiento("Backtracking", 17, 0, 4.0, 1000));
+        comparacion.agregarMuestra(new MuestraRendimiento("MRV", 17, 0, 1.0, 60));
+        comparacion.agregarMuestra(new MuestraRendimiento("Backtracking", 17, 1, 2.0, 500));
+        comparacion.agregarMuestra(new MuestraRendimiento("MRV", 17, 1, 1.0, 55));
+    }
+    
+    @Test
+    public void testAceleracion() {
+        assertEquals(3.0, comparacion.tiempoPromedio("Backtracking", 17), 1e-9);
+        assertEquals(3.0, comparacion.aceleracion("MRV", 17), 1e-9);
+        assertEquals(1.0, comparacion.aceleracion("Backtracking", 17), 1e-9);
+    }
+    
+    @Test
+    public void testMuestraSinTerminarNoEsUnTiempoReal() {
+        comparacion.agregarMuestra(new MuestraRendimiento("Backtracking", 17, 2, 10.0, 9000, false));
+        
+        assertEquals(3.0, comparacion.tiempoPromedio("Backtracking", 17), 1e-9);
+        assertEquals(1, comparacion.contarSinTerminar("Backtracking", 17));
+        assertEquals(0, comparacion.contarSinTerminar("MRV", 17));
+        // Los promedios ya no cubren los mismos Sudokus
+        assertEquals(0.0, comparacion.aceleracion("MRV", 17), 1e-9);
+    }
+    
+    @Test
+    public void testExportarCsv() throws Exception {
+        StringWriter destino = new StringWriter();
+        ExportadorResultados.exportarCsv(comparacion, destino);
+        
+        String[] lineas = destino.toString().split("\n");
+        assertEquals(5, lineas.length);
+        assertEquals("motor,prefijados,indice,tiempo_ms,nodos,completa", lineas[0]);
+        assertEquals("MRV,17,0,1.000000,60,true", lineas[2]);
+    }
+    
+    @Test
+    public void testExportarJson() throws Exception {
+        StringWriter destino = new StringWriter();
+        ExportadorResultados.exportarJson(comparacion, destino);
+        
+        String json = destino.toString();
+        assertTrue(json.contains("\"semilla\": 42"));
+        assertTrue(json.contains("\"motores\": [\"Backtracking\", \"MRV\"]"));
+        assertTrue(json.contains("{\"motor\": \"MRV\", \"prefijados\": 17, \"tiempoPromedioMs\": 1.000000, \"aceleracion\": 3.0000, \"sinTerminar\": 0}"));
+        assertTrue(json.contains("{\"motor\": \"Backtracking\", \"prefijados\": 17, \"indice\": 1, \"tiempoMs\": 2.000000, \"nodos\": 500, \"completa\": true}"));
+    }
+}
@@ -84,5 +84,23 @@ public class GrillaSudokuTest {
         assertTrue(grilla.estaVacio(0, 0));
         assertTrue(grilla.estaVacio(1, 1));
     }
+    
+    @Test
+    public void testDesdeCadenaYACadena() {
+        String texto = "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+        GrillaSudoku leida = GrillaSudoku.desdeCadena(texto);
+        
+        assertEquals(5, leida.obtenerValor(0, 0));
+        assertEquals(9, leida.obtenerValor(8, 8));
+        assertTrue(leida.estaVacio(0, 2));
+        assertEquals(30, leida.contarCeldasCompletas());
+        assertEquals(texto, leida.aCadena());
+        assertEquals(texto, GrillaSudoku.desdeCadena(texto.replace('.', '0')).aCadena());
+    }
+    
+    @Test
+    public void testDesdeCadenaInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> GrillaSudoku.desdeCadena("123"));
+        assertThrows(IllegalArgumentException.class, () -> GrillaSudoku.desdeCadena("x".repeat(81)));
+    }
 }
-
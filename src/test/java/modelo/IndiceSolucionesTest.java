@@ -0,0 +1,90 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import interfaces.ISudokuSolver;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Tests unitarios para la clase IndiceSoluciones
+ */
+public class IndiceSolucionesTest {
+    
+    private static void verificarMismoOrden(ISudokuSolver resolvedor, IndiceSoluciones indice, GrillaSudoku grilla) {
+        int total = resolvedor.prepararSoluciones(grilla);
+        assertTrue(total > 1);
+        assertEquals(total, indice.contarSoluciones(null));
+        // Consultas en orden salteado, para que cada una parta de la memoria de las anteriores
+        for (int k = total - 1; k >= 0; k -= 3) {
+            assertEquals(resolvedor.obtenerSolucion(k).aCadena(), indice.obtenerSolucion(k, null).aCadena());
+        }
+        for (int k = 0; k < total; k += 2) {
+            assertEquals(resolvedor.obtenerSolucion(k).aCadena(), indice.obtenerSolucion(k, null).aCadena());
+        }
+        assertNull(indice.obtenerSolucion(total, null));
+    }
+    
+    @Test
+    public void testOrdenMRVCoincideConElResolvedor() {
+        GrillaSudoku grilla = new GeneradorSudoku(21).generarSudoku(28);
+        verificarMismoOrden(new ResolvedorSudokuMRV(), IndiceSoluciones.enOrdenMRV(grilla), grilla);
+    }
+    
+    @Test
+    public void testOrdenDeFilasCoincideConElResolvedor() {
+        GrillaSudoku grilla = new GeneradorSudoku(21).generarSudoku(28);
+        verificarMismoOrden(new ResolvedorSudoku(new ValidadorSudoku()), IndiceSoluciones.enOrdenDeFilas(grilla), grilla);
+    }
+    
+    @Test
+    public void testSolucionLejanaSinEnumerar() {
+        GrillaSudoku grilla = new GeneradorSudoku(21).generarSudoku(24);
+        IndiceSoluciones indice = IndiceSoluciones.enOrdenMRV(grilla);
+        long total = indice.contarSoluciones(null);
+        assertTrue(total > 1000, "Se esperaban muchas soluciones: " + total);
+        
+        GrillaSudoku ultima = indice.obtenerSolucion(total - 1, null);
+        GrillaSudoku media = indice.obtenerSolucion(total / 2, null);
+        
+        ValidadorSudoku validador = new ValidadorSudoku();
+        assertTrue(validador.esGrillaValida(ultima));
+        assertTrue(validador.esGrillaValida(media));
+        assertNotEquals(ultima.aCadena(), media.aCadena());
+        assertTrue(indice.obtenerCantidadMemorizada() > 0);
+    }
+    
+    @Test
+    public void testConteoCompletoMemorizaLosSubarbolesCaros() {
+        GrillaSudoku grilla = new GeneradorSudoku(21).generarSudoku(24);
+        IndiceSoluciones indice = IndiceSoluciones.enOrdenDeFilas(grilla);
+        long total = indice.contarSoluciones(null);
+        int memorizados = indice.obtenerCantidadMemorizada();
+        assertTrue(memorizados > 1);
+        
+        // Tras el conteo completo los saltos solo cuentan subárboles baratos, que no se guardan
+        for (long k = 0; k < total; k += total / 7) {
+            assertNotNull(indice.obtenerSolucion(k, null));
+        }
+        assertEquals(memorizados, indice.obtenerCantidadMemorizada());
+        assertEquals(total, indice.contarSoluciones(null));
+    }
+    
+    @Test
+    public void testCancelacionNoAlteraElIndice() {
+        GrillaSudoku grilla = new GeneradorSudoku(3).generarSudoku(30);
+        IndiceSoluciones indice = IndiceSoluciones.enOrdenMRV(grilla);
+        TokenCancelacion token = new TokenCancelacion();
+        token.cancelar();
+        
+        assertThrows(CancellationException.class, () -> indice.obtenerSolucion(5000, token));
+        ResolvedorSudokuMRV resolvedor = new ResolvedorSudokuMRV();
+        resolvedor.prepararSoluciones(grilla);
+        assertEquals(resolvedor.obtenerSolucion(5000).aCadena(), indice.obtenerSolucion(5000, null).aCadena());
+        
+        IndiceSoluciones conflicto = IndiceSoluciones.enOrdenMRV(GrillaSudoku.desdeCadena("55" + ".".repeat(79)));
+        assertEquals(0, conflicto.contarSoluciones(null));
+        assertNull(conflicto.obtenerSolucion(0, null));
+    }
+}
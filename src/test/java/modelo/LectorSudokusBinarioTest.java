@@ -0,0 +1,144 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests unitarios para el formato binario de Sudokus (escritor, lector y conversor)
+ */
+public class LectorSudokusBinarioTest {
+    private static final String SUDOKU =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    private static final String SOLUCION =
+            "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+    
+    @TempDir
+    Path directorio;
+    
+    @Test
+    public void testEscribirYLeerPorIndice() throws IOException {
+        GeneradorSudoku generador = new GeneradorSudoku(7);
+        List<GrillaSudoku> sudokus = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            sudokus.add(generador.generarSudoku(17 + i % 40));
+        }
+        sudokus.add(new GrillaSudoku());
+        sudokus.add(GrillaSudoku.desdeCadena(SOLUCION));
+        Path archivo = directorio.resolve("sudokus.sdkb");
+        
+        try (EscritorSudokusBinario escritor = new EscritorSudokusBinario(archivo, false, false)) {
+            for (GrillaSudoku sudoku : sudokus) {
+                escritor.agregar(sudoku);
+            }
+        }
+        
+        try (LectorSudokusBinario lector = new LectorSudokusBinario(archivo)) {
+            assertEquals(sudokus.size(), lector.obtenerCantidad());
+            assertFalse(lector.tieneSoluciones());
+            assertNull(lector.leerSolucion(0));
+            assertEquals(-1, lector.leerCantidadSoluciones(0));
+            // Acceso aleatorio en orden inverso
+            for (int i = sudokus.size() - 1; i >= 0; i--) {
+                assertEquals(sudokus.get(i).aCadena(), lector.leerSudoku(i).aCadena());
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> lector.leerSudoku(sudokus.size()));
+        }
+    }
+    
+    @Test
+    public void testConversionIdaYVueltaConSoluciones() throws IOException {
+        Path texto = directorio.resolve("sudokus.txt");
+        Path binario = directorio.resolve("sudokus.sdkb");
+        Path deVuelta = directorio.resolve("de-vuelta.txt");
+        String vacio = ".".repeat(81);
+        Files.writeString(texto, (SUDOKU + "\n").repeat(20) + vacio + "\n", StandardCharsets.US_ASCII);
+        
+        int convertidos = ConversorSudokus.textoABinario(texto, binario, new ResolvedorSudokuMRV(), 3);
+        
+        assertEquals(21, convertidos);
+        assertTrue(LectorSudokusBinario.esBinario(binario));
+        assertFalse(LectorSudokusBinario.esBinario(texto));
+        try (LectorSudokusBinario lector = new LectorSudokusBinario(binario)) {
+            assertTrue(lector.tieneSoluciones());
+            assertTrue(lector.tieneConteos());
+            assertEquals(SOLUCION, lector.leerSolucion(7).aCadena());
+            assertEquals(1, lector.leerCantidadSoluciones(7));
+            assertEquals(3, lector.leerCantidadSoluciones(20));
+        }
+        
+        assertEquals(21, ConversorSudokus.binarioATexto(binario, deVuelta));
+        assertEquals(Files.readAllLines(texto), Files.readAllLines(deVuelta));
+    }
+    
+    @Test
+    public void testFormatoBinarioOcupaMenosDeLaMitad() throws IOException {
+        Path texto = directorio.resolve("sudokus.txt");
+        Path binario = directorio.resolve("sudokus.sdkb");
+        Files.writeString(texto, (SUDOKU + "\n").repeat(100), StandardCharsets.US_ASCII);
+        
+        ConversorSudokus.textoABinario(texto, binario, null, 0);
+        
+        assertTrue(Files.size(binario) * 2 < Files.size(texto));
+    }
+    
+    @Test
+    public void testArchivoQueNoEsBinario() throws IOException {
+        Path texto = directorio.resolve("sudokus.txt");
+        Files.writeString(texto, SUDOKU + "\n", StandardCharsets.US_ASCII);
+        
+        assertThrows(IOException.class, () -> new LectorSudokusBinario(texto));
+        assertThrows(IOException.class, () -> ConversorSudokus.textoABinario(
+                directorio.resolve("no-existe.txt"), directorio.resolve("x.sdkb"), null, 0));
+    }
+    
+    @Test
+    public void testRegistroInvalidoNoDejaArchivoTruncado() throws IOException {
+        Path texto = directorio.resolve("sudokus.txt");
+        Path binario = directorio.resolve("sudokus.sdkb");
+        Files.writeString(texto, (SUDOKU + "\n").repeat(5) + "no es un sudoku\n", StandardCharsets.US_ASCII);
+        
+        assertThrows(IOException.class, () -> ConversorSudokus.textoABinario(texto, binario, null, 0));
+        
+        assertFalse(Files.exists(binario));
+        assertFalse(Files.exists(directorio.resolve("sudokus.sdkb.tmp")));
+        
+        // Un destino anterior queda intacto
+        Files.writeString(texto, SUDOKU + "\n", StandardCharsets.US_ASCII);
+        assertEquals(1, ConversorSudokus.textoABinario(texto, binario, null, 0));
+        Files.writeString(texto, SUDOKU + "\nxyz\n", StandardCharsets.US_ASCII);
+        assertThrows(IOException.class, () -> ConversorSudokus.textoABinario(texto, binario, null, 0));
+        try (LectorSudokusBinario lector = new LectorSudokusBinario(binario)) {
+            assertEquals(1, lector.obtenerCantidad());
+        }
+    }
+    
+    @Test
+    public void testBinarioCorruptoNoDejaTextoTruncado() throws IOException {
+        Path texto = directorio.resolve("sudokus.txt");
+        Path binario = directorio.resolve("sudokus.sdkb");
+        Files.writeString(texto, (SUDOKU + "\n").repeat(5), StandardCharsets.US_ASCII);
+        ConversorSudokus.textoABinario(texto, binario, null, 0);
+        // La última entrada del índice apunta fuera del archivo: falla recién al leer el último Sudoku
+        try (FileChannel canal = FileChannel.open(binario, StandardOpenOption.WRITE)) {
+            ByteBuffer entrada = ByteBuffer.allocate(Long.BYTES).putLong(Long.MAX_VALUE).flip();
+            canal.write(entrada, canal.size() - Long.BYTES);
+        }
+        Path deVuelta = directorio.resolve("de-vuelta.txt");
+        
+        assertThrows(IOException.class, () -> ConversorSudokus.binarioATexto(binario, deVuelta));
+        
+        assertFalse(Files.exists(deVuelta));
+        assertFalse(Files.exists(directorio.resolve("de-vuelta.txt.tmp")));
+    }
+}
@@ -0,0 +1,54 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests unitarios para la clase LineaBase
+ */
+public class LineaBaseTest {
+    
+    @Test
+    public void testGuardarYCargar() throws IOException {
+        Map<String, String> metadatos = new LinkedHashMap<>();
+        metadatos.put("motor", "MRV");
+        metadatos.put("semilla", "7");
+        List<MuestraRendimiento> muestras = List.of(
+                new MuestraRendimiento("resolver", 17, 0, 1.25, 300),
+                new MuestraRendimiento("validar", 17, 0, 0.01, 0));
+        
+        Path archivo = Files.createTempFile("linea-base", ".csv");
+        try {
+            new LineaBase(metadatos, muestras).guardar(archivo);
+            LineaBase leida = LineaBase.cargar(archivo);
+            
+            assertEquals(metadatos, leida.obtenerMetadatos());
+            assertEquals(2, leida.obtenerMuestras().size());
+            MuestraRendimiento muestra = leida.obtenerMuestras().get(0);
+            assertEquals("resolver", muestra.obtenerSerie());
+            assertEquals(17, muestra.obtenerCantidadPrefijados());
+            assertEquals(1.25, muestra.obtenerTiempoMs(), 1e-9);
+            assertEquals(300, muestra.obtenerNodos());
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+    
+    @Test
+    public void testCargarArchivoInvalido() throws IOException {
+        Path archivo = Files.createTempFile("linea-base", ".csv");
+        try {
+            Files.writeString(archivo, "operacion,prefijados,indice,tiempo_ms,nodos\nresolver,17,no-es-numero\n");
+            assertThrows(IOException.class, () -> LineaBase.cargar(archivo));
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+/**
+ * Tests unitarios para la clase ResolvedorConflictos
+ */
+public class ResolvedorConflictosTest {
+    private static final String SUDOKU =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    // Igual que SUDOKU pero con un 2 en (0,2), donde la única solución tiene un 4
+    private static final String SIN_SOLUCION =
+            "532.7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    private static final String EASTER_MONSTER =
+            "1.......2.9.4...5...6...7...5.9.3.......7.......85..4.7.....6...3...9.8...2.....1";
+    
+    private static void verificarSolucion(String sudoku, GrillaSudoku solucion) {
+        GrillaSudoku puzzle = GrillaSudoku.desdeCadena(sudoku);
+        assertTrue(new ValidadorSudoku().esGrillaValida(solucion));
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                if (!puzzle.estaVacio(i, j)) {
+                    assertEquals(puzzle.obtenerValor(i, j), solucion.obtenerValor(i, j));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testResuelveElCorpusDificil() throws Exception {
+        ResolvedorConflictos resolvedor = new ResolvedorConflictos();
+        List<GrillaSudoku> corpus = CorpusDificil.cargar();
+        
+        assertEquals(15, corpus.size());
+        for (GrillaSudoku sudoku : corpus) {
+            String puzzle = sudoku.aCadena();
+            
+            assertTrue(resolvedor.resolver(sudoku), puzzle);
+            verificarSolucion(puzzle, sudoku);
+        }
+    }
+    
+    @Test
+    public void testAprendeYRetrocedeNoCronologicamente() {
+        ResolvedorConflictos resolvedor = new ResolvedorConflictos();
+        
+        assertTrue(resolvedor.resolver(GrillaSudoku.desdeCadena(EASTER_MONSTER)));
+        long[] estadisticas = resolvedor.obtenerEstadisticasUltimaResolucion();
+        
+        assertTrue(estadisticas[0] > 0);
+        // Una cláusula por conflicto; las de un solo literal se asignan en el nivel 0 en vez de guardarse
+        assertTrue(estadisticas[1] > 0 && estadisticas[1] <= estadisticas[0]);
+        assertTrue(estadisticas[3] > 0);
+    }
+    
+    @Test
+    public void testBaseDeClausulasAcotada() {
+        ResolvedorConflictos resolvedor = new ResolvedorConflictos(20, PoliticaReinicios.sinReinicios());
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena(EASTER_MONSTER);
+        
+        assertTrue(resolvedor.resolver(grilla));
+        verificarSolucion(EASTER_MONSTER, grilla);
+        long[] estadisticas = resolvedor.obtenerEstadisticasUltimaResolucion();
+        assertTrue(estadisticas[1] > 20);
+        assertTrue(estadisticas[2] > 0);
+        assertTrue(estadisticas[4] <= 20);
+        assertThrows(IllegalArgumentException.class, () -> new ResolvedorConflictos(0, PoliticaReinicios.luby(100)));
+    }
+    
+    @Test
+    public void testSinSolucion() {
+        ResolvedorConflictos resolvedor = new ResolvedorConflictos();
+        GrillaSudoku sinSolucion = GrillaSudoku.desdeCadena(SIN_SOLUCION);
+        
+        ResultadoBusqueda resultado = resolvedor.resolver(sinSolucion, null);
+        
+        assertEquals(0, resultado.obtenerSoluciones());
+        assertTrue(resultado.estaCompleta());
+        assertEquals(SIN_SOLUCION, sinSolucion.aCadena());
+        
+        // Dos 5 en la primera fila: el conflicto aparece al cargar los prefijados
+        GrillaSudoku repetido = GrillaSudoku.desdeCadena("55" + ".".repeat(79));
+        assertFalse(resolvedor.resolver(repetido));
+    }
+    
+    @Test
+    public void testReutilizaLaSesionEntreGrillas() {
+        ResolvedorConflictos resolvedor = new ResolvedorConflictos();
+        
+        assertTrue(resolvedor.resolver(GrillaSudoku.desdeCadena(EASTER_MONSTER)));
+        // Lo aprendido con otros prefijados no vale para esta grilla: se descarta
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena(SUDOKU);
+        assertTrue(resolvedor.resolver(grilla));
+        verificarSolucion(SUDOKU, grilla);
+        assertFalse(resolvedor.resolver(GrillaSudoku.desdeCadena(SIN_SOLUCION)));
+    }
+    
+    @Test
+    public void testCancelacion() {
+        ResolvedorConflictos resolvedor = new ResolvedorConflictos();
+        TokenCancelacion token = new TokenCancelacion();
+        token.cancelar();
+        
+        ResultadoBusqueda resultado = resolvedor.resolver(GrillaSudoku.desdeCadena(EASTER_MONSTER), token);
+        
+        assertFalse(resultado.estaCompleta());
+        assertEquals(0, resultado.obtenerSoluciones());
+    }
+    
+    @Test
+    public void testConteoDelegadoEnMRV() {
+        ResolvedorConflictos resolvedor = new ResolvedorConflictos();
+        GrillaSudoku grilla = new GeneradorSudoku(11).generarSudoku(30);
+        
+        assertEquals(new ResolvedorSudokuMRV().contarSoluciones(grilla), resolvedor.contarSoluciones(grilla));
+        assertEquals(1, resolvedor.contarSoluciones(GrillaSudoku.desdeCadena(SUDOKU)));
+    }
+}
@@ -0,0 +1,95 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests unitarios para la clase ResolvedorPortafolio
+ */
+public class ResolvedorPortafolioTest {
+    private static final String SUDOKU =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    private static final String SOLUCION =
+            "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+    // Patológico para el backtracking en orden de celdas: decenas de millones de nodos
+    private static final String CONTRA_BACKTRACKING =
+            "..............3.85..1.2.......5.7.....4...1...9.......5......73..2.1........4...9";
+    
+    private ResolvedorPortafolio resolvedor;
+    
+    @BeforeEach
+    public void setUp() {
+        resolvedor = new ResolvedorPortafolio(CatalogoMotores.motoresDisponibles());
+    }
+    
+    @Test
+    public void testResolverRegistraAlGanador() {
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena(SUDOKU);
+        
+        assertTrue(resolvedor.resolver(grilla));
+        assertEquals(SOLUCION, grilla.aCadena());
+        Map<Integer, Map<String, Long>> victorias = resolvedor.obtenerVictoriasPorPrefijados();
+        assertEquals(List.of(30), new ArrayList<>(victorias.keySet()));
+        assertEquals(1, victorias.get(30).values().stream().mapToLong(Long::longValue).sum());
+    }
+    
+    @Test
+    public void testEntradaPatologicaLaGanaOtroMotor() {
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena(CONTRA_BACKTRACKING);
+        
+        ResultadoBusqueda resultado = resolvedor.resolver(grilla, TokenCancelacion.conPlazo(5000));
+        
+        assertEquals(1, resultado.obtenerSoluciones());
+        assertTrue(new ValidadorSudoku().esGrillaValida(grilla));
+        assertEquals(0L, resolvedor.obtenerVictoriasPorPrefijados().get(17).get(CatalogoMotores.BACKTRACKING));
+    }
+    
+    @Test
+    public void testContarYPrepararUsaLasSolucionesDelGanador() {
+        GrillaSudoku grilla = new GeneradorSudoku(7).generarSudoku(26);
+        int esperado = new ResolvedorSudokuMRV().contarSoluciones(grilla);
+        
+        assertEquals(esperado, resolvedor.contarSoluciones(grilla));
+        ResultadoBusqueda resultado = resolvedor.contarYPrepararSoluciones(grilla, 3, null, null);
+        
+        assertEquals(esperado, resultado.obtenerSoluciones());
+        assertTrue(resultado.estaCompleta());
+        for (int i = 0; i < Math.min(3, esperado); i++) {
+            assertTrue(new ValidadorSudoku().esGrillaValida(resolvedor.obtenerSolucion(i)));
+        }
+    }
+    
+    @Test
+    public void testPlazoVencidoDevuelveResultadoIncompleto() {
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena("12345678" + ".".repeat(73));
+        
+        ResultadoBusqueda resultado = resolvedor.contarSoluciones(grilla, Integer.MAX_VALUE,
+                TokenCancelacion.conPlazo(100));
+        
+        assertFalse(resultado.estaCompleta());
+        assertTrue(resolvedor.obtenerVictoriasPorPrefijados().isEmpty());
+    }
+    
+    @Test
+    public void testListenerRecibeUnaNotificacionPorOperacion() {
+        List<MetricasBusqueda> notificadas = new ArrayList<>();
+        resolvedor.establecerListenerMetricas(notificadas::add);
+        
+        ResultadoBusqueda resultado = resolvedor.resolver(GrillaSudoku.desdeCadena(SUDOKU), null);
+        
+        assertEquals(1, notificadas.size());
+        assertEquals(resultado.obtenerNodos(), notificadas.get(0).obtenerNodos());
+    }
+    
+    @Test
+    public void testCatalogoCreaElPortafolio() {
+        assertTrue(CatalogoMotores.nombres().contains(CatalogoMotores.PORTAFOLIO));
+        assertFalse(CatalogoMotores.motoresDisponibles().containsKey(CatalogoMotores.PORTAFOLIO));
+        assertInstanceOf(ResolvedorPortafolio.class, CatalogoMotores.crear(CatalogoMotores.PORTAFOLIO));
+    }
+}
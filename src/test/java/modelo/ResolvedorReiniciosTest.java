@@ -0,0 +1,109 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para la clase ResolvedorReinicios
+ */
+public class ResolvedorReiniciosTest {
+    private static final String SUDOKU =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    // Igual que SUDOKU pero con un 2 en (0,2), donde la única solución tiene un 4
+    private static final String SIN_SOLUCION =
+            "532.7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    private static final String CONTRA_BACKTRACKING =
+            "..............3.85..1.2.......5.7.....4...1...9.......5......73..2.1........4...9";
+    
+    private static void verificarSolucion(String sudoku, GrillaSudoku solucion) {
+        GrillaSudoku puzzle = GrillaSudoku.desdeCadena(sudoku);
+        assertTrue(new ValidadorSudoku().esGrillaValida(solucion));
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                if (!puzzle.estaVacio(i, j)) {
+                    assertEquals(puzzle.obtenerValor(i, j), solucion.obtenerValor(i, j));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testSecuenciaLuby() {
+        long[] esperados = {1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, 1};
+        for (int i = 0; i < esperados.length; i++) {
+            assertEquals(esperados[i], PoliticaReinicios.terminoLuby(i + 1));
+        }
+        assertEquals(200, PoliticaReinicios.luby(100).presupuesto(2));
+    }
+    
+    @Test
+    public void testPoliticaGeometrica() {
+        PoliticaReinicios geometrica = PoliticaReinicios.geometrica(100, 1.5);
+        
+        assertEquals(100, geometrica.presupuesto(0));
+        assertEquals(225, geometrica.presupuesto(2));
+        assertEquals(Long.MAX_VALUE, PoliticaReinicios.sinReinicios().presupuesto(5));
+        assertThrows(IllegalArgumentException.class, () -> PoliticaReinicios.geometrica(10, 1));
+        assertThrows(IllegalArgumentException.class, () -> PoliticaReinicios.luby(0));
+    }
+    
+    @Test
+    public void testResolverConCadaOrdenDeValores() {
+        for (ResolvedorReinicios.OrdenValores orden : ResolvedorReinicios.OrdenValores.values()) {
+            ResolvedorReinicios resolvedor = new ResolvedorReinicios(PoliticaReinicios.luby(256), orden, 3);
+            GrillaSudoku grilla = GrillaSudoku.desdeCadena(CONTRA_BACKTRACKING);
+            
+            assertTrue(resolvedor.resolver(grilla), orden.name());
+            verificarSolucion(CONTRA_BACKTRACKING, grilla);
+        }
+    }
+    
+    @Test
+    public void testMismaSemillaRecorreLosMismosNodos() {
+        ResolvedorReinicios resolvedor = new ResolvedorReinicios();
+        
+        long nodos = resolvedor.resolver(GrillaSudoku.desdeCadena(CONTRA_BACKTRACKING), null).obtenerNodos();
+        
+        assertEquals(nodos, resolvedor.resolver(GrillaSudoku.desdeCadena(CONTRA_BACKTRACKING), null).obtenerNodos());
+    }
+    
+    @Test
+    public void testPresupuestoChicoReiniciaYSigueSiendoCompleto() {
+        ResolvedorReinicios resolvedor = new ResolvedorReinicios(PoliticaReinicios.luby(1),
+                ResolvedorReinicios.OrdenValores.ALEATORIO, 5);
+        GrillaSudoku grilla = new GeneradorSudoku(7).generarSudoku(25);
+        String puzzle = grilla.aCadena();
+        
+        assertTrue(resolvedor.resolver(grilla));
+        assertTrue(resolvedor.obtenerReiniciosUltimaResolucion() > 0);
+        verificarSolucion(puzzle, grilla);
+        
+        // Sin solución: los presupuestos crecen hasta recorrer el árbol completo
+        GrillaSudoku sinSolucion = GrillaSudoku.desdeCadena(SIN_SOLUCION);
+        ResultadoBusqueda resultado = resolvedor.resolver(sinSolucion, null);
+        assertEquals(0, resultado.obtenerSoluciones());
+        assertTrue(resultado.estaCompleta());
+        assertEquals(SIN_SOLUCION, sinSolucion.aCadena());
+    }
+    
+    @Test
+    public void testCancelacion() {
+        ResolvedorReinicios resolvedor = new ResolvedorReinicios();
+        TokenCancelacion token = new TokenCancelacion();
+        token.cancelar();
+        
+        ResultadoBusqueda resultado = resolvedor.resolver(GrillaSudoku.desdeCadena(CONTRA_BACKTRACKING), token);
+        
+        assertFalse(resultado.estaCompleta());
+        assertEquals(0, resultado.obtenerSoluciones());
+    }
+    
+    @Test
+    public void testConteoDelegadoEnMRV() {
+        ResolvedorReinicios resolvedor = new ResolvedorReinicios();
+        GrillaSudoku grilla = new GeneradorSudoku(11).generarSudoku(30);
+        
+        assertEquals(new ResolvedorSudokuMRV().contarSoluciones(grilla), resolvedor.contarSoluciones(grilla));
+        assertEquals(1, resolvedor.contarSoluciones(GrillaSudoku.desdeCadena(SUDOKU)));
+    }
+}
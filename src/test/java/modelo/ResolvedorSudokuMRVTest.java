@@ -0,0 +1,280 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import interfaces.ISudokuSolver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests unitarios para la clase ResolvedorSudokuMRV
+ */
+public class ResolvedorSudokuMRVTest {
+    private ResolvedorSudokuMRV resolvedor;
+    private ValidadorSudoku validador;
+    
+    @TempDir
+    Path directorio;
+    
+    @BeforeEach
+    public void setUp() {
+        resolvedor = new ResolvedorSudokuMRV();
+        validador = new ValidadorSudoku();
+    }
+    
+    @Test
+    public void testResolverGrillaVacia() {
+        GrillaSudoku grilla = new GrillaSudoku();
+        assertTrue(resolvedor.resolver(grilla));
+        assertEquals(81, grilla.contarCeldasCompletas());
+        assertTrue(validador.esGrillaValida(grilla));
+    }
+    
+    @Test
+    public void testResolverRespetaPrefijados() {
+        GrillaSudoku puzzle = new GeneradorSudoku(7).generarSudoku(25);
+        GrillaSudoku grilla = puzzle.clonar();
+        
+        assertTrue(resolvedor.resolver(grilla));
+        assertTrue(validador.esGrillaValida(grilla));
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                if (!puzzle.estaVacio(i, j)) {
+                    assertEquals(puzzle.obtenerValor(i, j), grilla.obtenerValor(i, j));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testPrefijadosEnConflicto() {
+        GrillaSudoku grilla = new GrillaSudoku();
+        grilla.establecerValor(0, 0, 5);
+        grilla.establecerValor(0, 8, 5);
+        
+        assertFalse(resolvedor.resolver(grilla));
+        assertEquals(0, resolvedor.contarSoluciones(grilla));
+    }
+    
+    @Test
+    public void testContarCoincideConBacktracking() {
+        ResolvedorSudoku referencia = new ResolvedorSudoku(validador);
+        GeneradorSudoku generador = new GeneradorSudoku(11);
+        for (int i = 0; i < 5; i++) {
+            GrillaSudoku grilla = generador.generarSudoku(40);
+            assertEquals(referencia.contarSoluciones(grilla), resolvedor.contarSoluciones(grilla));
+        }
+    }
+    
+    @Test
+    public void testContarConDigitosLibres() {
+        // Sin los dígitos 1 a 4 en los prefijados, cada solución contada representa 4! soluciones
+        String resuelto = "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena(resuelto.replaceAll("[1-4]", "."));
+        ResolvedorSudoku referencia = new ResolvedorSudoku(validador);
+        
+        int total = resolvedor.prepararSoluciones(grilla);
+        assertEquals(1584, total);
+        assertEquals(total, resolvedor.contarSoluciones(grilla));
+        assertEquals(total, referencia.contarSoluciones(grilla));
+        assertEquals(total, new ContadorExacto().contar(grilla).intValueExact());
+        assertEquals(100, resolvedor.contarSoluciones(grilla, 100));
+        assertEquals(100, referencia.contarSoluciones(grilla, 100));
+    }
+    
+    /**
+     * Cuenta de a tramos: cada conteo se cancela en el primer aviso de progreso y el
+     * siguiente se reanuda desde el punto de control que dejó
+     * @return El resultado del tramo que completó el conteo
+     */
+    static ResultadoBusqueda contarDeATramos(ISudokuSolver motor, GrillaSudoku grilla,
+                                                     int maximoPreparadas, Path archivo) {
+        for (int tramo = 0; tramo < 10_000; tramo++) {
+            TokenCancelacion token = new TokenCancelacion();
+            ResultadoBusqueda resultado = motor.contarReanudable(grilla, Integer.MAX_VALUE, maximoPreparadas,
+                    token, contadas -> token.cancelar(), archivo, 0);
+            if (resultado.estaCompleta()) {
+                assertTrue(tramo > 1, "El conteo debía interrumpirse varias veces");
+                assertFalse(Files.exists(archivo));
+                return resultado;
+            }
+            assertTrue(Files.exists(archivo));
+        }
+        throw new AssertionError("El conteo no avanzó entre tramos");
+    }
+    
+    @Test
+    public void testConteoReanudadoDesdePuntosDeControl() {
+        GrillaSudoku grilla = new GeneradorSudoku(21).generarSudoku(26);
+        int total = resolvedor.contarSoluciones(grilla);
+        
+        ResultadoBusqueda resultado = contarDeATramos(resolvedor, grilla, -1, directorio.resolve("conteo.txt"));
+        
+        assertEquals(total, resultado.obtenerSoluciones());
+    }
+    
+    @Test
+    public void testConteoReanudadoConSimetria() {
+        String resuelto = "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena(resuelto.replaceAll("[1-5]", "."));
+        
+        ResultadoBusqueda resultado = contarDeATramos(resolvedor, grilla, -1, directorio.resolve("conteo.txt"));
+        
+        assertEquals(787200, resultado.obtenerSoluciones());
+    }
+    
+    @Test
+    public void testReanudarConservaLasSolucionesPreparadas() {
+        GrillaSudoku grilla = new GeneradorSudoku(21).generarSudoku(26);
+        ResultadoBusqueda completo = resolvedor.contarYPrepararSoluciones(grilla, 20, null, null);
+        List<String> primeras = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            primeras.add(resolvedor.obtenerSolucion(i).aCadena());
+        }
+        
+        ResultadoBusqueda resultado = contarDeATramos(resolvedor, grilla, 20, directorio.resolve("conteo.txt"));
+        
+        assertEquals(completo.obtenerSoluciones(), resultado.obtenerSoluciones());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(primeras.get(i), resolvedor.obtenerSolucion(i).aCadena());
+        }
+        assertNull(resolvedor.obtenerSolucion(20));
+    }
+    
+    @Test
+    public void testPuntoDeControlDeOtraGrillaSeIgnora() throws IOException {
+        Path archivo = directorio.resolve("conteo.txt");
+        TokenCancelacion token = new TokenCancelacion();
+        GrillaSudoku otra = new GeneradorSudoku(5).generarSudoku(24);
+        resolvedor.contarReanudable(otra, Integer.MAX_VALUE, -1, token, contadas -> token.cancelar(), archivo, 0);
+        PuntoControlConteo punto = PuntoControlConteo.cargar(archivo);
+        assertEquals(CatalogoMotores.MRV, punto.obtenerMotor());
+        assertEquals(otra.aCadena(), punto.obtenerGrilla().aCadena());
+        
+        GrillaSudoku grilla = new GeneradorSudoku(21).generarSudoku(26);
+        ResultadoBusqueda resultado = resolvedor.contarReanudable(
+                grilla, Integer.MAX_VALUE, -1, null, null, archivo, 0);
+        
+        assertTrue(resultado.estaCompleta());
+        assertEquals(resolvedor.contarSoluciones(grilla), resultado.obtenerSoluciones());
+        assertFalse(Files.exists(archivo));
+    }
+    
+    @Test
+    public void testContarSolucionesConLimite() {
+        assertEquals(2, resolvedor.contarSoluciones(new GrillaSudoku(), 2));
+        assertEquals(1000, resolvedor.contarSoluciones(new GrillaSudoku(), 1000));
+    }
+    
+    @Test
+    public void testPrepararYObtenerSoluciones() {
+        GrillaSudoku grilla = new GeneradorSudoku(3).generarSudoku(40);
+        int total = resolvedor.prepararSoluciones(grilla);
+        
+        assertEquals(resolvedor.contarSoluciones(grilla), total);
+        for (int i = 0; i < total; i++) {
+            GrillaSudoku solucion = resolvedor.obtenerSolucion(i);
+            assertEquals(81, solucion.contarCeldasCompletas());
+            assertTrue(validador.esGrillaValida(solucion));
+        }
+        assertNull(resolvedor.obtenerSolucion(total));
+    }
+    
+    @Test
+    public void testContarYPrepararEnUnSoloRecorrido() {
+        GrillaSudoku grilla = new GeneradorSudoku(3).generarSudoku(30);
+        int total = resolvedor.contarSoluciones(grilla);
+        assertTrue(total > 5);
+        
+        ResultadoBusqueda resultado = resolvedor.contarYPrepararSoluciones(grilla, 5, null, null);
+        
+        assertTrue(resultado.estaCompleta());
+        assertEquals(total, resultado.obtenerSoluciones());
+        for (int i = 0; i < 5; i++) {
+            assertTrue(validador.esGrillaValida(resolvedor.obtenerSolucion(i)));
+        }
+        assertNull(resolvedor.obtenerSolucion(5));
+    }
+    
+    @Test
+    public void testContarYPrepararInformaProgreso() {
+        List<Integer> avisos = new ArrayList<>();
+        ResultadoBusqueda resultado = resolvedor.contarYPrepararSoluciones(
+                new GrillaSudoku(), 10, TokenCancelacion.conPlazo(50), avisos::add);
+        
+        assertFalse(avisos.isEmpty());
+        for (int i = 1; i < avisos.size(); i++) {
+            assertTrue(avisos.get(i) >= avisos.get(i - 1));
+        }
+        assertTrue(resultado.obtenerSoluciones() >= avisos.get(avisos.size() - 1));
+        assertNotNull(resolvedor.obtenerSolucion(9));
+        assertNull(resolvedor.obtenerSolucion(10));
+    }
+    
+    @Test
+    public void testConteoConPlazoDevuelveResultadoParcial() {
+        // Con ocho dígitos prefijados no hay simetría que aprovechar y quedan del orden de
+        // 10^16 soluciones: el conteo solo puede terminar por el plazo
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena("12345678" + ".".repeat(73));
+        long inicio = System.nanoTime();
+        ResultadoBusqueda resultado = resolvedor.contarSoluciones(
+                grilla, Integer.MAX_VALUE, TokenCancelacion.conPlazo(50));
+        double transcurridoMs = (System.nanoTime() - inicio) / 1_000_000.0;
+        
+        assertFalse(resultado.estaCompleta());
+        assertTrue(resultado.obtenerSoluciones() > 0);
+        assertTrue(resultado.obtenerNodos() >= resultado.obtenerSoluciones());
+        assertTrue(transcurridoMs < 5000, "La búsqueda no se detuvo a tiempo: " + transcurridoMs + " ms");
+    }
+    
+    @Test
+    public void testTokenCanceladoDejaLaGrillaIntacta() {
+        GrillaSudoku grilla = new GrillaSudoku();
+        TokenCancelacion token = new TokenCancelacion();
+        token.cancelar();
+        
+        // Quedan disponibles las soluciones encontradas antes de consultar el token
+        ResultadoBusqueda resultado = resolvedor.prepararSoluciones(grilla, token);
+        assertFalse(resultado.estaCompleta());
+        assertNull(resolvedor.obtenerSolucion(resultado.obtenerSoluciones()));
+        if (resultado.obtenerSoluciones() > 0) {
+            assertTrue(validador.esGrillaValida(resolvedor.obtenerSolucion(resultado.obtenerSoluciones() - 1)));
+        }
+        
+        // Una búsqueda corta puede terminar antes de la primera consulta al token
+        ResultadoBusqueda resolucion = resolvedor.resolver(grilla, token);
+        if (resolucion.estaCompleta()) {
+            assertEquals(81, grilla.contarCeldasCompletas());
+        } else {
+            assertEquals(0, grilla.contarCeldasCompletas());
+        }
+    }
+    
+    @Test
+    public void testSinTokenCoincideConLaVersionSimple() {
+        GrillaSudoku grilla = new GeneradorSudoku(13).generarSudoku(35);
+        ResultadoBusqueda resultado = resolvedor.contarSoluciones(grilla, 50, null);
+        
+        assertTrue(resultado.estaCompleta());
+        assertEquals(resolvedor.contarSoluciones(grilla, 50), resultado.obtenerSoluciones());
+    }
+    
+    @Test
+    public void testMetricasDeBusqueda() {
+        MetricasBusqueda[] recibidas = new MetricasBusqueda[1];
+        resolvedor.establecerListenerMetricas(metricas -> recibidas[0] = metricas);
+        
+        assertTrue(resolvedor.resolver(new GeneradorSudoku(5).generarSudoku(30)));
+        
+        assertNotNull(recibidas[0]);
+        assertEquals(51, recibidas[0].obtenerProfundidadMaxima());
+        assertTrue(recibidas[0].obtenerVerificaciones() > 0);
+    }
+}
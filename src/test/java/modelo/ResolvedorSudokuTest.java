@@ -2,8 +2,22 @@ package modelo;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * Tests unitarios para la clase ResolvedorSudoku
  */
@@ -106,5 +120,147 @@ public class ResolvedorSudokuTest {
             assertTrue(contador >= 1); // Debería tener al menos una solución
         }
     }
+    
+    @Test
+    public void testContarSolucionesConLimite() {
+        GrillaSudoku grilla = new GrillaSudoku();
+        grilla.establecerValor(0, 0, 1);
+        
+        assertEquals(2, resolvedor.contarSoluciones(grilla, 2));
+        assertEquals(10, resolvedor.contarSoluciones(grilla, 10));
+    }
+    
+    @Test
+    public void testConteoReanudadoDesdePuntosDeControl(@TempDir Path directorio) {
+        GrillaSudoku grilla = new GeneradorSudoku(21).generarSudoku(30);
+        int total = resolvedor.contarSoluciones(grilla);
+        
+        ResultadoBusqueda resultado = ResolvedorSudokuMRVTest.contarDeATramos(
+                resolvedor, grilla, -1, directorio.resolve("conteo.txt"));
+        
+        assertEquals(total, resultado.obtenerSoluciones());
+    }
+    
+    @Test
+    public void testCancelacionDesdeOtroHilo() throws Exception {
+        TokenCancelacion token = new TokenCancelacion();
+        Thread cancelador = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            token.cancelar();
+        });
+        cancelador.start();
+        
+        // Sin simetría de dígitos que aprovechar, el conteo no termina antes de la cancelación
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena("12345678" + ".".repeat(73));
+        ResultadoBusqueda resultado = resolvedor.contarSoluciones(grilla, Integer.MAX_VALUE, token);
+        cancelador.join();
+        
+        assertTrue(token.estaCancelado());
+        assertFalse(token.vencio());
+        assertFalse(resultado.estaCompleta());
+        assertTrue(resultado.obtenerSoluciones() > 0);
+    }
+    
+    @Test
+    public void testConteoNoDependeDeOperacionesAnteriores() {
+        GrillaSudoku grilla = new GrillaSudoku();
+        grilla.establecerValor(0, 0, 1);
+        
+        assertTrue(resolvedor.resolver(grilla.clonar()));
+        assertEquals(10, resolvedor.contarSoluciones(grilla, 10));
+    }
+    
+    @Test
+    public void testInstanciaCompartidaEntreHilos() throws Exception {
+        GeneradorSudoku generador = new GeneradorSudoku(11);
+        List<GrillaSudoku> sudokus = new ArrayList<>();
+        List<Integer> conteosEsperados = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            GrillaSudoku sudoku = generador.generarSudoku(30);
+            sudokus.add(sudoku);
+            conteosEsperados.add(new ResolvedorSudoku(validador).contarSoluciones(sudoku, 3));
+        }
+        
+        ExecutorService ejecutor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> futuros = new ArrayList<>();
+            for (int i = 0; i < sudokus.size(); i++) {
+                GrillaSudoku sudoku = sudokus.get(i);
+                int conteoEsperado = conteosEsperados.get(i);
+                futuros.add(ejecutor.submit(() -> {
+                    GrillaSudoku grilla = sudoku.clonar();
+                    return resolvedor.resolver(grilla)
+                            && validador.esGrillaValida(grilla)
+                            && grilla.contarCeldasCompletas() == 81
+                            && resolvedor.contarSoluciones(sudoku, 3) == conteoEsperado;
+                }));
+            }
+            for (Future<Boolean> futuro : futuros) {
+                assertTrue(futuro.get());
+            }
+        } finally {
+            ejecutor.shutdown();
+        }
+    }
+    
+    @Test
+    public void testMetricasDeBusqueda() {
+        MetricasBusqueda[] recibidas = new MetricasBusqueda[1];
+        resolvedor.establecerListenerMetricas(metricas -> recibidas[0] = metricas);
+        
+        GrillaSudoku grilla = new GrillaSudoku();
+        grilla.establecerValor(0, 0, 5);
+        assertTrue(resolvedor.resolver(grilla));
+        
+        MetricasBusqueda metricas = recibidas[0];
+        assertNotNull(metricas);
+        assertEquals(80, metricas.obtenerProfundidadMaxima()); // Una asignación por cada celda vacía
+        assertTrue(metricas.obtenerNodos() >= 81);
+        assertTrue(metricas.obtenerVerificaciones() >= metricas.obtenerNodos() - 1);
+        // Cada nodo salvo la raíz es una asignación; las 80 que quedan en la solución no se deshacen
+        assertEquals(metricas.obtenerNodos() - 1 - 80, metricas.obtenerRetrocesos());
+        assertEquals(0, metricas.obtenerEliminaciones());
+    }
+    
+    @Test
+    public void testMetricasDesactivadas() {
+        MetricasBusqueda[] recibidas = new MetricasBusqueda[1];
+        resolvedor.establecerListenerMetricas(metricas -> recibidas[0] = metricas);
+        resolvedor.establecerListenerMetricas(null);
+        
+        assertTrue(resolvedor.resolver(new GrillaSudoku()));
+        assertNull(recibidas[0]);
+    }
+    
+    @Test
+    public void testEmiteEventosJfr() throws Exception {
+        Path archivo = Files.createTempFile("sudoku", ".jfr");
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable(EventoResolucion.class).withThreshold(Duration.ZERO);
+            grabacion.enable(EventoConteo.class).withThreshold(Duration.ofHours(1));
+            grabacion.start();
+            
+            GrillaSudoku grilla = new GrillaSudoku();
+            grilla.establecerValor(0, 0, 5);
+            assertTrue(resolvedor.resolver(grilla));
+            resolvedor.contarSoluciones(grilla);
+            
+            grabacion.stop();
+            grabacion.dump(archivo);
+            
+            List<RecordedEvent> eventos = RecordingFile.readAllEvents(archivo);
+            assertEquals(1, eventos.size()); // El conteo no supera el umbral de una hora
+            RecordedEvent evento = eventos.get(0);
+            assertEquals("sudoku.Resolucion", evento.getEventType().getName());
+            assertEquals(1, evento.getInt("cantidadPrefijados"));
+            assertEquals("resuelto", evento.getString("resultado"));
+            assertTrue(evento.getLong("nodos") >= 81);
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
 }
-
@@ -0,0 +1,121 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests unitarios para la clase SelectorMotores
+ */
+public class SelectorMotoresTest {
+    private static final String SUDOKU =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    
+    @TempDir
+    Path directorio;
+    
+    /**
+     * Selector en el que "Rapido" gana con pocos prefijados y "Lento" con muchos
+     */
+    private static SelectorMotores selectorPorPrefijados() {
+        GeneradorSudoku generador = new GeneradorSudoku(5);
+        List<GrillaSudoku> grillas = new ArrayList<>();
+        List<double[]> tiempos = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            grillas.add(generador.generarSudoku(22));
+            tiempos.add(new double[] {5.0, 1.0});
+            grillas.add(generador.generarSudoku(60));
+            tiempos.add(new double[] {0.1, 0.3});
+        }
+        return SelectorMotores.entrenar(List.of("Lento", "Rapido"), grillas, tiempos);
+    }
+    
+    @Test
+    public void testCaracteristicas() {
+        CaracteristicasSudoku caracteristicas = CaracteristicasSudoku.calcular(GrillaSudoku.desdeCadena(SUDOKU));
+        
+        assertEquals(30, caracteristicas.obtenerPrefijados());
+        // La celda (4,4) solo admite el 5
+        assertTrue(caracteristicas.obtenerSingles() >= 1);
+        assertTrue(caracteristicas.obtenerPromedioCandidatos() > 1);
+        assertTrue(caracteristicas.obtenerPromedioCandidatos() < 9);
+        assertEquals(0, CaracteristicasSudoku.calcular(new GrillaSudoku()).obtenerSingles());
+        assertEquals(9.0, CaracteristicasSudoku.calcular(new GrillaSudoku()).obtenerPromedioCandidatos());
+    }
+    
+    @Test
+    public void testEligeElMotorMasRapidoEntreLosVecinos() {
+        SelectorMotores selector = selectorPorPrefijados();
+        GeneradorSudoku generador = new GeneradorSudoku(99);
+        
+        assertEquals("Rapido", selector.elegir(generador.generarSudoku(24)));
+        assertEquals("Lento", selector.elegir(generador.generarSudoku(58)));
+        assertArrayEquals(new int[] {10, 10}, selector.obtenerVictoriasEntrenamiento());
+    }
+    
+    @Test
+    public void testSinEntrenarEligeSiempreElMismoMotor() {
+        SelectorMotores selector = SelectorMotores.sinEntrenar(CatalogoMotores.MRV);
+        
+        assertEquals(CatalogoMotores.MRV, selector.elegir(new GrillaSudoku()));
+        assertEquals(0, selector.obtenerCantidadEjemplos());
+    }
+    
+    @Test
+    public void testGuardarYCargar() throws IOException {
+        SelectorMotores selector = selectorPorPrefijados();
+        Path archivo = directorio.resolve("modelo").resolve("selector.csv");
+        
+        selector.guardar(archivo);
+        SelectorMotores cargado = SelectorMotores.cargar(archivo);
+        
+        assertEquals(List.of("Lento", "Rapido"), cargado.obtenerMotores());
+        assertEquals(20, cargado.obtenerCantidadEjemplos());
+        GeneradorSudoku generador = new GeneradorSudoku(99);
+        for (int prefijados : new int[] {24, 40, 58}) {
+            GrillaSudoku grilla = generador.generarSudoku(prefijados);
+            assertEquals(selector.elegir(grilla), cargado.elegir(grilla));
+        }
+    }
+    
+    @Test
+    public void testCargarArchivoInvalido() throws IOException {
+        Path archivo = directorio.resolve("invalido.csv");
+        Files.writeString(archivo, "# motores=MRV\n30,1,2,3.5\n");
+        
+        assertThrows(IOException.class, () -> SelectorMotores.cargar(archivo));
+    }
+    
+    @Test
+    public void testEntrenarYUsarEnResolvedorAdaptativo() {
+        SelectorMotores selector = new AnalizadorPerformance().entrenarSelector(
+                CatalogoMotores.motoresDisponibles(), List.of(30, 40), 3, 7, 0, 1000, null);
+        ResolvedorAdaptativo resolvedor = new ResolvedorAdaptativo(selector, CatalogoMotores.motoresDisponibles());
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena(SUDOKU);
+        
+        assertEquals(6, selector.obtenerCantidadEjemplos());
+        assertTrue(resolvedor.resolver(grilla));
+        assertTrue(new ValidadorSudoku().esGrillaValida(grilla));
+        assertEquals(1, resolvedor.contarSoluciones(GrillaSudoku.desdeCadena(SUDOKU), 2));
+        assertEquals(2L, resolvedor.obtenerElecciones().values().stream().mapToLong(Long::longValue).sum());
+    }
+    
+    @Test
+    public void testEntrenamientoConPlazoPorResolucion() {
+        AnalizadorPerformance analizador = new AnalizadorPerformance();
+        // Con 17 prefijados Backtracking puede tardar decenas de segundos sin plazo
+        SelectorMotores selector = assertTimeoutPreemptively(Duration.ofSeconds(60), () -> analizador.entrenarSelector(
+                CatalogoMotores.motoresDisponibles(), List.of(17), 4, 86, 1, 50, null));
+        
+        assertEquals(4, selector.obtenerCantidadEjemplos());
+        assertThrows(IllegalArgumentException.class, () -> analizador.entrenarSelector(
+                CatalogoMotores.motoresDisponibles(), List.of(30), 1, 7, 0, 0, null));
+    }
+}
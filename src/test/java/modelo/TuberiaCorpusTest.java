@@ -0,0 +1,98 @@
+package modelo;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests unitarios para las clases TuberiaCorpus y EtapaTuberia
+ */
+public class TuberiaCorpusTest {
+    
+    @Test
+    public void testEntregaSoloSudokusDeSolucionUnica() throws InterruptedException {
+        TuberiaCorpus tuberia = new TuberiaCorpus(45, 5, 4, 2, 2, 2, 2);
+        List<EntradaCorpus> aceptados = new ArrayList<>();
+        
+        List<EstadoEtapa> estado = tuberia.ejecutar(30, aceptados::add);
+        
+        assertEquals(3, estado.size());
+        assertEquals(TuberiaCorpus.ETAPA_GENERAR, estado.get(0).obtenerNombre());
+        assertEquals(30, estado.get(0).obtenerProcesados());
+        assertTrue(estado.get(2).obtenerProcesados() <= 30);
+        assertEquals(0, estado.get(2).obtenerLotesEnProceso());
+        
+        assertFalse(aceptados.isEmpty());
+        ResolvedorSudoku referencia = new ResolvedorSudoku(new ValidadorSudoku());
+        Set<Long> indices = new HashSet<>();
+        for (EntradaCorpus entrada : aceptados) {
+            assertTrue(indices.add(entrada.obtenerIndice()));
+            assertEquals(1, referencia.contarSoluciones(entrada.obtenerSudoku(), 2));
+            assertEquals(81, entrada.obtenerSolucion().contarCeldasCompletas());
+        }
+    }
+    
+    @Test
+    public void testContrapresionLimitaLosLotesEnCurso() throws InterruptedException {
+        Executor directo = Runnable::run;
+        AtomicInteger enCurso = new AtomicInteger();
+        AtomicInteger maximoEnCurso = new AtomicInteger();
+        EtapaTuberia<Integer, Integer> etapa = new EtapaTuberia<>("lenta", valor -> {
+            maximoEnCurso.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            enCurso.decrementAndGet();
+            return valor % 2 == 0 ? valor : null;
+        }, 2, 1, directo);
+        
+        SubmissionPublisher<List<Integer>> origen = new SubmissionPublisher<>(directo, 1);
+        origen.subscribe(etapa);
+        List<Integer> recibidos = new ArrayList<>();
+        CountDownLatch fin = new CountDownLatch(1);
+        etapa.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription suscripcion;
+            
+            public void onSubscribe(Flow.Subscription suscripcion) {
+                this.suscripcion = suscripcion;
+                suscripcion.request(1);
+            }
+            
+            public void onNext(List<Integer> lote) {
+                synchronized (recibidos) {
+                    recibidos.addAll(lote);
+                }
+                suscripcion.request(1);
+            }
+            
+            public void onError(Throwable error) {
+            }
+            
+            public void onComplete() {
+                fin.countDown();
+            }
+        });
+        
+        for (int i = 0; i < 20; i++) {
+            origen.submit(List.of(i));
+        }
+        origen.close();
+        
+        assertTrue(fin.await(10, TimeUnit.SECONDS));        
+        assertTrue(maximoEnCurso.get() <= 2);
+        assertEquals(10, recibidos.size());
+        assertEquals(20, etapa.obtenerEstado().obtenerProcesados());
+    }
+}
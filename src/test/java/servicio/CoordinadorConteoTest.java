@@ -0,0 +1,193 @@
+package servicio;
+
+import modelo.GeneradorSudoku;
+import modelo.GrillaSudoku;
+import modelo.ResolvedorSudokuMRV;
+import modelo.TokenCancelacion;
+import modelo.ValidadorSudoku;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests unitarios para la clase CoordinadorConteo
+ */
+public class CoordinadorConteoTest {
+    private static final String SIN_CINCO_DIGITOS =
+            "...6789..67..9...8.98....678.976......68..79.7..9..8.696...7.8..87..96......86.79";
+    
+    private CoordinadorConteo coordinador;
+    
+    @BeforeEach
+    public void setUp() throws IOException {
+        coordinador = new CoordinadorConteo("localhost", 0);
+        coordinador.iniciar();
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        coordinador.detener();
+    }
+    
+    private Thread conectarTrabajador() {
+        return Thread.ofVirtual().start(() -> {
+            try {
+                new TrabajadorConteo(new ResolvedorSudokuMRV()).ejecutar("localhost", coordinador.obtenerPuerto());
+            } catch (IOException e) {
+                // El coordinador se detuvo
+            }
+        });
+    }
+    
+    private static int contarConMRV(GrillaSudoku grilla) {
+        return new ResolvedorSudokuMRV().contarSoluciones(grilla, Integer.MAX_VALUE, null).obtenerSoluciones();
+    }
+    
+    @Test
+    public void testDividirConservaLasSoluciones() {
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena(SIN_CINCO_DIGITOS);
+        List<GrillaSudoku> partes = CoordinadorConteo.dividir(grilla, 50, new ValidadorSudoku());
+        
+        assertTrue(partes.size() >= 50);
+        int total = 0;
+        for (GrillaSudoku parte : partes) {
+            total += contarConMRV(parte);
+        }
+        assertEquals(contarConMRV(grilla), total);
+    }
+    
+    @Test
+    public void testConteoConVariosTrabajadores() throws Exception {
+        GrillaSudoku grilla = new GeneradorSudoku(21).generarSudoku(26);
+        int esperado = contarConMRV(grilla);
+        conectarTrabajador();
+        conectarTrabajador();
+        conectarTrabajador();
+        
+        assertEquals(esperado, coordinador.contar(grilla, Long.MAX_VALUE, 40, null));
+        assertTrue(coordinador.obtenerNodosUltimoConteo() > 0);
+        assertEquals(0, coordinador.obtenerReasignaciones());
+    }
+    
+    @Test
+    public void testConteoConLimite() throws Exception {
+        GrillaSudoku grilla = GrillaSudoku.desdeCadena(SIN_CINCO_DIGITOS);
+        conectarTrabajador();
+        
+        assertEquals(1000, coordinador.contar(grilla, 1000, 16, null));
+    }
+    
+    @Test
+    public void testParteQueLlegaAlTopeSeDivide() throws Exception {
+        coordinador.detener();
+        coordinador = new CoordinadorConteo("localhost", 0, 50);
+        coordinador.iniciar();
+        GrillaSudoku grilla = new GeneradorSudoku(21).generarSudoku(24);
+        int esperado = contarConMRV(grilla);
+        assertTrue(esperado > 50 * 4, "Se esperaban más soluciones: " + esperado);
+        conectarTrabajador();
+        conectarTrabajador();
+        
+        assertEquals(esperado, coordinador.contar(grilla, Long.MAX_VALUE, 4, null));
+    }
+    
+    @Test
+    public void testConteoTerminadoCancelaLasPartesEnCurso() throws Exception {
+        // Un trabajador que recibe una tarea y responde recién cuando se la cancelan
+        AtomicReference<String> recibido = new AtomicReference<>();
+        Thread.ofVirtual().start(() -> {
+            try (Socket socket = new Socket("localhost", coordinador.obtenerPuerto());
+                 BufferedReader lector = new BufferedReader(
+                         new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                 PrintWriter escritor = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+                lector.readLine();
+                recibido.set(lector.readLine());
+                escritor.println("RESULTADO 0 0 0");
+            } catch (IOException e) {
+                // El coordinador se detuvo
+            }
+        });
+        
+        assertThrows(CancellationException.class,
+                () -> coordinador.contar(new GrillaSudoku(), Long.MAX_VALUE, 1, TokenCancelacion.conPlazo(200)));
+        while (recibido.get() == null) {
+            Thread.sleep(10);
+        }
+        assertEquals("CANCELAR 0", recibido.get());
+    }
+    
+    @Test
+    public void testTrabajadorAbandonaLaParteCancelada() throws Exception {
+        try (ServerSocket servidor = new ServerSocket(0)) {
+            AtomicInteger contadas = new AtomicInteger(-1);
+            Thread trabajador = Thread.ofVirtual().start(() -> {
+                try {
+                    contadas.set(new TrabajadorConteo(new ResolvedorSudokuMRV()).ejecutar("localhost", servidor.getLocalPort()));
+                } catch (IOException e) {
+                    // Lo detecta la aserción sobre las partes contadas
+                }
+            });
+            try (Socket socket = servidor.accept();
+                 BufferedReader lector = new BufferedReader(
+                         new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                 PrintWriter escritor = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+                escritor.println("TAREA 7 " + Integer.MAX_VALUE + " " + ".".repeat(81));
+                escritor.println("CANCELAR 7");
+                String[] respuesta = lector.readLine().split(" ");
+                
+                assertEquals("RESULTADO", respuesta[0]);
+                assertEquals("7", respuesta[1]);
+                // Sin la cancelación habría contado hasta el tope
+                assertTrue(Integer.parseInt(respuesta[2]) < Integer.MAX_VALUE);
+                escritor.println("FIN");
+            }
+            trabajador.join();
+            assertEquals(1, contadas.get());
+        }
+    }
+    
+    @Test
+    public void testParteDeTrabajadorCaidoSeReasigna() throws Exception {
+        GrillaSudoku grilla = new GeneradorSudoku(21).generarSudoku(26);
+        int esperado = contarConMRV(grilla);
+        // Un trabajador que recibe una tarea y se desconecta sin responder
+        Thread.ofVirtual().start(() -> {
+            try (Socket socket = new Socket("localhost", coordinador.obtenerPuerto());
+                 BufferedReader lector = new BufferedReader(
+                         new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                lector.readLine();
+            } catch (IOException e) {
+                // Nada que hacer: el objetivo es desconectarse
+            }
+        });
+        while (coordinador.obtenerConectados() == 0) {
+            Thread.sleep(10);
+        }
+        conectarTrabajador();
+        
+        assertEquals(esperado, coordinador.contar(grilla, Long.MAX_VALUE, 20, null));
+        assertEquals(1, coordinador.obtenerReasignaciones());
+    }
+    
+    @Test
+    public void testGrillaConConflictosNoTieneSoluciones() throws Exception {
+        GrillaSudoku grilla = new GrillaSudoku();
+        grilla.establecerValor(0, 0, 5);
+        grilla.establecerValor(0, 1, 5);
+        
+        assertEquals(0, coordinador.contar(grilla, Long.MAX_VALUE, 8, null));
+    }
+}
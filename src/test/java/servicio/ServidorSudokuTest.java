@@ -0,0 +1,105 @@
+package servicio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Tests unitarios para la clase ServidorSudoku
+ */
+public class ServidorSudokuTest {
+    private static final String SUDOKU =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+    private static final String SOLUCION =
+            "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+    
+    private ServidorSudoku servidor;
+    private HttpClient cliente;
+    
+    @BeforeEach
+    public void setUp() throws IOException {
+        servidor = new ServidorSudoku(0, 2, 4, 5000);
+        servidor.iniciar();
+        cliente = HttpClient.newHttpClient();
+    }
+    
+    @AfterEach
+    public void tearDown() {
+        servidor.detener();
+    }
+    
+    private HttpResponse<String> get(String ruta) throws IOException, InterruptedException {
+        HttpRequest solicitud = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + servidor.obtenerPuerto() + ruta)).build();
+        return cliente.send(solicitud, HttpResponse.BodyHandlers.ofString());
+    }
+    
+    @Test
+    public void testResolver() throws Exception {
+        HttpResponse<String> respuesta = get("/resolver?sudoku=" + SUDOKU);
+        
+        assertEquals(200, respuesta.statusCode());
+        assertTrue(respuesta.body().contains("\"solucion\": \"" + SOLUCION + "\""));
+        assertEquals(1, servidor.obtenerMetricas(ServidorSudoku.RESOLVER).obtenerExitosas());
+    }
+    
+    @Test
+    public void testResolverConCuerpoDeTexto() throws Exception {
+        HttpRequest solicitud = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + servidor.obtenerPuerto() + "/resolver?motor=Backtracking"))
+                .POST(HttpRequest.BodyPublishers.ofString(SUDOKU))
+                .build();
+        HttpResponse<String> respuesta = cliente.send(solicitud, HttpResponse.BodyHandlers.ofString());
+        
+        assertEquals(200, respuesta.statusCode());
+        assertTrue(respuesta.body().contains(SOLUCION));
+        assertTrue(respuesta.body().contains("\"motor\": \"Backtracking\""));
+    }
+    
+    @Test
+    public void testCuerpoDemasiadoGrande() throws Exception {
+        HttpRequest solicitud = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + servidor.obtenerPuerto() + "/resolver"))
+                .POST(HttpRequest.BodyPublishers.ofString("sudoku=" + SUDOKU + "&relleno=" + "x".repeat(2000)))
+                .build();
+        HttpResponse<String> respuesta = cliente.send(solicitud, HttpResponse.BodyHandlers.ofString());
+        
+        assertEquals(413, respuesta.statusCode());
+        assertTrue(respuesta.body().contains("1024 bytes"));
+    }
+    
+    @Test
+    public void testContarValidarYGenerar() throws Exception {
+        assertTrue(get("/contar?limite=5&sudoku=" + ".".repeat(81)).body().contains("\"soluciones\": 5"));
+        assertTrue(get("/validar?sudoku=" + SUDOKU).body().contains("\"valida\": true"));
+        assertTrue(get("/generar?prefijados=40&semilla=3").body().contains("\"prefijados\": 40"));
+        assertTrue(get("/metricas").body().contains("\"generar\": {\"exitosas\": 1"));
+    }
+    
+    @Test
+    public void testSolicitudInvalida() throws Exception {
+        assertEquals(400, get("/resolver?sudoku=123").statusCode());
+        assertEquals(400, get("/resolver?motor=Inexistente&sudoku=" + SUDOKU).statusCode());
+        assertEquals(400, get("/generar?prefijados=5").statusCode());
+    }
+    
+    @Test
+    public void testTiempoLimite() throws Exception {
+        servidor.detener();
+        servidor = new ServidorSudoku(0, 1, 4, 1);
+        servidor.iniciar();
+        
+        // Contar cien mil soluciones de una grilla casi vacía no termina en 1 ms
+        HttpResponse<String> respuesta = get("/contar?limite=100000&sudoku=12345678" + ".".repeat(73));
+        
+        assertEquals(504, respuesta.statusCode());
+        assertEquals(1, servidor.obtenerMetricas(ServidorSudoku.CONTAR).obtenerAgotadas());
+    }
+}